@@ -0,0 +1,22 @@
+#!/bin/sh
+# Builds coffee-store-api:crac, an image holding a checkpoint of the refreshed application context.
+# The checkpoint is taken with the training profile, before any database connection is opened; on restore the
+# pool is bound to the SPRING_DATASOURCE_* variables of the restoring container and Liquibase does not run.
+# CRIU needs the CHECKPOINT_RESTORE and SYS_PTRACE capabilities, both here and for `docker run` of the result.
+set -e
+cd "$(dirname "$0")/../.."
+
+docker build -f docker/crac/Dockerfile -t coffee-store-api:crac-base .
+docker rm -f coffee-store-crac-checkpoint 2>/dev/null || true
+
+# The JVM exits once the checkpoint is written
+docker run --name coffee-store-crac-checkpoint \
+    --cap-add CHECKPOINT_RESTORE --cap-add SYS_PTRACE \
+    --entrypoint java coffee-store-api:crac-base \
+    -XX:CRaCCheckpointTo=/app/checkpoint -Dspring.profiles.active=training -Dspring.context.checkpoint=onRefresh \
+    -jar app.jar || true
+
+docker commit \
+    --change 'ENTRYPOINT ["java", "-XX:CRaCRestoreFrom=/app/checkpoint"]' --change 'CMD []' \
+    coffee-store-crac-checkpoint coffee-store-api:crac
+docker rm coffee-store-crac-checkpoint
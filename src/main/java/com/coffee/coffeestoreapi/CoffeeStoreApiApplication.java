@@ -1,15 +1,25 @@
 package com.coffee.coffeestoreapi;
 
+import com.coffee.coffeestoreapi.config.NativeRuntimeHints;
+import com.coffee.coffeestoreapi.config.startup.MigrationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class CoffeeStoreApiApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(CoffeeStoreApiApplication.class, args);
+        var applicationContext = SpringApplication.run(CoffeeStoreApiApplication.class, args);
+        if (applicationContext.getEnvironment().matchesProfiles(MigrationRunner.PROFILE)) {
+            // The one-shot migrate run ends once its runner is done, with the exit code the runner recorded
+            System.exit(SpringApplication.exit(applicationContext));
+        }
     }
 
 }
@@ -0,0 +1,30 @@
+package com.coffee.coffeestoreapi.config;
+
+import com.coffee.coffeestoreapi.config.admission.AdaptiveConcurrencyLimiter;
+import com.coffee.coffeestoreapi.config.admission.AdmissionControlFilter;
+import com.coffee.coffeestoreapi.config.settings.AdmissionSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "admission", name = "enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+    @Bean
+    AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(AdmissionSettings admissionSettings) {
+        return new AdaptiveConcurrencyLimiter(admissionSettings);
+    }
+
+    @Bean
+    FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter,
+                                                                          AdmissionSettings admissionSettings,
+                                                                          MeterRegistry meterRegistry) {
+        var registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(adaptiveConcurrencyLimiter, admissionSettings.getRetryAfter(), meterRegistry));
+        registration.addUrlPatterns("/api/v1/orders", "/api/v1/orders/*", "/api/v1/admin/*");
+        return registration;
+    }
+}
@@ -0,0 +1,25 @@
+package com.coffee.coffeestoreapi.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Lets clients exchange the API payloads as {@code application/cbor} through the {@code Accept} and
+ * {@code Content-Type} headers. JSON stays the default.
+ * <p>
+ * Spring MVC registers a CBOR converter of its own when the codec is on the classpath, but with a plain
+ * object mapper. This one is built from the auto-configured builder, so the {@code spring.jackson} settings
+ * (snake case names, ISO dates) apply to both formats and a payload only changes its encoding.
+ */
+@Configuration
+public class CborConfig {
+
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                jackson2ObjectMapperBuilder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,24 @@
+package com.coffee.coffeestoreapi.config;
+
+import com.coffee.coffeestoreapi.config.datasource.DataSourceRebinder;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Startup training support, active with the {@code training} profile that the AppCDS training run and the
+ * CRaC checkpoint are created with. See {@link DataSourceRebinder}.
+ */
+@Configuration
+@Profile("training")
+public class CheckpointRestoreConfig {
+
+    @Bean
+    DataSourceRebinder dataSourceRebinder(DataSource dataSource) throws SQLException {
+        return new DataSourceRebinder(dataSource.unwrap(HikariDataSource.class), System::getenv);
+    }
+}
@@ -0,0 +1,97 @@
+package com.coffee.coffeestoreapi.config;
+
+import com.coffee.coffeestoreapi.config.datasource.ClientContextFilter;
+import com.coffee.coffeestoreapi.config.datasource.DataSourceRebinder;
+import com.coffee.coffeestoreapi.config.datasource.ReadYourWritesTracker;
+import com.coffee.coffeestoreapi.config.datasource.ReplicaRoutingDataSource;
+import com.coffee.coffeestoreapi.config.datasource.RestorablePool;
+import com.coffee.coffeestoreapi.config.settings.DataSourceRoutingSettings;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Replaces the auto-configured data source with a primary/replica router when
+ * {@code datasource-routing.enabled} is set. See {@link ReplicaRoutingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource-routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    ReadYourWritesTracker readYourWritesTracker(DataSourceRoutingSettings dataSourceRoutingSettings) {
+        return new ReadYourWritesTracker(dataSourceRoutingSettings.getReadYourWritesWindow());
+    }
+
+    @Bean
+    ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                      DataSourceRoutingSettings dataSourceRoutingSettings,
+                                                      ReadYourWritesTracker readYourWritesTracker) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        var replicaSettings = dataSourceRoutingSettings.getReplicas();
+        for (int i = 0; i < replicaSettings.size(); i++) {
+            int index = i;
+            var replica = replicaSettings.get(i);
+            // Built again after a CRaC restore, from the environment of the restoring process
+            replicas.put("replica-%d".formatted(i), new RestorablePool(() -> replicaDataSource(
+                    index, replica, primaryDataSource, dataSourceRoutingSettings, System::getenv)));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesTracker);
+    }
+
+    private static HikariDataSource replicaDataSource(int index,
+                                                      DataSourceRoutingSettings.Replica replica,
+                                                      HikariDataSource primaryDataSource,
+                                                      DataSourceRoutingSettings dataSourceRoutingSettings,
+                                                      UnaryOperator<String> environment) {
+        var variablePrefix = "DATASOURCE_ROUTING_REPLICAS_%d_".formatted(index);
+        var username = replica.getUsername() != null ? replica.getUsername()
+                : DataSourceRebinder.current(environment, DataSourceRebinder.USERNAME, primaryDataSource.getUsername());
+        var password = replica.getPassword() != null ? replica.getPassword()
+                : DataSourceRebinder.current(environment, DataSourceRebinder.PASSWORD, primaryDataSource.getPassword());
+
+        var replicaDataSource = new HikariDataSource();
+        replicaDataSource.setPoolName("replica-%d".formatted(index));
+        replicaDataSource.setJdbcUrl(DataSourceRebinder.current(environment, variablePrefix + "URL", replica.getUrl()));
+        replicaDataSource.setUsername(DataSourceRebinder.current(environment, variablePrefix + "USERNAME", username));
+        replicaDataSource.setPassword(DataSourceRebinder.current(environment, variablePrefix + "PASSWORD", password));
+        replicaDataSource.setReadOnly(true);
+        replicaDataSource.setConnectionTimeout(dataSourceRoutingSettings.getReplicaConnectionTimeout().toMillis());
+        replicaDataSource.setValidationTimeout(dataSourceRoutingSettings.getReplicaConnectionTimeout().toMillis());
+        // A replica being down must not prevent the application from starting on the primary
+        replicaDataSource.setInitializationFailTimeout(-1);
+        return replicaDataSource;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    FilterRegistrationBean<ClientContextFilter> clientContextFilter(ReadYourWritesTracker readYourWritesTracker,
+                                                                    DataSourceRoutingSettings dataSourceRoutingSettings) {
+        var registration = new FilterRegistrationBean<>(
+                new ClientContextFilter(readYourWritesTracker, dataSourceRoutingSettings.getClientHeader()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -1,11 +1,21 @@
 package com.coffee.coffeestoreapi.config;
 
+import com.coffee.coffeestoreapi.exception.DiscountConfigurationConflictException;
+import com.coffee.coffeestoreapi.exception.InvalidCurrencyRateException;
+import com.coffee.coffeestoreapi.exception.InvalidOrderSearchException;
+import com.coffee.coffeestoreapi.exception.InvalidPreconditionException;
+import com.coffee.coffeestoreapi.exception.InvalidReportRequestException;
 import com.coffee.coffeestoreapi.exception.NoDrinkException;
+import com.coffee.coffeestoreapi.exception.OrderConflictException;
 import com.coffee.coffeestoreapi.exception.OrderNotFoundException;
 import com.coffee.coffeestoreapi.exception.ProductAlreadyExistsException;
+import com.coffee.coffeestoreapi.exception.ReportJobNotFoundException;
+import com.coffee.coffeestoreapi.exception.ReportJobNotReadyException;
+import com.coffee.coffeestoreapi.exception.ReportJobRejectedException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -41,6 +51,35 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(OrderConflictException.class)
+    public ResponseEntity<Map<String, String>> handleOrderConflictException(OrderConflictException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(InvalidPreconditionException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidPreconditionException(InvalidPreconditionException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(DiscountConfigurationConflictException.class)
+    public ResponseEntity<Map<String, String>> handleDiscountConfigurationConflictException(DiscountConfigurationConflictException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        log.warn("Concurrent modification detected: {}", ex.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "The resource was modified concurrently, reload it and retry");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleAllExceptions(Exception ex) {
         Map<String, String> error = new HashMap<>();
@@ -55,4 +94,46 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(InvalidCurrencyRateException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCurrencyRateException(InvalidCurrencyRateException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(InvalidOrderSearchException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidOrderSearchException(InvalidOrderSearchException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(InvalidReportRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidReportRequestException(InvalidReportRequestException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(ReportJobNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleReportJobNotFoundException(ReportJobNotFoundException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(ReportJobNotReadyException.class)
+    public ResponseEntity<Map<String, String>> handleReportJobNotReadyException(ReportJobNotReadyException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(ReportJobRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleReportJobRejectedException(ReportJobRejectedException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
 }
@@ -0,0 +1,45 @@
+package com.coffee.coffeestoreapi.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.coffee.coffeestoreapi.config.logging.LogRateLimitFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes the state of the logging pipeline of {@code logback-spring.xml}: the depth of the asynchronous queue and
+ * the events dropped by the rate limit.
+ */
+@Configuration
+public class LoggingConfig {
+    private static final String ASYNC_APPENDER = "ASYNC_CONSOLE";
+
+    @Bean
+    MeterBinder loggingMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext)) {
+                return;
+            }
+            loggerContext.getTurboFilterList().stream()
+                    .filter(LogRateLimitFilter.class::isInstance)
+                    .map(LogRateLimitFilter.class::cast)
+                    .findFirst()
+                    .ifPresent(filter -> FunctionCounter.builder("logging.events.suppressed", filter, LogRateLimitFilter::getSuppressed)
+                            .description("Log events dropped by the per-template rate limit")
+                            .register(registry));
+            if (loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(ASYNC_APPENDER) instanceof AsyncAppender asyncAppender) {
+                Gauge.builder("logging.async.queue.size", asyncAppender, AsyncAppender::getNumberOfElementsInQueue)
+                        .description("Log events waiting for the console writer")
+                        .register(registry);
+                Gauge.builder("logging.async.queue.remaining", asyncAppender, AsyncAppender::getRemainingCapacity)
+                        .description("Free places in the log queue; events are dropped when it reaches zero")
+                        .register(registry);
+            }
+        };
+    }
+}
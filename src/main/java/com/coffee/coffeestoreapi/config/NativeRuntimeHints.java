@@ -0,0 +1,54 @@
+package com.coffee.coffeestoreapi.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import com.coffee.coffeestoreapi.config.logging.LogRateLimitFilter;
+import com.coffee.coffeestoreapi.model.Discount;
+import com.coffee.coffeestoreapi.model.Drink;
+import com.coffee.coffeestoreapi.model.OrderDto;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import com.coffee.coffeestoreapi.model.OrderLine;
+import com.coffee.coffeestoreapi.model.OrderOutboxMessage;
+import com.coffee.coffeestoreapi.model.ReportJobDto;
+import com.coffee.coffeestoreapi.model.ReportJobRequest;
+import com.coffee.coffeestoreapi.model.ReportLine;
+import com.coffee.coffeestoreapi.model.SimpleOrderDto;
+import com.coffee.coffeestoreapi.model.Topping;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+
+/**
+ * Reflection and resource hints for the native image that Spring AOT cannot infer from the bean definitions.
+ * <p>
+ * Controller payloads, JPA entities, the MapStruct mappers (plain {@code @Component}s) and springdoc are covered
+ * by AOT itself. What is left are the types Jackson reads and writes outside of a controller (the Hibernate jsonb
+ * columns, the live feed and its events, the outbox, the archive segments and the report jobs), the {@code @JsonNaming} strategy it instantiates
+ * reflectively, the Liquibase changelogs, which {@code includeAll} lists as a directory at runtime, and the classes
+ * {@code logback-spring.xml} instantiates and configures through their setters.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+    private static final Class<?>[] JSON_TYPES = {
+            Discount.class, OrderLine.class, Drink.class, Topping.class,
+            OrderDto.class, SimpleOrderDto.class, OrderEvent.class, OrderOutboxMessage.class,
+            ReportJobRequest.class, ReportJobDto.class, ReportLine.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        var bindingRegistrar = new BindingReflectionHintsRegistrar();
+        bindingRegistrar.registerReflectionHints(hints.reflection(), JSON_TYPES);
+        hints.reflection().registerType(PropertyNamingStrategies.SnakeCaseStrategy.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        hints.resources()
+                .registerPattern("db/changelog/*.yaml")
+                .registerPattern("db/changelog/changes")
+                .registerPattern("db/changelog/changes/*.yaml")
+                .registerPattern("logback-spring.xml");
+        hints.reflection()
+                .registerType(LogRateLimitFilter.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .registerType(AsyncAppender.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
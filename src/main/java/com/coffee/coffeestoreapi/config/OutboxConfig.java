@@ -0,0 +1,39 @@
+package com.coffee.coffeestoreapi.config;
+
+import com.coffee.coffeestoreapi.config.settings.OutboxSettings;
+import com.coffee.coffeestoreapi.service.outbox.FileOrderOutboxSink;
+import com.coffee.coffeestoreapi.service.outbox.HttpOrderOutboxSink;
+import com.coffee.coffeestoreapi.service.outbox.OrderOutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.nio.file.Path;
+
+/**
+ * Selects the sink of the order outbox relay with {@code outbox.sink.type}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "outbox.sink", name = "type", havingValue = "file", matchIfMissing = true)
+    OrderOutboxSink fileOrderOutboxSink(OutboxSettings outboxSettings, ObjectMapper objectMapper) {
+        return new FileOrderOutboxSink(Path.of(outboxSettings.getSink().getFile()), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "outbox.sink", name = "type", havingValue = "http")
+    OrderOutboxSink httpOrderOutboxSink(OutboxSettings outboxSettings, ObjectMapper objectMapper, RestClient.Builder restClientBuilder) {
+        var requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(outboxSettings.getSink().getTimeout());
+        requestFactory.setReadTimeout(outboxSettings.getSink().getTimeout());
+        return new HttpOrderOutboxSink(
+                restClientBuilder.baseUrl(outboxSettings.getSink().getUrl()).requestFactory(requestFactory).build(),
+                objectMapper);
+    }
+}
@@ -0,0 +1,54 @@
+package com.coffee.coffeestoreapi.config;
+
+import com.coffee.coffeestoreapi.config.ratelimit.ClientRateLimiter;
+import com.coffee.coffeestoreapi.config.ratelimit.IdleBucketEvictor;
+import com.coffee.coffeestoreapi.config.ratelimit.RateLimitFilter;
+import com.coffee.coffeestoreapi.config.settings.RateLimitSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.HashMap;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Bean
+    ClientRateLimiter publicRateLimiter(RateLimitSettings rateLimitSettings) {
+        return new ClientRateLimiter(
+                rateLimitSettings.getPublicApi(), rateLimitSettings.getMaxClients(), rateLimitSettings.getIdleTimeout());
+    }
+
+    @Bean
+    ClientRateLimiter adminRateLimiter(RateLimitSettings rateLimitSettings) {
+        return new ClientRateLimiter(
+                rateLimitSettings.getAdminApi(), rateLimitSettings.getMaxClients(), rateLimitSettings.getIdleTimeout());
+    }
+
+    @Bean
+    IdleBucketEvictor idleBucketEvictor(ClientRateLimiter publicRateLimiter, ClientRateLimiter adminRateLimiter) {
+        return new IdleBucketEvictor(List.of(publicRateLimiter, adminRateLimiter));
+    }
+
+    @Bean
+    FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitSettings rateLimitSettings,
+                                                            ClientRateLimiter publicRateLimiter,
+                                                            ClientRateLimiter adminRateLimiter) {
+        var clientsByApiKey = new HashMap<String, String>();
+        rateLimitSettings.getApiKeys().forEach((client, apiKey) -> {
+            if (apiKey != null && !apiKey.isBlank()) {
+                clientsByApiKey.put(apiKey, client);
+            }
+        });
+        var registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(publicRateLimiter, adminRateLimiter, clientsByApiKey));
+        registration.addUrlPatterns("/api/*");
+        // Rejecting a flooding client is cheaper than anything behind it, including admission control
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 10);
+        return registration;
+    }
+}
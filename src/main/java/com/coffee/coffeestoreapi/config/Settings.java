@@ -1,6 +1,21 @@
 package com.coffee.coffeestoreapi.config;
 
-import com.coffee.coffeestoreapi.config.settings.DiscountSettings;
+import com.coffee.coffeestoreapi.config.settings.AdmissionSettings;
+import com.coffee.coffeestoreapi.config.settings.ArchiveSettings;
+import com.coffee.coffeestoreapi.config.settings.CacheInvalidationSettings;
+import com.coffee.coffeestoreapi.config.settings.DataSourceRoutingSettings;
+import com.coffee.coffeestoreapi.config.settings.OrderHistorySettings;
+import com.coffee.coffeestoreapi.config.settings.OrderStreamSettings;
+import com.coffee.coffeestoreapi.config.settings.OutboxSettings;
+import com.coffee.coffeestoreapi.config.settings.PartitionSettings;
+import com.coffee.coffeestoreapi.config.settings.PrepQueueSettings;
+import com.coffee.coffeestoreapi.config.settings.PromotionSettings;
+import com.coffee.coffeestoreapi.config.settings.RateLimitSettings;
+import com.coffee.coffeestoreapi.config.settings.ReportJobSettings;
+import com.coffee.coffeestoreapi.config.settings.RepricingSettings;
+import com.coffee.coffeestoreapi.config.settings.SchemaCheckSettings;
+import com.coffee.coffeestoreapi.config.settings.TracingSettings;
+import com.coffee.coffeestoreapi.config.settings.WarmupSettings;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,8 +24,98 @@ import org.springframework.context.annotation.Configuration;
 public class Settings {
 
     @Bean
-    @ConfigurationProperties(prefix = "discounts")
-    DiscountSettings discountSettings() {
-        return new DiscountSettings();
+    @ConfigurationProperties(prefix = "partitions")
+    PartitionSettings partitionSettings() {
+        return new PartitionSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "archive")
+    ArchiveSettings archiveSettings() {
+        return new ArchiveSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "datasource-routing")
+    DataSourceRoutingSettings dataSourceRoutingSettings() {
+        return new DataSourceRoutingSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "admission")
+    AdmissionSettings admissionSettings() {
+        return new AdmissionSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "rate-limit")
+    RateLimitSettings rateLimitSettings() {
+        return new RateLimitSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "prep-queue")
+    PrepQueueSettings prepQueueSettings() {
+        return new PrepQueueSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "order-stream")
+    OrderStreamSettings orderStreamSettings() {
+        return new OrderStreamSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "outbox")
+    OutboxSettings outboxSettings() {
+        return new OutboxSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "schema-check")
+    SchemaCheckSettings schemaCheckSettings() {
+        return new SchemaCheckSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "warmup")
+    WarmupSettings warmupSettings() {
+        return new WarmupSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "order-history")
+    OrderHistorySettings orderHistorySettings() {
+        return new OrderHistorySettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "report-jobs")
+    ReportJobSettings reportJobSettings() {
+        return new ReportJobSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "repricing")
+    RepricingSettings repricingSettings() {
+        return new RepricingSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "promotions")
+    PromotionSettings promotionSettings() {
+        return new PromotionSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "tracing")
+    TracingSettings tracingSettings() {
+        return new TracingSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "cache-invalidation")
+    CacheInvalidationSettings cacheInvalidationSettings() {
+        return new CacheInvalidationSettings();
     }
 }
@@ -0,0 +1,50 @@
+package com.coffee.coffeestoreapi.config;
+
+import com.coffee.coffeestoreapi.config.settings.SchemaCheckSettings;
+import com.coffee.coffeestoreapi.config.startup.MigrationRunner;
+import com.coffee.coffeestoreapi.config.startup.SchemaVersionCheck;
+import com.coffee.coffeestoreapi.config.startup.SelectiveLazyInitialization;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Production startup path: migrations run once with the {@code migrate} profile, the application pods only
+ * check the schema version and initialize the beans off the order path lazily.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static SelectiveLazyInitialization selectiveLazyInitialization(Environment environment) {
+        // Bound by hand, bean factory post processors run before @ConfigurationProperties beans exist
+        return new SelectiveLazyInitialization(Binder.get(environment)
+                .bind("lazy-init.packages", Bindable.listOf(String.class))
+                .orElse(List.of()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "schema-check", name = "enabled", havingValue = "true")
+    SchemaVersionCheck schemaVersionCheck(DataSource dataSource,
+                                          ConfigurableApplicationContext applicationContext,
+                                          SchemaCheckSettings schemaCheckSettings) {
+        return new SchemaVersionCheck(dataSource, applicationContext, schemaCheckSettings.getChangeLog());
+    }
+
+    @Bean
+    @Profile(MigrationRunner.PROFILE)
+    MigrationRunner migrationRunner(DataSource dataSource,
+                                    ConfigurableApplicationContext applicationContext,
+                                    SchemaCheckSettings schemaCheckSettings) {
+        // Not a bean of its own, the check runs after the migration instead of during the refresh
+        return new MigrationRunner(new SchemaVersionCheck(dataSource, applicationContext, schemaCheckSettings.getChangeLog()));
+    }
+}
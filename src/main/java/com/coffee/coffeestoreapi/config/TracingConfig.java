@@ -0,0 +1,33 @@
+package com.coffee.coffeestoreapi.config;
+
+import com.coffee.coffeestoreapi.config.settings.TracingSettings;
+import com.coffee.coffeestoreapi.config.tracing.FileSpanExporter;
+import com.coffee.coffeestoreapi.config.tracing.SqlOperationObservationFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationFilter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Additions to the auto-configured OpenTelemetry tracing. The OTLP exporter is enabled by setting
+ * {@code management.otlp.tracing.endpoint}; the file exporter with {@code tracing.file-export.enabled}. Both receive
+ * the same sampled spans.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    ObservationFilter sqlOperationObservationFilter() {
+        return new SqlOperationObservationFilter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tracing.file-export", name = "enabled", havingValue = "true")
+    SpanExporter fileSpanExporter(TracingSettings tracingSettings, ObjectMapper objectMapper) {
+        return new FileSpanExporter(Path.of(tracingSettings.getFileExport().getFile()), objectMapper);
+    }
+}
@@ -0,0 +1,105 @@
+package com.coffee.coffeestoreapi.config.admission;
+
+import com.coffee.coffeestoreapi.config.settings.AdmissionSettings;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD concurrency limiter driven by the observed request latency.
+ * <p>
+ * Every completed request is a sample: a latency above the threshold shrinks the limit multiplicatively,
+ * a latency below it grows the limit by one, as long as the limit is actually being used. The limit shrinks at
+ * most once per round trip: only a slow request that started after the last decrease can shrink it again, so a
+ * burst of concurrent slow requests counts as one congestion signal. Admin traffic may
+ * only use {@code adminShare} of the limit, so it is shed before customer orders are.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum TrafficClass {
+        CUSTOMER,
+        ADMIN
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final double adminShare;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongSupplier nanoClock;
+    private final AtomicLong lastDecrease;
+
+    public AdaptiveConcurrencyLimiter(AdmissionSettings admissionSettings) {
+        this(admissionSettings, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(AdmissionSettings admissionSettings, LongSupplier nanoClock) {
+        this.minLimit = Math.max(1, admissionSettings.getMinLimit());
+        this.maxLimit = Math.max(minLimit, admissionSettings.getMaxLimit());
+        this.latencyThresholdNanos = admissionSettings.getLatencyThreshold().toNanos();
+        this.backoffRatio = admissionSettings.getBackoffRatio();
+        this.adminShare = admissionSettings.getAdminShare();
+        this.limit = new AtomicInteger(Math.clamp(admissionSettings.getInitialLimit(), minLimit, maxLimit));
+        this.nanoClock = nanoClock;
+        this.lastDecrease = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes a slot if the traffic class is still below its share of the current limit.
+     *
+     * @param trafficClass the class of the incoming request
+     * @return {@code true} if the request is admitted; it must then call {@link #release(long)} exactly once
+     */
+    public boolean tryAcquire(TrafficClass trafficClass) {
+        int allowed = trafficClass == TrafficClass.ADMIN
+                ? Math.max(1, (int) (limit.get() * adminShare))
+                : limit.get();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of an admitted request and feeds its latency into the limit.
+     *
+     * @param latencyNanos the time the request spent in the application
+     */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (latencyNanos > latencyThresholdNanos) {
+            long now = nanoClock.getAsLong();
+            long last = lastDecrease.get();
+            // A request that started before the last decrease saw the old limit and adds no new signal
+            if (now - latencyNanos - last >= 0 && lastDecrease.compareAndSet(last, now)) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+            }
+        } else if (inFlightBefore * 2 >= limit.get()) {
+            // Only grow while at least half the limit is in use, otherwise a quiet period inflates it unchecked
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    /**
+     * Frees the slot of an admitted request without using it as a latency sample.
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,78 @@
+package com.coffee.coffeestoreapi.config.admission;
+
+import com.coffee.coffeestoreapi.config.admission.AdaptiveConcurrencyLimiter.TrafficClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Admits order and admin API requests through the {@link AdaptiveConcurrencyLimiter} and answers the
+ * rejected ones right away with {@code 503 Service Unavailable} and a {@code Retry-After} header,
+ * instead of letting them queue for a database connection.
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private static final String ADMIN_PATH_PREFIX = "/api/v1/admin/";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String retryAfterSeconds;
+    private final Map<TrafficClass, Counter> shedCounters = new EnumMap<>(TrafficClass.class);
+
+    public AdmissionControlFilter(AdaptiveConcurrencyLimiter limiter, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        Gauge.builder("admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("admission.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently admitted")
+                .register(meterRegistry);
+        for (var trafficClass : TrafficClass.values()) {
+            shedCounters.put(trafficClass, Counter.builder("admission.shed")
+                    .description("Requests rejected by the concurrency limiter")
+                    .tag("class", trafficClass.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var trafficClass = request.getRequestURI().startsWith(ADMIN_PATH_PREFIX) ? TrafficClass.ADMIN : TrafficClass.CUSTOMER;
+        if (!limiter.tryAcquire(trafficClass)) {
+            shedCounters.get(trafficClass).increment();
+            log.debug("Shedding {} request {} at limit {}", trafficClass, request.getRequestURI(), limiter.getLimit());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Service is overloaded, please retry later\"}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Long-lived responses (e.g. event streams) must not hold a slot or skew the latency samples
+                limiter.releaseWithoutSample();
+            } else {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.coffee.coffeestoreapi.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the calling client (the configured client header, or the remote address when it is missing)
+ * to the request thread for the {@link ReadYourWritesTracker}.
+ */
+@RequiredArgsConstructor
+public class ClientContextFilter extends OncePerRequestFilter {
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final String clientHeader;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var clientId = request.getHeader(clientHeader);
+        readYourWritesTracker.bind(StringUtils.hasText(clientId) ? clientId : request.getRemoteAddr());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWritesTracker.unbind();
+        }
+    }
+}
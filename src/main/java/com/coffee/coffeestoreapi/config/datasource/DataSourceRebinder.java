@@ -0,0 +1,64 @@
+package com.coffee.coffeestoreapi.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Re-reads the connection settings of the primary pool from the environment when the context starts.
+ * <p>
+ * A CRaC checkpoint carries the settings of the training run that created it. Lifecycle beans are started
+ * again after a restore, so this rebinds the pool to the database of the restoring process, as long as the
+ * pool has not opened a connection yet, which the {@code training} profile guarantees. Runs before any other
+ * lifecycle bean, including Spring's own Hikari suspend/resume handling.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DataSourceRebinder implements SmartLifecycle {
+    public static final String URL = "SPRING_DATASOURCE_URL";
+    public static final String USERNAME = "SPRING_DATASOURCE_USERNAME";
+    public static final String PASSWORD = "SPRING_DATASOURCE_PASSWORD";
+
+    private final HikariDataSource dataSource;
+    private final UnaryOperator<String> environment;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        if (dataSource.getHikariPoolMXBean() != null) {
+            log.warn("The connection pool was started before the context, its settings cannot be rebound");
+        } else {
+            dataSource.setJdbcUrl(current(environment, URL, dataSource.getJdbcUrl()));
+            dataSource.setUsername(current(environment, USERNAME, dataSource.getUsername()));
+            dataSource.setPassword(current(environment, PASSWORD, dataSource.getPassword()));
+            log.info("Connection pool bound to {}", dataSource.getJdbcUrl());
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * @return the value of the environment variable, or {@code boundValue} when it is not set
+     */
+    public static String current(UnaryOperator<String> environment, String variable, String boundValue) {
+        var value = environment.apply(variable);
+        return value != null && !value.isBlank() ? value : boundValue;
+    }
+}
@@ -0,0 +1,63 @@
+package com.coffee.coffeestoreapi.config.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers when each client last ran a read-write transaction, so that its reads can stay on the
+ * primary for a short window instead of observing a replica that has not replayed the write yet.
+ * The client of the current request is bound to the handling thread by {@link ClientContextFilter}.
+ */
+public class ReadYourWritesTracker {
+    private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    ReadYourWritesTracker(Duration window, LongSupplier nanoClock) {
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public void bind(String clientId) {
+        CURRENT_CLIENT.set(clientId);
+    }
+
+    public void unbind() {
+        CURRENT_CLIENT.remove();
+    }
+
+    public void recordWrite() {
+        var client = CURRENT_CLIENT.get();
+        if (client != null && windowNanos > 0) {
+            lastWrites.put(client, nanoClock.getAsLong());
+        }
+    }
+
+    /**
+     * @return {@code true} if the client of the current thread wrote within the window
+     */
+    public boolean isWithinWindow() {
+        var client = CURRENT_CLIENT.get();
+        if (client == null || windowNanos <= 0) {
+            return false;
+        }
+        var lastWrite = lastWrites.get(client);
+        return lastWrite != null && nanoClock.getAsLong() - lastWrite < windowNanos;
+    }
+
+    /**
+     * Drops the clients whose window has expired, keeping the map as small as the set of recent writers.
+     */
+    public void evictExpired() {
+        long now = nanoClock.getAsLong();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+}
@@ -0,0 +1,18 @@
+package com.coffee.coffeestoreapi.config.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "datasource-routing", name = "enabled", havingValue = "true")
+public class ReplicaHealthCheck {
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Scheduled(fixedDelayString = "${datasource-routing.health-check-interval}")
+    public void checkReplicas() {
+        replicaRoutingDataSource.checkReplicaHealth();
+    }
+}
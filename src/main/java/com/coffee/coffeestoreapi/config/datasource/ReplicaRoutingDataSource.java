@@ -0,0 +1,139 @@
+package com.coffee.coffeestoreapi.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to a healthy replica (round-robin) and everything
+ * else to the primary. Falls back to the primary when no replica is healthy, when the current client
+ * wrote within the read-your-writes window, or when the chosen replica cannot hand out a connection; a
+ * replica that fails is taken out of rotation until its next successful health check.
+ * <p>
+ * The routing decision reads the transaction flags, which Spring only exposes after the transaction has
+ * begun, so this data source has to be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    static final String PRIMARY = "primary";
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final Set<String> unhealthyReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReadYourWritesTracker readYourWritesTracker) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.readYourWritesTracker = readYourWritesTracker;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWritesTracker.recordWrite();
+            }
+            return PRIMARY;
+        }
+        if (readYourWritesTracker.isWithinWindow()) {
+            return PRIMARY;
+        }
+        return nextHealthyReplica();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        var key = (String) determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection();
+        }
+        try {
+            return replicas.get(key).getConnection();
+        } catch (SQLException e) {
+            if (unhealthyReplicas.add(key)) {
+                log.warn("Replica {} did not hand out a connection, routing read-only transactions to the primary", key, e);
+            }
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Validates a connection of every replica and takes the failing ones out of rotation
+     * until a later check succeeds.
+     */
+    public void checkReplicaHealth() {
+        for (var replica : replicas.entrySet()) {
+            boolean healthy = isValid(replica.getValue());
+            if (healthy && unhealthyReplicas.remove(replica.getKey())) {
+                log.info("Replica {} is healthy again, routing read-only transactions to it", replica.getKey());
+            } else if (!healthy && unhealthyReplicas.add(replica.getKey())) {
+                log.warn("Replica {} failed its health check, routing its read-only transactions to the primary", replica.getKey());
+            }
+        }
+        readYourWritesTracker.evictExpired();
+    }
+
+    void markUnhealthy(String replicaKey) {
+        unhealthyReplicas.add(replicaKey);
+    }
+
+    private String nextHealthyReplica() {
+        int size = replicaKeys.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            var key = replicaKeys.get((start + i) % size);
+            if (!unhealthyReplicas.contains(key)) {
+                return key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    private static boolean isValid(DataSource dataSource) {
+        try (var connection = dataSource.getConnection()) {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes the replica pools; the primary pool is a bean of its own and closed by the context.
+     */
+    @Override
+    public void close() {
+        replicas.values().stream()
+                .filter(AutoCloseable.class::isInstance)
+                .map(AutoCloseable.class::cast)
+                .forEach(ReplicaRoutingDataSource::closeQuietly);
+    }
+
+    private static void closeQuietly(AutoCloseable replica) {
+        try {
+            replica.close();
+        } catch (Exception e) {
+            log.warn("Could not close replica data source", e);
+        }
+    }
+}
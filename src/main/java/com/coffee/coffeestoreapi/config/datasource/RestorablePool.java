@@ -0,0 +1,57 @@
+package com.coffee.coffeestoreapi.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+/**
+ * A connection pool that is closed before a CRaC checkpoint and built again after the restore.
+ * <p>
+ * A checkpoint may not hold open connections, and a pool that has started cannot be pointed at another database.
+ * The factory is called again on restore, so it has to take the URL and credentials from the environment of the
+ * restoring process rather than from the settings bound during the training run (see
+ * {@link DataSourceRebinder#current}).
+ */
+@Slf4j
+public class RestorablePool extends DelegatingDataSource implements Resource, AutoCloseable {
+    private final Supplier<HikariDataSource> poolFactory;
+    private volatile HikariDataSource pool;
+
+    public RestorablePool(Supplier<HikariDataSource> poolFactory) {
+        this.poolFactory = poolFactory;
+        this.pool = poolFactory.get();
+        Core.getGlobalContext().register(this);
+    }
+
+    @Override
+    protected DataSource obtainTargetDataSource() {
+        return pool;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // The pool is built by the factory, there is no target to check
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        pool.close();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        pool = poolFactory.get();
+        log.info("Connection pool {} bound to {}", pool.getPoolName(), pool.getJdbcUrl());
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+}
@@ -0,0 +1,125 @@
+package com.coffee.coffeestoreapi.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limits repeated log statements of the configured loggers: each message template may be logged
+ * {@code maxPerInterval} times per {@code intervalMillis}, further events in the same interval are dropped before
+ * they are formatted. The template, not the formatted message, is the key, so an "order not found" warning counts
+ * as one statement whatever the order number.
+ * <p>
+ * Runs for every logging call, enabled or not, so events below {@code level} are passed on after a single
+ * comparison. Configured in {@code logback-spring.xml}.
+ */
+public class LogRateLimitFilter extends TurboFilter {
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicLong suppressed = new AtomicLong();
+    private final LongSupplier nanoClock;
+
+    private String[] loggers = new String[0];
+    private Level level = Level.WARN;
+    private int maxPerInterval = 20;
+    private long intervalNanos = TimeUnit.SECONDS.toNanos(1);
+    private int maxTemplates = 1000;
+
+    public LogRateLimitFilter() {
+        this(System::nanoTime);
+    }
+
+    LogRateLimitFilter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || !level.isGreaterOrEqual(this.level) || format == null || !isLimited(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        var window = windows.get(logger.getName() + '|' + format);
+        if (window == null) {
+            if (windows.size() >= maxTemplates) {
+                return FilterReply.NEUTRAL;
+            }
+            window = windows.computeIfAbsent(logger.getName() + '|' + format, key -> new Window(nanoClock.getAsLong()));
+        }
+        if (window.tryAcquire(nanoClock.getAsLong(), intervalNanos, maxPerInterval)) {
+            return FilterReply.NEUTRAL;
+        }
+        suppressed.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * @return the number of events dropped since startup
+     */
+    public long getSuppressed() {
+        return suppressed.get();
+    }
+
+    /**
+     * @param loggers comma separated logger name prefixes
+     */
+    public void setLoggers(String loggers) {
+        this.loggers = Arrays.stream(loggers.split(","))
+                .map(String::strip)
+                .filter(name -> !name.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.WARN);
+    }
+
+    public void setMaxPerInterval(int maxPerInterval) {
+        this.maxPerInterval = maxPerInterval;
+    }
+
+    public void setIntervalMillis(long intervalMillis) {
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    public void setMaxTemplates(int maxTemplates) {
+        this.maxTemplates = maxTemplates;
+    }
+
+    private boolean isLimited(String loggerName) {
+        for (var prefix : loggers) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fixed window of one message template; the thread that sees it expired starts the next one.
+     */
+    private static final class Window {
+        private final AtomicLong start;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Window(long start) {
+            this.start = new AtomicLong(start);
+        }
+
+        private boolean tryAcquire(long now, long intervalNanos, int maxPerInterval) {
+            long current = start.get();
+            if (now - current >= intervalNanos && start.compareAndSet(current, now)) {
+                count.set(0);
+            }
+            return count.incrementAndGet() <= maxPerInterval;
+        }
+    }
+}
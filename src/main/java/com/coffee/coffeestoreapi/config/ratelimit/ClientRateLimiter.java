@@ -0,0 +1,73 @@
+package com.coffee.coffeestoreapi.config.ratelimit;
+
+import com.coffee.coffeestoreapi.config.settings.RateLimitSettings;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client {@link TokenBucket}s in a bounded {@link ConcurrentHashMap}.
+ * <p>
+ * A request only reads the map, or inserts its client's bucket once, and then takes a token with a
+ * compare-and-set on the bucket, so clients never wait on each other. Buckets that have been full for longer
+ * than the idle timeout carry no state worth keeping and are removed by {@link #evictIdle()}, which runs in the
+ * background. While the map holds {@code maxClients} buckets, new clients share one overflow bucket until idle
+ * buckets are evicted, so a flood of new client ids cannot grow the map, nor use up the buckets of known clients.
+ */
+public class ClientRateLimiter {
+    private final int capacity;
+    private final int refillPerSecond;
+    private final int maxClients;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflowBucket;
+
+    public ClientRateLimiter(RateLimitSettings.Limit limit, int maxClients, Duration idleTimeout) {
+        this(limit, maxClients, idleTimeout, System::nanoTime);
+    }
+
+    ClientRateLimiter(RateLimitSettings.Limit limit, int maxClients, Duration idleTimeout, LongSupplier nanoClock) {
+        this.capacity = limit.getCapacity();
+        this.refillPerSecond = limit.getRefillPerSecond();
+        this.maxClients = maxClients;
+        this.idleNanos = idleTimeout.toNanos();
+        this.nanoClock = nanoClock;
+        this.overflowBucket = new TokenBucket(capacity, refillPerSecond, nanoClock.getAsLong());
+    }
+
+    public TokenBucket.Result tryConsume(String clientId) {
+        long now = nanoClock.getAsLong();
+        var bucket = buckets.get(clientId);
+        if (bucket == null) {
+            // Concurrent newcomers may overshoot the bound by a few buckets, never by an unbounded number
+            bucket = buckets.size() < maxClients
+                    ? buckets.computeIfAbsent(clientId, key -> new TokenBucket(capacity, refillPerSecond, now))
+                    : overflowBucket;
+        }
+        return bucket.tryConsume(now);
+    }
+
+    /**
+     * Removes the buckets that have been full for at least the idle timeout. Each removal only locks the map bin
+     * of that bucket, so requests carry on meanwhile.
+     *
+     * @return the number of evicted buckets
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int sizeBefore = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        return sizeBefore - buckets.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
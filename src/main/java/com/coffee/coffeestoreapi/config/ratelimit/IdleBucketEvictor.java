@@ -0,0 +1,24 @@
+package com.coffee.coffeestoreapi.config.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * Evicts the idle buckets of the rate limiters in the background, so requests never pay for the sweep.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IdleBucketEvictor {
+    private final List<ClientRateLimiter> limiters;
+
+    @Scheduled(fixedDelayString = "${rate-limit.idle-timeout}")
+    public void evictIdleBuckets() {
+        int evicted = limiters.stream().mapToInt(ClientRateLimiter::evictIdle).sum();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+}
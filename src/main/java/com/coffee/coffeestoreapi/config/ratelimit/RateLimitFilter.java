@@ -0,0 +1,70 @@
+package com.coffee.coffeestoreapi.config.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Rate limits the public and the admin API per client and reports the bucket state in the {@code X-RateLimit-*}
+ * response headers. A request carrying a configured {@code X-API-Key} is limited per key owner, wherever it comes
+ * from; any other request per remote address. An unknown key is not a way into a fresh bucket: it takes a token
+ * from the remote address, so guessing keys is rate limited, and is then rejected with {@code 401 Unauthorized}.
+ * Exhausted clients get {@code 429 Too Many Requests}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+    static final String API_KEY_HEADER = "X-API-Key";
+    private static final String ADMIN_PATH_PREFIX = "/api/v1/admin/";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final ClientRateLimiter publicLimiter;
+    private final ClientRateLimiter adminLimiter;
+    /** Client names by API key */
+    private final Map<String, String> clientsByApiKey;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var limiter = request.getRequestURI().startsWith(ADMIN_PATH_PREFIX) ? adminLimiter : publicLimiter;
+        var apiKey = request.getHeader(API_KEY_HEADER);
+        var keyOwner = apiKey == null ? null : clientsByApiKey.get(apiKey);
+        // The prefixes keep a client name from sharing a bucket with an address
+        var clientId = keyOwner != null ? "key:" + keyOwner : "addr:" + request.getRemoteAddr();
+        var result = limiter.tryConsume(clientId);
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(limiter.getCapacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(result.remaining()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(toSecondsRoundedUp(result.resetNanos())));
+        if (!result.allowed()) {
+            log.debug("Rate limit exceeded for client {} on {}", clientId, request.getRequestURI());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSecondsRoundedUp(result.retryAfterNanos())));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many requests, please retry later\"}");
+            return;
+        }
+        if (apiKey != null && keyOwner == null) {
+            log.debug("Unknown API key from {} on {}", request.getRemoteAddr(), request.getRequestURI());
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Unknown API key\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static long toSecondsRoundedUp(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+}
@@ -0,0 +1,57 @@
+package com.coffee.coffeestoreapi.config.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, kept as a single "theoretical arrival time" (the GCRA form of a token bucket).
+ * <p>
+ * Each admitted request pushes the arrival time {@code interval} nanoseconds further; the bucket is full
+ * when the arrival time is in the past and empty when it is {@code capacity * interval} ahead of now.
+ * Refilling is implicit in the passing of time, so taking a token is one compare-and-set on one long.
+ */
+public class TokenBucket {
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, int refillPerSecond, long nowNanos) {
+        this.intervalNanos = 1_000_000_000L / Math.max(1, refillPerSecond);
+        this.capacityNanos = intervalNanos * Math.max(1, capacity);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the outcome, with what is needed for the rate-limit response headers
+     */
+    public Result tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > capacityNanos) {
+                return new Result(false, 0, Math.max(current, nowNanos) - nowNanos, ahead - capacityNanos);
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return new Result(true, (capacityNanos - ahead) / intervalNanos, ahead, 0);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the bucket has been full for at least {@code idleNanos}
+     */
+    public boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrival.get() >= idleNanos;
+    }
+
+    /**
+     * @param allowed whether a token was taken
+     * @param remaining the tokens left after this request
+     * @param resetNanos the time until the bucket is full again
+     * @param retryAfterNanos the time until the next token is available, {@code 0} when allowed
+     */
+    public record Result(boolean allowed, long remaining, long resetNanos, long retryAfterNanos) {}
+}
@@ -0,0 +1,17 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class AdmissionSettings {
+    private boolean enabled;
+    private int initialLimit;
+    private int minLimit;
+    private int maxLimit;
+    private Duration latencyThreshold;
+    private double backoffRatio;
+    private double adminShare;
+    private Duration retryAfter;
+}
@@ -0,0 +1,13 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+@Data
+public class ArchiveSettings {
+    private boolean enabled;
+    private String directory;
+    private int olderThanDays;
+    private int batchSize;
+    private int blockSize;
+    private String cron;
+}
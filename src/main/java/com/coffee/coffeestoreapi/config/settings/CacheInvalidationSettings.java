@@ -0,0 +1,14 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class CacheInvalidationSettings {
+    private boolean enabled;
+    private String channel;
+    private Duration pollTimeout;
+    private Duration validationInterval;
+    private Duration reconnectDelay;
+}
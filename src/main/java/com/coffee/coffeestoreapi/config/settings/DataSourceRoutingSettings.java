@@ -0,0 +1,24 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class DataSourceRoutingSettings {
+    private boolean enabled;
+    private List<Replica> replicas = new ArrayList<>();
+    private Duration healthCheckInterval;
+    private Duration replicaConnectionTimeout;
+    private Duration readYourWritesWindow;
+    private String clientHeader;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
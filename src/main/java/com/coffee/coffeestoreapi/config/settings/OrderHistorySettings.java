@@ -0,0 +1,12 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class OrderHistorySettings {
+    private int maxCustomers;
+    private int ordersPerCustomer;
+    private Duration ttl;
+}
@@ -0,0 +1,15 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class OrderStreamSettings {
+    private int bufferSize;
+    private int writerThreads;
+    private int replaySize;
+    private Duration timeout;
+    private Duration sendTimeout;
+    private Duration heartbeatInterval;
+}
@@ -0,0 +1,22 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class OutboxSettings {
+    private boolean enabled;
+    private int batchSize;
+    private Duration pollInterval;
+    private Duration claimTimeout;
+    private Sink sink = new Sink();
+
+    @Data
+    public static class Sink {
+        private String type;
+        private String file;
+        private String url;
+        private Duration timeout;
+    }
+}
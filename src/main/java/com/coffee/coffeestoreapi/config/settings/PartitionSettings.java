@@ -0,0 +1,11 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+@Data
+public class PartitionSettings {
+    private boolean enabled;
+    private int monthsAhead;
+    private int retentionMonths;
+    private String cron;
+}
@@ -0,0 +1,17 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class PrepQueueSettings {
+    private boolean enabled;
+    /** The number of in-process stations; {@code 0} when every station uses the admin API */
+    private int stations;
+    private Duration pollInterval;
+    private Duration preparationTime;
+    private int batchSize;
+    private Duration claimTimeout;
+    private Duration reclaimInterval;
+}
@@ -0,0 +1,12 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+@Data
+public class PromotionSettings {
+    private ZoneId timeZone;
+    private Duration indexHorizon;
+}
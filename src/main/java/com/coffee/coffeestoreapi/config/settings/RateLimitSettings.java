@@ -0,0 +1,24 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+public class RateLimitSettings {
+    private boolean enabled;
+    private int maxClients;
+    private Duration idleTimeout;
+    private Limit publicApi = new Limit();
+    private Limit adminApi = new Limit();
+    /** API keys by client name */
+    private Map<String, String> apiKeys = new HashMap<>();
+
+    @Data
+    public static class Limit {
+        private int capacity;
+        private int refillPerSecond;
+    }
+}
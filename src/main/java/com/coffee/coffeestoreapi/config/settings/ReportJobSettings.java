@@ -0,0 +1,16 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class ReportJobSettings {
+    private int maxConcurrentJobs;
+    private int maxQueuedJobs;
+    private int parallelism;
+    private int chunkDays;
+    private int maxRangeDays;
+    private Duration retention;
+    private Duration cleanupInterval;
+}
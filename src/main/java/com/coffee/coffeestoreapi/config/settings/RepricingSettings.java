@@ -0,0 +1,11 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+@Data
+public class RepricingSettings {
+    private boolean onCatalogChange;
+    private int parallelism;
+    private int chunkSize;
+    private int batchSize;
+}
@@ -0,0 +1,9 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+@Data
+public class SchemaCheckSettings {
+    private boolean enabled;
+    private String changeLog;
+}
@@ -0,0 +1,14 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+@Data
+public class TracingSettings {
+    private FileExport fileExport = new FileExport();
+
+    @Data
+    public static class FileExport {
+        private boolean enabled;
+        private String file;
+    }
+}
@@ -0,0 +1,26 @@
+package com.coffee.coffeestoreapi.config.settings;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class WarmupSettings {
+    private boolean enabled;
+    private Mode mode;
+    private int batchSize;
+    private double tolerance;
+    private int stableBatches;
+    private Duration maxDuration;
+
+    public enum Mode {
+        /**
+         * Creates and reads back every order in a transaction that is rolled back.
+         */
+        ROLLBACK,
+        /**
+         * Prices, maps and serializes the orders without touching the database.
+         */
+        NO_PERSIST
+    }
+}
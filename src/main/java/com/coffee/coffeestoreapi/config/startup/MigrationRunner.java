@@ -0,0 +1,45 @@
+package com.coffee.coffeestoreapi.config.startup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.core.Ordered;
+
+/**
+ * The one-shot {@code migrate} run. Liquibase has applied the changelog while the singletons were created; this
+ * runner checks that the schema now matches it and records the exit code, which {@code main} returns through
+ * {@link org.springframework.boot.SpringApplication#exit} once the run is done. The {@code migrate} profile turns
+ * off the optional background work (prep stations, outbox relay, warm-up, invalidation listener) for the moments
+ * until then.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MigrationRunner implements ApplicationRunner, ExitCodeGenerator, Ordered {
+    public static final String PROFILE = "migrate";
+
+    private final SchemaVersionCheck schemaVersionCheck;
+    private volatile int exitCode = 1;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            schemaVersionCheck.verify();
+            exitCode = 0;
+            log.info("Migrations applied, exiting");
+        } catch (IllegalStateException e) {
+            log.error("Migrations did not bring the schema up to date", e);
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,67 @@
+package com.coffee.coffeestoreapi.config.startup;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.LiquibaseException;
+import liquibase.exception.ValidationFailedException;
+import liquibase.integration.spring.SpringResourceAccessor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.io.ResourceLoader;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Fails the startup when the schema is behind the packaged changelog, instead of migrating it.
+ * <p>
+ * Liquibase lists the packaged changesets that {@code databasechangelog} has no row for, matched by file, id and
+ * author, and validates the checksums of the applied ones, so a changeset edited after it ran fails the startup
+ * too. Neither takes the Liquibase lock nor creates or upgrades the tracking tables, so a rolling deploy never waits
+ * on a migration. The migrations themselves are applied beforehand by the one-shot {@code migrate} run.
+ * <p>
+ * Runs once every singleton exists, inside the context refresh: before the {@code @Scheduled} jobs are registered,
+ * the web server takes traffic or the application runners (such as the warm-up) start.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SchemaVersionCheck implements SmartInitializingSingleton {
+    private final DataSource dataSource;
+    private final ResourceLoader resourceLoader;
+    private final String changeLog;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        verify();
+    }
+
+    /**
+     * @throws IllegalStateException if a packaged changeset has not been applied, an applied one was changed since,
+     *                               or the applied changesets cannot be read
+     */
+    public void verify() {
+        List<ChangeSet> unrunChangeSets;
+        try (var connection = dataSource.getConnection()) {
+            var database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            var liquibase = new Liquibase(changeLog, new SpringResourceAccessor(resourceLoader), database);
+            unrunChangeSets = liquibase.listUnrunChangeSets(new Contexts(), new LabelExpression(), false);
+            liquibase.getDatabaseChangeLog().validate(database, new Contexts(), new LabelExpression());
+        } catch (ValidationFailedException e) {
+            throw new IllegalStateException("The applied changesets differ from the packaged ones: " + e.getMessage(), e);
+        } catch (SQLException | LiquibaseException e) {
+            throw new IllegalStateException("Could not read the applied changesets, run the migrate profile first", e);
+        }
+
+        if (!unrunChangeSets.isEmpty()) {
+            throw new IllegalStateException("The schema is behind the application, run the migrate profile first. Missing changesets: "
+                    + unrunChangeSets.stream().map(ChangeSet::toString).toList());
+        }
+        log.info("Schema is up to date with {}", changeLog);
+    }
+}
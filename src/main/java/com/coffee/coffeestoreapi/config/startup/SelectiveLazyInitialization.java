@@ -0,0 +1,47 @@
+package com.coffee.coffeestoreapi.config.startup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.List;
+
+/**
+ * Makes the beans of the given packages lazy, leaving the rest of the context eager.
+ * <p>
+ * Meant for beans that are not on the order path (springdoc, the admin controllers): they are created by their
+ * first request instead of delaying the startup, while misconfigured core beans still fail the startup. Beans of
+ * {@code @Bean} methods are matched by the package of their configuration class.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SelectiveLazyInitialization implements BeanFactoryPostProcessor {
+    private final List<String> packages;
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        int lazyBeans = 0;
+        for (var beanName : beanFactory.getBeanDefinitionNames()) {
+            var beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (!beanDefinition.isLazyInit() && isInPackages(declaringClassName(beanFactory, beanDefinition))) {
+                beanDefinition.setLazyInit(true);
+                lazyBeans++;
+            }
+        }
+        log.debug("Initializing {} beans of {} lazily", lazyBeans, packages);
+    }
+
+    private boolean isInPackages(String className) {
+        return className != null && packages.stream().anyMatch(prefix -> className.startsWith(prefix + "."));
+    }
+
+    private static String declaringClassName(ConfigurableListableBeanFactory beanFactory, BeanDefinition beanDefinition) {
+        var factoryBeanName = beanDefinition.getFactoryBeanName();
+        if (factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)) {
+            return beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+        }
+        return beanDefinition.getBeanClassName();
+    }
+}
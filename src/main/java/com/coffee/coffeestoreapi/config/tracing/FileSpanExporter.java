@@ -0,0 +1,74 @@
+package com.coffee.coffeestoreapi.config.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends every finished span as one JSON line to a local file, for analysing traces offline (e.g. with {@code jq})
+ * without a collector. Runs on the batch span processor's thread, never on a request thread.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FileSpanExporter implements SpanExporter {
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            var lines = new StringBuilder();
+            for (var span : spans) {
+                lines.append(objectMapper.writeValueAsString(toLine(span))).append('\n');
+            }
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Could not write {} spans to {}", spans.size(), file, e);
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private static Map<String, Object> toLine(SpanData span) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("trace_id", span.getTraceId());
+        line.put("span_id", span.getSpanId());
+        line.put("parent_span_id", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        line.put("name", span.getName());
+        line.put("kind", span.getKind());
+        line.put("start_epoch_nanos", span.getStartEpochNanos());
+        line.put("duration_micros", TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()));
+        line.put("status", span.getStatus().getStatusCode());
+        line.put("attributes", attributes);
+        return line;
+    }
+}
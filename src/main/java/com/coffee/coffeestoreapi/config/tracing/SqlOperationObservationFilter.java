@@ -0,0 +1,38 @@
+package com.coffee.coffeestoreapi.config.tracing;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationFilter;
+import net.ttddyy.observation.tracing.QueryContext;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Adds the statement type ({@code SELECT}, {@code UPDATE}, ...) of a JDBC query observation as
+ * {@code db.operation}, so query spans and timers can be grouped by it. The row counts are added by the
+ * datasource observation itself ({@code jdbc.row-affected}, {@code jdbc.row-count}).
+ */
+public class SqlOperationObservationFilter implements ObservationFilter {
+    static final String OPERATION_KEY = "db.operation";
+    private static final Set<String> OPERATIONS = Set.of("SELECT", "INSERT", "UPDATE", "DELETE", "MERGE", "WITH", "CALL");
+
+    @Override
+    public Observation.Context map(Observation.Context context) {
+        if (context instanceof QueryContext queryContext && !queryContext.getQueries().isEmpty()) {
+            context.addLowCardinalityKeyValue(KeyValue.of(OPERATION_KEY, operationOf(queryContext.getQueries().getFirst())));
+        }
+        return context;
+    }
+
+    static String operationOf(String sql) {
+        var trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        var keyword = trimmed.substring(0, end).toUpperCase(Locale.ROOT);
+        // Bounded, so it can be a metric tag
+        return OPERATIONS.contains(keyword) ? keyword : "OTHER";
+    }
+}
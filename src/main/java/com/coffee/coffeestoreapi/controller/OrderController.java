@@ -1,7 +1,9 @@
 package com.coffee.coffeestoreapi.controller;
 
 import com.coffee.coffeestoreapi.model.OrderRequest;
+import com.coffee.coffeestoreapi.model.SimpleOrderDto;
 import com.coffee.coffeestoreapi.service.OrderService;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,17 +14,22 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 
 @Tag(name = "Orders", description = "Order management API")
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/orders")
+@Observed(name = "order.controller")
 public class OrderController {
     private final OrderService orderService;
 
@@ -36,7 +43,22 @@ public class OrderController {
     public ResponseEntity<Void> createOrder(
             @Parameter(description = "Order details", required = true) 
             @Valid @RequestBody OrderRequest request) {
-        log.debug("Received request to create an order: {}", request);
+        log.debug("Received request to create an order with {} order line(s)", request.orderLines().size());
         return orderService.createOrder(request);
     }
+
+    @Operation(summary = "Get my recent orders", description = "Retrieves the most recent orders of the orderer, newest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recent orders of the orderer"),
+        @ApiResponse(responseCode = "400", description = "Empty orderer",
+                content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<List<SimpleOrderDto>> getOrderHistory(
+            @Parameter(description = "Name the orders were placed under", required = true)
+            @RequestParam String orderer,
+            @Parameter(description = "Maximum number of orders (at most 100)")
+            @RequestParam(defaultValue = "10") int limit) {
+        return orderService.getOrderHistory(orderer, limit);
+    }
 }
@@ -0,0 +1,60 @@
+package com.coffee.coffeestoreapi.controller.admin;
+
+import com.coffee.coffeestoreapi.model.Currency;
+import com.coffee.coffeestoreapi.model.CurrencyRateChangeRequest;
+import com.coffee.coffeestoreapi.model.CurrencyRateDto;
+import com.coffee.coffeestoreapi.service.admin.CurrencyRateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RequestMapping("/api/v1/admin/currency-rates")
+@RequiredArgsConstructor
+@RestController
+public class AdminCurrencyRateController {
+    private final CurrencyRateService currencyRateService;
+
+    @Operation(
+            summary = "List exchange rates",
+            description = "Retrieves the exchange rate of every currency against the euro."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of exchange rates",
+                    content = @Content(schema = @Schema(implementation = CurrencyRateDto.class)))
+    })
+    @GetMapping
+    public ResponseEntity<List<CurrencyRateDto>> getCurrencyRates() {
+        return currencyRateService.getCurrencyRates();
+    }
+
+    @Operation(
+            summary = "Update an exchange rate",
+            description = "Sets the amount of the currency that one euro buys. Takes effect immediately for prices and discounts."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exchange rate updated",
+                    content = @Content(schema = @Schema(implementation = CurrencyRateDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    @PutMapping("/{currency}")
+    public ResponseEntity<CurrencyRateDto> updateCurrencyRate(
+            @Parameter(description = "Currency to update", required = true)
+            @PathVariable Currency currency,
+            @Valid @RequestBody CurrencyRateChangeRequest currencyRateChangeRequest) {
+        return currencyRateService.updateCurrencyRate(currency, currencyRateChangeRequest);
+    }
+}
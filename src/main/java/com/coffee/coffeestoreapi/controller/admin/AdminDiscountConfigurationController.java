@@ -0,0 +1,53 @@
+package com.coffee.coffeestoreapi.controller.admin;
+
+import com.coffee.coffeestoreapi.model.DiscountConfigurationChangeRequest;
+import com.coffee.coffeestoreapi.model.DiscountConfigurationDto;
+import com.coffee.coffeestoreapi.service.admin.DiscountConfigurationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequestMapping("/api/v1/admin/discount-configuration")
+@RequiredArgsConstructor
+@RestController
+public class AdminDiscountConfigurationController {
+    private final DiscountConfigurationService discountConfigurationService;
+
+    @Operation(
+            summary = "Get the discount configuration",
+            description = "Retrieves the discount rules new orders are priced with and their version."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Discount configuration",
+                    content = @Content(schema = @Schema(implementation = DiscountConfigurationDto.class)))
+    })
+    @GetMapping
+    public ResponseEntity<DiscountConfigurationDto> getDiscountConfiguration() {
+        return discountConfigurationService.getDiscountConfiguration();
+    }
+
+    @Operation(
+            summary = "Change the discount configuration",
+            description = "Turns discounts on or off. Takes effect immediately on this instance and within the refresh "
+                    + "interval on the others; omitted fields keep their value."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Discount configuration changed",
+                    content = @Content(schema = @Schema(implementation = DiscountConfigurationDto.class))),
+            @ApiResponse(responseCode = "409", description = "Changed concurrently, reload and retry")
+    })
+    @PutMapping
+    public ResponseEntity<DiscountConfigurationDto> updateDiscountConfiguration(
+            @RequestBody DiscountConfigurationChangeRequest discountConfigurationChangeRequest) {
+        return discountConfigurationService.updateDiscountConfiguration(discountConfigurationChangeRequest);
+    }
+}
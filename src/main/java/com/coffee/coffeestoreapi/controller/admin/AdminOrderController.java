@@ -1,9 +1,15 @@
 package com.coffee.coffeestoreapi.controller.admin;
 
 import com.coffee.coffeestoreapi.model.AdminOrderChangeRequest;
+import com.coffee.coffeestoreapi.model.BulkOrderRequest;
+import com.coffee.coffeestoreapi.model.BulkOrderResultDto;
 import com.coffee.coffeestoreapi.model.OrderDto;
+import com.coffee.coffeestoreapi.model.OrderSearchResultDto;
+import com.coffee.coffeestoreapi.model.RepricingSummaryDto;
 import com.coffee.coffeestoreapi.model.SimpleOrderDto;
+import com.coffee.coffeestoreapi.service.OrderRepricingService;
 import com.coffee.coffeestoreapi.service.OrderService;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,27 +18,37 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/admin/orders")
+@Observed(name = "order.controller")
 public class AdminOrderController {
     private final OrderService orderService;
+    private final OrderRepricingService orderRepricingService;
 
 
     @Operation(
             summary = "Get order by order number",
-            description = "Retrieves the details of a specific order by its order number."
+            description = "Retrieves the details of a specific order by its order number. The ETag header carries the order version for If-Match."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order found",
@@ -46,17 +62,79 @@ public class AdminOrderController {
         return orderService.getOrder(orderNumber);
     }
 
+    @Operation(
+            summary = "Get the order history of an orderer",
+            description = "Retrieves the most recent orders of one orderer, newest first."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recent orders of the orderer",
+                    content = @Content(schema = @Schema(implementation = SimpleOrderDto.class))),
+            @ApiResponse(responseCode = "400", description = "Empty orderer")
+    })
+    @GetMapping(params = "orderer")
+    public ResponseEntity<List<SimpleOrderDto>> getOrderHistory(
+            @Parameter(description = "Exact name of the orderer", required = true)
+            @RequestParam String orderer,
+            @Parameter(description = "Maximum number of orders (at most 100)")
+            @RequestParam(defaultValue = "10") int limit) {
+        return orderService.getOrderHistory(orderer, limit);
+    }
+
     @Operation(
             summary = "List all orders",
-            description = "Retrieves a list of all orders with basic information."
+            description = "Retrieves a list of all orders with basic information, optionally bounded by creation date."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of orders",
                     content = @Content(schema = @Schema(implementation = SimpleOrderDto.class)))
     })
     @GetMapping("/list")
-    public ResponseEntity<List<SimpleOrderDto>> getOrders() {
-        return orderService.getAllOrders();
+    public ResponseEntity<List<SimpleOrderDto>> getOrders(
+            @Parameter(description = "First day of the creation date range (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the creation date range (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return orderService.getAllOrders(from, to);
+    }
+
+    @Operation(
+            summary = "Search orders by orderer",
+            description = "Finds the orders of an orderer by name prefix, newest first, or by similar names with fuzzy matching, "
+                    + "most similar name first. "
+                    + "Pass the next_cursor of a page as cursor to get the next one."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One page of matching orders",
+                    content = @Content(schema = @Schema(implementation = OrderSearchResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Empty orderer, fuzzy orderer shorter than 3 characters or invalid cursor")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<OrderSearchResultDto> searchOrders(
+            @Parameter(description = "Start of the orderer name, or a name to match approximately with fuzzy", required = true)
+            @RequestParam String orderer,
+            @Parameter(description = "Match similar names by trigrams instead of by prefix")
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @Parameter(description = "Maximum number of orders in the page (at most 100)")
+            @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "The next_cursor of the previous page")
+            @RequestParam(required = false) String cursor) {
+        return orderService.searchOrders(orderer, fuzzy, limit, cursor);
+    }
+
+    @Operation(
+            summary = "Stream order changes",
+            description = "Pushes order created, updated and cancelled events as Server-Sent Events. "
+                    + "Reconnecting clients resume after the Last-Event-ID header; a reset event asks them to reload the list."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream of order changes",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = SimpleOrderDto.class)))
+    })
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrders(
+            @Parameter(description = "Id of the last event received before reconnecting")
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return orderService.streamOrders(lastEventId);
     }
 
     @Operation(
@@ -67,11 +145,16 @@ public class AdminOrderController {
             @ApiResponse(responseCode = "200", description = "Order updated",
                     content = @Content(schema = @Schema(implementation = OrderDto.class))),
             @ApiResponse(responseCode = "404", description = "Order not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid request")
+            @ApiResponse(responseCode = "400", description = "Invalid request or malformed If-Match"),
+            @ApiResponse(responseCode = "409", description = "Order was modified since the given ETag")
     })
     @PatchMapping("/{orderNumber}")
-    public ResponseEntity<OrderDto> updateOrder(@PathVariable String orderNumber, @Valid @RequestBody AdminOrderChangeRequest adminOrderChangeRequest) {
-        return orderService.updateOrder(orderNumber, adminOrderChangeRequest);
+    public ResponseEntity<OrderDto> updateOrder(
+            @PathVariable String orderNumber,
+            @Parameter(description = "ETag of the order the change is based on")
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody AdminOrderChangeRequest adminOrderChangeRequest) {
+        return orderService.updateOrder(orderNumber, ifMatch, adminOrderChangeRequest);
     }
 
     @Operation(
@@ -80,10 +163,59 @@ public class AdminOrderController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Order deleted"),
-            @ApiResponse(responseCode = "404", description = "Order not found")
+            @ApiResponse(responseCode = "400", description = "Malformed If-Match"),
+            @ApiResponse(responseCode = "404", description = "Order not found"),
+            @ApiResponse(responseCode = "409", description = "Order is no longer pending or was modified since the given ETag")
     })
     @DeleteMapping("/{orderNumber}")
-    public ResponseEntity<Void> deleteOrder(@PathVariable String orderNumber) {
-        return orderService.deleteOrder(orderNumber);
+    public ResponseEntity<Void> deleteOrder(
+            @PathVariable String orderNumber,
+            @Parameter(description = "ETag of the order the cancellation is based on")
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return orderService.deleteOrder(orderNumber, ifMatch);
+    }
+
+    @Operation(
+            summary = "Cancel orders in bulk",
+            description = "Cancels the given pending orders, or when no order numbers are given, every pending order "
+                    + "created before created_before (optionally of one orderer), and reports the outcome per order."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Outcome per order",
+                    content = @Content(schema = @Schema(implementation = BulkOrderResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    @PostMapping("/bulk/cancel")
+    public ResponseEntity<BulkOrderResultDto> cancelOrders(@Valid @RequestBody BulkOrderRequest bulkOrderRequest) {
+        return orderService.cancelOrders(bulkOrderRequest);
+    }
+
+    @Operation(
+            summary = "Complete orders in bulk",
+            description = "Completes the given pending or processing orders, or when no order numbers are given, every open "
+                    + "order created before created_before (optionally of one orderer), and reports the outcome per order."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Outcome per order",
+                    content = @Content(schema = @Schema(implementation = BulkOrderResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    @PostMapping("/bulk/complete")
+    public ResponseEntity<BulkOrderResultDto> completeOrders(@Valid @RequestBody BulkOrderRequest bulkOrderRequest) {
+        return orderService.completeOrders(bulkOrderRequest);
+    }
+
+    @Operation(
+            summary = "Re-price pending orders",
+            description = "Recalculates the prices, discounts and totals of every pending order from the current catalog "
+                    + "and discount settings, and reports the total price changes per currency."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summary of the re-pricing",
+                    content = @Content(schema = @Schema(implementation = RepricingSummaryDto.class)))
+    })
+    @PostMapping("/reprice")
+    public ResponseEntity<RepricingSummaryDto> repriceOrders() {
+        return orderRepricingService.repricePendingOrders();
     }
 }
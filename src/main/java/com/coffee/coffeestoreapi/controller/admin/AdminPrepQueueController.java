@@ -0,0 +1,73 @@
+package com.coffee.coffeestoreapi.controller.admin;
+
+import com.coffee.coffeestoreapi.model.SimpleOrderDto;
+import com.coffee.coffeestoreapi.service.prep.PrepQueueService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RequestMapping("/api/v1/admin/prep-queue")
+@RequiredArgsConstructor
+@RestController
+@ConditionalOnProperty(prefix = "prep-queue", name = "enabled", havingValue = "true")
+public class AdminPrepQueueController {
+    private final PrepQueueService prepQueueService;
+
+    @Operation(
+            summary = "Claim orders for a barista station",
+            description = "Moves the oldest pending orders to PROCESSING for the calling station. "
+                    + "Orders not completed before the claim timeout return to the queue."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Claimed orders, empty when no order is pending",
+                    content = @Content(schema = @Schema(implementation = SimpleOrderDto.class)))
+    })
+    @PostMapping("/claims")
+    public ResponseEntity<List<SimpleOrderDto>> claimOrders(
+            @Parameter(description = "Maximum number of orders to claim (at most prep-queue.batch-size)")
+            @RequestParam(defaultValue = "1") int limit) {
+        return prepQueueService.claimOrders(limit);
+    }
+
+    @Operation(summary = "Complete a claimed order", description = "Marks an order in PROCESSING as COMPLETED.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order completed",
+                    content = @Content(schema = @Schema(implementation = SimpleOrderDto.class))),
+            @ApiResponse(responseCode = "409", description = "Order is not being prepared, e.g. its claim expired")
+    })
+    @PostMapping("/{orderNumber}/complete")
+    public ResponseEntity<SimpleOrderDto> completeOrder(
+            @Parameter(description = "orderNumber of the order to complete", required = true)
+            @PathVariable String orderNumber) {
+        return prepQueueService.completeOrder(orderNumber);
+    }
+
+    @Operation(summary = "Prioritize a pending order", description = "Stations claim orders of a higher priority first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Priority set",
+                    content = @Content(schema = @Schema(implementation = SimpleOrderDto.class))),
+            @ApiResponse(responseCode = "409", description = "Order is not pending")
+    })
+    @PutMapping("/{orderNumber}/priority")
+    public ResponseEntity<SimpleOrderDto> prioritizeOrder(
+            @Parameter(description = "orderNumber of the order to prioritize", required = true)
+            @PathVariable String orderNumber,
+            @Parameter(description = "The new priority, 0 by default; higher is claimed first")
+            @RequestParam int priority) {
+        return prepQueueService.prioritizeOrder(orderNumber, priority);
+    }
+}
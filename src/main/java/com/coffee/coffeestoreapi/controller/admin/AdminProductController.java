@@ -1,6 +1,7 @@
 package com.coffee.coffeestoreapi.controller.admin;
 
 
+import com.coffee.coffeestoreapi.model.Currency;
 import com.coffee.coffeestoreapi.model.PopularItemsDto;
 import com.coffee.coffeestoreapi.model.ProductChangeRequest;
 import com.coffee.coffeestoreapi.model.ProductCreateRequest;
@@ -8,12 +9,14 @@ import com.coffee.coffeestoreapi.model.ProductDto;
 import com.coffee.coffeestoreapi.service.OrderService;
 import com.coffee.coffeestoreapi.service.admin.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,8 +25,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RequestMapping("/api/v1/admin/products")
@@ -35,7 +40,7 @@ public class AdminProductController {
 
     @Operation(
             summary = "Get product by ID",
-            description = "Retrieves the details of a specific product by its ID."
+            description = "Retrieves the details of a specific product by its ID, optionally priced in another currency."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product found",
@@ -43,21 +48,26 @@ public class AdminProductController {
             @ApiResponse(responseCode = "404", description = "Product not found")
     })
     @GetMapping("/{productId}")
-    public ResponseEntity<ProductDto> getProducts(@PathVariable Long productId) {
-        return productService.getProduct(productId);
+    public ResponseEntity<ProductDto> getProducts(
+            @PathVariable Long productId,
+            @Parameter(description = "Currency of the price, euros by default")
+            @RequestParam(required = false) Currency currency) {
+        return productService.getProduct(productId, currency);
     }
 
     @Operation(
             summary = "List all products",
-            description = "Retrieves a list of all products."
+            description = "Retrieves a list of all products, optionally priced in another currency."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of products",
                     content = @Content(schema = @Schema(implementation = ProductDto.class)))
     })
     @GetMapping("/list")
-    public ResponseEntity<List<ProductDto>> getProducts() {
-        return productService.getProducts();
+    public ResponseEntity<List<ProductDto>> getProducts(
+            @Parameter(description = "Currency of the prices, euros by default")
+            @RequestParam(required = false) Currency currency) {
+        return productService.getProducts(currency);
     }
 
     @Operation(
@@ -113,7 +123,11 @@ public class AdminProductController {
                     content = @Content(schema = @Schema(implementation = PopularItemsDto.class)))
     })
     @GetMapping("/most-popular")
-    public ResponseEntity<PopularItemsDto> getMostPopularItems() {
-        return orderService.getMostPopularItems();
+    public ResponseEntity<PopularItemsDto> getMostPopularItems(
+            @Parameter(description = "First day of the order creation date range (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the order creation date range (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return orderService.getMostPopularItems(from, to);
     }
 }
@@ -0,0 +1,68 @@
+package com.coffee.coffeestoreapi.controller.admin;
+
+import com.coffee.coffeestoreapi.model.PromotionCreateRequest;
+import com.coffee.coffeestoreapi.model.PromotionDto;
+import com.coffee.coffeestoreapi.service.admin.PromotionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RequestMapping("/api/v1/admin/promotions")
+@RequiredArgsConstructor
+@RestController
+public class AdminPromotionController {
+    private final PromotionService promotionService;
+
+    @Operation(
+            summary = "List the promotions",
+            description = "Retrieves every time-scheduled promotion and whether it applies to orders placed now."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of promotions",
+                    content = @Content(schema = @Schema(implementation = PromotionDto.class)))
+    })
+    @GetMapping
+    public ResponseEntity<List<PromotionDto>> getPromotions() {
+        return promotionService.getPromotions();
+    }
+
+    @Operation(
+            summary = "Create a promotion",
+            description = "Creates a percentage discount that applies in a recurring time window, in the store time zone."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Promotion created"),
+            @ApiResponse(responseCode = "400", description = "Invalid promotion")
+    })
+    @PostMapping
+    public ResponseEntity<String> createPromotion(@Valid @RequestBody PromotionCreateRequest promotionCreateRequest) {
+        return promotionService.createPromotion(promotionCreateRequest);
+    }
+
+    @Operation(
+            summary = "Delete a promotion",
+            description = "Deletes a promotion by its ID."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Promotion deleted"),
+            @ApiResponse(responseCode = "404", description = "Promotion not found")
+    })
+    @DeleteMapping("/{promotionId}")
+    public ResponseEntity<Void> deletePromotion(@PathVariable Long promotionId) {
+        return promotionService.deletePromotion(promotionId);
+    }
+}
@@ -0,0 +1,82 @@
+package com.coffee.coffeestoreapi.controller.admin;
+
+import com.coffee.coffeestoreapi.model.ReportJobDto;
+import com.coffee.coffeestoreapi.model.ReportJobRequest;
+import com.coffee.coffeestoreapi.model.ReportLine;
+import com.coffee.coffeestoreapi.service.report.ReportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RequestMapping("/api/v1/admin/reports")
+@RequiredArgsConstructor
+@RestController
+public class AdminReportController {
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ReportJobService reportJobService;
+
+    @Operation(
+            summary = "Submit a report job",
+            description = "Queues a daily receipts, monthly sales or discount usage report over a date range. "
+                    + "Poll the returned location until the job is completed, then download its result."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Report job queued",
+                    content = @Content(schema = @Schema(implementation = ReportJobDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid or too long date range"),
+            @ApiResponse(responseCode = "503", description = "Too many report jobs are queued")
+    })
+    @PostMapping
+    public ResponseEntity<ReportJobDto> submitReport(@Valid @RequestBody ReportJobRequest reportJobRequest) {
+        return reportJobService.submit(reportJobRequest);
+    }
+
+    @Operation(summary = "Get a report job", description = "Retrieves the status of a report job.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report job found",
+                    content = @Content(schema = @Schema(implementation = ReportJobDto.class))),
+            @ApiResponse(responseCode = "404", description = "Report job not found or expired")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJobDto> getReportJob(
+            @Parameter(description = "id of the report job", required = true)
+            @PathVariable UUID id) {
+        return reportJobService.getJob(id);
+    }
+
+    @Operation(summary = "Download a report", description = "Retrieves the lines of a completed report as JSON or, with Accept: text/csv, as CSV.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report lines",
+                    content = @Content(schema = @Schema(implementation = ReportLine.class))),
+            @ApiResponse(responseCode = "404", description = "Report job not found or expired"),
+            @ApiResponse(responseCode = "409", description = "Report job not completed")
+    })
+    @GetMapping(path = "/{id}/result", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ReportLine>> getReport(
+            @Parameter(description = "id of the report job", required = true)
+            @PathVariable UUID id) {
+        return reportJobService.getResult(id);
+    }
+
+    @GetMapping(path = "/{id}/result", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<String> getReportAsCsv(@PathVariable UUID id) {
+        return reportJobService.getResultAsCsv(id);
+    }
+}
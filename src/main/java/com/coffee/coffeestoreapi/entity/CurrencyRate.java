@@ -0,0 +1,31 @@
+package com.coffee.coffeestoreapi.entity;
+
+import com.coffee.coffeestoreapi.model.Currency;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exchange rate of a currency against the base currency (EUR), as the amount of the currency that one euro
+ * buys, in millionths.
+ */
+@Getter
+@Setter
+@Table(name = "currency_rates")
+@Entity
+public class CurrencyRate {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Currency currency;
+
+    private Long rateMicros;
+
+    private LocalDateTime updatedAt;
+}
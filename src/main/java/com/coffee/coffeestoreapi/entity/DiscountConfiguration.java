@@ -0,0 +1,36 @@
+package com.coffee.coffeestoreapi.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The discount rules applied when pricing orders. There is a single row; its version increases with every change
+ * and is recorded on the orders priced with it.
+ */
+@Getter
+@Setter
+@Table(name = "discount_configuration")
+@Entity
+public class DiscountConfiguration {
+    public static final short ID = 1;
+
+    @Id
+    private Short id;
+
+    private boolean enabled;
+
+    private boolean twentyFivePercent;
+
+    private boolean freeItemAfterThree;
+
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+}
@@ -14,6 +14,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -26,6 +27,7 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Getter
@@ -70,11 +72,17 @@ public class Order {
     @Nullable
     private LocalDate updatedAt;
 
-    private LocalDate processedAt;
+    private LocalDateTime processedAt;
 
-    private LocalDate completedAt;
+    private LocalDateTime completedAt;
 
     @SoftDelete
     private Timestamp canceledAt;
 
+    @Version
+    private Long version;
+
+    @Nullable
+    private Long discountConfigurationVersion;
+
 }
@@ -0,0 +1,27 @@
+package com.coffee.coffeestoreapi.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.sql.Timestamp;
+
+/**
+ * An order number reserved by the {@code orders} trigger, with the creation time of its order. Only read, to find
+ * the partition holding an order.
+ */
+@Getter
+@Setter
+@Immutable
+@Table(name = "order_numbers")
+@Entity
+public class OrderNumber {
+
+    @Id
+    private String orderNumber;
+
+    private Timestamp createdAt;
+}
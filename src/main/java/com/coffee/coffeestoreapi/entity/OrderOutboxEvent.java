@@ -0,0 +1,41 @@
+package com.coffee.coffeestoreapi.entity;
+
+import com.coffee.coffeestoreapi.model.OrderEventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnTransformer;
+
+import java.time.LocalDateTime;
+
+/**
+ * An order change waiting in the transactional outbox to be relayed to the downstream systems.
+ */
+@Getter
+@Setter
+@Table(name = "order_outbox")
+@Entity
+public class OrderOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String orderNumber;
+
+    @Enumerated(EnumType.STRING)
+    private OrderEventType eventType;
+
+    @Column(columnDefinition = "jsonb")
+    @ColumnTransformer(write = "CAST(? AS jsonb)")
+    private String payload;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,54 @@
+package com.coffee.coffeestoreapi.entity;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+/**
+ * A percentage discount that only applies in a recurring time window, in the store time zone: between
+ * {@code startTime} and {@code endTime} on the given days, within the optional validity dates (both inclusive).
+ * An {@code endTime} at or before the {@code startTime} ends on the next day.
+ */
+@Getter
+@Setter
+@Table(name = "promotions")
+@Entity
+public class Promotion {
+
+    @Id
+    @GeneratedValue(generator = "hibernate_sequence")
+    @SequenceGenerator(name = "hibernate_sequence", allocationSize = 1)
+    private Long id;
+
+    private String name;
+
+    private Integer percentage;
+
+    @Nullable
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private Set<DayOfWeek> daysOfWeek;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    @Nullable
+    private LocalDate validFrom;
+
+    @Nullable
+    private LocalDate validUntil;
+}
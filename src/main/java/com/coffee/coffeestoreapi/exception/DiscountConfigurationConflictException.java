@@ -0,0 +1,7 @@
+package com.coffee.coffeestoreapi.exception;
+
+public class DiscountConfigurationConflictException extends RuntimeException {
+    public DiscountConfigurationConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.coffee.coffeestoreapi.exception;
+
+public class InvalidCurrencyRateException extends RuntimeException {
+    public InvalidCurrencyRateException(String message) {
+        super(message);
+    }
+}
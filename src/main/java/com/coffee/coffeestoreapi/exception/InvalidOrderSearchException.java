@@ -0,0 +1,7 @@
+package com.coffee.coffeestoreapi.exception;
+
+public class InvalidOrderSearchException extends RuntimeException {
+    public InvalidOrderSearchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.coffee.coffeestoreapi.exception;
+
+public class InvalidPreconditionException extends RuntimeException {
+    public InvalidPreconditionException(String message) {
+        super(message);
+    }
+}
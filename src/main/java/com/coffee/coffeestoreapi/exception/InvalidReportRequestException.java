@@ -0,0 +1,7 @@
+package com.coffee.coffeestoreapi.exception;
+
+public class InvalidReportRequestException extends RuntimeException {
+    public InvalidReportRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.coffee.coffeestoreapi.exception;
+
+public class OrderConflictException extends RuntimeException {
+    public OrderConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.coffee.coffeestoreapi.exception;
+
+public class ReportJobNotReadyException extends RuntimeException {
+    public ReportJobNotReadyException(String message) {
+        super(message);
+    }
+}
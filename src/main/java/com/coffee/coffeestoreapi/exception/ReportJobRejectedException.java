@@ -0,0 +1,7 @@
+package com.coffee.coffeestoreapi.exception;
+
+public class ReportJobRejectedException extends RuntimeException {
+    public ReportJobRejectedException(String message) {
+        super(message);
+    }
+}
@@ -2,12 +2,16 @@ package com.coffee.coffeestoreapi.mapper;
 
 import com.coffee.coffeestoreapi.entity.Order;
 import com.coffee.coffeestoreapi.model.OrderDto;
+import io.micrometer.observation.annotation.Observed;
+import org.mapstruct.AnnotateWith;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
 
+// Copied onto the generated implementation, which is the bean the observation aspect sees
+@AnnotateWith(value = Observed.class, elements = @AnnotateWith.Element(name = "name", strings = "order.mapper"))
 @Mapper(componentModel = "spring")
 public interface OrderMapper {
 
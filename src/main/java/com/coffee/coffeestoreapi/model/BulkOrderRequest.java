@@ -0,0 +1,34 @@
+package com.coffee.coffeestoreapi.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Selects the orders of a bulk operation, either by order number or by filter.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record BulkOrderRequest(
+
+        @Size(max = 10000, message = "At most 10000 order numbers can be changed at once")
+        List<String> orderNumbers,
+
+        LocalDateTime createdBefore,
+
+        @Size(max = 50, message = "Orderer name should not exceed 50 characters")
+        String orderer
+) {
+
+    @AssertTrue(message = "Either order_numbers or created_before is required")
+    public boolean isSelective() {
+        return (orderNumbers != null && !orderNumbers.isEmpty()) || createdBefore != null;
+    }
+
+    public boolean hasOrderNumbers() {
+        return orderNumbers != null && !orderNumbers.isEmpty();
+    }
+}
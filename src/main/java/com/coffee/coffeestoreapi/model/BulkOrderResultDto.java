@@ -0,0 +1,33 @@
+package com.coffee.coffeestoreapi.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk order operation, one result per selected order.
+ */
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class BulkOrderResultDto {
+    private int updatedCount;
+    private List<Result> results;
+
+    public enum Outcome {
+        UPDATED,
+        CONFLICT,
+        NOT_FOUND
+    }
+
+    /**
+     * @param orderNumber the order number
+     * @param outcome whether the order was changed
+     * @param status the status of the order after the operation, {@code null} if it does not exist
+     */
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public record Result(String orderNumber, Outcome outcome, OrderStatus status) {}
+}
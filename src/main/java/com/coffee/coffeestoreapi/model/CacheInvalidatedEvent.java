@@ -0,0 +1,15 @@
+package com.coffee.coffeestoreapi.model;
+
+/**
+ * Published on this instance when another instance changed data behind one of the in-memory caches.
+ *
+ * @param topic the cache to invalidate
+ * @param key the changed entry, e.g. the orderer of an order history, or {@code null} when the whole cache must be
+ *            reloaded, as after the notifications may have been missed
+ */
+public record CacheInvalidatedEvent(CacheTopic topic, String key) {
+
+    public boolean isFullResync() {
+        return key == null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.coffee.coffeestoreapi.model;
+
+/**
+ * The in-memory caches that other instances invalidate through the cache invalidation channel.
+ */
+public enum CacheTopic {
+    ORDER_HISTORY,
+    DISCOUNT_RULES,
+    PROMOTIONS,
+    CURRENCY_RATES
+}
@@ -0,0 +1,14 @@
+package com.coffee.coffeestoreapi.model;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public record CurrencyRateChangeRequest(
+        @NotNull(message = "Rate should not be null")
+        @DecimalMin(value = "0.000001", message = "Rate should be at least 0.000001")
+        @Digits(integer = 12, fraction = 6, message = "Rate should have at most 6 decimals")
+        BigDecimal rate
+) {}
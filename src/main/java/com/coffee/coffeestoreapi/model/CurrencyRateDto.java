@@ -0,0 +1,13 @@
+package com.coffee.coffeestoreapi.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * @param rate the amount of the currency that one euro buys
+ */
+public record CurrencyRateDto(
+        Currency currency,
+        BigDecimal rate,
+        LocalDateTime updatedAt
+) {}
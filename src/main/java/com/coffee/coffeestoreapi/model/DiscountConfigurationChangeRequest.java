@@ -0,0 +1,10 @@
+package com.coffee.coffeestoreapi.model;
+
+/**
+ * Changes the discount rules; a {@code null} field keeps its current value.
+ */
+public record DiscountConfigurationChangeRequest(
+        Boolean enabled,
+        Boolean twentyFivePercent,
+        Boolean freeItemAfterThree
+) {}
@@ -0,0 +1,8 @@
+package com.coffee.coffeestoreapi.model;
+
+/**
+ * Published when the discount rules change.
+ *
+ * @param version the version of the new configuration
+ */
+public record DiscountConfigurationChangedEvent(long version) {}
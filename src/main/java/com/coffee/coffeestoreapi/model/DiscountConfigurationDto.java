@@ -0,0 +1,14 @@
+package com.coffee.coffeestoreapi.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param version the version recorded on the orders priced with this configuration
+ */
+public record DiscountConfigurationDto(
+        boolean enabled,
+        boolean twentyFivePercent,
+        boolean freeItemAfterThree,
+        long version,
+        LocalDateTime updatedAt
+) {}
@@ -24,7 +24,9 @@ public class OrderDto {
     private List<OrderLine> orderLines;
     private LocalDateTime createdAt;
     private LocalDate updatedAt;
-    private LocalDate processedAt;
-    private LocalDate completedAt;
+    private LocalDateTime processedAt;
+    private LocalDateTime completedAt;
     private LocalDateTime canceledAt;
+    private Long version;
+    private Long discountConfigurationVersion;
 }
@@ -0,0 +1,16 @@
+package com.coffee.coffeestoreapi.model;
+
+/**
+ * Published by the order service for every order change, delivered to the live order feed once the
+ * surrounding transaction has committed.
+ *
+ * @param type what happened to the order
+ * @param order the order as it was after the change
+ * @param previousOrderer the orderer before the change, {@code null} if the change did not touch the orderer
+ */
+public record OrderEvent(OrderEventType type, SimpleOrderDto order, String previousOrderer) {
+
+    public OrderEvent(OrderEventType type, SimpleOrderDto order) {
+        this(type, order, null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.coffee.coffeestoreapi.model;
+
+public enum OrderEventType {
+    CREATED,
+    UPDATED,
+    CANCELLED
+}
@@ -0,0 +1,26 @@
+package com.coffee.coffeestoreapi.model;
+
+import com.coffee.coffeestoreapi.entity.OrderOutboxEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.time.LocalDateTime;
+
+/**
+ * An order change as delivered to the downstream systems by the outbox relay. The {@code id} increases
+ * with every change and lets consumers drop duplicates after a redelivery.
+ *
+ * @param payload the order as JSON, embedded as is
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record OrderOutboxMessage(Long id,
+                                 String orderNumber,
+                                 OrderEventType eventType,
+                                 @JsonRawValue String payload,
+                                 LocalDateTime createdAt) {
+
+    public static OrderOutboxMessage from(OrderOutboxEvent event) {
+        return new OrderOutboxMessage(event.getId(), event.getOrderNumber(), event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,16 @@
+package com.coffee.coffeestoreapi.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * One page of an orderer search, newest orders first.
+ *
+ * @param orders the matching orders
+ * @param nextCursor the cursor of the next page, {@code null} on the last page
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record OrderSearchResultDto(List<SimpleOrderDto> orders, String nextCursor) {
+}
@@ -0,0 +1,10 @@
+package com.coffee.coffeestoreapi.model;
+
+/**
+ * Published when the catalog price of a product changes.
+ *
+ * @param productName the name the order lines refer to the product by
+ * @param previousPriceInCents the former price, in euro cents
+ * @param priceInCents the new price, in euro cents
+ */
+public record ProductPriceChangedEvent(String productName, Integer previousPriceInCents, Integer priceInCents) {}
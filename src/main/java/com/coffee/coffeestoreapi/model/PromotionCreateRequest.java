@@ -0,0 +1,48 @@
+package com.coffee.coffeestoreapi.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+/**
+ * A promotion that applies from {@code startTime} to {@code endTime} on the given days (every day when omitted),
+ * between the optional validity dates. An end time at or before the start time ends on the next day, so
+ * {@code 00:00}-{@code 00:00} covers whole days.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record PromotionCreateRequest(
+        @NotEmpty(message = "Promotion name should not be empty")
+        String name,
+
+        @NotNull(message = "Promotion percentage should not be empty")
+        @Min(value = 1, message = "Promotion percentage should not be less than 1")
+        @Max(value = 100, message = "Promotion percentage should not be more than 100")
+        Integer percentage,
+
+        Set<DayOfWeek> daysOfWeek,
+
+        @NotNull(message = "Start time is required")
+        LocalTime startTime,
+
+        @NotNull(message = "End time is required")
+        LocalTime endTime,
+
+        LocalDate validFrom,
+
+        LocalDate validUntil
+) {
+
+    @AssertTrue(message = "Valid from date should not be after valid until date")
+    public boolean isOrderedValidity() {
+        return validFrom == null || validUntil == null || !validFrom.isAfter(validUntil);
+    }
+}
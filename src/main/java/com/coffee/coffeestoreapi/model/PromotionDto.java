@@ -0,0 +1,21 @@
+package com.coffee.coffeestoreapi.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+/**
+ * @param active whether the promotion applies to orders placed now
+ */
+public record PromotionDto(
+        Long id,
+        String name,
+        Integer percentage,
+        Set<DayOfWeek> daysOfWeek,
+        LocalTime startTime,
+        LocalTime endTime,
+        LocalDate validFrom,
+        LocalDate validUntil,
+        boolean active
+) {}
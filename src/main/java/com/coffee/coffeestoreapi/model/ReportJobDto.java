@@ -0,0 +1,27 @@
+package com.coffee.coffeestoreapi.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * State of a report job. The result can be downloaded once the status is {@code COMPLETED}.
+ */
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ReportJobDto {
+    private UUID id;
+    private ReportType type;
+    private LocalDate from;
+    private LocalDate to;
+    private ReportJobStatus status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+    private String error;
+}
@@ -0,0 +1,30 @@
+package com.coffee.coffeestoreapi.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * Requests a report over the orders created between {@code from} and {@code to}, both inclusive.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record ReportJobRequest(
+
+        @NotNull(message = "Report type is required")
+        ReportType type,
+
+        @NotNull(message = "From date is required")
+        LocalDate from,
+
+        @NotNull(message = "To date is required")
+        LocalDate to
+) {
+
+    @AssertTrue(message = "From date should not be after to date")
+    public boolean isOrderedRange() {
+        return from == null || to == null || !from.isAfter(to);
+    }
+}
@@ -0,0 +1,8 @@
+package com.coffee.coffeestoreapi.model;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
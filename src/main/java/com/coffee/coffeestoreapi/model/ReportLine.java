@@ -0,0 +1,21 @@
+package com.coffee.coffeestoreapi.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * One line of a report: the totals of the orders of one period and currency, and for the discount usage report
+ * of one discount. For discount usage the order count is the number of uses and the discount amount is the one
+ * granted by that discount.
+ *
+ * @param period the day ({@code 2025-05-19}) or month ({@code 2025-05}) of the line
+ * @param discount the discount name, {@code null} outside the discount usage report
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record ReportLine(String period,
+                         String discount,
+                         Currency currency,
+                         long orderCount,
+                         long subTotalInCents,
+                         long discountInCents,
+                         long totalInCents) {}
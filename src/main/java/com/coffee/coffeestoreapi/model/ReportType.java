@@ -0,0 +1,19 @@
+package com.coffee.coffeestoreapi.model;
+
+/**
+ * The reports that can be run as report jobs, each with the period its lines are grouped by.
+ */
+public enum ReportType {
+    /**
+     * End-of-day receipts: orders and takings per day and currency.
+     */
+    DAILY_RECEIPTS,
+    /**
+     * Sales per month and currency.
+     */
+    MONTHLY_SALES,
+    /**
+     * Uses and amounts of every discount per month and currency.
+     */
+    DISCOUNT_USAGE
+}
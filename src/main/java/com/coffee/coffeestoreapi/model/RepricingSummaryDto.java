@@ -0,0 +1,28 @@
+package com.coffee.coffeestoreapi.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Outcome of a re-pricing run over the pending orders.
+ */
+@Data
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class RepricingSummaryDto {
+    private int scannedOrders;
+    private int repricedOrders;
+    /**
+     * Orders whose price changed but that were modified, claimed or cancelled concurrently and kept as they are.
+     */
+    private int conflictedOrders;
+    /**
+     * The sum of the total price changes of the re-priced orders, per currency.
+     */
+    private Map<Currency, Long> totalDeltaInCents;
+    private long durationMillis;
+}
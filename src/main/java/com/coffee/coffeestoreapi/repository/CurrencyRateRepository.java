@@ -0,0 +1,10 @@
+package com.coffee.coffeestoreapi.repository;
+
+import com.coffee.coffeestoreapi.entity.CurrencyRate;
+import com.coffee.coffeestoreapi.model.Currency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CurrencyRateRepository extends JpaRepository<CurrencyRate, Currency> {
+}
@@ -0,0 +1,9 @@
+package com.coffee.coffeestoreapi.repository;
+
+import com.coffee.coffeestoreapi.entity.DiscountConfiguration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DiscountConfigurationRepository extends JpaRepository<DiscountConfiguration, Short> {
+}
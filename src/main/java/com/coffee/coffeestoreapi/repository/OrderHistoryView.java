@@ -0,0 +1,28 @@
+package com.coffee.coffeestoreapi.repository;
+
+import com.coffee.coffeestoreapi.model.Currency;
+import com.coffee.coffeestoreapi.model.Discount;
+import com.coffee.coffeestoreapi.model.OrderStatus;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Projection of an order to the columns of {@link com.coffee.coffeestoreapi.model.SimpleOrderDto}, all of them
+ * held by the orderer history index.
+ */
+public interface OrderHistoryView {
+    String getOrderNumber();
+
+    String getOrderer();
+
+    Timestamp getCreatedAt();
+
+    Currency getCurrency();
+
+    List<Discount> getDiscounts();
+
+    Integer getTotalPriceInCents();
+
+    OrderStatus getStatus();
+}
@@ -0,0 +1,47 @@
+package com.coffee.coffeestoreapi.repository;
+
+import com.coffee.coffeestoreapi.entity.OrderOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, Long> {
+
+    /**
+     * Claims the oldest {@code limit} unclaimed outbox events for {@code claimSeconds} in one short transaction.
+     * Events locked or claimed by another relay are skipped, so several relays drain disjoint batches; the claim
+     * of a relay that died lapses and the events are claimed again.
+     *
+     * @return the claimed events, in no particular order
+     */
+    @Transactional
+    @Query(value =
+           "UPDATE order_outbox SET claimed_until = clock_timestamp() + make_interval(secs => :claimSeconds) " +
+           "WHERE id IN (" +
+           "SELECT id FROM order_outbox WHERE claimed_until IS NULL OR claimed_until < clock_timestamp() " +
+           "ORDER BY id " +
+           "LIMIT :limit " +
+           "FOR UPDATE SKIP LOCKED) " +
+           "RETURNING *", nativeQuery = true)
+    List<OrderOutboxEvent> claimOldest(@Param("limit") int limit, @Param("claimSeconds") long claimSeconds);
+
+    /**
+     * Gives claimed events back, so the next run retries them without waiting for the claim to lapse.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE order_outbox SET claimed_until = NULL WHERE id IN (:ids)", nativeQuery = true)
+    int releaseAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM order_outbox WHERE id IN (:ids)", nativeQuery = true)
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
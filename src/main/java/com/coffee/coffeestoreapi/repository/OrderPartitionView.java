@@ -0,0 +1,13 @@
+package com.coffee.coffeestoreapi.repository;
+
+/**
+ * Projection of a monthly {@code orders} partition that is due to be detached.
+ */
+public interface OrderPartitionView {
+    String getPartitionName();
+
+    /**
+     * @return whether an earlier concurrent detach of the partition was interrupted and has to be finalized
+     */
+    boolean isDetachPending();
+}
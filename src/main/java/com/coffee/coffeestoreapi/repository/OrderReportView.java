@@ -0,0 +1,24 @@
+package com.coffee.coffeestoreapi.repository;
+
+import com.coffee.coffeestoreapi.model.Currency;
+import com.coffee.coffeestoreapi.model.Discount;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Projection of an order to the columns the report jobs aggregate.
+ */
+public interface OrderReportView {
+    String getOrderNumber();
+
+    Timestamp getCreatedAt();
+
+    Currency getCurrency();
+
+    List<Discount> getDiscounts();
+
+    Integer getSubTotalPriceInCents();
+
+    Integer getTotalPriceInCents();
+}
@@ -2,23 +2,50 @@ package com.coffee.coffeestoreapi.repository;
 
 import com.coffee.coffeestoreapi.entity.Order;
 import com.coffee.coffeestoreapi.model.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    Optional<Order> findByOrderNumber(String orderNumber);
+    /**
+     * Finds an order by its number. The creation time recorded in {@code order_numbers} narrows the lookup to the
+     * one partition holding the order, instead of probing the order number index of every partition.
+     */
+    @Query("SELECT o FROM Order o WHERE o.orderNumber = :orderNumber " +
+           "AND o.createdAt = (SELECT n.createdAt FROM OrderNumber n WHERE n.orderNumber = :orderNumber)")
+    Optional<Order> findByOrderNumber(@Param("orderNumber") String orderNumber);
 
-    Optional<Order> findByOrderNumberAndStatus(String orderNumber, OrderStatus status);
+    @Query("SELECT o FROM Order o WHERE o.orderNumber = :orderNumber AND o.status = :status " +
+           "AND o.createdAt = (SELECT n.createdAt FROM OrderNumber n WHERE n.orderNumber = :orderNumber)")
+    Optional<Order> findByOrderNumberAndStatus(@Param("orderNumber") String orderNumber, @Param("status") OrderStatus status);
 
     @Query("SELECT o FROM Order o ORDER BY o.createdAt ASC")
     List<Order> findAllDescendingCreationOrder();
 
+    /**
+     * Date-bounded variant of {@link #findAllDescendingCreationOrder()}. The literal range predicate on
+     * {@code created_at} lets Postgres prune the monthly partitions outside of {@code [from, to)}.
+     */
+    @Query("SELECT o FROM Order o WHERE o.createdAt >= :from AND o.createdAt < :to ORDER BY o.createdAt ASC")
+    List<Order> findAllCreatedBetween(@Param("from") Timestamp from, @Param("to") Timestamp to);
+
     @Query(value = 
            "SELECT jsonb_extract_path_text(drink, 'name') as name, COUNT(*) as count " +
            "FROM orders, jsonb_array_elements(order_lines) as order_line, " +
@@ -38,4 +65,301 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
            "ORDER BY count DESC " +
            "LIMIT 1", nativeQuery = true)
     Map<String, Object> findMostPopularTopping();
+
+    @Query(value =
+           "SELECT jsonb_extract_path_text(drink, 'name') as name, COUNT(*) as count " +
+           "FROM orders, jsonb_array_elements(order_lines) as order_line, " +
+           "jsonb_extract_path(order_line, 'drink') as drink " +
+           "WHERE status != 'CANCELLED' AND created_at >= :from AND created_at < :to " +
+           "GROUP BY jsonb_extract_path_text(drink, 'name') " +
+           "ORDER BY count DESC " +
+           "LIMIT 1", nativeQuery = true)
+    Map<String, Object> findMostPopularDrinkCreatedBetween(@Param("from") Timestamp from, @Param("to") Timestamp to);
+
+    @Query(value =
+           "SELECT jsonb_extract_path_text(topping, 'name') as name, COUNT(*) as count " +
+           "FROM orders, jsonb_array_elements(order_lines) as order_line, " +
+           "jsonb_array_elements(jsonb_extract_path(order_line, 'toppings')) as topping " +
+           "WHERE status != 'CANCELLED' AND created_at >= :from AND created_at < :to " +
+           "GROUP BY jsonb_extract_path_text(topping, 'name') " +
+           "ORDER BY count DESC " +
+           "LIMIT 1", nativeQuery = true)
+    Map<String, Object> findMostPopularToppingCreatedBetween(@Param("from") Timestamp from, @Param("to") Timestamp to);
+
+    /**
+     * Creates the monthly {@code orders} partitions for the month of {@code fromMonth} and the following
+     * {@code monthsAhead} months. Already existing partitions are left untouched.
+     *
+     * @return the number of partitions created
+     */
+    @Transactional
+    @Query(value = "SELECT create_orders_partitions(CAST(:fromMonth AS DATE), :monthsAhead)", nativeQuery = true)
+    Integer createOrdersPartitions(@Param("fromMonth") LocalDate fromMonth, @Param("monthsAhead") int monthsAhead);
+
+    /**
+     * Lists every monthly {@code orders} partition that ends on or before {@code olderThan}, oldest first. The
+     * partitions are detached by the caller, as {@code DETACH PARTITION ... CONCURRENTLY} cannot run in a function.
+     */
+    @Query(value =
+           "SELECT partition_name AS \"partitionName\", detach_pending AS \"detachPending\" " +
+           "FROM orders_partitions_to_detach(CAST(:olderThan AS DATE))", nativeQuery = true)
+    List<OrderPartitionView> findOrdersPartitionsToDetach(@Param("olderThan") LocalDate olderThan);
+
+    @Query("SELECT o FROM Order o WHERE o.status IN :statuses AND o.createdAt < :before ORDER BY o.createdAt ASC")
+    List<Order> findArchivable(@Param("statuses") Collection<OrderStatus> statuses,
+                               @Param("before") Timestamp before,
+                               Pageable pageable);
+
+    @Modifying
+    @Query(value = "DELETE FROM orders WHERE id IN (:ids)", nativeQuery = true)
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves up to {@code limit} pending orders to {@code PROCESSING}, claimed for {@code claimSeconds}: the highest
+     * priority first, and among equal priorities the oldest. Rows locked by another station are skipped rather than
+     * waited on, so concurrent stations claim disjoint orders.
+     *
+     * @return the claimed orders
+     */
+    @Transactional
+    @Query(value =
+           "UPDATE orders SET status = 'PROCESSING', processed_at = clock_timestamp(), " +
+           "claim_expires_at = clock_timestamp() + make_interval(secs => :claimSeconds), updated_at = CURRENT_DATE, " +
+           "version = version + 1 " +
+           "WHERE (id, created_at) IN (" +
+           "SELECT id, created_at FROM orders WHERE status = 'PENDING' " +
+           "ORDER BY priority DESC, created_at, id " +
+           "LIMIT :limit " +
+           "FOR UPDATE SKIP LOCKED) " +
+           "RETURNING *", nativeQuery = true)
+    List<Order> claimPendingOrders(@Param("limit") int limit, @Param("claimSeconds") long claimSeconds);
+
+    /**
+     * Marks a claimed order as {@code COMPLETED}.
+     *
+     * @return the completed order, or empty if it does not exist or is not in {@code PROCESSING}
+     */
+    @Transactional
+    @Query(value =
+           "UPDATE orders SET status = 'COMPLETED', completed_at = clock_timestamp(), claim_expires_at = NULL, " +
+           "updated_at = CURRENT_DATE, version = version + 1 " +
+           "WHERE order_number = :orderNumber AND status = 'PROCESSING' " +
+           "AND created_at = (SELECT created_at FROM order_numbers WHERE order_number = :orderNumber) " +
+           "RETURNING *", nativeQuery = true)
+    Optional<Order> completeClaimedOrder(@Param("orderNumber") String orderNumber);
+
+    /**
+     * Sets the priority of a pending order, so that stations claim it before the pending orders of lower priority.
+     *
+     * @return the prioritized order, or empty if it does not exist or is not in {@code PENDING}
+     */
+    @Transactional
+    @Query(value =
+           "UPDATE orders SET priority = :priority, updated_at = CURRENT_DATE, version = version + 1 " +
+           "WHERE order_number = :orderNumber AND status = 'PENDING' " +
+           "AND created_at = (SELECT created_at FROM order_numbers WHERE order_number = :orderNumber) " +
+           "RETURNING *", nativeQuery = true)
+    Optional<Order> prioritizePendingOrder(@Param("orderNumber") String orderNumber, @Param("priority") int priority);
+
+    /**
+     * Moves up to {@code limit} processing orders whose claim has expired back to {@code PENDING}, so that the
+     * orders of a station that went away are claimed again. Rows locked by a concurrent change are skipped.
+     *
+     * @return the released orders
+     */
+    @Transactional
+    @Query(value =
+           "UPDATE orders SET status = 'PENDING', processed_at = NULL, claim_expires_at = NULL, " +
+           "updated_at = CURRENT_DATE, version = version + 1 " +
+           "WHERE (id, created_at) IN (" +
+           "SELECT id, created_at FROM orders WHERE status = 'PROCESSING' AND claim_expires_at < clock_timestamp() " +
+           "LIMIT :limit " +
+           "FOR UPDATE SKIP LOCKED) " +
+           "RETURNING *", nativeQuery = true)
+    List<Order> releaseExpiredClaims(@Param("limit") int limit);
+
+    /**
+     * Cancels a pending order in a single conditional statement, so a concurrent claim or update either
+     * happens entirely before or makes the cancellation miss.
+     *
+     * @param expectedVersion the version the caller last saw, {@code null} to cancel any version
+     * @return the cancelled order, or empty if it does not exist, is no longer pending or has another version
+     */
+    @Transactional
+    @Query(value =
+           "UPDATE orders SET status = 'CANCELLED', canceled_at = LOCALTIMESTAMP(0), updated_at = CURRENT_DATE, " +
+           "version = version + 1 " +
+           "WHERE order_number = :orderNumber AND status = 'PENDING' " +
+           "AND created_at = (SELECT created_at FROM order_numbers WHERE order_number = :orderNumber) " +
+           "AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = CAST(:expectedVersion AS BIGINT)) " +
+           "RETURNING *", nativeQuery = true)
+    Optional<Order> cancelPendingOrder(@Param("orderNumber") String orderNumber, @Param("expectedVersion") Long expectedVersion);
+
+    @Query("SELECT o.orderNumber AS orderNumber, o.status AS status FROM Order o WHERE o.orderNumber IN :orderNumbers")
+    List<OrderStatusView> findStatusesByOrderNumberIn(@Param("orderNumbers") Collection<String> orderNumbers);
+
+    /**
+     * Cancels the pending orders among {@code orderNumbers} in one statement.
+     *
+     * @return the cancelled orders
+     */
+    @Transactional
+    @Query(value =
+           "UPDATE orders SET status = 'CANCELLED', canceled_at = LOCALTIMESTAMP(0), updated_at = CURRENT_DATE, " +
+           "version = version + 1 " +
+           "WHERE order_number IN (:orderNumbers) AND status = 'PENDING' " +
+           "RETURNING *", nativeQuery = true)
+    List<Order> cancelPendingOrders(@Param("orderNumbers") Collection<String> orderNumbers);
+
+    /**
+     * Cancels up to {@code limit} pending orders created before {@code before}, optionally of one orderer.
+     * Rows locked by a concurrent change are skipped.
+     *
+     * @return the cancelled orders
+     */
+    @Transactional
+    @Query(value =
+           "UPDATE orders SET status = 'CANCELLED', canceled_at = LOCALTIMESTAMP(0), updated_at = CURRENT_DATE, " +
+           "version = version + 1 " +
+           "WHERE (id, created_at) IN (" +
+           "SELECT id, created_at FROM orders WHERE status = 'PENDING' AND created_at < :before " +
+           "AND (CAST(:orderer AS VARCHAR) IS NULL OR orderer = CAST(:orderer AS VARCHAR)) " +
+           "LIMIT :limit " +
+           "FOR UPDATE SKIP LOCKED) " +
+           "RETURNING *", nativeQuery = true)
+    List<Order> cancelPendingOrdersMatching(@Param("before") Timestamp before, @Param("orderer") String orderer, @Param("limit") int limit);
+
+    /**
+     * Completes the pending orders among {@code orderNumbers} in one statement. Orders in {@code PROCESSING} are
+     * left to the station that claimed them.
+     *
+     * @return the completed orders
+     */
+    @Transactional
+    @Query(value =
+           "UPDATE orders SET status = 'COMPLETED', processed_at = clock_timestamp(), " +
+           "completed_at = clock_timestamp(), updated_at = CURRENT_DATE, version = version + 1 " +
+           "WHERE order_number IN (:orderNumbers) AND status = 'PENDING' " +
+           "RETURNING *", nativeQuery = true)
+    List<Order> completePendingOrders(@Param("orderNumbers") Collection<String> orderNumbers);
+
+    /**
+     * Completes up to {@code limit} pending orders created before {@code before}, optionally of one orderer.
+     * Rows locked by a concurrent change are skipped.
+     *
+     * @return the completed orders
+     */
+    @Transactional
+    @Query(value =
+           "UPDATE orders SET status = 'COMPLETED', processed_at = clock_timestamp(), " +
+           "completed_at = clock_timestamp(), updated_at = CURRENT_DATE, version = version + 1 " +
+           "WHERE (id, created_at) IN (" +
+           "SELECT id, created_at FROM orders WHERE status = 'PENDING' AND created_at < :before " +
+           "AND (CAST(:orderer AS VARCHAR) IS NULL OR orderer = CAST(:orderer AS VARCHAR)) " +
+           "LIMIT :limit " +
+           "FOR UPDATE SKIP LOCKED) " +
+           "RETURNING *", nativeQuery = true)
+    List<Order> completePendingOrdersMatching(@Param("before") Timestamp before, @Param("orderer") String orderer, @Param("limit") int limit);
+
+    /**
+     * Selects the orders of the {@code orderer_names} that start with the {@code LIKE} pattern (with {@code !} as
+     * escape character), newest first, after the keyset. Each name reads at most {@code limit} of its newest orders
+     * from the btree index on {@code (lower(orderer), created_at DESC, id DESC)}, so only those rows are sorted.
+     */
+    String SEARCH_BY_ORDERER_PATTERN =
+            "SELECT o.id, o.order_number AS \"orderNumber\", o.orderer, o.status, " +
+            "o.total_price_in_cents AS \"totalPriceInCents\", o.currency, o.created_at AS \"createdAt\" " +
+            "FROM orderer_names n " +
+            "CROSS JOIN LATERAL (" +
+            "SELECT id, order_number, orderer, status, total_price_in_cents, currency, created_at FROM orders " +
+            "WHERE lower(orderer) = n.name " +
+            "AND (CAST(:afterCreatedAt AS TIMESTAMP) IS NULL " +
+            "OR (created_at, id) < (CAST(:afterCreatedAt AS TIMESTAMP), CAST(:afterId AS BIGINT))) " +
+            "ORDER BY created_at DESC, id DESC " +
+            "LIMIT :limit) o " +
+            "WHERE n.name LIKE lower(:pattern) ESCAPE '!' " +
+            "ORDER BY o.created_at DESC, o.id DESC " +
+            "LIMIT :limit";
+
+    /**
+     * Selects the orders of the {@code orderer_names} similar to {@code term} by trigrams (above
+     * {@code pg_trgm.similarity_threshold}), most similar name first, then newest first, after the keyset. The trigram
+     * index returns the names by distance; each name reads at most {@code limit} of its newest orders.
+     */
+    String SEARCH_BY_ORDERER_SIMILARITY =
+            "SELECT o.id, o.order_number AS \"orderNumber\", o.orderer, o.status, " +
+            "o.total_price_in_cents AS \"totalPriceInCents\", o.currency, o.created_at AS \"createdAt\" " +
+            "FROM (" +
+            "SELECT name, name <-> lower(:term) AS distance FROM orderer_names " +
+            "WHERE name % lower(:term) " +
+            "AND (CAST(:afterOrderer AS VARCHAR) IS NULL " +
+            "OR (name <-> lower(:term), name) >= " +
+            "(lower(CAST(:afterOrderer AS VARCHAR)) <-> lower(:term), lower(CAST(:afterOrderer AS VARCHAR))))) n " +
+            "CROSS JOIN LATERAL (" +
+            "SELECT id, order_number, orderer, status, total_price_in_cents, currency, created_at FROM orders " +
+            "WHERE lower(orderer) = n.name " +
+            "AND (CAST(:afterOrderer AS VARCHAR) IS NULL OR n.name <> lower(CAST(:afterOrderer AS VARCHAR)) " +
+            "OR (created_at, id) < (CAST(:afterCreatedAt AS TIMESTAMP), CAST(:afterId AS BIGINT))) " +
+            "ORDER BY created_at DESC, id DESC " +
+            "LIMIT :limit) o " +
+            "ORDER BY n.distance, n.name, o.created_at DESC, o.id DESC " +
+            "LIMIT :limit";
+
+    /**
+     * Finds the orders whose orderer starts with the given {@code LIKE} pattern, newest first, after the given keyset.
+     * See {@link #SEARCH_BY_ORDERER_PATTERN}.
+     *
+     * @param afterCreatedAt the creation time of the last order of the previous page, {@code null} for the first page
+     * @param afterId the id of the last order of the previous page
+     */
+    @Query(value = SEARCH_BY_ORDERER_PATTERN, nativeQuery = true)
+    List<OrderSummaryView> searchByOrdererPattern(@Param("pattern") String pattern,
+                                                  @Param("afterCreatedAt") Timestamp afterCreatedAt,
+                                                  @Param("afterId") Long afterId,
+                                                  @Param("limit") int limit);
+
+    /**
+     * Finds the orders whose orderer is similar to {@code term}, most similar first and newest first among the
+     * orders of one orderer, after the given keyset. See {@link #SEARCH_BY_ORDERER_SIMILARITY}.
+     *
+     * @param afterOrderer the orderer of the last order of the previous page, {@code null} for the first page
+     * @param afterCreatedAt the creation time of the last order of the previous page
+     * @param afterId the id of the last order of the previous page
+     */
+    @Query(value = SEARCH_BY_ORDERER_SIMILARITY, nativeQuery = true)
+    List<OrderSummaryView> searchByOrdererSimilarity(@Param("term") String term,
+                                                     @Param("afterOrderer") String afterOrderer,
+                                                     @Param("afterCreatedAt") Timestamp afterCreatedAt,
+                                                     @Param("afterId") Long afterId,
+                                                     @Param("limit") int limit);
+
+    /**
+     * Finds the newest orders of one orderer. Every selected column is part of the orderer history index, so the
+     * query is answered by an index-only scan.
+     */
+    @Query("SELECT o.orderNumber AS orderNumber, o.orderer AS orderer, o.createdAt AS createdAt, o.currency AS currency, " +
+           "o.discounts AS discounts, o.totalPriceInCents AS totalPriceInCents, o.status AS status " +
+           "FROM Order o WHERE o.orderer = :orderer ORDER BY o.createdAt DESC")
+    List<OrderHistoryView> findHistoryByOrderer(@Param("orderer") String orderer, Limit limit);
+
+    /**
+     * Streams the non-cancelled orders created in {@code [from, to)} for the report jobs. The rows are fetched in
+     * batches through a cursor and not tracked by the persistence context, so the stream has to be consumed and
+     * closed within a read-only transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o.orderNumber AS orderNumber, o.createdAt AS createdAt, o.currency AS currency, o.discounts AS discounts, " +
+           "o.subTotalPriceInCents AS subTotalPriceInCents, o.totalPriceInCents AS totalPriceInCents " +
+           "FROM Order o WHERE o.status <> com.coffee.coffeestoreapi.model.OrderStatus.CANCELLED " +
+           "AND o.createdAt >= :from AND o.createdAt < :to")
+    Stream<OrderReportView> streamReportRows(@Param("from") Timestamp from, @Param("to") Timestamp to);
+
+    /**
+     * Reads the next chunk of pending orders by id, for the re-pricing keyset scan.
+     */
+    @Query("SELECT o FROM Order o WHERE o.status = com.coffee.coffeestoreapi.model.OrderStatus.PENDING AND o.id > :afterId ORDER BY o.id ASC")
+    List<Order> findPendingAfter(@Param("afterId") long afterId, Limit limit);
 }
@@ -0,0 +1,12 @@
+package com.coffee.coffeestoreapi.repository;
+
+import com.coffee.coffeestoreapi.model.OrderStatus;
+
+/**
+ * Projection of an order to its number and status.
+ */
+public interface OrderStatusView {
+    String getOrderNumber();
+
+    OrderStatus getStatus();
+}
@@ -0,0 +1,25 @@
+package com.coffee.coffeestoreapi.repository;
+
+import com.coffee.coffeestoreapi.model.Currency;
+import com.coffee.coffeestoreapi.model.OrderStatus;
+
+import java.sql.Timestamp;
+
+/**
+ * Projection of an order to the columns of a search result; {@code id} and {@code createdAt} form the keyset.
+ */
+public interface OrderSummaryView {
+    Long getId();
+
+    String getOrderNumber();
+
+    String getOrderer();
+
+    OrderStatus getStatus();
+
+    Integer getTotalPriceInCents();
+
+    Currency getCurrency();
+
+    Timestamp getCreatedAt();
+}
@@ -0,0 +1,73 @@
+package com.coffee.coffeestoreapi.service;
+
+import com.coffee.coffeestoreapi.config.settings.PartitionSettings;
+import com.coffee.coffeestoreapi.repository.OrderPartitionView;
+import com.coffee.coffeestoreapi.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps the monthly range partitions of the {@code orders} table ahead of the clock
+ * and detaches the ones that fell out of the retention window.
+ * <p>
+ * The table has no default partition, so an order can only be stored once the partition of its month exists.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "partitions", name = "enabled", havingValue = "true")
+public class OrderPartitionService {
+    private final OrderRepository orderRepository;
+    private final PartitionSettings partitionSettings;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    /**
+     * Creates the partitions for the current month and the configured number of months ahead,
+     * then detaches the partitions older than the retention window if one is configured.
+     */
+    @Scheduled(cron = "${partitions.cron}")
+    public void maintainPartitions() {
+        var today = LocalDate.now();
+        int created = orderRepository.createOrdersPartitions(today.withDayOfMonth(1), partitionSettings.getMonthsAhead());
+        if (created > 0) {
+            log.info("Created {} orders partition(s) up to {} months ahead", created, partitionSettings.getMonthsAhead());
+        }
+
+        if (partitionSettings.getRetentionMonths() > 0) {
+            var cutoff = today.withDayOfMonth(1).minusMonths(partitionSettings.getRetentionMonths());
+            int detached = 0;
+            for (var partition : orderRepository.findOrdersPartitionsToDetach(cutoff)) {
+                detach(partition);
+                detached++;
+            }
+            if (detached > 0) {
+                log.info("Detached {} orders partition(s) ending before {}", detached, cutoff);
+            }
+        }
+    }
+
+    /**
+     * Detaches a partition without blocking the queries on {@code orders}: {@code CONCURRENTLY} only waits for the
+     * transactions using the partition instead of taking an exclusive lock on the whole table. The statement
+     * cannot run in a transaction block, so it is sent on its own, in autocommit. A detach that was interrupted
+     * half way is completed with {@code FINALIZE}.
+     */
+    private void detach(OrderPartitionView partition) {
+        // The name is one of the orders_pYYYYMM partitions listed by the database, not user input
+        var mode = partition.isDetachPending() ? "FINALIZE" : "CONCURRENTLY";
+        jdbcTemplate.execute("ALTER TABLE orders DETACH PARTITION " + partition.getPartitionName() + " " + mode);
+    }
+}
@@ -1,14 +1,22 @@
 package com.coffee.coffeestoreapi.service;
 
-import com.coffee.coffeestoreapi.config.settings.DiscountSettings;
 import com.coffee.coffeestoreapi.entity.Order;
 import com.coffee.coffeestoreapi.exception.NoDrinkException;
 import com.coffee.coffeestoreapi.model.AdminOrderChangeRequest;
 import com.coffee.coffeestoreapi.model.Currency;
 import com.coffee.coffeestoreapi.model.Discount;
+import com.coffee.coffeestoreapi.model.Drink;
+import com.coffee.coffeestoreapi.model.Item;
 import com.coffee.coffeestoreapi.model.OrderLine;
 import com.coffee.coffeestoreapi.model.OrderRequest;
 import com.coffee.coffeestoreapi.model.OrderStatus;
+import com.coffee.coffeestoreapi.model.Topping;
+import com.coffee.coffeestoreapi.service.currency.CurrencyConverter;
+import com.coffee.coffeestoreapi.service.discount.ActivePromotion;
+import com.coffee.coffeestoreapi.service.discount.DiscountRules;
+import com.coffee.coffeestoreapi.service.discount.DiscountRulesProvider;
+import com.coffee.coffeestoreapi.service.discount.PromotionSchedule;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -19,13 +27,19 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@Observed(name = "order.processor")
 public class OrderProcessor {
-    private final DiscountSettings discountSettings;
+    private static final int QUARTER_DISCOUNT_THRESHOLD_IN_EURO_CENTS = 1200;
+
+    private final DiscountRulesProvider discountRulesProvider;
+    private final CurrencyConverter currencyConverter;
+    private final PromotionSchedule promotionSchedule;
 
     /**
      * Processes an order request, calculates subtotal, applies discounts if enabled,
@@ -42,13 +56,30 @@ public class OrderProcessor {
         }
         var order = new Order();
         order.setOrderNumber(generateOrderNumber());
-        return populateOrder(orderRequest.orderer(), orderRequest.orderLines(), order, Optional.of(orderRequest.currency()));
+        return populateOrder(orderRequest.orderer(), orderRequest.orderLines(), order, Optional.ofNullable(orderRequest.currency()));
     }
 
     public Order processChangedOrder(AdminOrderChangeRequest request, Order order) {
         return populateOrder(request.orderer(), request.orderLines(), order, Optional.empty());
     }
 
+    /**
+     * Re-prices an order against the current catalog and discount settings. Every drink and topping found in the
+     * catalog takes its catalog price, and its line price moves by the same amount; items no longer in the catalog
+     * keep the price they were ordered at. Subtotal, discounts and total are then recalculated as for a changed
+     * order, with the promotions that were active when the order was created.
+     *
+     * @param order the pending order, updated in place
+     * @param catalogPricesInCents the catalog prices by product name, in the currency of the order
+     * @return the re-priced order
+     */
+    public Order processRepricedOrder(Order order, Map<String, Integer> catalogPricesInCents) {
+        List<OrderLine> orderLines = order.getOrderLines() == null ? List.of() : order.getOrderLines().stream()
+                .map(line -> repriceOrderLine(line, catalogPricesInCents))
+                .toList();
+        return populateOrder(order.getOrderer(), orderLines, order, Optional.empty());
+    }
+
     /**
      * Calculates the subtotal price in cents for the given order lines.
      *
@@ -98,9 +129,13 @@ public class OrderProcessor {
      *
      * @param lines the list of order lines
      * @param subtotalInCents the subtotal price in cents
+     * @param currency the currency of the order, which the euro thresholds are converted to
+     * @param discountRules the discount rules the order is priced with
+     * @param promotions the time-scheduled promotions active for the order
      * @return the list of applicable discounts
      */
-    protected List<Discount> calculateDiscounts(List<OrderLine> lines, int subtotalInCents) {
+    protected List<Discount> calculateDiscounts(List<OrderLine> lines, int subtotalInCents, Currency currency,
+                                                DiscountRules discountRules, List<ActivePromotion> promotions) {
         if (CollectionUtils.isEmpty(lines)) {
             return List.of();
         }
@@ -108,14 +143,17 @@ public class OrderProcessor {
         List<Discount> discounts = new ArrayList<>();
 
         // 1. If the total cost of the cart is more than 12 euros, there should be a 25% discount.
-        quarterDiscountCalculation(subtotalInCents, discounts);
+        quarterDiscountCalculation(subtotalInCents, currency, discountRules, discounts);
 
         // 2. If there are 3 or more drink in the cart, the one with the lowest amount should be free.
-        freeItemAfterThreeDiscountCalculation(lines, discounts);
+        freeItemAfterThreeDiscountCalculation(lines, discountRules, discounts);
 
         // 3. If eligible for both promotions, use the one with the lowest cart amount (highest discount value)
         List<Discount> possibleDiscounts = calculatePossibleDiscountOnOrder(subtotalInCents, discounts);
-        return possibleDiscounts != null ? possibleDiscounts : discounts;
+        List<Discount> applicableDiscounts = possibleDiscounts != null ? possibleDiscounts : discounts;
+
+        // 4. A promotion whose time window is open replaces the discounts above only when it is higher
+        return timeScheduledPromotionCalculation(subtotalInCents, promotions, applicableDiscounts);
     }
 
     /**
@@ -155,12 +193,12 @@ public class OrderProcessor {
         }
     }
 
-    private void freeItemAfterThreeDiscountCalculation(List<OrderLine> lines, List<Discount> possibleDiscounts) {
+    private void freeItemAfterThreeDiscountCalculation(List<OrderLine> lines, DiscountRules discountRules, List<Discount> possibleDiscounts) {
         List<OrderLine> drinkLines = lines.stream()
                 .filter(line -> line.drink() != null)
                 .toList();
 
-        if (discountSettings.isFreeItemAfterThree() && drinkLines.size() >= 3) {
+        if (discountRules.freeItemAfterThree() && drinkLines.size() >= 3) {
             // Find the drink with the lowest price
             OrderLine cheapestDrinkLine = drinkLines.stream()
                     .min(Comparator.comparing(OrderLine::priceInCents))
@@ -175,8 +213,9 @@ public class OrderProcessor {
         }
     }
 
-    private void quarterDiscountCalculation(int subtotalInCents, List<Discount> possibleDiscounts) {
-        if (discountSettings.isTwentyFivePercent() && subtotalInCents > 1200) { // 12 euros in cents
+    private void quarterDiscountCalculation(int subtotalInCents, Currency currency, DiscountRules discountRules, List<Discount> possibleDiscounts) {
+        int thresholdInCents = currencyConverter.convert(QUARTER_DISCOUNT_THRESHOLD_IN_EURO_CENTS, Currency.EUR, currency);
+        if (discountRules.twentyFivePercent() && subtotalInCents > thresholdInCents) {
             Discount discount = new Discount();
             discount.setName("25% off for orders over €12");
             discount.setPercentage(25);
@@ -185,16 +224,76 @@ public class OrderProcessor {
         }
     }
 
+    private List<Discount> timeScheduledPromotionCalculation(int subtotalInCents, List<ActivePromotion> promotions, List<Discount> applicableDiscounts) {
+        var bestPromotion = promotions.stream()
+                .max(Comparator.comparingInt(ActivePromotion::percentage));
+        if (bestPromotion.isEmpty()) {
+            return applicableDiscounts;
+        }
+
+        int promotionAmountInCents = (subtotalInCents * bestPromotion.get().percentage()) / 100;
+        if (promotionAmountInCents <= calculateTotalDiscount(applicableDiscounts, subtotalInCents)) {
+            return applicableDiscounts;
+        }
+
+        // Only the winning discount is stored, as the discount usage report counts every stored discount
+        Discount discount = new Discount();
+        discount.setName(bestPromotion.get().name());
+        discount.setPercentage(bestPromotion.get().percentage());
+        discount.setAmountInCents(promotionAmountInCents);
+        return List.of(discount);
+    }
+
+    private static OrderLine repriceOrderLine(OrderLine line, Map<String, Integer> catalogPricesInCents) {
+        var drink = line.drink() != null ? repriceItem(line.drink(), new Drink(), catalogPricesInCents) : null;
+        int priceDeltaInCents = priceDelta(line.drink(), drink);
+        List<Topping> toppings = null;
+        if (line.toppings() != null) {
+            toppings = new ArrayList<>(line.toppings().size());
+            for (var topping : line.toppings()) {
+                var repricedTopping = repriceItem(topping, new Topping(), catalogPricesInCents);
+                priceDeltaInCents += priceDelta(topping, repricedTopping);
+                toppings.add(repricedTopping);
+            }
+        }
+        int priceInCents = line.priceInCents() != null ? line.priceInCents() : 0;
+        return new OrderLine(priceInCents + priceDeltaInCents, drink, toppings);
+    }
+
+    private static <T extends Item> T repriceItem(T item, T repriced, Map<String, Integer> catalogPricesInCents) {
+        repriced.setName(item.getName());
+        repriced.setPriceInCents(catalogPricesInCents.getOrDefault(item.getName(), item.getPriceInCents()));
+        return repriced;
+    }
+
+    private static int priceDelta(Item before, Item after) {
+        if (before == null || after == null || after.getPriceInCents() == null) {
+            return 0;
+        }
+        return after.getPriceInCents() - (before.getPriceInCents() != null ? before.getPriceInCents() : 0);
+    }
+
     private Order populateOrder(String orderer, List<OrderLine> orderLines, Order order, Optional<Currency> currency) {
         order.setOrderer(orderer);
         order.setStatus(OrderStatus.PENDING);
         order.setOrderLines(orderLines);
+        // A changed order keeps the currency it was placed in
+        if (order.getCurrency() == null) {
+            order.setCurrency(currency.orElse(Currency.EUR));
+        }
 
         int subtotalInCents = calculateSubtotalInCents(orderLines);
         order.setSubTotalPriceInCents(subtotalInCents);
 
-        if (discountSettings.isEnabled()) {
-            List<Discount> discounts = calculateDiscounts(orderLines, subtotalInCents);
+        // One snapshot for the whole order, even if the configuration changes meanwhile
+        var discountRules = discountRulesProvider.current();
+        order.setDiscountConfigurationVersion(discountRules.version());
+        if (discountRules.enabled()) {
+            // A stored order keeps the promotions of the time it was placed
+            var promotions = order.getCreatedAt() == null
+                    ? promotionSchedule.active()
+                    : promotionSchedule.activeAt(order.getCreatedAt().toInstant());
+            List<Discount> discounts = calculateDiscounts(orderLines, subtotalInCents, order.getCurrency(), discountRules, promotions);
             order.setDiscounts(discounts);
             int totalDiscount = calculateTotalDiscount(discounts, subtotalInCents);
             order.setTotalPriceInCents(subtotalInCents - totalDiscount);
@@ -202,12 +301,6 @@ public class OrderProcessor {
             order.setDiscounts(List.of());
             order.setTotalPriceInCents(subtotalInCents);
         }
-
-        if (order.getCurrency() == null && currency.isPresent()) {
-            order.setCurrency(currency.get());
-        } else {
-            order.setCurrency(Currency.EUR);
-        }
         return order;
     }
 }
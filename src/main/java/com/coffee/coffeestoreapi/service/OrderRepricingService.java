@@ -0,0 +1,291 @@
+package com.coffee.coffeestoreapi.service;
+
+import com.coffee.coffeestoreapi.config.settings.RepricingSettings;
+import com.coffee.coffeestoreapi.entity.Order;
+import com.coffee.coffeestoreapi.entity.Product;
+import com.coffee.coffeestoreapi.model.Currency;
+import com.coffee.coffeestoreapi.model.DiscountConfigurationChangedEvent;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import com.coffee.coffeestoreapi.model.OrderEventType;
+import com.coffee.coffeestoreapi.model.ProductPriceChangedEvent;
+import com.coffee.coffeestoreapi.model.RepricingSummaryDto;
+import com.coffee.coffeestoreapi.repository.OrderRepository;
+import com.coffee.coffeestoreapi.repository.ProductRepository;
+import com.coffee.coffeestoreapi.service.currency.CurrencyConverter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Brings the totals of the pending orders in line with the current catalog prices and discount configuration.
+ * <p>
+ * The pending orders are read in chunks by id, without locks, and each chunk is re-priced in parallel on a
+ * fork-join pool with the {@link OrderProcessor}. Changed orders are written back with JDBC batch updates, one
+ * short transaction per batch, each update guarded by the version the order was read with: an order that was
+ * changed, claimed or cancelled in the meantime is left as it is and counted as a conflict.
+ */
+@Slf4j
+@Service
+public class OrderRepricingService {
+    private static final int FORK_THRESHOLD = 256;
+    private static final String UPDATE_REPRICED_ORDER =
+            "UPDATE orders SET order_lines = CAST(? AS jsonb), discounts = CAST(? AS jsonb), " +
+            "sub_total_price_in_cents = ?, total_price_in_cents = ?, discount_configuration_version = ?, " +
+            "updated_at = CURRENT_DATE, version = version + 1 " +
+            "WHERE id = ? AND created_at = ? AND version = ? AND status = 'PENDING'";
+    // Configured like Hibernate's JSON format mapper, so the jsonb columns keep the format the entity writes
+    private static final ObjectMapper JSONB_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final OrderProcessor orderProcessor;
+    private final CurrencyConverter currencyConverter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RepricingSettings repricingSettings;
+    private final ForkJoinPool repricingPool;
+    private final ExecutorService catalogChangeRunner = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("repricing-"));
+    private final AtomicBoolean catalogChangeRunPending = new AtomicBoolean();
+
+    public OrderRepricingService(OrderRepository orderRepository,
+                                 ProductRepository productRepository,
+                                 OrderProcessor orderProcessor,
+                                 CurrencyConverter currencyConverter,
+                                 JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 ApplicationEventPublisher eventPublisher,
+                                 RepricingSettings repricingSettings) {
+        this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+        this.orderProcessor = orderProcessor;
+        this.currencyConverter = currencyConverter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.repricingSettings = repricingSettings;
+        this.repricingPool = new ForkJoinPool(Math.max(1, repricingSettings.getParallelism()));
+    }
+
+    /**
+     * Re-prices every pending order.
+     *
+     * @return a {@link ResponseEntity} containing the {@link RepricingSummaryDto}
+     */
+    public ResponseEntity<RepricingSummaryDto> repricePendingOrders() {
+        return ResponseEntity.ok(reprice());
+    }
+
+    /**
+     * Schedules a re-pricing run after a catalog price change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductPriceChanged(ProductPriceChangedEvent event) {
+        scheduleRun("the price change of " + event.productName());
+    }
+
+    /**
+     * Schedules a re-pricing run after a discount configuration change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiscountConfigurationChanged(DiscountConfigurationChangedEvent event) {
+        scheduleRun("discount configuration version " + event.version());
+    }
+
+    /**
+     * Changes arriving while a run is scheduled are covered by that run, so a burst of catalog edits re-prices the
+     * orders once or twice, not once per edit.
+     */
+    private void scheduleRun(String cause) {
+        if (!repricingSettings.isOnCatalogChange() || !catalogChangeRunPending.compareAndSet(false, true)) {
+            return;
+        }
+        catalogChangeRunner.execute(() -> {
+            catalogChangeRunPending.set(false);
+            try {
+                reprice();
+            } catch (RuntimeException e) {
+                log.error("Re-pricing the pending orders after {} failed", cause, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        catalogChangeRunner.shutdownNow();
+        repricingPool.shutdownNow();
+    }
+
+    synchronized RepricingSummaryDto reprice() {
+        long started = System.nanoTime();
+        var catalogPrices = catalogPricesByCurrency();
+        var summary = new Summary();
+        int chunkSize = Math.max(1, repricingSettings.getChunkSize());
+        long afterId = 0;
+        List<Order> chunk;
+        do {
+            long chunkAfterId = afterId;
+            // Read on the primary: a lagging replica would only turn the updates into version conflicts
+            chunk = transactionTemplate.execute(status -> orderRepository.findPendingAfter(chunkAfterId, Limit.of(chunkSize)));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.getLast().getId();
+            summary.scanned += chunk.size();
+            writeBack(repricingPool.invoke(new RepriceTask(chunk, catalogPrices)), summary);
+        } while (chunk.size() == chunkSize);
+
+        var result = summary.toDto(Duration.ofNanos(System.nanoTime() - started).toMillis());
+        log.info("Re-priced {} of {} pending orders in {} ms, {} conflicts, total changes {}",
+                result.getRepricedOrders(), result.getScannedOrders(), result.getDurationMillis(),
+                result.getConflictedOrders(), result.getTotalDeltaInCents());
+        return result;
+    }
+
+    private Map<Currency, Map<String, Integer>> catalogPricesByCurrency() {
+        Map<String, Integer> euroPrices = productRepository.findAll().stream()
+                .filter(product -> product.getPriceInCents() != null)
+                .collect(Collectors.toMap(Product::getProductName, Product::getPriceInCents, (first, second) -> first));
+        Map<Currency, Map<String, Integer>> prices = new EnumMap<>(Currency.class);
+        for (var currency : Currency.values()) {
+            prices.put(currency, euroPrices.entrySet().stream().collect(Collectors.toMap(
+                    Map.Entry::getKey,
+                    entry -> currencyConverter.convert(entry.getValue(), CurrencyConverter.BASE_CURRENCY, currency))));
+        }
+        return prices;
+    }
+
+    private void writeBack(List<RepricedOrder> repricedOrders, Summary summary) {
+        int batchSize = Math.max(1, repricingSettings.getBatchSize());
+        for (int from = 0; from < repricedOrders.size(); from += batchSize) {
+            var batch = repricedOrders.subList(from, Math.min(from + batchSize, repricedOrders.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                int[][] counts = jdbcTemplate.batchUpdate(UPDATE_REPRICED_ORDER, batch, batch.size(), OrderRepricingService::setUpdateParameters);
+                for (int i = 0; i < batch.size(); i++) {
+                    var repriced = batch.get(i);
+                    if (counts[0][i] == 0) {
+                        summary.conflicted++;
+                        continue;
+                    }
+                    summary.add(repriced);
+                    repriced.order().setVersion(repriced.version() + 1);
+                    eventPublisher.publishEvent(new OrderEvent(OrderEventType.UPDATED, OrderService.getSimpleOrderDto(repriced.order())));
+                }
+            });
+        }
+    }
+
+    private static void setUpdateParameters(PreparedStatement statement, RepricedOrder repriced) throws SQLException {
+        var order = repriced.order();
+        statement.setString(1, toJson(order.getOrderLines()));
+        statement.setString(2, toJson(order.getDiscounts()));
+        statement.setInt(3, order.getSubTotalPriceInCents());
+        statement.setInt(4, order.getTotalPriceInCents());
+        statement.setObject(5, order.getDiscountConfigurationVersion(), Types.BIGINT);
+        statement.setLong(6, order.getId());
+        statement.setTimestamp(7, order.getCreatedAt());
+        statement.setLong(8, repriced.version());
+    }
+
+    private static String toJson(Object value) throws SQLException {
+        try {
+            return JSONB_MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Could not serialize the re-priced order", e);
+        }
+    }
+
+    /**
+     * @param version the version the order was read with
+     * @param totalDeltaInCents the change of the total price
+     */
+    private record RepricedOrder(Order order, long version, long totalDeltaInCents) {}
+
+    /**
+     * Re-prices a slice of a chunk, splitting it in halves until the slices are small enough to run directly.
+     */
+    private final class RepriceTask extends RecursiveTask<List<RepricedOrder>> {
+        private final List<Order> orders;
+        private final Map<Currency, Map<String, Integer>> catalogPrices;
+
+        private RepriceTask(List<Order> orders, Map<Currency, Map<String, Integer>> catalogPrices) {
+            this.orders = orders;
+            this.catalogPrices = catalogPrices;
+        }
+
+        @Override
+        protected List<RepricedOrder> compute() {
+            if (orders.size() > FORK_THRESHOLD) {
+                int middle = orders.size() / 2;
+                var left = new RepriceTask(orders.subList(0, middle), catalogPrices);
+                left.fork();
+                var right = new RepriceTask(orders.subList(middle, orders.size()), catalogPrices).compute();
+                var repriced = new ArrayList<>(left.join());
+                repriced.addAll(right);
+                return repriced;
+            }
+
+            List<RepricedOrder> repriced = new ArrayList<>();
+            for (var order : orders) {
+                var orderLines = order.getOrderLines();
+                var discounts = order.getDiscounts();
+                int subTotal = order.getSubTotalPriceInCents() != null ? order.getSubTotalPriceInCents() : 0;
+                int total = order.getTotalPriceInCents() != null ? order.getTotalPriceInCents() : 0;
+                var currency = order.getCurrency() != null ? order.getCurrency() : CurrencyConverter.BASE_CURRENCY;
+                orderProcessor.processRepricedOrder(order, catalogPrices.get(currency));
+                if (!Objects.equals(orderLines, order.getOrderLines()) || !Objects.equals(discounts, order.getDiscounts())
+                        || subTotal != order.getSubTotalPriceInCents() || total != order.getTotalPriceInCents()) {
+                    repriced.add(new RepricedOrder(order, order.getVersion(), (long) order.getTotalPriceInCents() - total));
+                }
+            }
+            return repriced;
+        }
+    }
+
+    private static final class Summary {
+        private int scanned;
+        private int repriced;
+        private int conflicted;
+        private final Map<Currency, Long> totalDeltaInCents = new EnumMap<>(Currency.class);
+
+        void add(RepricedOrder repricedOrder) {
+            repriced++;
+            totalDeltaInCents.merge(repricedOrder.order().getCurrency(), repricedOrder.totalDeltaInCents(), Long::sum);
+        }
+
+        RepricingSummaryDto toDto(long durationMillis) {
+            return RepricingSummaryDto.builder()
+                    .scannedOrders(scanned)
+                    .repricedOrders(repriced)
+                    .conflictedOrders(conflicted)
+                    .totalDeltaInCents(Map.copyOf(totalDeltaInCents))
+                    .durationMillis(durationMillis)
+                    .build();
+        }
+    }
+}
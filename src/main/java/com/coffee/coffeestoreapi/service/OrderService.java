@@ -1,67 +1,224 @@
 package com.coffee.coffeestoreapi.service;
 
 import com.coffee.coffeestoreapi.entity.Order;
+import com.coffee.coffeestoreapi.exception.InvalidOrderSearchException;
+import com.coffee.coffeestoreapi.exception.InvalidPreconditionException;
+import com.coffee.coffeestoreapi.exception.OrderConflictException;
 import com.coffee.coffeestoreapi.exception.OrderNotFoundException;
 import com.coffee.coffeestoreapi.mapper.OrderMapper;
 import com.coffee.coffeestoreapi.model.AdminOrderChangeRequest;
+import com.coffee.coffeestoreapi.model.BulkOrderRequest;
+import com.coffee.coffeestoreapi.model.BulkOrderResultDto;
 import com.coffee.coffeestoreapi.model.OrderDto;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import com.coffee.coffeestoreapi.model.OrderEventType;
 import com.coffee.coffeestoreapi.model.OrderRequest;
-import com.coffee.coffeestoreapi.model.OrderStatus;
+import com.coffee.coffeestoreapi.model.OrderSearchResultDto;
 import com.coffee.coffeestoreapi.model.PopularItemsDto;
 import com.coffee.coffeestoreapi.model.SimpleOrderDto;
+import com.coffee.coffeestoreapi.repository.OrderHistoryView;
 import com.coffee.coffeestoreapi.repository.OrderRepository;
+import com.coffee.coffeestoreapi.repository.OrderStatusView;
+import com.coffee.coffeestoreapi.repository.OrderSummaryView;
+import com.coffee.coffeestoreapi.service.archive.OrderArchive;
+import com.coffee.coffeestoreapi.service.history.OrderHistoryCache;
+import com.coffee.coffeestoreapi.service.stream.OrderEventBroadcaster;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.coffee.coffeestoreapi.model.OrderStatus.PENDING;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Observed(name = "order.service")
 public class OrderService {
+    private static final int BULK_CHUNK_SIZE = 500;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MIN_FUZZY_SEARCH_LENGTH = 3;
+    private static final int MAX_HISTORY_LIMIT = 100;
+
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
     private final OrderProcessor orderProcessor;
+    private final OrderArchive orderArchive;
+    private final OrderEventBroadcaster orderEventBroadcaster;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderHistoryCache orderHistoryCache;
 
     /**
-     * Retrieves an order by its order number.
+     * Retrieves an order by its order number. Orders that were moved out of the table
+     * by the archival job are read through from the {@link OrderArchive}.
      *
      * @param orderNumber the unique identifier of the order
-     * @return a {@link ResponseEntity} containing the {@link OrderDto} if found,
+     * @return a {@link ResponseEntity} containing the {@link OrderDto} and its version as {@code ETag} if found,
      * or a 404 Not Found response if the order does not exist
      */
+    @Transactional(readOnly = true)
     public ResponseEntity<OrderDto> getOrder(String orderNumber) {
         var orderEntity = orderRepository.findByOrderNumber(orderNumber);
         return orderEntity
-                .map(order -> ResponseEntity.ok(orderMapper.orderToOrderDto(order)))
+                .map(orderMapper::orderToOrderDto)
+                .or(() -> orderArchive.find(orderNumber))
+                .map(OrderService::okWithETag)
                 .orElseGet(() -> {
-                    log.warn("Order not found when getting the order with the given order number: {}", orderNumber);
+                    log.atWarn().addKeyValue("order_number", orderNumber).log("Order not found when getting the order");
                     return ResponseEntity.notFound().build();
                 });
     }
 
     /**
-     * Retrieves all orders in the system.
+     * Retrieves all orders in the system, including the archived ones.
      *
      * @return a {@link ResponseEntity} containing a list of {@link OrderDto} objects,
      * or an empty list if no orders exist
      */
+    @Transactional(readOnly = true)
     public ResponseEntity<List<SimpleOrderDto>> getAllOrders() {
-        var orderEntities = orderRepository.findAllDescendingCreationOrder();
-        if (orderEntities.isEmpty()) {
+        return toSimpleOrderDtoResponse(orderRepository.findAllDescendingCreationOrder(), lowerBound(null), upperBound(null));
+    }
+
+    /**
+     * Retrieves the orders created in the given date range, including the archived ones. Open bounds fall back to
+     * the full list.
+     *
+     * @param from the first day of the range (inclusive), may be {@code null}
+     * @param to the last day of the range (inclusive), may be {@code null}
+     * @return a {@link ResponseEntity} containing a list of {@link SimpleOrderDto} objects,
+     * or an empty list if no orders exist in the range
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<SimpleOrderDto>> getAllOrders(LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return getAllOrders();
+        }
+        return toSimpleOrderDtoResponse(orderRepository.findAllCreatedBetween(lowerBound(from), upperBound(to)), lowerBound(from), upperBound(to));
+    }
+
+    /**
+     * Adds the archived orders of {@code [from, to)} to the orders of the table, oldest first. An order that is in
+     * both, after an archive run failed before deleting it, is listed once, from the table.
+     */
+    private ResponseEntity<List<SimpleOrderDto>> toSimpleOrderDtoResponse(List<Order> orderEntities, Timestamp from, Timestamp to) {
+        var archivedOrders = orderArchive.findCreatedBetween(from.toLocalDateTime(), to.toLocalDateTime());
+        if (orderEntities.isEmpty() && archivedOrders.isEmpty()) {
             return ResponseEntity.ok(List.of());
         }
-        return ResponseEntity.ok(mapOrdersToSimpleOrderDtos(orderEntities));
+        if (archivedOrders.isEmpty()) {
+            return ResponseEntity.ok(mapOrdersToSimpleOrderDtos(orderEntities));
+        }
+
+        var orderNumbers = orderEntities.stream().map(Order::getOrderNumber).collect(Collectors.toSet());
+        var orders = new ArrayList<>(mapOrdersToSimpleOrderDtos(orderEntities));
+        archivedOrders.stream()
+                .filter(archivedOrder -> !orderNumbers.contains(archivedOrder.getOrderNumber()))
+                .map(OrderService::getSimpleOrderDto)
+                .forEach(orders::add);
+        orders.sort(Comparator.comparing(SimpleOrderDto::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return ResponseEntity.ok(orders);
+    }
+
+    /**
+     * Searches orders by orderer, one page at a time: newest first by prefix, most similar orderer first and then
+     * newest first when fuzzy. Pages are keyset based: the cursor holds the orderer, creation time and id of the last
+     * order of the previous page, so deep pages cost as little as the first one.
+     *
+     * @param orderer the start of the orderer name, or any similar name when {@code fuzzy} is set
+     * @param fuzzy whether to match by trigram similarity instead of by prefix
+     * @param limit the maximum number of orders in the page, capped at 100
+     * @param cursor the {@code next_cursor} of the previous page, {@code null} for the first page
+     * @return a {@link ResponseEntity} containing the {@link OrderSearchResultDto}
+     * @throws InvalidOrderSearchException if the orderer is blank, shorter than {@value #MIN_FUZZY_SEARCH_LENGTH}
+     * characters for a fuzzy search, or the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<OrderSearchResultDto> searchOrders(String orderer, boolean fuzzy, int limit, String cursor) {
+        if (orderer == null || orderer.isBlank()) {
+            throw new InvalidOrderSearchException("The orderer to search for should not be empty");
+        }
+        if (fuzzy && orderer.strip().length() < MIN_FUZZY_SEARCH_LENGTH) {
+            throw new InvalidOrderSearchException("The orderer to search for by similarity should have at least %d characters"
+                    .formatted(MIN_FUZZY_SEARCH_LENGTH));
+        }
+        int pageSize = Math.clamp(limit, 1, MAX_SEARCH_LIMIT);
+        String afterOrderer = null;
+        Timestamp afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null) {
+            var keyset = decodeCursor(cursor);
+            afterOrderer = keyset.orderer();
+            afterCreatedAt = Timestamp.valueOf(keyset.createdAt());
+            afterId = keyset.id();
+        }
+
+        // One extra row tells whether there is a next page
+        var term = orderer.strip();
+        var views = fuzzy
+                ? orderRepository.searchByOrdererSimilarity(term, afterOrderer, afterCreatedAt, afterId, pageSize + 1)
+                : orderRepository.searchByOrdererPattern(escapeLikePattern(term) + "%", afterCreatedAt, afterId, pageSize + 1);
+        var page = views.size() > pageSize ? views.subList(0, pageSize) : views;
+        var nextCursor = views.size() > pageSize ? encodeCursor(page.getLast()) : null;
+        return ResponseEntity.ok(new OrderSearchResultDto(page.stream().map(OrderService::getSimpleOrderDto).toList(), nextCursor));
+    }
+
+    /**
+     * Returns the most recent orders of one orderer, newest first. Up to {@code order-history.orders-per-customer}
+     * orders are served from the {@link OrderHistoryCache}; longer histories and cache misses read the orderer
+     * history index.
+     *
+     * @param orderer the exact orderer name
+     * @param limit the maximum number of orders, capped at 100
+     * @return a {@link ResponseEntity} containing a list of {@link SimpleOrderDto} objects
+     * @throws InvalidOrderSearchException if the orderer is blank
+     */
+    // No read-only transaction: a lagging replica could miss an order whose event was already applied to the cache
+    public ResponseEntity<List<SimpleOrderDto>> getOrderHistory(String orderer, int limit) {
+        if (orderer == null || orderer.isBlank()) {
+            throw new InvalidOrderSearchException("The orderer should not be empty");
+        }
+        int pageSize = Math.clamp(limit, 1, MAX_HISTORY_LIMIT);
+        var cacheable = pageSize <= orderHistoryCache.getOrdersPerCustomer();
+        if (cacheable) {
+            var cached = orderHistoryCache.get(orderer);
+            if (cached.isPresent()) {
+                return ResponseEntity.ok(cached.get().subList(0, Math.min(pageSize, cached.get().size())));
+            }
+        }
+
+        var changeCount = orderHistoryCache.changeCount(orderer);
+        var orders = orderRepository.findHistoryByOrderer(orderer, Limit.of(Math.max(pageSize, orderHistoryCache.getOrdersPerCustomer())))
+                .stream()
+                .map(OrderService::getSimpleOrderDto)
+                .toList();
+        orderHistoryCache.put(orderer, changeCount, orders);
+        return ResponseEntity.ok(orders.subList(0, Math.min(pageSize, orders.size())));
     }
 
     /**
@@ -76,39 +233,194 @@ public class OrderService {
     public ResponseEntity<Void> createOrder(OrderRequest orderRequest) {
         var processedOrder = orderProcessor.processOrder(orderRequest);
         var savedOrder = orderRepository.save(processedOrder);
+        publishEvent(OrderEventType.CREATED, savedOrder);
         return ResponseEntity.created(
                 URI.create("/api/v1/orders/%s".formatted(savedOrder.getOrderNumber()))
         ).build();
     }
 
+    /**
+     * Applies an admin change to a pending order. The save is guarded by the order version, so a concurrent
+     * update, claim or cancellation turns into a 409 instead of being overwritten.
+     *
+     * @param orderNumber the unique identifier of the order
+     * @param ifMatch the {@code If-Match} header, the {@code ETag} the change was based on; may be {@code null}
+     * @param adminOrderChangeRequest the changed order lines
+     * @return a {@link ResponseEntity} containing the updated {@link OrderDto} and its new {@code ETag}
+     * @throws OrderNotFoundException if there is no pending order with the given order number
+     * @throws InvalidPreconditionException if {@code If-Match} is not an order version {@code ETag}
+     * @throws OrderConflictException if the order no longer has the version given in {@code If-Match}
+     */
     @Transactional
-    public ResponseEntity<OrderDto> updateOrder(String orderNumber, AdminOrderChangeRequest adminOrderChangeRequest) {
+    public ResponseEntity<OrderDto> updateOrder(String orderNumber, String ifMatch, AdminOrderChangeRequest adminOrderChangeRequest) {
+        var expectedVersion = parseVersion(ifMatch);
         var orderOpt = orderRepository.findByOrderNumberAndStatus(orderNumber, PENDING);
         var order = orderOpt.orElseThrow(() -> {
-            log.error("Order not found when updating the order with the given order number: {} and status: {}", orderNumber, PENDING);
+            log.atWarn().addKeyValue("order_number", orderNumber).addKeyValue("status", PENDING).log("Order not found when updating the order");
             return new OrderNotFoundException("Order not found when updating the order with the given order number: %s".formatted(orderNumber));
         });
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            log.atWarn().addKeyValue("order_number", orderNumber).addKeyValue("version", order.getVersion())
+                    .addKeyValue("expected_version", expectedVersion).log("Order was modified since the version the update was based on");
+            throw new OrderConflictException("Order %s was modified since version %d".formatted(orderNumber, expectedVersion));
+        }
+        var previousOrderer = order.getOrderer();
         var processedOrder = orderProcessor.processChangedOrder(adminOrderChangeRequest, order);
-        return ResponseEntity.ok(orderMapper.orderToOrderDto(orderRepository.save(processedOrder)));
+        var savedOrder = orderRepository.save(processedOrder);
+        // Flush so that a version conflict surfaces here and the response carries the new version
+        orderRepository.flush();
+        eventPublisher.publishEvent(new OrderEvent(OrderEventType.UPDATED, getSimpleOrderDto(savedOrder),
+                Objects.equals(previousOrderer, savedOrder.getOrderer()) ? null : previousOrderer));
+        return okWithETag(orderMapper.orderToOrderDto(savedOrder));
 
         //I could implement a credit if the order total amount changed both directions.
         // a store credit if the order amount decreased or a payment request
         // if the order amount increased in the real world
     }
 
+    /**
+     * Cancels a pending order with a single conditional update, without holding a row lock across the request.
+     *
+     * @param orderNumber the unique identifier of the order
+     * @param ifMatch the {@code If-Match} header, the {@code ETag} the cancellation was based on; may be {@code null}
+     * @return a 204 No Content response if the order was cancelled, or a 404 Not Found response if it does not exist
+     * @throws InvalidPreconditionException if {@code If-Match} is not an order version {@code ETag}
+     * @throws OrderConflictException if the order is no longer pending or no longer has the version given in {@code If-Match}
+     */
     @Transactional
-    public ResponseEntity<Void> deleteOrder(String orderNumber) {
-        var orderOpt = orderRepository.findByOrderNumber(orderNumber);
-        if (orderOpt.isPresent()) {
-            var order = orderOpt.get();
-            order.setCanceledAt(Timestamp.valueOf(LocalDateTime.now().withNano(0)));
-            order.setStatus(OrderStatus.CANCELLED);
-            orderRepository.save(order);
+    public ResponseEntity<Void> deleteOrder(String orderNumber, String ifMatch) {
+        var expectedVersion = parseVersion(ifMatch);
+        var cancelled = orderRepository.cancelPendingOrder(orderNumber, expectedVersion);
+        if (cancelled.isPresent()) {
+            publishEvent(OrderEventType.CANCELLED, cancelled.get());
             return ResponseEntity.noContent().build();
         }
 
-        log.warn("Order not found when deleting the order with the given order number: {}", orderNumber);
-        return ResponseEntity.notFound().build();
+        var orderOpt = orderRepository.findByOrderNumber(orderNumber);
+        if (orderOpt.isEmpty()) {
+            log.atWarn().addKeyValue("order_number", orderNumber).log("Order not found when deleting the order");
+            return ResponseEntity.notFound().build();
+        }
+        var order = orderOpt.get();
+        if (order.getStatus() != PENDING) {
+            log.atWarn().addKeyValue("order_number", orderNumber).addKeyValue("status", order.getStatus())
+                    .log("Order could not be cancelled as it is no longer pending");
+            throw new OrderConflictException("Order %s is %s and can no longer be cancelled".formatted(orderNumber, order.getStatus()));
+        }
+        log.atWarn().addKeyValue("order_number", orderNumber).addKeyValue("version", order.getVersion())
+                .addKeyValue("expected_version", expectedVersion).log("Order could not be cancelled as it was modified");
+        if (expectedVersion == null) {
+            // Pending again after the cancellation missed it, e.g. a lapsed prep queue claim was released meanwhile
+            throw new OrderConflictException("Order %s changed while it was being cancelled".formatted(orderNumber));
+        }
+        throw new OrderConflictException("Order %s was modified since version %d".formatted(orderNumber, expectedVersion));
+    }
+
+    /**
+     * Cancels the selected pending orders with set-based updates of at most {@value #BULK_CHUNK_SIZE} orders.
+     * Every chunk commits on its own, together with its events, so a large sweep never holds many row locks at once.
+     *
+     * @param bulkOrderRequest the order numbers, or when there are none, the filter selecting the orders
+     * @return a {@link ResponseEntity} containing the {@link BulkOrderResultDto} with the outcome per order
+     */
+    public ResponseEntity<BulkOrderResultDto> cancelOrders(BulkOrderRequest bulkOrderRequest) {
+        return ResponseEntity.ok(runBulkUpdate(bulkOrderRequest, OrderEventType.CANCELLED,
+                orderRepository::cancelPendingOrders, orderRepository::cancelPendingOrdersMatching));
+    }
+
+    /**
+     * Completes the selected pending orders with set-based updates of at most {@value #BULK_CHUNK_SIZE} orders,
+     * each chunk in its own transaction. Orders a station has claimed are reported as conflicts and left to it.
+     *
+     * @param bulkOrderRequest the order numbers, or when there are none, the filter selecting the orders
+     * @return a {@link ResponseEntity} containing the {@link BulkOrderResultDto} with the outcome per order
+     */
+    public ResponseEntity<BulkOrderResultDto> completeOrders(BulkOrderRequest bulkOrderRequest) {
+        return ResponseEntity.ok(runBulkUpdate(bulkOrderRequest, OrderEventType.UPDATED,
+                orderRepository::completePendingOrders, orderRepository::completePendingOrdersMatching));
+    }
+
+    private BulkOrderResultDto runBulkUpdate(BulkOrderRequest bulkOrderRequest,
+                                             OrderEventType eventType,
+                                             Function<Collection<String>, List<Order>> updateByOrderNumbers,
+                                             MatchingOrdersUpdate updateMatching) {
+        var results = new ArrayList<BulkOrderResultDto.Result>();
+        if (bulkOrderRequest.hasOrderNumbers()) {
+            var orderNumbers = bulkOrderRequest.orderNumbers().stream().distinct().toList();
+            for (int from = 0; from < orderNumbers.size(); from += BULK_CHUNK_SIZE) {
+                var chunk = orderNumbers.subList(from, Math.min(from + BULK_CHUNK_SIZE, orderNumbers.size()));
+                var updatedOrders = transactionTemplate.execute(status -> {
+                    var updated = updateByOrderNumbers.apply(chunk);
+                    addUpdated(results, updated, eventType);
+                    return updated;
+                });
+                addNotUpdated(results, chunk, updatedOrders);
+            }
+        } else {
+            var before = Timestamp.valueOf(bulkOrderRequest.createdBefore());
+            List<Order> updatedOrders;
+            do {
+                updatedOrders = transactionTemplate.execute(status -> {
+                    var updated = updateMatching.update(before, bulkOrderRequest.orderer(), BULK_CHUNK_SIZE);
+                    addUpdated(results, updated, eventType);
+                    return updated;
+                });
+            } while (updatedOrders.size() == BULK_CHUNK_SIZE);
+        }
+
+        var updatedCount = (int) results.stream().filter(result -> result.outcome() == BulkOrderResultDto.Outcome.UPDATED).count();
+        log.info("Bulk {} changed {} of {} selected orders", eventType, updatedCount, results.size());
+        return BulkOrderResultDto.builder()
+                .updatedCount(updatedCount)
+                .results(results)
+                .build();
+    }
+
+    private void addUpdated(List<BulkOrderResultDto.Result> results, List<Order> updatedOrders, OrderEventType eventType) {
+        for (var order : updatedOrders) {
+            results.add(new BulkOrderResultDto.Result(order.getOrderNumber(), BulkOrderResultDto.Outcome.UPDATED, order.getStatus()));
+            publishEvent(eventType, order);
+        }
+    }
+
+    private void addNotUpdated(List<BulkOrderResultDto.Result> results, List<String> chunk, List<Order> updatedOrders) {
+        var updatedNumbers = new HashSet<String>();
+        updatedOrders.forEach(order -> updatedNumbers.add(order.getOrderNumber()));
+        var missed = chunk.stream().filter(orderNumber -> !updatedNumbers.contains(orderNumber)).toList();
+        if (missed.isEmpty()) {
+            return;
+        }
+
+        var statuses = orderRepository.findStatusesByOrderNumberIn(missed).stream()
+                .collect(Collectors.toMap(OrderStatusView::getOrderNumber, OrderStatusView::getStatus, (first, second) -> first));
+        for (var orderNumber : missed) {
+            var status = statuses.get(orderNumber);
+            var outcome = status == null ? BulkOrderResultDto.Outcome.NOT_FOUND : BulkOrderResultDto.Outcome.CONFLICT;
+            results.add(new BulkOrderResultDto.Result(orderNumber, outcome, status));
+        }
+    }
+
+    @FunctionalInterface
+    private interface MatchingOrdersUpdate {
+        List<Order> update(Timestamp before, String orderer, int limit);
+    }
+
+    /**
+     * Opens a live feed of order changes. The events are served from memory, so connected
+     * dashboards cost no database queries.
+     *
+     * @param lastEventId the {@code Last-Event-ID} of a reconnecting client, may be {@code null}
+     * @return a {@link ResponseEntity} containing the {@link SseEmitter} of the feed
+     */
+    public ResponseEntity<SseEmitter> streamOrders(String lastEventId) {
+        return ResponseEntity.ok(orderEventBroadcaster.subscribe(lastEventId));
+    }
+
+    /**
+     * Publishes an order change for the live feed and the outbox; the outbox row is written in the current transaction.
+     */
+    private void publishEvent(OrderEventType type, Order order) {
+        eventPublisher.publishEvent(new OrderEvent(type, getSimpleOrderDto(order)));
     }
 
     /**
@@ -117,10 +429,34 @@ public class OrderService {
      * @return a {@link ResponseEntity} containing the {@link PopularItemsDto} with information
      * about the most popular drink and topping
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public ResponseEntity<PopularItemsDto> getMostPopularItems() {
-        Map<String, Object> mostPopularDrink = orderRepository.findMostPopularDrink();
-        Map<String, Object> mostPopularTopping = orderRepository.findMostPopularTopping();
+        return toPopularItemsResponse(orderRepository.findMostPopularDrink(), orderRepository.findMostPopularTopping());
+    }
+
+    /**
+     * Retrieves the most popular drink and topping across the orders created in the given date range.
+     * Open bounds fall back to all orders.
+     *
+     * @param from the first day of the range (inclusive), may be {@code null}
+     * @param to the last day of the range (inclusive), may be {@code null}
+     * @return a {@link ResponseEntity} containing the {@link PopularItemsDto} for the range
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<PopularItemsDto> getMostPopularItems(LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return getMostPopularItems();
+        }
+        var lower = lowerBound(from);
+        var upper = upperBound(to);
+        return toPopularItemsResponse(
+                orderRepository.findMostPopularDrinkCreatedBetween(lower, upper),
+                orderRepository.findMostPopularToppingCreatedBetween(lower, upper)
+        );
+    }
+
+    private ResponseEntity<PopularItemsDto> toPopularItemsResponse(Map<String, Object> mostPopularDrink,
+                                                                   Map<String, Object> mostPopularTopping) {
 
         // Handle case when there are no orders yet
         if (mostPopularDrink == null || mostPopularDrink.isEmpty() ||
@@ -152,17 +488,109 @@ public class OrderService {
         );
     }
 
+    private static ResponseEntity<OrderDto> okWithETag(OrderDto orderDto) {
+        var response = ResponseEntity.ok();
+        if (orderDto.getVersion() != null) {
+            response.eTag(String.valueOf(orderDto.getVersion()));
+        }
+        return response.body(orderDto);
+    }
+
+    /**
+     * @return the version in an {@code If-Match} header, or {@code null} when the header is missing or {@code *}
+     * @throws OrderConflictException if the header cannot match any version
+     */
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        var tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new InvalidPreconditionException("If-Match %s is not an order version ETag".formatted(ifMatch));
+        }
+    }
+
+    private static Timestamp lowerBound(LocalDate from) {
+        return from != null ? Timestamp.valueOf(from.atStartOfDay()) : Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0));
+    }
+
+    private static Timestamp upperBound(LocalDate to) {
+        return to != null ? Timestamp.valueOf(to.plusDays(1).atStartOfDay()) : Timestamp.valueOf(LocalDateTime.now().plusDays(1));
+    }
+
     private List<SimpleOrderDto> mapOrdersToSimpleOrderDtos(List<Order> orderEntities) {
         return orderEntities.stream()
                 .map(OrderService::getSimpleOrderDto)
                 .toList();
     }
 
-    private static SimpleOrderDto getSimpleOrderDto(Order order) {
+    private static SimpleOrderDto getSimpleOrderDto(OrderSummaryView view) {
+        return SimpleOrderDto.builder()
+                .orderNumber(view.getOrderNumber())
+                .orderer(view.getOrderer())
+                .createdAt(view.getCreatedAt().toLocalDateTime())
+                .currency(view.getCurrency())
+                .totalPriceInCents(view.getTotalPriceInCents())
+                .status(view.getStatus())
+                .build();
+    }
+
+    private static SimpleOrderDto getSimpleOrderDto(OrderHistoryView view) {
+        return SimpleOrderDto.builder()
+                .orderNumber(view.getOrderNumber())
+                .orderer(view.getOrderer())
+                .createdAt(view.getCreatedAt().toLocalDateTime())
+                .currency(view.getCurrency())
+                .totalPriceInCents(view.getTotalPriceInCents())
+                .discount(view.getDiscounts())
+                .status(view.getStatus())
+                .build();
+    }
+
+    private static String escapeLikePattern(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static String encodeCursor(OrderSummaryView last) {
+        // The orderer goes last, as it may contain commas
+        var keyset = last.getCreatedAt().toLocalDateTime() + "," + last.getId() + "," + last.getOrderer();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keyset.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SearchKeyset decodeCursor(String cursor) {
+        try {
+            var keyset = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",", 3);
+            return new SearchKeyset(keyset[2], LocalDateTime.parse(keyset[0]), Long.parseLong(keyset[1]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidOrderSearchException("Invalid search cursor: " + cursor);
+        }
+    }
+
+    private record SearchKeyset(String orderer, LocalDateTime createdAt, long id) {
+    }
+
+    private static SimpleOrderDto getSimpleOrderDto(OrderDto order) {
+        return SimpleOrderDto.builder()
+                .orderNumber(order.getOrderNumber())
+                .orderer(order.getOrderer())
+                .createdAt(order.getCreatedAt())
+                .currency(order.getCurrency())
+                .totalPriceInCents(order.getTotalPriceInCents())
+                .discount(order.getDiscounts())
+                .status(order.getStatus())
+                .build();
+    }
+
+    public static SimpleOrderDto getSimpleOrderDto(Order order) {
         return SimpleOrderDto.builder()
                 .orderNumber(order.getOrderNumber())
                 .orderer(order.getOrderer())
-                .createdAt(order.getCreatedAt().toLocalDateTime())
+                .createdAt(order.getCreatedAt() != null ? order.getCreatedAt().toLocalDateTime() : null)
                 .currency(order.getCurrency())
                 .totalPriceInCents(order.getTotalPriceInCents())
                 .discount(order.getDiscounts())
@@ -0,0 +1,78 @@
+package com.coffee.coffeestoreapi.service.admin;
+
+import com.coffee.coffeestoreapi.entity.CurrencyRate;
+import com.coffee.coffeestoreapi.exception.InvalidCurrencyRateException;
+import com.coffee.coffeestoreapi.model.CacheTopic;
+import com.coffee.coffeestoreapi.model.Currency;
+import com.coffee.coffeestoreapi.model.CurrencyRateChangeRequest;
+import com.coffee.coffeestoreapi.model.CurrencyRateDto;
+import com.coffee.coffeestoreapi.repository.CurrencyRateRepository;
+import com.coffee.coffeestoreapi.service.currency.CurrencyConverter;
+import com.coffee.coffeestoreapi.service.invalidation.CacheInvalidationPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.coffee.coffeestoreapi.service.currency.CurrencyConverter.BASE_CURRENCY;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CurrencyRateService {
+    private static final int RATE_SCALE = 6;
+
+    private final CurrencyRateRepository currencyRateRepository;
+    private final CurrencyConverter currencyConverter;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<CurrencyRateDto>> getCurrencyRates() {
+        return ResponseEntity.ok(currencyRateRepository.findAll().stream()
+                .sorted(Comparator.comparing(CurrencyRate::getCurrency))
+                .map(CurrencyRateService::toCurrencyRateDto)
+                .toList());
+    }
+
+    /**
+     * Stores the rate of a currency against the base currency and reloads the in-memory rate table, here and on the
+     * other instances.
+     *
+     * @param currency the currency to change, any but the base currency
+     * @param currencyRateChangeRequest the amount of the currency that one euro buys
+     * @return a {@link ResponseEntity} containing the stored {@link CurrencyRateDto}
+     */
+    public ResponseEntity<CurrencyRateDto> updateCurrencyRate(Currency currency, CurrencyRateChangeRequest currencyRateChangeRequest) {
+        if (currency == BASE_CURRENCY) {
+            log.error("The rate of the base currency {} cannot be changed", BASE_CURRENCY);
+            throw new InvalidCurrencyRateException("The rate of the base currency %s is always 1".formatted(BASE_CURRENCY));
+        }
+
+        var currencyRate = currencyRateRepository.findById(currency).orElseGet(() -> {
+            var newRate = new CurrencyRate();
+            newRate.setCurrency(currency);
+            return newRate;
+        });
+        currencyRate.setRateMicros(currencyRateChangeRequest.rate().movePointRight(RATE_SCALE).longValueExact());
+        currencyRate.setUpdatedAt(LocalDateTime.now());
+        var savedRate = currencyRateRepository.save(currencyRate);
+
+        currencyConverter.refresh();
+        cacheInvalidationPublisher.publish(CacheTopic.CURRENCY_RATES, currency);
+        log.info("Exchange rate of {} changed to {}", currency, currencyRateChangeRequest.rate());
+        return ResponseEntity.ok(toCurrencyRateDto(savedRate));
+    }
+
+    private static CurrencyRateDto toCurrencyRateDto(CurrencyRate currencyRate) {
+        return new CurrencyRateDto(
+                currencyRate.getCurrency(),
+                BigDecimal.valueOf(currencyRate.getRateMicros(), RATE_SCALE).stripTrailingZeros(),
+                currencyRate.getUpdatedAt());
+    }
+}
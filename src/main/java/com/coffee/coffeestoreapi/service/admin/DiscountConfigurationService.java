@@ -0,0 +1,80 @@
+package com.coffee.coffeestoreapi.service.admin;
+
+import com.coffee.coffeestoreapi.entity.DiscountConfiguration;
+import com.coffee.coffeestoreapi.exception.DiscountConfigurationConflictException;
+import com.coffee.coffeestoreapi.model.CacheTopic;
+import com.coffee.coffeestoreapi.model.DiscountConfigurationChangeRequest;
+import com.coffee.coffeestoreapi.model.DiscountConfigurationChangedEvent;
+import com.coffee.coffeestoreapi.model.DiscountConfigurationDto;
+import com.coffee.coffeestoreapi.repository.DiscountConfigurationRepository;
+import com.coffee.coffeestoreapi.service.discount.DiscountRulesProvider;
+import com.coffee.coffeestoreapi.service.invalidation.CacheInvalidationPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DiscountConfigurationService {
+    private final DiscountConfigurationRepository discountConfigurationRepository;
+    private final DiscountRulesProvider discountRulesProvider;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<DiscountConfigurationDto> getDiscountConfiguration() {
+        return discountConfigurationRepository.findById(DiscountConfiguration.ID)
+                .map(configuration -> ResponseEntity.ok(toDiscountConfigurationDto(configuration)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Stores the changed discount rules under a new version and swaps them into the pricing of this instance; the
+     * other instances reload them when the change notification arrives.
+     * Concurrent changes fail with an optimistic locking conflict instead of overwriting each other.
+     *
+     * @return a {@link ResponseEntity} containing the stored {@link DiscountConfigurationDto}
+     * @throws DiscountConfigurationConflictException if the configuration was changed concurrently
+     */
+    public ResponseEntity<DiscountConfigurationDto> updateDiscountConfiguration(DiscountConfigurationChangeRequest request) {
+        var discountConfiguration = discountConfigurationRepository.findById(DiscountConfiguration.ID);
+        return discountConfiguration.map(configuration -> {
+            configuration.setEnabled(request.enabled() != null ? request.enabled() : configuration.isEnabled());
+            configuration.setTwentyFivePercent(request.twentyFivePercent() != null ? request.twentyFivePercent() : configuration.isTwentyFivePercent());
+            configuration.setFreeItemAfterThree(request.freeItemAfterThree() != null ? request.freeItemAfterThree() : configuration.isFreeItemAfterThree());
+            configuration.setUpdatedAt(LocalDateTime.now());
+            DiscountConfiguration savedConfiguration;
+            try {
+                savedConfiguration = discountConfigurationRepository.save(configuration);
+            } catch (OptimisticLockingFailureException e) {
+                log.warn("Discount configuration version {} was changed concurrently", configuration.getVersion());
+                throw new DiscountConfigurationConflictException("The discount configuration was changed concurrently, reload it and retry", e);
+            }
+
+            discountRulesProvider.refresh();
+            cacheInvalidationPublisher.publish(CacheTopic.DISCOUNT_RULES, savedConfiguration.getVersion());
+            eventPublisher.publishEvent(new DiscountConfigurationChangedEvent(savedConfiguration.getVersion()));
+            log.info("Discount configuration changed to version {}", savedConfiguration.getVersion());
+            return ResponseEntity.ok(toDiscountConfigurationDto(savedConfiguration));
+        }).orElseGet(() -> {
+            log.error("No discount configuration to update");
+            return ResponseEntity.notFound().build();
+        });
+    }
+
+    private static DiscountConfigurationDto toDiscountConfigurationDto(DiscountConfiguration configuration) {
+        return new DiscountConfigurationDto(
+                configuration.isEnabled(),
+                configuration.isTwentyFivePercent(),
+                configuration.isFreeItemAfterThree(),
+                configuration.getVersion(),
+                configuration.getUpdatedAt());
+    }
+}
@@ -3,17 +3,23 @@ package com.coffee.coffeestoreapi.service.admin;
 import com.coffee.coffeestoreapi.entity.Product;
 import com.coffee.coffeestoreapi.exception.ProductAlreadyExistsException;
 import com.coffee.coffeestoreapi.mapper.ProductMapper;
+import com.coffee.coffeestoreapi.model.Currency;
 import com.coffee.coffeestoreapi.model.ProductChangeRequest;
 import com.coffee.coffeestoreapi.model.ProductCreateRequest;
 import com.coffee.coffeestoreapi.model.ProductDto;
+import com.coffee.coffeestoreapi.model.ProductPriceChangedEvent;
 import com.coffee.coffeestoreapi.repository.ProductRepository;
+import com.coffee.coffeestoreapi.service.currency.CurrencyConverter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Objects;
 
 @Slf4j
 @Service
@@ -21,7 +27,10 @@ import java.util.List;
 public class ProductService {
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final CurrencyConverter currencyConverter;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     public ResponseEntity<ProductDto> getProduct(Long productId) {
         var productEntity = productRepository.findById(productId);
         return productEntity.map(product -> ResponseEntity.ok(productMapper.productToProductDto(product)))
@@ -31,6 +40,7 @@ public class ProductService {
                 });
     }
 
+    @Transactional(readOnly = true)
     public ResponseEntity<List<ProductDto>> getProducts() {
         var productEntities = productRepository.getAllProducts();
         if (productEntities.isEmpty()) {
@@ -41,6 +51,48 @@ public class ProductService {
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * Retrieves a product with its price converted from euros to the given currency.
+     *
+     * @param productId the id of the product
+     * @param currency the currency of the price, {@code null} for euros
+     * @return a {@link ResponseEntity} containing the {@link ProductDto} if found, or a 404 Not Found response
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<ProductDto> getProduct(Long productId, Currency currency) {
+        var response = getProduct(productId);
+        if (currency == null || !response.hasBody()) {
+            return response;
+        }
+        return ResponseEntity.ok(convertPrice(response.getBody(), currency));
+    }
+
+    /**
+     * Retrieves every product with its price converted from euros to the given currency.
+     *
+     * @param currency the currency of the prices, {@code null} for euros
+     * @return a {@link ResponseEntity} containing the list of {@link ProductDto} objects
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<ProductDto>> getProducts(Currency currency) {
+        var response = getProducts();
+        if (currency == null || response.getBody() == null) {
+            return response;
+        }
+        return ResponseEntity.ok(response.getBody().stream()
+                .map(product -> convertPrice(product, currency))
+                .toList());
+    }
+
+    private ProductDto convertPrice(ProductDto product, Currency currency) {
+        if (product.priceInCents() == null) {
+            return product;
+        }
+        return new ProductDto(product.id(), product.productName(),
+                currencyConverter.convert(product.priceInCents(), CurrencyConverter.BASE_CURRENCY, currency),
+                product.type(), product.isFavorite());
+    }
+
     public ResponseEntity<String> createProduct(ProductCreateRequest productChangeRequest) {
         var existingProductOpt = productRepository.findByProductName(productChangeRequest.productName());
         existingProductOpt.ifPresent(product -> {
@@ -61,11 +113,15 @@ public class ProductService {
     public ResponseEntity<ProductDto> updateProduct(Long productId, ProductChangeRequest productChangeRequest) {
         var productEntity = productRepository.findById(productId);
         return productEntity.map(product -> {
+            var previousPriceInCents = product.getPriceInCents();
             product.setProductName(productChangeRequest.productName() != null ? productChangeRequest.productName() : product.getProductName());
             product.setPriceInCents(productChangeRequest.priceInCents() != null ? productChangeRequest.priceInCents() : product.getPriceInCents());
             product.setType(productChangeRequest.type() != null ? productChangeRequest.type() : product.getType());
             product.setIsFavorite(productChangeRequest.isFavorite() != null ? productChangeRequest.isFavorite() : product.getIsFavorite());
             var savedProduct = productRepository.save(product);
+            if (!Objects.equals(previousPriceInCents, savedProduct.getPriceInCents())) {
+                eventPublisher.publishEvent(new ProductPriceChangedEvent(savedProduct.getProductName(), previousPriceInCents, savedProduct.getPriceInCents()));
+            }
             return ResponseEntity.ok(productMapper.productToProductDto(savedProduct));
         }).orElseGet(() -> {
             log.error("Product not found when updating the product with the given id: {}", productId);
@@ -0,0 +1,90 @@
+package com.coffee.coffeestoreapi.service.admin;
+
+import com.coffee.coffeestoreapi.entity.Promotion;
+import com.coffee.coffeestoreapi.model.CacheTopic;
+import com.coffee.coffeestoreapi.model.PromotionCreateRequest;
+import com.coffee.coffeestoreapi.model.PromotionDto;
+import com.coffee.coffeestoreapi.repository.PromotionRepository;
+import com.coffee.coffeestoreapi.service.discount.ActivePromotion;
+import com.coffee.coffeestoreapi.service.discount.PromotionSchedule;
+import com.coffee.coffeestoreapi.service.invalidation.CacheInvalidationPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PromotionService {
+    private final PromotionRepository promotionRepository;
+    private final PromotionSchedule promotionSchedule;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    public ResponseEntity<List<PromotionDto>> getPromotions() {
+        Set<Long> activeIds = promotionSchedule.active().stream()
+                .map(ActivePromotion::id)
+                .collect(Collectors.toSet());
+        var promotions = promotionRepository.findAll().stream()
+                .sorted(Comparator.comparing(Promotion::getId))
+                .map(promotion -> toPromotionDto(promotion, activeIds.contains(promotion.getId())))
+                .toList();
+        return ResponseEntity.ok(promotions);
+    }
+
+    /**
+     * Stores a new promotion and rebuilds the promotion schedule of this instance; the other instances rebuild
+     * theirs when the change notification arrives.
+     *
+     * @return a {@link ResponseEntity} with the location of the created promotion
+     */
+    public ResponseEntity<String> createPromotion(PromotionCreateRequest request) {
+        var promotion = new Promotion();
+        promotion.setName(request.name());
+        promotion.setPercentage(request.percentage());
+        promotion.setDaysOfWeek(request.daysOfWeek());
+        promotion.setStartTime(request.startTime());
+        promotion.setEndTime(request.endTime());
+        promotion.setValidFrom(request.validFrom());
+        promotion.setValidUntil(request.validUntil());
+
+        var savedPromotion = promotionRepository.save(promotion);
+        promotionSchedule.refresh();
+        cacheInvalidationPublisher.publish(CacheTopic.PROMOTIONS, savedPromotion.getId());
+        log.info("Promotion {} created: {}% from {} to {}", savedPromotion.getId(), savedPromotion.getPercentage(),
+                savedPromotion.getStartTime(), savedPromotion.getEndTime());
+        return ResponseEntity.created(URI.create("/api/v1/admin/promotions/%s".formatted(savedPromotion.getId()))).build();
+    }
+
+    public ResponseEntity<Void> deletePromotion(Long promotionId) {
+        var promotion = promotionRepository.findById(promotionId);
+        if (promotion.isPresent()) {
+            promotionRepository.delete(promotion.get());
+            promotionSchedule.refresh();
+            cacheInvalidationPublisher.publish(CacheTopic.PROMOTIONS, promotionId);
+            return ResponseEntity.noContent().build();
+        }
+
+        log.error("Promotion not found when deleting the promotion with the given id: {}", promotionId);
+        return ResponseEntity.notFound().build();
+    }
+
+    private static PromotionDto toPromotionDto(Promotion promotion, boolean active) {
+        return new PromotionDto(
+                promotion.getId(),
+                promotion.getName(),
+                promotion.getPercentage(),
+                promotion.getDaysOfWeek(),
+                promotion.getStartTime(),
+                promotion.getEndTime(),
+                promotion.getValidFrom(),
+                promotion.getValidUntil(),
+                active);
+    }
+}
@@ -0,0 +1,461 @@
+package com.coffee.coffeestoreapi.service.archive;
+
+import com.coffee.coffeestoreapi.config.settings.ArchiveSettings;
+import com.coffee.coffeestoreapi.model.OrderDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Append-only, block-compressed store for archived orders, one segment per creation month.
+ * <p>
+ * A segment consists of two files:
+ * <ul>
+ *     <li>{@code orders-yyyy-MM.seg}: deflate-compressed blocks, each block holding up to
+ *     {@code archive.block-size} orders as {@code orderNumber \t json} lines sorted by order number</li>
+ *     <li>{@code orders-yyyy-MM.idx}: one sparse index entry per block with its offset, length and
+ *     the lowest and highest order number it contains</li>
+ * </ul>
+ * Index files are memory-mapped on first lookup and their entries sorted by lowest order number, so the
+ * candidate blocks are found by binary search, comparing keys in place in the mapped buffer. Only the
+ * matching block is read from the segment file and inflated. Order numbers carry their creation time, so a
+ * lookup only searches the segment of that month (and the next one, for orders saved across a month boundary).
+ * <p>
+ * Appends hold the write lock of the archive and reads its read lock, so a lookup never maps an index file, or
+ * reads a block, that an append is still writing. Reads do not block each other.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderArchive {
+    private static final String SEGMENT_PREFIX = "orders-";
+    private static final String DATA_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private static final Pattern TIMESTAMPED_ORDER_NUMBER = Pattern.compile("RCS-(\\d{4})(\\d{2})\\d{11}");
+
+    private final ArchiveSettings archiveSettings;
+    private final ObjectMapper objectMapper;
+    private final Map<Path, SegmentIndex> mappedIndexes = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Appends the given orders to the segment of the given month. The orders are sorted by order number,
+     * split into blocks and both the segment and the index are forced to disk before returning.
+     *
+     * @param month the creation month of the orders
+     * @param orders the orders to archive
+     */
+    public void append(YearMonth month, List<OrderDto> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            writeSegment(month, orders);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void writeSegment(YearMonth month, List<OrderDto> orders) {
+        var sorted = orders.stream()
+                .sorted(Comparator.comparing(OrderDto::getOrderNumber))
+                .toList();
+        var dataFile = segmentPath(month, DATA_SUFFIX);
+        var indexFile = segmentPath(month, INDEX_SUFFIX);
+        try {
+            Files.createDirectories(dataFile.getParent());
+            try (var data = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                 var index = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                int blockSize = Math.max(1, archiveSettings.getBlockSize());
+                for (int from = 0; from < sorted.size(); from += blockSize) {
+                    var block = sorted.subList(from, Math.min(from + blockSize, sorted.size()));
+                    long offset = data.size();
+                    byte[] compressed = compress(block);
+                    data.write(ByteBuffer.wrap(compressed));
+                    index.write(indexEntry(offset, compressed.length, block));
+                }
+                // Data first: a crash in between leaves an unreferenced block, never a dangling index entry
+                data.force(false);
+                index.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append orders to archive segment %s".formatted(month), e);
+        } finally {
+            mappedIndexes.remove(indexFile);
+        }
+    }
+
+    /**
+     * Looks up an archived order by its order number: in the segments of its creation month when the number
+     * carries one, otherwise in every segment, newest first.
+     *
+     * @param orderNumber the order number to look for
+     * @return the archived {@link OrderDto}, or an empty {@link Optional} if it is not archived
+     */
+    public Optional<OrderDto> find(String orderNumber) {
+        if (!archiveSettings.isEnabled() || !Files.isDirectory(archiveDirectory())) {
+            return Optional.empty();
+        }
+        var key = orderNumber.getBytes(UTF_8);
+        lock.readLock().lock();
+        try {
+            for (var indexFile : candidateIndexFiles(orderNumber)) {
+                var found = findInSegment(indexFile, key, orderNumber);
+                if (found.isPresent()) {
+                    return found;
+                }
+            }
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the archived orders created in {@code [from, to)}, oldest first, for the exports and reports. Only the
+     * segments of the months in the range are read, each block by block.
+     *
+     * @param from the start of the range (inclusive)
+     * @param to the end of the range (exclusive)
+     * @return the archived orders of the range, or an empty list if there are none
+     */
+    public List<OrderDto> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        if (!archiveSettings.isEnabled() || !Files.isDirectory(archiveDirectory())) {
+            return List.of();
+        }
+        var firstMonth = YearMonth.from(from);
+        var lastMonth = YearMonth.from(to);
+        lock.readLock().lock();
+        try {
+            var orders = new ArrayList<OrderDto>();
+            for (var indexFile : indexFilesNewestFirst()) {
+                var month = monthOf(indexFile);
+                if (month.isBefore(firstMonth) || month.isAfter(lastMonth)) {
+                    continue;
+                }
+                for (var order : readSegment(indexFile)) {
+                    var createdAt = order.getCreatedAt();
+                    if (createdAt != null && !createdAt.isBefore(from) && createdAt.isBefore(to)) {
+                        orders.add(order);
+                    }
+                }
+            }
+            orders.sort(Comparator.comparing(OrderDto::getCreatedAt));
+            return orders;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads every order of a segment. An order archived twice, after a run failed between the append and the
+     * delete, is returned once, as its last copy.
+     */
+    private List<OrderDto> readSegment(Path indexFile) {
+        var index = mappedIndexes.computeIfAbsent(indexFile, SegmentIndex::load);
+        var dataFile = dataFileOf(indexFile);
+        var orders = new LinkedHashMap<String, OrderDto>();
+        var entriesInAppendOrder = IntStream.range(0, index.size())
+                .boxed()
+                .sorted(Comparator.comparingLong(index::offset))
+                .toList();
+        for (int entry : entriesInAppendOrder) {
+            for (var line : readBlock(dataFile, index.offset(entry), index.length(entry))) {
+                int separator = line.indexOf('\t');
+                if (separator > 0) {
+                    orders.put(line.substring(0, separator), readOrder(dataFile, line.substring(separator + 1)));
+                }
+            }
+        }
+        return new ArrayList<>(orders.values());
+    }
+
+    private List<Path> candidateIndexFiles(String orderNumber) {
+        var matcher = TIMESTAMPED_ORDER_NUMBER.matcher(orderNumber);
+        if (!matcher.matches()) {
+            return indexFilesNewestFirst();
+        }
+        var month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+        return Stream.of(month, month.plusMonths(1))
+                .map(candidate -> segmentPath(candidate, INDEX_SUFFIX))
+                .filter(Files::exists)
+                .toList();
+    }
+
+    private Optional<OrderDto> findInSegment(Path indexFile, byte[] key, String orderNumber) {
+        var index = mappedIndexes.computeIfAbsent(indexFile, SegmentIndex::load);
+        // Appends to the same month add runs of blocks whose ranges may overlap, so every entry up to the last
+        // one starting at or below the key is a candidate, until no earlier entry reaches up to the key
+        for (int entry = index.lastStartingAtOrBelow(key); entry >= 0 && index.reachesKey(index.widestUpTo(entry), key); entry--) {
+            if (index.reachesKey(entry, key)) {
+                var dataFile = dataFileOf(indexFile);
+                var order = findInBlock(dataFile, index.offset(entry), index.length(entry), orderNumber);
+                if (order.isPresent()) {
+                    return order;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<OrderDto> findInBlock(Path dataFile, long offset, int length, String orderNumber) {
+        var prefix = orderNumber + "\t";
+        for (var line : readBlock(dataFile, offset, length)) {
+            if (line.startsWith(prefix)) {
+                return Optional.of(readOrder(dataFile, line.substring(prefix.length())));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String[] readBlock(Path dataFile, long offset, int length) {
+        try (var data = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            var compressed = ByteBuffer.allocate(length);
+            while (compressed.hasRemaining()) {
+                if (data.read(compressed, offset + compressed.position()) < 0) {
+                    throw new IOException("Unexpected end of archive segment %s".formatted(dataFile));
+                }
+            }
+            return decompress(compressed.array()).split("\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment %s".formatted(dataFile), e);
+        }
+    }
+
+    private OrderDto readOrder(Path dataFile, String json) {
+        try {
+            return objectMapper.readValue(json, OrderDto.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment %s".formatted(dataFile), e);
+        }
+    }
+
+    private byte[] compress(List<OrderDto> block) throws IOException {
+        var lines = new StringBuilder();
+        for (var order : block) {
+            lines.append(order.getOrderNumber()).append('\t').append(objectMapper.writeValueAsString(order)).append('\n');
+        }
+        var deflater = new Deflater();
+        try {
+            deflater.setInput(lines.toString().getBytes(UTF_8));
+            deflater.finish();
+            var out = new ByteArrayOutputStream();
+            var buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String decompress(byte[] compressed) {
+        var inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            var out = new ByteArrayOutputStream();
+            var buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toString(UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt archive block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer indexEntry(long offset, int length, List<OrderDto> block) {
+        var min = block.getFirst().getOrderNumber().getBytes(UTF_8);
+        var max = block.getLast().getOrderNumber().getBytes(UTF_8);
+        var entry = ByteBuffer.allocate(8 + 4 + 2 + min.length + 2 + max.length);
+        entry.putLong(offset).putInt(length);
+        entry.putShort((short) min.length).put(min);
+        entry.putShort((short) max.length).put(max);
+        return entry.flip();
+    }
+
+    /**
+     * Compares the key with {@code length} bytes of the buffer at {@code start}, unsigned and without copying.
+     */
+    private static int compare(byte[] key, ByteBuffer buffer, int start, int length) {
+        int common = Math.min(key.length, length);
+        for (int i = 0; i < common; i++) {
+            int difference = Byte.toUnsignedInt(key[i]) - Byte.toUnsignedInt(buffer.get(start + i));
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return key.length - length;
+    }
+
+    /**
+     * A mapped index file with its entries ordered by lowest order number. {@code widest[i]} is the entry with
+     * the highest order number among the first {@code i + 1}, so a backwards scan can stop as soon as no
+     * earlier block can contain the key.
+     */
+    private record SegmentIndex(MappedByteBuffer buffer, int[] positions, int[] widest) {
+
+        static SegmentIndex load(Path indexFile) {
+            MappedByteBuffer buffer;
+            try (var channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not map archive index %s".formatted(indexFile), e);
+            }
+            var entries = new ArrayList<Integer>();
+            // An entry cut short by a crash during an append is not part of the index
+            for (int position = 0; isComplete(buffer, position); position = maxStart(buffer, position) + maxLength(buffer, position)) {
+                entries.add(position);
+            }
+            int[] positions = entries.stream()
+                    .sorted((left, right) -> compareMins(buffer, left, right))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            var index = new SegmentIndex(buffer, positions, new int[positions.length]);
+            for (int i = 0; i < positions.length; i++) {
+                index.widest[i] = i == 0 || index.compareMaxes(i, index.widest[i - 1]) > 0 ? i : index.widest[i - 1];
+            }
+            return index;
+        }
+
+        int lastStartingAtOrBelow(byte[] key) {
+            int low = 0;
+            int high = positions.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int position = positions[middle];
+                if (compare(key, buffer, position + 14, buffer.getShort(position + 12)) >= 0) {
+                    found = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return found;
+        }
+
+        boolean reachesKey(int entry, byte[] key) {
+            int position = positions[entry];
+            return compare(key, buffer, maxStart(buffer, position), maxLength(buffer, position)) <= 0;
+        }
+
+        int size() {
+            return positions.length;
+        }
+
+        int widestUpTo(int entry) {
+            return widest[entry];
+        }
+
+        long offset(int entry) {
+            return buffer.getLong(positions[entry]);
+        }
+
+        int length(int entry) {
+            return buffer.getInt(positions[entry] + 8);
+        }
+
+        private int compareMaxes(int left, int right) {
+            int leftPosition = positions[left];
+            int rightPosition = positions[right];
+            return compareInBuffer(buffer, maxStart(buffer, leftPosition), maxLength(buffer, leftPosition),
+                    maxStart(buffer, rightPosition), maxLength(buffer, rightPosition));
+        }
+
+        private static int compareMins(ByteBuffer buffer, int left, int right) {
+            return compareInBuffer(buffer, left + 14, buffer.getShort(left + 12), right + 14, buffer.getShort(right + 12));
+        }
+
+        private static int compareInBuffer(ByteBuffer buffer, int leftStart, int leftLength, int rightStart, int rightLength) {
+            int common = Math.min(leftLength, rightLength);
+            for (int i = 0; i < common; i++) {
+                int difference = Byte.toUnsignedInt(buffer.get(leftStart + i)) - Byte.toUnsignedInt(buffer.get(rightStart + i));
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            return leftLength - rightLength;
+        }
+
+        private static boolean isComplete(ByteBuffer buffer, int position) {
+            return position + 14 <= buffer.limit()
+                    && position + 14 + buffer.getShort(position + 12) + 2 <= buffer.limit()
+                    && maxStart(buffer, position) + maxLength(buffer, position) <= buffer.limit();
+        }
+
+        private static int maxStart(ByteBuffer buffer, int position) {
+            return position + 14 + buffer.getShort(position + 12) + 2;
+        }
+
+        private static int maxLength(ByteBuffer buffer, int position) {
+            return buffer.getShort(position + 14 + buffer.getShort(position + 12));
+        }
+    }
+
+    private List<Path> indexFilesNewestFirst() {
+        try (Stream<Path> files = Files.list(archiveDirectory())) {
+            return files
+                    .filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(file -> file.getFileName().toString().endsWith(INDEX_SUFFIX))
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list archive directory %s".formatted(archiveDirectory()), e);
+        }
+    }
+
+    private static Path dataFileOf(Path indexFile) {
+        return indexFile.resolveSibling(indexFile.getFileName().toString().replace(INDEX_SUFFIX, DATA_SUFFIX));
+    }
+
+    private static YearMonth monthOf(Path indexFile) {
+        var fileName = indexFile.getFileName().toString();
+        return YearMonth.parse(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - INDEX_SUFFIX.length()));
+    }
+
+    private Path segmentPath(YearMonth month, String suffix) {
+        return archiveDirectory().resolve(SEGMENT_PREFIX + month + suffix);
+    }
+
+    private Path archiveDirectory() {
+        return Path.of(archiveSettings.getDirectory());
+    }
+}
@@ -0,0 +1,84 @@
+package com.coffee.coffeestoreapi.service.archive;
+
+import com.coffee.coffeestoreapi.config.settings.ArchiveSettings;
+import com.coffee.coffeestoreapi.entity.Order;
+import com.coffee.coffeestoreapi.mapper.OrderMapper;
+import com.coffee.coffeestoreapi.model.OrderDto;
+import com.coffee.coffeestoreapi.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.coffee.coffeestoreapi.model.OrderStatus.CANCELLED;
+import static com.coffee.coffeestoreapi.model.OrderStatus.COMPLETED;
+
+/**
+ * Moves completed and cancelled orders older than {@code archive.older-than-days} from the
+ * {@code orders} table into the {@link OrderArchive}, one batch per transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "archive", name = "enabled", havingValue = "true")
+public class OrderArchiveService {
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final OrderArchive orderArchive;
+    private final ArchiveSettings archiveSettings;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Archives every eligible order, batch by batch, until no eligible order is left.
+     *
+     * @return the number of archived orders
+     */
+    @Scheduled(cron = "${archive.cron}")
+    public int archiveOrders() {
+        var before = Timestamp.valueOf(LocalDateTime.now().minusDays(archiveSettings.getOlderThanDays()));
+        int archived = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> archiveBatch(before));
+            archived += batch;
+        } while (batch == archiveSettings.getBatchSize());
+
+        if (archived > 0) {
+            log.info("Archived {} orders created before {}", archived, before);
+        }
+        return archived;
+    }
+
+    /**
+     * The archive segments are written and forced to disk before the rows are deleted, so a failure
+     * can only leave an order in both places, never in neither. Reads go to the table first, so such a
+     * duplicate is invisible until the next run archives (and deletes) the row again.
+     */
+    private int archiveBatch(Timestamp before) {
+        List<Order> orders = orderRepository.findArchivable(
+                List.of(COMPLETED, CANCELLED), before, PageRequest.ofSize(archiveSettings.getBatchSize()));
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        Map<YearMonth, List<OrderDto>> ordersByMonth = orders.stream()
+                .collect(Collectors.groupingBy(
+                        order -> YearMonth.from(order.getCreatedAt().toLocalDateTime()),
+                        Collectors.mapping(orderMapper::orderToOrderDto, Collectors.toList())
+                ));
+        ordersByMonth.forEach(orderArchive::append);
+
+        orderRepository.deleteAllByIdIn(orders.stream().map(Order::getId).toList());
+        return orders.size();
+    }
+}
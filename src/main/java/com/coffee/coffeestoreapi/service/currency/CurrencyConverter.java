@@ -0,0 +1,71 @@
+package com.coffee.coffeestoreapi.service.currency;
+
+import com.coffee.coffeestoreapi.entity.CurrencyRate;
+import com.coffee.coffeestoreapi.model.CacheInvalidatedEvent;
+import com.coffee.coffeestoreapi.model.CacheTopic;
+import com.coffee.coffeestoreapi.model.Currency;
+import com.coffee.coffeestoreapi.repository.CurrencyRateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+/**
+ * Converts amounts between currencies with an in-memory {@link RateTable} snapshot of the
+ * {@code currency_rates} table, so no conversion touches the database. The snapshot is replaced
+ * as a whole on every refresh.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CurrencyConverter {
+    public static final Currency BASE_CURRENCY = Currency.EUR;
+
+    private final CurrencyRateRepository currencyRateRepository;
+    private volatile RateTable rateTable;
+
+    /**
+     * @param amountInCents the amount in the minor unit of {@code from}
+     * @return the amount in the minor unit of {@code to}, rounded half away from zero
+     */
+    public int convert(int amountInCents, Currency from, Currency to) {
+        return Math.toIntExact(rateTable().convert(amountInCents, from, to));
+    }
+
+    /**
+     * Reloads the rates; runs at startup, after an admin change, when another instance notifies
+     * a change and periodically in case a notification was lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${currency-rates.refresh-interval}", initialDelayString = "${currency-rates.refresh-interval}")
+    public void refresh() {
+        var rates = currencyRateRepository.findAll().stream()
+                .collect(Collectors.toMap(CurrencyRate::getCurrency, CurrencyRate::getRateMicros));
+        rateTable = new RateTable(rates);
+        log.debug("Loaded exchange rates {}", rates);
+    }
+
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidatedEvent event) {
+        if (event.topic() == CacheTopic.CURRENCY_RATES) {
+            refresh();
+        }
+    }
+
+    private RateTable rateTable() {
+        var table = rateTable;
+        if (table == null) {
+            synchronized (this) {
+                if (rateTable == null) {
+                    refresh();
+                }
+                table = rateTable;
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,85 @@
+package com.coffee.coffeestoreapi.service.currency;
+
+import com.coffee.coffeestoreapi.model.Currency;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * Immutable table of the conversion factors between every pair of currencies, each kept as a reduced
+ * integer fraction. Converting an amount is a lookup and one multiplication and division on {@code long}s,
+ * rounded half away from zero.
+ */
+public final class RateTable {
+    private static final int SIZE = Currency.values().length;
+
+    private final long[][] numerators = new long[SIZE][SIZE];
+    private final long[][] denominators = new long[SIZE][SIZE];
+
+    /**
+     * @param ratesMicros the amount of each currency that one unit of the base currency buys, in millionths
+     */
+    public RateTable(Map<Currency, Long> ratesMicros) {
+        for (var from : Currency.values()) {
+            for (var to : Currency.values()) {
+                var fromRate = ratesMicros.get(from);
+                var toRate = ratesMicros.get(to);
+                if (fromRate == null || toRate == null || fromRate <= 0 || toRate <= 0) {
+                    continue;
+                }
+                long gcd = gcd(toRate, fromRate);
+                numerators[from.ordinal()][to.ordinal()] = toRate / gcd;
+                denominators[from.ordinal()][to.ordinal()] = fromRate / gcd;
+            }
+        }
+    }
+
+    /**
+     * @param amountInCents the amount in the minor unit of {@code from}
+     * @return the amount in the minor unit of {@code to}
+     * @throws IllegalStateException if there is no rate for one of the currencies
+     */
+    public long convert(long amountInCents, Currency from, Currency to) {
+        if (from == to) {
+            return amountInCents;
+        }
+        long numerator = numerators[from.ordinal()][to.ordinal()];
+        long denominator = denominators[from.ordinal()][to.ordinal()];
+        if (denominator == 0) {
+            throw new IllegalStateException("No exchange rate from %s to %s".formatted(from, to));
+        }
+
+        long product;
+        try {
+            product = Math.multiplyExact(amountInCents, numerator);
+        } catch (ArithmeticException e) {
+            return convertExactly(amountInCents, numerator, denominator);
+        }
+        long quotient = product / denominator;
+        long remainder = product % denominator;
+        if (Math.abs(remainder) >= denominator - Math.abs(remainder)) {
+            quotient += Long.signum(product);
+        }
+        return quotient;
+    }
+
+    private static long convertExactly(long amountInCents, long numerator, long denominator) {
+        var product = BigInteger.valueOf(amountInCents).multiply(BigInteger.valueOf(numerator));
+        var divisor = BigInteger.valueOf(denominator);
+        var quotientAndRemainder = product.divideAndRemainder(divisor);
+        var quotient = quotientAndRemainder[0];
+        if (quotientAndRemainder[1].abs().shiftLeft(1).compareTo(divisor) >= 0) {
+            quotient = quotient.add(BigInteger.valueOf(product.signum()));
+        }
+        return quotient.longValueExact();
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
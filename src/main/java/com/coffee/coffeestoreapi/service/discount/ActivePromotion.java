@@ -0,0 +1,8 @@
+package com.coffee.coffeestoreapi.service.discount;
+
+/**
+ * A promotion whose time window is open.
+ *
+ * @param percentage the discount on the subtotal, between 1 and 100
+ */
+public record ActivePromotion(long id, String name, int percentage) {}
@@ -0,0 +1,24 @@
+package com.coffee.coffeestoreapi.service.discount;
+
+import com.coffee.coffeestoreapi.entity.DiscountConfiguration;
+
+/**
+ * Immutable snapshot of the discount configuration. An order is priced with one snapshot from start to end.
+ *
+ * @param version the version of the configuration, recorded on the orders priced with it
+ */
+public record DiscountRules(long version, boolean enabled, boolean twentyFivePercent, boolean freeItemAfterThree) {
+
+    /**
+     * Applies no discount; used before the configuration could be loaded.
+     */
+    static final DiscountRules NONE = new DiscountRules(0, false, false, false);
+
+    static DiscountRules from(DiscountConfiguration discountConfiguration) {
+        return new DiscountRules(
+                discountConfiguration.getVersion(),
+                discountConfiguration.isEnabled(),
+                discountConfiguration.isTwentyFivePercent(),
+                discountConfiguration.isFreeItemAfterThree());
+    }
+}
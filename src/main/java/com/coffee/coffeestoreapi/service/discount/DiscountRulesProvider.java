@@ -0,0 +1,69 @@
+package com.coffee.coffeestoreapi.service.discount;
+
+import com.coffee.coffeestoreapi.entity.DiscountConfiguration;
+import com.coffee.coffeestoreapi.model.CacheInvalidatedEvent;
+import com.coffee.coffeestoreapi.model.CacheTopic;
+import com.coffee.coffeestoreapi.repository.DiscountConfigurationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link DiscountRules} snapshot of the {@code discount_configuration} table, so pricing an
+ * order reads one reference instead of the database. A refresh swaps the snapshot as a whole and never goes back
+ * to an older version, whichever of two concurrent refreshes finishes last.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DiscountRulesProvider {
+    private final DiscountConfigurationRepository discountConfigurationRepository;
+    private final AtomicReference<DiscountRules> rules = new AtomicReference<>();
+
+    /**
+     * @return the current discount rules
+     */
+    public DiscountRules current() {
+        var current = rules.get();
+        if (current == null) {
+            synchronized (this) {
+                if (rules.get() == null) {
+                    refresh();
+                }
+                current = rules.get();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Reloads the configuration; runs at startup, after an admin change, when another instance notifies a change
+     * and periodically in case a notification was lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${discounts.refresh-interval}", initialDelayString = "${discounts.refresh-interval}")
+    public void refresh() {
+        var loaded = discountConfigurationRepository.findById(DiscountConfiguration.ID).map(DiscountRules::from);
+        if (loaded.isEmpty()) {
+            log.warn("No discount configuration found, orders are priced without discounts");
+        }
+        var next = loaded.orElse(DiscountRules.NONE);
+        var previous = rules.getAndAccumulate(next, (current, candidate) ->
+                current == null || candidate.version() >= current.version() ? candidate : current);
+        if (previous == null || previous.version() < next.version()) {
+            log.info("Loaded discount configuration version {}: {}", next.version(), next);
+        }
+    }
+
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidatedEvent event) {
+        if (event.topic() == CacheTopic.DISCOUNT_RULES) {
+            refresh();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.coffee.coffeestoreapi.service.discount;
+
+import com.coffee.coffeestoreapi.entity.Promotion;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Sorted interval index of the promotion windows within a time range. The start and end of every window split the
+ * range into segments with a fixed set of active promotions, which is computed once, so finding the promotions of an
+ * instant is one binary search over the boundaries.
+ */
+final class PromotionIndex {
+    static final PromotionIndex EMPTY = new PromotionIndex(new long[0], List.of());
+
+    /**
+     * Sorted epoch millis; the first is the start and the last the end of the indexed range.
+     */
+    private final long[] boundaries;
+    /**
+     * The promotions of the segment from {@code boundaries[i]} (inclusive) to {@code boundaries[i + 1]} (exclusive).
+     */
+    private final List<List<ActivePromotion>> activeSets;
+
+    private PromotionIndex(long[] boundaries, List<List<ActivePromotion>> activeSets) {
+        this.boundaries = boundaries;
+        this.activeSets = activeSets;
+    }
+
+    /**
+     * Indexes the windows of the given promotions between {@code from} (inclusive) and {@code until} (exclusive).
+     *
+     * @param zone the time zone the promotion days and times are in
+     */
+    static PromotionIndex build(List<Promotion> promotions, ZoneId zone, Instant from, Instant until) {
+        long fromMillis = from.toEpochMilli();
+        long untilMillis = until.toEpochMilli();
+        var boundarySet = new TreeSet<Long>();
+        boundarySet.add(fromMillis);
+        boundarySet.add(untilMillis);
+
+        // A window opened the day before can still be open at the start of the range
+        var firstDay = LocalDate.ofInstant(from, zone).minusDays(1);
+        var lastDay = LocalDate.ofInstant(until, zone);
+        List<Window> windows = new ArrayList<>();
+        for (var promotion : promotions) {
+            var activePromotion = new ActivePromotion(promotion.getId(), promotion.getName(), promotion.getPercentage());
+            for (var day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+                if (!opensOn(promotion, day)) {
+                    continue;
+                }
+                long start = Math.max(fromMillis, day.atTime(promotion.getStartTime()).atZone(zone).toInstant().toEpochMilli());
+                var endDay = promotion.getEndTime().isAfter(promotion.getStartTime()) ? day : day.plusDays(1);
+                long end = Math.min(untilMillis, endDay.atTime(promotion.getEndTime()).atZone(zone).toInstant().toEpochMilli());
+                if (start < end) {
+                    windows.add(new Window(start, end, activePromotion));
+                    boundarySet.add(start);
+                    boundarySet.add(end);
+                }
+            }
+        }
+
+        long[] boundaries = boundarySet.stream().mapToLong(Long::longValue).toArray();
+        List<List<ActivePromotion>> activeSets = new ArrayList<>(boundaries.length - 1);
+        for (int i = 0; i < boundaries.length - 1; i++) {
+            long segmentStart = boundaries[i];
+            activeSets.add(windows.stream()
+                    .filter(window -> window.start() <= segmentStart && segmentStart < window.end())
+                    .map(Window::promotion)
+                    .distinct()
+                    .toList());
+        }
+        return new PromotionIndex(boundaries, List.copyOf(activeSets));
+    }
+
+    /**
+     * @return the segment containing the instant, or {@code null} if it is outside the indexed range
+     */
+    ActiveWindow lookup(long epochMillis) {
+        if (boundaries.length < 2 || epochMillis < boundaries[0] || epochMillis >= boundaries[boundaries.length - 1]) {
+            return null;
+        }
+        int position = Arrays.binarySearch(boundaries, epochMillis);
+        int segment = position >= 0 ? position : -position - 2;
+        return new ActiveWindow(activeSets.get(segment), boundaries[segment], boundaries[segment + 1]);
+    }
+
+    private static boolean opensOn(Promotion promotion, LocalDate day) {
+        if (promotion.getValidFrom() != null && day.isBefore(promotion.getValidFrom())) {
+            return false;
+        }
+        if (promotion.getValidUntil() != null && day.isAfter(promotion.getValidUntil())) {
+            return false;
+        }
+        var daysOfWeek = promotion.getDaysOfWeek();
+        return daysOfWeek == null || daysOfWeek.isEmpty() || daysOfWeek.contains(day.getDayOfWeek());
+    }
+
+    private record Window(long start, long end, ActivePromotion promotion) {}
+
+    /**
+     * The promotions active from {@code fromMillis} (inclusive) to {@code untilMillis} (exclusive).
+     */
+    record ActiveWindow(List<ActivePromotion> promotions, long fromMillis, long untilMillis) {
+        static final ActiveWindow NONE = new ActiveWindow(List.of(), 0, 0);
+
+        boolean covers(long epochMillis) {
+            return fromMillis <= epochMillis && epochMillis < untilMillis;
+        }
+    }
+}
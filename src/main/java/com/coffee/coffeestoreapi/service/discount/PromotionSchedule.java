@@ -0,0 +1,163 @@
+package com.coffee.coffeestoreapi.service.discount;
+
+import com.coffee.coffeestoreapi.config.settings.PromotionSettings;
+import com.coffee.coffeestoreapi.entity.Promotion;
+import com.coffee.coffeestoreapi.model.CacheInvalidatedEvent;
+import com.coffee.coffeestoreapi.model.CacheTopic;
+import com.coffee.coffeestoreapi.repository.PromotionRepository;
+import com.coffee.coffeestoreapi.service.discount.PromotionIndex.ActiveWindow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Keeps the set of promotions that are active right now, so pricing an order reads one volatile field instead of
+ * evaluating every promotion schedule.
+ * <p>
+ * The promotion windows of the next {@code promotions.index-horizon} are compiled into a {@link PromotionIndex} on
+ * every reload. A task on the {@link TaskScheduler} swaps in the next active set at each window boundary; should it
+ * run late, the first order after the boundary looks the set up in the index instead.
+ */
+@Slf4j
+@Component
+public class PromotionSchedule {
+    private final PromotionRepository promotionRepository;
+    private final TaskScheduler taskScheduler;
+    private final ZoneId timeZone;
+    private final Duration indexHorizon;
+    private final Clock clock;
+
+    private volatile ActiveWindow active = ActiveWindow.NONE;
+    private volatile PromotionIndex index = PromotionIndex.EMPTY;
+    private volatile List<Promotion> promotions;
+    // Guarded by this
+    private ScheduledFuture<?> nextFlip;
+
+    @Autowired
+    public PromotionSchedule(PromotionRepository promotionRepository, PromotionSettings promotionSettings, TaskScheduler taskScheduler) {
+        this(promotionRepository, promotionSettings, taskScheduler, Clock.system(promotionSettings.getTimeZone()));
+    }
+
+    PromotionSchedule(PromotionRepository promotionRepository, PromotionSettings promotionSettings, TaskScheduler taskScheduler, Clock clock) {
+        this.promotionRepository = promotionRepository;
+        this.taskScheduler = taskScheduler;
+        this.timeZone = promotionSettings.getTimeZone();
+        this.indexHorizon = promotionSettings.getIndexHorizon();
+        this.clock = clock;
+    }
+
+    /**
+     * @return the promotions active now
+     */
+    public List<ActivePromotion> active() {
+        var window = active;
+        long now = clock.millis();
+        return window.covers(now) ? window.promotions() : advance(now).promotions();
+    }
+
+    /**
+     * Finds the promotions that were active at the given instant, for pricing an order as of its creation. Uses the
+     * index when the instant is in its range and evaluates the schedules otherwise.
+     *
+     * @return the promotions active at the instant
+     */
+    public List<ActivePromotion> activeAt(Instant instant) {
+        long epochMillis = instant.toEpochMilli();
+        var window = active;
+        if (window.covers(epochMillis)) {
+            return window.promotions();
+        }
+        var indexed = index.lookup(epochMillis);
+        if (indexed != null) {
+            return indexed.promotions();
+        }
+        return PromotionIndex.build(loadedPromotions(), timeZone, instant, instant.plusMillis(1)).lookup(epochMillis).promotions();
+    }
+
+    /**
+     * Reloads the promotions and rebuilds the index; runs at startup, after an admin change, when another instance
+     * notifies a change and periodically in case a notification was lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${discounts.refresh-interval}", initialDelayString = "${discounts.refresh-interval}")
+    public synchronized void refresh() {
+        promotions = List.copyOf(promotionRepository.findAll());
+        rebuild(clock.millis());
+    }
+
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidatedEvent event) {
+        if (event.topic() == CacheTopic.PROMOTIONS) {
+            refresh();
+        }
+    }
+
+    private synchronized ActiveWindow advance(long now) {
+        if (!active.covers(now)) {
+            var window = index.lookup(now);
+            if (window == null) {
+                // Not loaded yet, or the horizon ran out without a refresh
+                loadedPromotions();
+                rebuild(now);
+            } else {
+                swapTo(window);
+            }
+        }
+        return active;
+    }
+
+    private synchronized void flip() {
+        long now = clock.millis();
+        if (active.covers(now)) {
+            // Woken before the boundary
+            scheduleFlip(active.untilMillis());
+        } else {
+            advance(now);
+        }
+    }
+
+    private void rebuild(long now) {
+        var from = Instant.ofEpochMilli(now);
+        index = PromotionIndex.build(promotions, timeZone, from, from.plus(indexHorizon));
+        swapTo(index.lookup(now));
+    }
+
+    private void swapTo(ActiveWindow window) {
+        if (!window.promotions().equals(active.promotions())) {
+            log.info("Active promotions changed to {}", window.promotions().stream().map(ActivePromotion::name).toList());
+        }
+        active = window;
+        scheduleFlip(window.untilMillis());
+    }
+
+    private void scheduleFlip(long epochMillis) {
+        if (nextFlip != null) {
+            nextFlip.cancel(false);
+        }
+        nextFlip = taskScheduler.schedule(this::flip, Instant.ofEpochMilli(epochMillis));
+    }
+
+    private List<Promotion> loadedPromotions() {
+        var loaded = promotions;
+        if (loaded == null) {
+            synchronized (this) {
+                if (promotions == null) {
+                    promotions = List.copyOf(promotionRepository.findAll());
+                }
+                loaded = promotions;
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,199 @@
+package com.coffee.coffeestoreapi.service.history;
+
+import com.coffee.coffeestoreapi.config.settings.OrderHistorySettings;
+import com.coffee.coffeestoreapi.model.CacheInvalidatedEvent;
+import com.coffee.coffeestoreapi.model.CacheTopic;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import com.coffee.coffeestoreapi.model.OrderEventType;
+import com.coffee.coffeestoreapi.model.SimpleOrderDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * The last orders of the most recently active orderers, newest first.
+ * <p>
+ * Loaded from the database on a miss and kept current by the committed order events: a created order is put in
+ * front, a changed or cancelled one is replaced, and an order moved to another orderer evicts both orderers.
+ * Orders changed through other instances evict the orderer when their notification arrives. Entries are still
+ * reloaded after {@code order-history.ttl}, for changes made outside the application. Beyond
+ * {@code order-history.max-customers}, the least recently used orderer is dropped by the load that adds one.
+ * <p>
+ * A load races with the events of the orderer that arrive while it runs, including the events that find no entry
+ * to update yet. Every event and invalidation therefore bumps a change counter of the orderer (striped, so it
+ * needs no per-orderer state) before it touches the entry, and a load is only cached if the counter did not move
+ * since the load began. Counter check and insert, and every update of an entry, run in a
+ * {@link ConcurrentHashMap#compute} of that orderer, so only changes to the same orderer wait on each other.
+ */
+@Component
+public class OrderHistoryCache {
+    private static final int CHANGE_COUNTER_STRIPES = 1024;
+
+    private final int ordersPerCustomer;
+    private final int maxCustomers;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray changeCounters = new AtomicLongArray(CHANGE_COUNTER_STRIPES);
+    private final AtomicLong useSequence = new AtomicLong();
+
+    @Autowired
+    public OrderHistoryCache(OrderHistorySettings orderHistorySettings) {
+        this(orderHistorySettings, System::nanoTime);
+    }
+
+    OrderHistoryCache(OrderHistorySettings orderHistorySettings, LongSupplier nanoClock) {
+        this.ordersPerCustomer = orderHistorySettings.getOrdersPerCustomer();
+        this.maxCustomers = orderHistorySettings.getMaxCustomers();
+        this.ttlNanos = orderHistorySettings.getTtl().toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return how many orders are kept per orderer; longer histories are read from the database
+     */
+    public int getOrdersPerCustomer() {
+        return ordersPerCustomer;
+    }
+
+    /**
+     * @return the cached orders of the orderer, newest first, or empty if they are not cached or expired
+     */
+    public Optional<List<SimpleOrderDto>> get(String orderer) {
+        var entry = entries.get(orderer);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (nanoClock.getAsLong() - entry.loadedAt >= ttlNanos) {
+            entries.remove(orderer, entry);
+            return Optional.empty();
+        }
+        entry.lastUsed = useSequence.incrementAndGet();
+        return Optional.of(entry.orders);
+    }
+
+    /**
+     * @return the change counter of the orderer, to be read before loading the history and passed to {@link #put}
+     */
+    public long changeCount(String orderer) {
+        return changeCounters.get(stripe(orderer));
+    }
+
+    /**
+     * Caches the newest orders of an orderer, as loaded from the database, unless an order of the orderer changed
+     * since the load began; the load may then have missed the change.
+     *
+     * @param changeCount the {@link #changeCount} read before the load
+     * @return whether the history was cached
+     */
+    public boolean put(String orderer, long changeCount, List<SimpleOrderDto> orders) {
+        var entry = new Entry(newest(orders), nanoClock.getAsLong(), useSequence.incrementAndGet());
+        var cached = entries.compute(orderer, (key, current) -> changeCounters.get(stripe(key)) == changeCount ? entry : current);
+        if (cached != entry) {
+            return false;
+        }
+        if (entries.size() > maxCustomers) {
+            evictLeastRecentlyUsed(orderer);
+        }
+        return true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent orderEvent) {
+        var order = orderEvent.order();
+        var previousOrderer = orderEvent.previousOrderer();
+        if (previousOrderer != null && !previousOrderer.equals(order.getOrderer())) {
+            // The order leaves one history and joins the other at the position of its creation time
+            evict(previousOrderer);
+            if (order.getOrderer() != null) {
+                evict(order.getOrderer());
+            }
+            return;
+        }
+        if (order.getOrderer() == null) {
+            return;
+        }
+        changeCounters.incrementAndGet(stripe(order.getOrderer()));
+        entries.computeIfPresent(order.getOrderer(), (orderer, entry) -> {
+            var orders = new ArrayList<SimpleOrderDto>(entry.orders.size() + 1);
+            if (orderEvent.type() == OrderEventType.CREATED) {
+                orders.add(order);
+                orders.addAll(entry.orders);
+            } else {
+                entry.orders.forEach(cached -> orders.add(Objects.equals(cached.getOrderNumber(), order.getOrderNumber()) ? order : cached));
+            }
+            return new Entry(newest(orders), entry.loadedAt, entry.lastUsed);
+        });
+    }
+
+    /**
+     * Drops the history of an orderer whose orders another instance changed, or every history after a resync.
+     */
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidatedEvent event) {
+        if (event.topic() != CacheTopic.ORDER_HISTORY) {
+            return;
+        }
+        if (event.isFullResync()) {
+            for (int i = 0; i < CHANGE_COUNTER_STRIPES; i++) {
+                changeCounters.incrementAndGet(i);
+            }
+            entries.clear();
+        } else {
+            evict(event.key());
+        }
+    }
+
+    private void evict(String orderer) {
+        changeCounters.incrementAndGet(stripe(orderer));
+        entries.remove(orderer);
+    }
+
+    /**
+     * Scans for the least recently used orderer; only a load that adds an orderer beyond the maximum pays for it.
+     */
+    private void evictLeastRecentlyUsed(String added) {
+        String eldestKey = null;
+        Entry eldest = null;
+        for (var candidate : entries.entrySet()) {
+            if (!candidate.getKey().equals(added) && (eldest == null || candidate.getValue().lastUsed < eldest.lastUsed)) {
+                eldestKey = candidate.getKey();
+                eldest = candidate.getValue();
+            }
+        }
+        if (eldestKey != null) {
+            entries.remove(eldestKey, eldest);
+        }
+    }
+
+    private List<SimpleOrderDto> newest(List<SimpleOrderDto> orders) {
+        return List.copyOf(orders.subList(0, Math.min(orders.size(), ordersPerCustomer)));
+    }
+
+    private static int stripe(String orderer) {
+        return orderer.hashCode() & (CHANGE_COUNTER_STRIPES - 1);
+    }
+
+    private static final class Entry {
+        private final List<SimpleOrderDto> orders;
+        private final long loadedAt;
+        private volatile long lastUsed;
+
+        private Entry(List<SimpleOrderDto> orders, long loadedAt, long lastUsed) {
+            this.orders = orders;
+            this.loadedAt = loadedAt;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
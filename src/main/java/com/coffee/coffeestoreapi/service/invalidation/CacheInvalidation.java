@@ -0,0 +1,36 @@
+package com.coffee.coffeestoreapi.service.invalidation;
+
+import com.coffee.coffeestoreapi.model.CacheTopic;
+
+import java.util.Optional;
+
+/**
+ * One notification on the cache invalidation channel, sent as {@code origin:topic:key}.
+ *
+ * @param origin the instance that made the change, so it can skip its own notifications
+ * @param topic the cache to invalidate
+ * @param key the changed entry, or {@code null} when the whole cache changed, sent as an empty key
+ */
+record CacheInvalidation(String origin, CacheTopic topic, String key) {
+    private static final char SEPARATOR = ':';
+
+    String toPayload() {
+        return origin + SEPARATOR + topic.name() + SEPARATOR + (key != null ? key : "");
+    }
+
+    /**
+     * @return the notification, or empty if the payload is malformed or names a topic this version does not know,
+     *         as during a rolling deployment
+     */
+    static Optional<CacheInvalidation> parse(String payload) {
+        var parts = payload.split(String.valueOf(SEPARATOR), 3);
+        if (parts.length < 3) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new CacheInvalidation(parts[0], CacheTopic.valueOf(parts[1]), parts[2].isEmpty() ? null : parts[2]));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
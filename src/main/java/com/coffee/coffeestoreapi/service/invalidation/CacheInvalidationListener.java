@@ -0,0 +1,215 @@
+package com.coffee.coffeestoreapi.service.invalidation;
+
+import com.coffee.coffeestoreapi.config.datasource.DataSourceRebinder;
+import com.coffee.coffeestoreapi.config.settings.CacheInvalidationSettings;
+import com.coffee.coffeestoreapi.model.CacheInvalidatedEvent;
+import com.coffee.coffeestoreapi.model.CacheTopic;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Listens on the cache invalidation channel over a dedicated connection, outside the connection pool, and
+ * publishes a {@link CacheInvalidatedEvent} for every change another instance notified.
+ * <p>
+ * Notifications sent while the connection is down are lost, so after every (re)connect each cache is reloaded as a
+ * whole. The channel is listened to before the reload, so a change committed during the reload is not missed.
+ * <p>
+ * The connection is closed before a CRaC checkpoint. After the restore the listener connects with the URL and
+ * credentials of the restoring process, and listens again if it did so before the checkpoint.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "cache-invalidation", name = "enabled", havingValue = "true")
+public class CacheInvalidationListener implements Resource {
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final Supplier<DataSource> listenerDataSourceFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String instanceId;
+    private final String channel;
+    private final int pollTimeoutMillis;
+    private final long validationIntervalNanos;
+    private final Duration reconnectDelay;
+    private final Counter receivedCounter;
+    private final Counter resyncCounter;
+
+    private volatile DataSource listenerDataSource;
+    private volatile boolean running;
+    private boolean runningBeforeCheckpoint;
+    private Thread listener;
+
+    @Autowired
+    public CacheInvalidationListener(DataSourceProperties dataSourceProperties,
+                                     CacheInvalidationPublisher cacheInvalidationPublisher,
+                                     ApplicationEventPublisher eventPublisher,
+                                     CacheInvalidationSettings cacheInvalidationSettings,
+                                     MeterRegistry meterRegistry) {
+        this(() -> listenerDataSource(dataSourceProperties, System::getenv),
+                cacheInvalidationPublisher.getInstanceId(), eventPublisher, cacheInvalidationSettings, meterRegistry);
+        Core.getGlobalContext().register(this);
+    }
+
+    CacheInvalidationListener(Supplier<DataSource> listenerDataSourceFactory,
+                              String instanceId,
+                              ApplicationEventPublisher eventPublisher,
+                              CacheInvalidationSettings cacheInvalidationSettings,
+                              MeterRegistry meterRegistry) {
+        this.listenerDataSourceFactory = listenerDataSourceFactory;
+        this.listenerDataSource = listenerDataSourceFactory.get();
+        this.instanceId = instanceId;
+        this.eventPublisher = eventPublisher;
+        this.channel = cacheInvalidationSettings.getChannel();
+        this.pollTimeoutMillis = Math.toIntExact(Math.max(1, cacheInvalidationSettings.getPollTimeout().toMillis()));
+        this.validationIntervalNanos = cacheInvalidationSettings.getValidationInterval().toNanos();
+        this.reconnectDelay = cacheInvalidationSettings.getReconnectDelay();
+        this.receivedCounter = Counter.builder("cache.invalidation.received")
+                .description("Cache invalidations received from other instances")
+                .register(meterRegistry);
+        this.resyncCounter = Counter.builder("cache.invalidation.resyncs")
+                .description("Full cache reloads after the invalidation listener (re)connected")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listener = Thread.ofVirtual().name("cache-invalidation-listener").start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener.join(Duration.ofMillis(pollTimeoutMillis).plusSeconds(1));
+        }
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) throws InterruptedException {
+        runningBeforeCheckpoint = running;
+        stop();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        listenerDataSource = listenerDataSourceFactory.get();
+        if (runningBeforeCheckpoint) {
+            start();
+        }
+    }
+
+    /**
+     * Builds the unpooled data source of the listener connection, with the connection settings of the environment
+     * over the bound ones, which a restored checkpoint carries from its training run.
+     */
+    static DataSource listenerDataSource(DataSourceProperties dataSourceProperties, UnaryOperator<String> environment) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .url(DataSourceRebinder.current(environment, DataSourceRebinder.URL, dataSourceProperties.determineUrl()))
+                .username(DataSourceRebinder.current(environment, DataSourceRebinder.USERNAME, dataSourceProperties.determineUsername()))
+                .password(DataSourceRebinder.current(environment, DataSourceRebinder.PASSWORD, dataSourceProperties.determinePassword()))
+                .build();
+    }
+
+    private void run() {
+        while (running) {
+            try (var connection = listenerDataSource.getConnection()) {
+                listen(connection);
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener lost its connection, reconnecting in {}", reconnectDelay, e);
+                }
+            }
+            if (!running || !pause()) {
+                return;
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("LISTEN \"" + channel.replace("\"", "\"\"") + "\"");
+        }
+        resync();
+        var pgConnection = connection.unwrap(PGConnection.class);
+        long validatedAt = System.nanoTime();
+        while (running) {
+            var notifications = pgConnection.getNotifications(pollTimeoutMillis);
+            if (notifications != null && notifications.length > 0) {
+                for (var notification : notifications) {
+                    handle(notification.getParameter());
+                }
+                validatedAt = System.nanoTime();
+            } else if (System.nanoTime() - validatedAt >= validationIntervalNanos) {
+                // A silently dropped connection would otherwise just deliver nothing
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("The listener connection is no longer valid");
+                }
+                validatedAt = System.nanoTime();
+            }
+        }
+    }
+
+    void handle(String payload) {
+        var invalidation = CacheInvalidation.parse(payload);
+        if (invalidation.isEmpty()) {
+            log.debug("Ignoring cache invalidation {}", payload);
+            return;
+        }
+        if (invalidation.get().origin().equals(instanceId)) {
+            // This instance updated its own caches when it made the change
+            return;
+        }
+        receivedCounter.increment();
+        dispatch(new CacheInvalidatedEvent(invalidation.get().topic(), invalidation.get().key()));
+    }
+
+    void resync() {
+        for (var topic : CacheTopic.values()) {
+            dispatch(new CacheInvalidatedEvent(topic, null));
+        }
+        resyncCounter.increment();
+        log.info("Listening for cache invalidations on {}, reloaded every cache", channel);
+    }
+
+    private void dispatch(CacheInvalidatedEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            // The periodic refresh of the cache catches up
+            log.warn("Could not apply {}", event, e);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(reconnectDelay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
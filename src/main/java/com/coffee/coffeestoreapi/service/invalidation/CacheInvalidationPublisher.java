@@ -0,0 +1,109 @@
+package com.coffee.coffeestoreapi.service.invalidation;
+
+import com.coffee.coffeestoreapi.config.settings.CacheInvalidationSettings;
+import com.coffee.coffeestoreapi.model.CacheTopic;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Tells the other instances that cached data changed, with {@code pg_notify} on the connection of the writing
+ * transaction. Postgres delivers the notification only when that transaction commits, drops it on a rollback and
+ * sends identical notifications of one transaction only once. Without a transaction the change is already committed,
+ * so the notification is sent right away.
+ * <p>
+ * Every {@code NOTIFY} takes a database-wide lock when its transaction commits, so the order histories a transaction
+ * changed go out as a single notification: the orderer when there is only one, otherwise the whole cache.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationPublisher {
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Object changedOrderersKey = new Object();
+
+    public CacheInvalidationPublisher(JdbcTemplate jdbcTemplate, CacheInvalidationSettings cacheInvalidationSettings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = cacheInvalidationSettings.isEnabled();
+        this.channel = cacheInvalidationSettings.getChannel();
+    }
+
+    /**
+     * @return the id this instance sends its notifications with
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Notifies the other instances that an entry of a cache changed.
+     *
+     * @param topic the cache
+     * @param key the changed entry, or {@code null} when the whole cache changed
+     */
+    public void publish(CacheTopic topic, Object key) {
+        if (!enabled) {
+            return;
+        }
+        var payload = new CacheInvalidation(instanceId, topic, key != null ? String.valueOf(key) : null).toPayload();
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> {}, channel, payload);
+        log.debug("Notified {} on {}", payload, channel);
+    }
+
+    @EventListener
+    public void onOrderEvent(OrderEvent orderEvent) {
+        var orderers = new HashSet<String>();
+        if (orderEvent.order().getOrderer() != null) {
+            orderers.add(orderEvent.order().getOrderer());
+        }
+        if (orderEvent.previousOrderer() != null) {
+            orderers.add(orderEvent.previousOrderer());
+        }
+        if (!enabled || orderers.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            orderers.forEach(orderer -> publish(CacheTopic.ORDER_HISTORY, orderer));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        var changedOrderers = (Set<String>) TransactionSynchronizationManager.getResource(changedOrderersKey);
+        if (changedOrderers == null) {
+            changedOrderers = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(changedOrderersKey, changedOrderers);
+            TransactionSynchronizationManager.registerSynchronization(new OrderHistoryNotification(changedOrderers));
+        }
+        changedOrderers.addAll(orderers);
+    }
+
+    /**
+     * Sends the order histories changed by one transaction before it commits, on its connection.
+     */
+    private class OrderHistoryNotification implements TransactionSynchronization {
+        private final Set<String> changedOrderers;
+
+        OrderHistoryNotification(Set<String> changedOrderers) {
+            this.changedOrderers = changedOrderers;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            publish(CacheTopic.ORDER_HISTORY, changedOrderers.size() == 1 ? changedOrderers.iterator().next() : null);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(changedOrderersKey);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.coffee.coffeestoreapi.service.outbox;
+
+import com.coffee.coffeestoreapi.model.OrderOutboxMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends every message as one JSON line to a local file. Meant for local testing of the outbox.
+ */
+@RequiredArgsConstructor
+public class FileOrderOutboxSink implements OrderOutboxSink {
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public synchronized void publish(List<OrderOutboxMessage> messages) throws IOException {
+        var lines = new StringBuilder();
+        for (var message : messages) {
+            lines.append(objectMapper.writeValueAsString(message)).append('\n');
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, lines, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+    }
+}
@@ -0,0 +1,29 @@
+package com.coffee.coffeestoreapi.service.outbox;
+
+import com.coffee.coffeestoreapi.model.OrderOutboxMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Posts every batch as a JSON array to a webhook. Any non-2xx response fails the batch, which is then
+ * retried by the next relay run.
+ */
+@RequiredArgsConstructor
+public class HttpOrderOutboxSink implements OrderOutboxSink {
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(List<OrderOutboxMessage> messages) throws IOException {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsString(messages))
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,112 @@
+package com.coffee.coffeestoreapi.service.outbox;
+
+import com.coffee.coffeestoreapi.config.settings.OutboxSettings;
+import com.coffee.coffeestoreapi.entity.OrderOutboxEvent;
+import com.coffee.coffeestoreapi.model.OrderOutboxMessage;
+import com.coffee.coffeestoreapi.repository.OrderOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Drains the {@code order_outbox} table into the {@link OrderOutboxSink} in batches. Each batch is claimed with
+ * {@code FOR UPDATE SKIP LOCKED} in a short transaction of its own, published without holding any lock or
+ * connection, and deleted once the sink accepted it. A failed publish gives the batch back for the next run, and
+ * the claim of a relay that died lapses after the claim timeout (at-least-once delivery).
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+public class OrderOutboxRelay {
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderOutboxSink orderOutboxSink;
+    private final OutboxSettings outboxSettings;
+    private final Counter relayedCounter;
+    private final Counter failureCounter;
+    private final Timer lagTimer;
+
+    public OrderOutboxRelay(OrderOutboxRepository orderOutboxRepository,
+                            OrderOutboxSink orderOutboxSink,
+                            OutboxSettings outboxSettings,
+                            MeterRegistry meterRegistry) {
+        this.orderOutboxRepository = orderOutboxRepository;
+        this.orderOutboxSink = orderOutboxSink;
+        this.outboxSettings = outboxSettings;
+        this.relayedCounter = Counter.builder("outbox.relayed")
+                .description("Order events published to the outbox sink")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("outbox.failures")
+                .description("Outbox batches that could not be published")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("outbox.lag")
+                .description("Time between an order change and its publication to the outbox sink")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays batches until the outbox is empty or the sink fails.
+     *
+     * @return the number of relayed events
+     */
+    @Scheduled(fixedDelayString = "${outbox.poll-interval}")
+    public int relay() {
+        int relayed = 0;
+        int batch;
+        try {
+            do {
+                batch = relayBatch();
+                relayed += batch;
+            } while (batch == outboxSettings.getBatchSize());
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            log.warn("Could not relay the order outbox, retrying on the next run", e);
+        }
+        return relayed;
+    }
+
+    private int relayBatch() {
+        var events = orderOutboxRepository.claimOldest(outboxSettings.getBatchSize(), outboxSettings.getClaimTimeout().toSeconds())
+                .stream()
+                .sorted(Comparator.comparing(OrderOutboxEvent::getId))
+                .toList();
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        var ids = events.stream().map(OrderOutboxEvent::getId).toList();
+        try {
+            orderOutboxSink.publish(events.stream().map(OrderOutboxMessage::from).toList());
+        } catch (IOException e) {
+            release(ids);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            release(ids);
+            throw e;
+        }
+        orderOutboxRepository.deleteAllByIdIn(ids);
+
+        var now = LocalDateTime.now();
+        events.forEach(event -> lagTimer.record(Duration.between(event.getCreatedAt(), now)));
+        relayedCounter.increment(events.size());
+        return events.size();
+    }
+
+    private void release(List<Long> ids) {
+        try {
+            orderOutboxRepository.releaseAllByIdIn(ids);
+        } catch (RuntimeException e) {
+            log.warn("Could not release {} outbox event(s), they are retried once their claim lapses", ids.size(), e);
+        }
+    }
+}
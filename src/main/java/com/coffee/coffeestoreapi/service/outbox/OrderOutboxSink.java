@@ -0,0 +1,15 @@
+package com.coffee.coffeestoreapi.service.outbox;
+
+import com.coffee.coffeestoreapi.model.OrderOutboxMessage;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of the order outbox relay. A batch is removed from the outbox only after {@link #publish(List)}
+ * returned normally, so a sink must be idempotent towards redelivered messages.
+ */
+public interface OrderOutboxSink {
+
+    void publish(List<OrderOutboxMessage> messages) throws IOException;
+}
@@ -0,0 +1,42 @@
+package com.coffee.coffeestoreapi.service.outbox;
+
+import com.coffee.coffeestoreapi.entity.OrderOutboxEvent;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import com.coffee.coffeestoreapi.repository.OrderOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes every {@link OrderEvent} to the {@code order_outbox} table just before the order transaction
+ * commits, so the order change and its outbox row are committed or rolled back together.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+public class OrderOutboxWriter {
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderEvent(OrderEvent orderEvent) {
+        var outboxEvent = new OrderOutboxEvent();
+        outboxEvent.setOrderNumber(orderEvent.order().getOrderNumber());
+        outboxEvent.setEventType(orderEvent.type());
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(orderEvent.order()));
+        } catch (JsonProcessingException e) {
+            // Failing here rolls the order change back rather than losing its event
+            throw new UncheckedIOException(e);
+        }
+        orderOutboxRepository.save(outboxEvent);
+    }
+}
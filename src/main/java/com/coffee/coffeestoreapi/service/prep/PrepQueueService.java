@@ -0,0 +1,109 @@
+package com.coffee.coffeestoreapi.service.prep;
+
+import com.coffee.coffeestoreapi.config.settings.PrepQueueSettings;
+import com.coffee.coffeestoreapi.entity.Order;
+import com.coffee.coffeestoreapi.exception.OrderConflictException;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import com.coffee.coffeestoreapi.model.OrderEventType;
+import com.coffee.coffeestoreapi.model.SimpleOrderDto;
+import com.coffee.coffeestoreapi.repository.OrderRepository;
+import com.coffee.coffeestoreapi.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Moves orders through {@code PENDING → PROCESSING → COMPLETED} for the barista stations, both the in-process
+ * {@link PrepStations} and the ones calling the admin API. A station claims the pending orders of the highest priority,
+ * oldest first, with {@code FOR UPDATE SKIP LOCKED}, so stations never wait on each other's rows, and completes each
+ * one when it is handed over. A claim lapses after the claim timeout, so the orders of a station
+ * that went away return to the queue.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "prep-queue", name = "enabled", havingValue = "true")
+public class PrepQueueService {
+    private static final int RELEASE_CHUNK_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final PrepQueueSettings prepQueueSettings;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Claims up to {@code limit} pending orders for one station, the highest priority and then the oldest first.
+     *
+     * @param limit the number of orders the station takes, capped at the configured batch size
+     * @return a {@link ResponseEntity} containing the claimed orders, empty when the queue is empty
+     */
+    @Transactional
+    public ResponseEntity<List<SimpleOrderDto>> claimOrders(int limit) {
+        var claimed = orderRepository.claimPendingOrders(
+                Math.clamp(limit, 1, prepQueueSettings.getBatchSize()), prepQueueSettings.getClaimTimeout().toSeconds());
+        claimed.forEach(this::publishUpdated);
+        return ResponseEntity.ok(claimed.stream().map(OrderService::getSimpleOrderDto).toList());
+    }
+
+    /**
+     * Marks a claimed order as completed.
+     *
+     * @param orderNumber the unique identifier of the order
+     * @return a {@link ResponseEntity} containing the completed order
+     * @throws OrderConflictException if the order is not in {@code PROCESSING}, e.g. because its claim lapsed
+     */
+    @Transactional
+    public ResponseEntity<SimpleOrderDto> completeOrder(String orderNumber) {
+        var completed = orderRepository.completeClaimedOrder(orderNumber)
+                .orElseThrow(() -> new OrderConflictException("Order %s is not being prepared".formatted(orderNumber)));
+        publishUpdated(completed);
+        return ResponseEntity.ok(OrderService.getSimpleOrderDto(completed));
+    }
+
+    /**
+     * Sets the priority of a pending order; stations claim orders of a higher priority first.
+     *
+     * @param orderNumber the unique identifier of the order
+     * @param priority the new priority, {@code 0} being the default
+     * @return a {@link ResponseEntity} containing the prioritized order
+     * @throws OrderConflictException if the order is not in {@code PENDING}
+     */
+    @Transactional
+    public ResponseEntity<SimpleOrderDto> prioritizeOrder(String orderNumber, int priority) {
+        var prioritized = orderRepository.prioritizePendingOrder(orderNumber, priority)
+                .orElseThrow(() -> new OrderConflictException("Order %s is not pending".formatted(orderNumber)));
+        publishUpdated(prioritized);
+        return ResponseEntity.ok(OrderService.getSimpleOrderDto(prioritized));
+    }
+
+    /**
+     * Returns the orders whose claim has expired to the queue.
+     *
+     * @return the number of released orders
+     */
+    @Scheduled(fixedDelayString = "${prep-queue.reclaim-interval}")
+    @Transactional
+    public int releaseExpiredClaims() {
+        int released = 0;
+        List<Order> chunk;
+        do {
+            chunk = orderRepository.releaseExpiredClaims(RELEASE_CHUNK_SIZE);
+            chunk.forEach(this::publishUpdated);
+            released += chunk.size();
+        } while (chunk.size() == RELEASE_CHUNK_SIZE);
+        if (released > 0) {
+            log.warn("Returned {} order(s) with an expired claim to the prep queue", released);
+        }
+        return released;
+    }
+
+    private void publishUpdated(Order order) {
+        eventPublisher.publishEvent(new OrderEvent(OrderEventType.UPDATED, OrderService.getSimpleOrderDto(order)));
+    }
+}
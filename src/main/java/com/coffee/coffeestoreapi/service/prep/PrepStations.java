@@ -0,0 +1,124 @@
+package com.coffee.coffeestoreapi.service.prep;
+
+import com.coffee.coffeestoreapi.config.settings.PrepQueueSettings;
+import com.coffee.coffeestoreapi.exception.OrderConflictException;
+import com.coffee.coffeestoreapi.model.SimpleOrderDto;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-process barista stations. Every station is a loop on its own virtual thread that claims a batch through
+ * {@link PrepQueueService#claimOrders(int)}, prepares the orders and completes each one through
+ * {@link PrepQueueService#completeOrder(String)}, the same claim and conditional update the admin API uses. An order
+ * whose claim lapsed during preparation has been returned to the queue, and its completion is skipped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "prep-queue", name = "enabled", havingValue = "true")
+public class PrepStations {
+    private static final Duration SHUTDOWN_GRACE = Duration.ofSeconds(10);
+
+    private final PrepQueueService prepQueueService;
+    private final PrepQueueSettings prepQueueSettings;
+
+    private volatile boolean running;
+    private ExecutorService stations;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (prepQueueSettings.getStations() <= 0) {
+            return;
+        }
+        running = true;
+        stations = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("prep-station-", 1).factory());
+        for (int i = 1; i <= prepQueueSettings.getStations(); i++) {
+            int station = i;
+            stations.submit(() -> runStation(station));
+        }
+        log.info("Started {} barista station(s)", prepQueueSettings.getStations());
+    }
+
+    /**
+     * Lets the stations finish the orders they already claimed, then interrupts the ones still busy. Orders left
+     * in {@code PROCESSING} return to the queue when their claim expires.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (stations == null) {
+            return;
+        }
+        stations.shutdown();
+        if (!stations.awaitTermination(SHUTDOWN_GRACE.toMillis(), TimeUnit.MILLISECONDS)) {
+            stations.shutdownNow();
+        }
+    }
+
+    /**
+     * Claims one batch of pending orders, prepares them and marks them as completed.
+     *
+     * @return the number of claimed orders, {@code 0} when the queue was empty
+     */
+    int processBatch() throws InterruptedException {
+        List<SimpleOrderDto> claimed = prepQueueService.claimOrders(prepQueueSettings.getBatchSize()).getBody();
+        if (claimed == null) {
+            return 0;
+        }
+        for (var order : claimed) {
+            prepare();
+            try {
+                prepQueueService.completeOrder(order.getOrderNumber());
+            } catch (OrderConflictException e) {
+                log.warn("Order {} left PROCESSING before it was completed", order.getOrderNumber());
+            }
+        }
+        return claimed.size();
+    }
+
+    private void runStation(int station) {
+        while (running) {
+            try {
+                if (processBatch() == 0) {
+                    Thread.sleep(prepQueueSettings.getPollInterval());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Barista station {} failed to process a batch", station, e);
+                if (!pause()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(prepQueueSettings.getPollInterval());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void prepare() throws InterruptedException {
+        var preparationTime = prepQueueSettings.getPreparationTime();
+        if (preparationTime != null && preparationTime.isPositive()) {
+            Thread.sleep(preparationTime);
+        }
+    }
+}
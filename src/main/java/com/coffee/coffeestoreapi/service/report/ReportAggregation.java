@@ -0,0 +1,128 @@
+package com.coffee.coffeestoreapi.service.report;
+
+import com.coffee.coffeestoreapi.model.Currency;
+import com.coffee.coffeestoreapi.model.Discount;
+import com.coffee.coffeestoreapi.model.OrderDto;
+import com.coffee.coffeestoreapi.model.ReportLine;
+import com.coffee.coffeestoreapi.model.ReportType;
+import com.coffee.coffeestoreapi.repository.OrderReportView;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partial result of a report: running totals per report line. Each chunk of a report job fills one, and the
+ * partials are merged into the final lines. Not thread-safe; every chunk owns its own instance.
+ */
+class ReportAggregation {
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::period)
+            .thenComparing(Key::discount, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Key::currency);
+
+    private final ReportType type;
+    private final Map<Key, Totals> totals = new HashMap<>();
+
+    ReportAggregation(ReportType type) {
+        this.type = type;
+    }
+
+    void add(OrderReportView order) {
+        add(order.getCreatedAt().toLocalDateTime().toLocalDate(), order.getCurrency(), order.getDiscounts(),
+                valueOf(order.getSubTotalPriceInCents()), valueOf(order.getTotalPriceInCents()));
+    }
+
+    /**
+     * Adds an order read from the archive.
+     */
+    void add(OrderDto order) {
+        add(order.getCreatedAt().toLocalDate(), order.getCurrency(), order.getDiscounts(),
+                valueOf(order.getSubTotalPriceInCents()), valueOf(order.getTotalPriceInCents()));
+    }
+
+    private void add(LocalDate created, Currency currency, List<Discount> discounts, int subTotal, int total) {
+        switch (type) {
+            case DAILY_RECEIPTS -> totalsOf(new Key(created.toString(), null, currency))
+                    .add(subTotal, subTotal - total, total);
+            case MONTHLY_SALES -> totalsOf(new Key(YearMonth.from(created).toString(), null, currency))
+                    .add(subTotal, subTotal - total, total);
+            case DISCOUNT_USAGE -> {
+                if (discounts == null) {
+                    return;
+                }
+                for (var discount : discounts) {
+                    totalsOf(new Key(YearMonth.from(created).toString(), discount.getName(), currency))
+                            .add(subTotal, amountOf(discount, subTotal), total);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the totals of another partial of the same report to this one.
+     *
+     * @return this aggregation
+     */
+    ReportAggregation merge(ReportAggregation other) {
+        other.totals.forEach((key, value) -> totalsOf(key).add(value));
+        return this;
+    }
+
+    /**
+     * @return the report lines, ordered by period, discount and currency
+     */
+    List<ReportLine> lines() {
+        return totals.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(KEY_ORDER))
+                .map(entry -> entry.getValue().toLine(entry.getKey()))
+                .toList();
+    }
+
+    private Totals totalsOf(Key key) {
+        return totals.computeIfAbsent(key, k -> new Totals());
+    }
+
+    private static int valueOf(Integer cents) {
+        return cents != null ? cents : 0;
+    }
+
+    private static long amountOf(Discount discount, int subTotal) {
+        if (discount.getAmountInCents() != null) {
+            return discount.getAmountInCents();
+        }
+        return discount.getPercentage() != null ? (long) subTotal * discount.getPercentage() / 100 : 0;
+    }
+
+    /**
+     * @param period the ISO day or month, which sorts chronologically as text
+     */
+    private record Key(String period, String discount, Currency currency) {}
+
+    private static final class Totals {
+        private long orderCount;
+        private long subTotalInCents;
+        private long discountInCents;
+        private long totalInCents;
+
+        void add(long subTotal, long discount, long total) {
+            orderCount++;
+            subTotalInCents += subTotal;
+            discountInCents += discount;
+            totalInCents += total;
+        }
+
+        void add(Totals other) {
+            orderCount += other.orderCount;
+            subTotalInCents += other.subTotalInCents;
+            discountInCents += other.discountInCents;
+            totalInCents += other.totalInCents;
+        }
+
+        ReportLine toLine(Key key) {
+            return new ReportLine(key.period(), key.discount(), key.currency(), orderCount, subTotalInCents, discountInCents, totalInCents);
+        }
+    }
+}
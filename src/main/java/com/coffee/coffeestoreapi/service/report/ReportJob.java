@@ -0,0 +1,85 @@
+package com.coffee.coffeestoreapi.service.report;
+
+import com.coffee.coffeestoreapi.model.ReportJobDto;
+import com.coffee.coffeestoreapi.model.ReportJobRequest;
+import com.coffee.coffeestoreapi.model.ReportJobStatus;
+import com.coffee.coffeestoreapi.model.ReportLine;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A submitted report and its outcome. Written by the job thread and read by status requests, so every
+ * transition publishes its fields through the volatile status.
+ */
+class ReportJob {
+    private final UUID id = UUID.randomUUID();
+    private final ReportJobRequest request;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private LocalDateTime completedAt;
+    private List<ReportLine> lines;
+    private String error;
+    private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+
+    ReportJob(ReportJobRequest request) {
+        this.request = request;
+    }
+
+    UUID getId() {
+        return id;
+    }
+
+    ReportJobRequest getRequest() {
+        return request;
+    }
+
+    ReportJobStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the report lines, {@code null} until the job is {@code COMPLETED}
+     */
+    List<ReportLine> getLines() {
+        return status == ReportJobStatus.COMPLETED ? lines : null;
+    }
+
+    /**
+     * @return whether the job finished before {@code before}
+     */
+    boolean isFinishedBefore(LocalDateTime before) {
+        var current = status;
+        return (current == ReportJobStatus.COMPLETED || current == ReportJobStatus.FAILED) && completedAt.isBefore(before);
+    }
+
+    void start() {
+        status = ReportJobStatus.RUNNING;
+    }
+
+    void complete(List<ReportLine> lines) {
+        this.lines = List.copyOf(lines);
+        this.completedAt = LocalDateTime.now();
+        status = ReportJobStatus.COMPLETED;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        this.completedAt = LocalDateTime.now();
+        status = ReportJobStatus.FAILED;
+    }
+
+    ReportJobDto toDto() {
+        var current = status;
+        return ReportJobDto.builder()
+                .id(id)
+                .type(request.type())
+                .from(request.from())
+                .to(request.to())
+                .status(current)
+                .submittedAt(submittedAt)
+                .completedAt(current == ReportJobStatus.COMPLETED || current == ReportJobStatus.FAILED ? completedAt : null)
+                .error(current == ReportJobStatus.FAILED ? error : null)
+                .build();
+    }
+}
@@ -0,0 +1,239 @@
+package com.coffee.coffeestoreapi.service.report;
+
+import com.coffee.coffeestoreapi.config.settings.ReportJobSettings;
+import com.coffee.coffeestoreapi.exception.InvalidReportRequestException;
+import com.coffee.coffeestoreapi.exception.ReportJobNotFoundException;
+import com.coffee.coffeestoreapi.exception.ReportJobNotReadyException;
+import com.coffee.coffeestoreapi.exception.ReportJobRejectedException;
+import com.coffee.coffeestoreapi.model.OrderStatus;
+import com.coffee.coffeestoreapi.model.ReportJobDto;
+import com.coffee.coffeestoreapi.model.ReportJobRequest;
+import com.coffee.coffeestoreapi.model.ReportLine;
+import com.coffee.coffeestoreapi.repository.OrderRepository;
+import com.coffee.coffeestoreapi.service.archive.OrderArchive;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs reports over the orders in the background.
+ * <p>
+ * A submitted job waits in a bounded queue for one of {@code report-jobs.max-concurrent-jobs} job threads. The
+ * job splits its date range into chunks of {@code report-jobs.chunk-days} days and aggregates them in parallel on
+ * a shared pool of {@code report-jobs.parallelism} threads, each streaming its chunk through a read-only cursor,
+ * then merges the partial results. Only the chunk threads hold database connections, so reports never take more
+ * than {@code parallelism} connections from the order traffic; read-only transactions go to a replica when
+ * routing is enabled. Finished jobs are kept for {@code report-jobs.retention}.
+ * <p>
+ * Each chunk also reads the orders the archive job moved out of its range from the {@link OrderArchive}, so a
+ * report covers archived months as well. An order found in both, after an archive run failed before deleting
+ * it, is counted once, from the table.
+ */
+@Slf4j
+@Service
+public class ReportJobService {
+    private static final String CSV_HEADER = "period,discount,currency,order_count,sub_total_in_cents,discount_in_cents,total_in_cents";
+
+    private final OrderRepository orderRepository;
+    private final ReportJobSettings reportJobSettings;
+    private final OrderArchive orderArchive;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadPoolExecutor jobRunner;
+    private final ExecutorService chunkPool;
+    private final Map<UUID, ReportJob> reportJobs = new ConcurrentHashMap<>();
+
+    public ReportJobService(OrderRepository orderRepository, ReportJobSettings reportJobSettings,
+                            OrderArchive orderArchive, PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.reportJobSettings = reportJobSettings;
+        this.orderArchive = orderArchive;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        int concurrentJobs = Math.max(1, reportJobSettings.getMaxConcurrentJobs());
+        this.jobRunner = new ThreadPoolExecutor(concurrentJobs, concurrentJobs, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, reportJobSettings.getMaxQueuedJobs())),
+                new CustomizableThreadFactory("report-job-"));
+        this.chunkPool = Executors.newFixedThreadPool(Math.max(1, reportJobSettings.getParallelism()),
+                new CustomizableThreadFactory("report-chunk-"));
+    }
+
+    /**
+     * Queues a report job.
+     *
+     * @return a {@link ResponseEntity} with a 202 Accepted status, the job and its location
+     * @throws InvalidReportRequestException if the date range is longer than {@code report-jobs.max-range-days}
+     * @throws ReportJobRejectedException if the job queue is full
+     */
+    public ResponseEntity<ReportJobDto> submit(ReportJobRequest request) {
+        long days = ChronoUnit.DAYS.between(request.from(), request.to()) + 1;
+        if (days > reportJobSettings.getMaxRangeDays()) {
+            throw new InvalidReportRequestException("A report can cover at most %d days".formatted(reportJobSettings.getMaxRangeDays()));
+        }
+        var job = new ReportJob(request);
+        reportJobs.put(job.getId(), job);
+        try {
+            jobRunner.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            reportJobs.remove(job.getId());
+            throw new ReportJobRejectedException("Too many report jobs are queued, retry later");
+        }
+        log.info("Queued {} report job {} for {} to {}", request.type(), job.getId(), request.from(), request.to());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/admin/reports/%s".formatted(job.getId())))
+                .body(job.toDto());
+    }
+
+    /**
+     * @throws ReportJobNotFoundException if the job does not exist or has expired
+     */
+    public ResponseEntity<ReportJobDto> getJob(UUID id) {
+        return ResponseEntity.ok(findJob(id).toDto());
+    }
+
+    /**
+     * @throws ReportJobNotFoundException if the job does not exist or has expired
+     * @throws ReportJobNotReadyException if the job has not completed
+     */
+    public ResponseEntity<List<ReportLine>> getResult(UUID id) {
+        return ResponseEntity.ok(completedLines(id));
+    }
+
+    /**
+     * Same as {@link #getResult(UUID)}, as CSV with a header line.
+     */
+    public ResponseEntity<String> getResultAsCsv(UUID id) {
+        var csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (var line : completedLines(id)) {
+            csv.append(line.period()).append(',')
+                    .append(line.discount() != null ? csvField(line.discount()) : "").append(',')
+                    .append(line.currency()).append(',')
+                    .append(line.orderCount()).append(',')
+                    .append(line.subTotalInCents()).append(',')
+                    .append(line.discountInCents()).append(',')
+                    .append(line.totalInCents()).append('\n');
+        }
+        return ResponseEntity.ok()
+                .header("Content-Disposition", "attachment; filename=\"report-%s.csv\"".formatted(id))
+                .body(csv.toString());
+    }
+
+    @Scheduled(fixedDelayString = "${report-jobs.cleanup-interval}")
+    public void evictExpiredJobs() {
+        var before = LocalDateTime.now().minus(reportJobSettings.getRetention());
+        reportJobs.values().removeIf(job -> job.isFinishedBefore(before));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobRunner.shutdownNow();
+        chunkPool.shutdownNow();
+    }
+
+    void run(ReportJob job) {
+        job.start();
+        var request = job.getRequest();
+        try {
+            List<Future<ReportAggregation>> partials = chunkPool.invokeAll(chunksOf(request));
+            var result = new ReportAggregation(request.type());
+            for (var partial : partials) {
+                result.merge(partial.get());
+            }
+            job.complete(result.lines());
+            log.info("Report job {} completed", job.getId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("The report job was interrupted");
+        } catch (ExecutionException e) {
+            log.error("Report job {} failed", job.getId(), e.getCause());
+            job.fail(e.getCause().getMessage());
+        } catch (RuntimeException e) {
+            log.error("Report job {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private List<Callable<ReportAggregation>> chunksOf(ReportJobRequest request) {
+        int chunkDays = Math.max(1, reportJobSettings.getChunkDays());
+        List<Callable<ReportAggregation>> chunks = new ArrayList<>();
+        for (LocalDate from = request.from(); !from.isAfter(request.to()); from = from.plusDays(chunkDays)) {
+            var chunkFrom = Timestamp.valueOf(from.atStartOfDay());
+            var chunkTo = Timestamp.valueOf(min(from.plusDays(chunkDays), request.to().plusDays(1)).atStartOfDay());
+            chunks.add(() -> aggregate(request, chunkFrom, chunkTo));
+        }
+        return chunks;
+    }
+
+    private ReportAggregation aggregate(ReportJobRequest request, Timestamp from, Timestamp to) {
+        var tableOrderNumbers = new HashSet<String>();
+        var aggregation = readOnlyTransaction.execute(status -> {
+            var tableAggregation = new ReportAggregation(request.type());
+            try (var orders = orderRepository.streamReportRows(from, to)) {
+                orders.forEach(order -> {
+                    tableOrderNumbers.add(order.getOrderNumber());
+                    tableAggregation.add(order);
+                });
+            }
+            return tableAggregation;
+        });
+        // Read after the table, so an order the archive job moves out meanwhile is in the table's snapshot or here
+        orderArchive.findCreatedBetween(from.toLocalDateTime(), to.toLocalDateTime()).stream()
+                .filter(archivedOrder -> archivedOrder.getStatus() != OrderStatus.CANCELLED)
+                .filter(archivedOrder -> !tableOrderNumbers.contains(archivedOrder.getOrderNumber()))
+                .forEach(aggregation::add);
+        return aggregation;
+    }
+
+    private ReportJob findJob(UUID id) {
+        var job = reportJobs.get(id);
+        if (job == null) {
+            throw new ReportJobNotFoundException("Report job not found: " + id);
+        }
+        return job;
+    }
+
+    private List<ReportLine> completedLines(UUID id) {
+        var job = findJob(id);
+        var lines = job.getLines();
+        if (lines == null) {
+            throw new ReportJobNotReadyException("Report job %s is %s".formatted(id, job.getStatus()));
+        }
+        return lines;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static String csvField(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,251 @@
+package com.coffee.coffeestoreapi.service.stream;
+
+import com.coffee.coffeestoreapi.config.settings.OrderStreamSettings;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed {@link OrderEvent}s out to the subscribers of the live order feed.
+ * <p>
+ * Every event is serialized once and appended to a bounded replay ring, so reconnecting clients can resume
+ * after their {@code Last-Event-ID} without touching the database. Event ids are prefixed with the startup time
+ * of this instance, so an id issued before a restart asks for a reset instead of resuming at the wrong event.
+ * <p>
+ * Publishing never blocks: each event is offered to a bounded buffer per subscriber, and a small fixed pool of
+ * writers drains the buffers. A subscriber with a write in flight is skipped until that write returns, so it holds
+ * at most one writer, and a writer hands over after a few events, so a busy stream cannot starve the others. A
+ * subscriber whose buffer overflows, or whose write takes longer than the send timeout, is dropped with its emitter
+ * completed, and resumes from the ring on reconnect, so a slow screen never holds back the others.
+ */
+@Slf4j
+@Component
+public class OrderEventBroadcaster {
+    static final String RESET_EVENT = "reset";
+    private static final BufferedEvent HEARTBEAT = new BufferedEvent(0, "heartbeat", "");
+    private static final char EPOCH_SEPARATOR = '-';
+    private static final int MAX_EVENTS_PER_TURN = 16;
+
+    private final ObjectMapper objectMapper;
+    private final OrderStreamSettings orderStreamSettings;
+    private final long epoch;
+    private final long sendTimeoutNanos;
+    private final ExecutorService writers;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Deque<BufferedEvent> replay = new ArrayDeque<>();
+    private long lastEventId;
+
+    public OrderEventBroadcaster(ObjectMapper objectMapper, OrderStreamSettings orderStreamSettings) {
+        this.objectMapper = objectMapper;
+        this.orderStreamSettings = orderStreamSettings;
+        this.epoch = System.currentTimeMillis();
+        this.sendTimeoutNanos = orderStreamSettings.getSendTimeout().toNanos();
+        this.writers = Executors.newFixedThreadPool(Math.max(1, orderStreamSettings.getWriterThreads()),
+                Thread.ofPlatform().name("order-stream-", 1).daemon().factory());
+    }
+
+    /**
+     * Registers a new subscriber.
+     *
+     * @param lastEventId the {@code Last-Event-ID} sent by a reconnecting client, {@code null} for a new one
+     * @return the emitter streaming the events; a {@value #RESET_EVENT} event is sent first when the
+     * requested events are no longer in the replay ring and the client has to reload the order list
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(orderStreamSettings.getTimeout().toMillis()), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        var subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            if (lastEventId != null) {
+                sequenceOf(lastEventId).flatMap(this::eventsAfter).ifPresentOrElse(
+                        events -> events.forEach(subscriber::enqueue),
+                        () -> subscriber.enqueue(new BufferedEvent(this.lastEventId, RESET_EVENT, "{}")));
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent orderEvent) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(orderEvent.order());
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize the {} event of order {}", orderEvent.type(), orderEvent.order().getOrderNumber(), e);
+            return;
+        }
+
+        synchronized (this) {
+            var event = new BufferedEvent(++lastEventId, orderEvent.type().name().toLowerCase(), data);
+            replay.addLast(event);
+            if (replay.size() > orderStreamSettings.getReplaySize()) {
+                replay.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.enqueue(event));
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies, detects the clients that went away and drops the ones whose
+     * current write has been blocked for longer than the send timeout, completing their emitter with an error.
+     */
+    @Scheduled(fixedDelayString = "${order-stream.heartbeat-interval}")
+    public void sendHeartbeats() {
+        long now = System.nanoTime();
+        subscribers.forEach(subscriber -> subscriber.heartbeat(now));
+    }
+
+    /**
+     * @return the sequence number of an event id issued by this instance, or empty if it was issued before
+     * a restart or is malformed
+     */
+    Optional<Long> sequenceOf(String eventId) {
+        int separator = eventId.indexOf(EPOCH_SEPARATOR);
+        try {
+            if (separator < 0 || Long.parseLong(eventId, 0, separator, 10) != epoch) {
+                return Optional.empty();
+            }
+            return Optional.of(Long.parseLong(eventId, separator + 1, eventId.length(), 10));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    String eventIdOf(BufferedEvent event) {
+        return String.valueOf(epoch) + EPOCH_SEPARATOR + event.id();
+    }
+
+    /**
+     * @return the buffered events after {@code lastEventId}, or empty if some of them already left the
+     * replay ring or the id is unknown
+     */
+    synchronized Optional<List<BufferedEvent>> eventsAfter(long lastEventId) {
+        long oldest = replay.isEmpty() ? this.lastEventId + 1 : replay.getFirst().id();
+        if (lastEventId > this.lastEventId || lastEventId + 1 < oldest) {
+            return Optional.empty();
+        }
+        return Optional.of(replay.stream().filter(event -> event.id() > lastEventId).toList());
+    }
+
+    int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        writers.shutdownNow();
+    }
+
+    record BufferedEvent(long id, String name, String data) {}
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<BufferedEvent> buffer = new ArrayBlockingQueue<>(Math.max(1, orderStreamSettings.getBufferSize()));
+        /** Set while a drain is queued or its write is in flight */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile long sendStartedNanos;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(BufferedEvent event) {
+            if (!closed && !buffer.offer(event)) {
+                log.debug("Disconnecting a slow order stream subscriber after {} buffered events", buffer.size());
+                closed = true;
+            }
+            schedule();
+        }
+
+        void heartbeat(long now) {
+            long started = sendStartedNanos;
+            if (started != 0 && now - started > sendTimeoutNanos) {
+                log.debug("Dropping an order stream subscriber whose write is blocked");
+                closed = true;
+                finish(new TimeoutException("Order stream write blocked for longer than the send timeout"));
+            } else if (buffer.isEmpty() && buffer.offer(HEARTBEAT)) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                BufferedEvent event;
+                int sent = 0;
+                while (!closed && sent++ < MAX_EVENTS_PER_TURN && (event = buffer.poll()) != null) {
+                    sendStartedNanos = System.nanoTime();
+                    emitter.send(event == HEARTBEAT
+                            ? SseEmitter.event().comment(event.name())
+                            : SseEmitter.event().id(eventIdOf(event)).name(event.name()).data(event.data(), MediaType.APPLICATION_JSON));
+                    sendStartedNanos = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Order stream subscriber went away: {}", e.getMessage());
+                closed = true;
+            } finally {
+                sendStartedNanos = 0;
+                scheduled.set(false);
+            }
+
+            if (closed) {
+                finish(null);
+            } else if (!buffer.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void finish(Throwable error) {
+            subscribers.remove(this);
+            buffer.clear();
+            if (completed.compareAndSet(false, true)) {
+                if (error == null) {
+                    emitter.complete();
+                } else {
+                    emitter.completeWithError(error);
+                }
+            }
+        }
+    }
+}
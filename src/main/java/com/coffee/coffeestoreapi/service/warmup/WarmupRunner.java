@@ -0,0 +1,161 @@
+package com.coffee.coffeestoreapi.service.warmup;
+
+import com.coffee.coffeestoreapi.config.settings.WarmupSettings;
+import com.coffee.coffeestoreapi.mapper.OrderMapper;
+import com.coffee.coffeestoreapi.model.Currency;
+import com.coffee.coffeestoreapi.model.Drink;
+import com.coffee.coffeestoreapi.model.OrderDto;
+import com.coffee.coffeestoreapi.model.OrderLine;
+import com.coffee.coffeestoreapi.model.OrderRequest;
+import com.coffee.coffeestoreapi.model.Topping;
+import com.coffee.coffeestoreapi.service.OrderProcessor;
+import com.coffee.coffeestoreapi.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs synthetic orders through pricing, persistence, mapping and JSON before the application takes traffic,
+ * until the mean latency of consecutive batches stops changing. Application runners complete before Spring Boot
+ * reports the readiness state {@code ACCEPTING_TRAFFIC}, so the readiness probe stays down for the whole warm-up.
+ * <p>
+ * In {@link WarmupSettings.Mode#ROLLBACK} mode every order is created and read back in a transaction that is
+ * rolled back: nothing is stored and no order event leaves the application, only sequence values are used up.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "warmup", name = "enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+    private static final String WARMUP_ORDERER = "warm-up";
+
+    private final OrderService orderService;
+    private final OrderProcessor orderProcessor;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final WarmupSettings warmupSettings;
+    private final Timer durationTimer;
+    private final AtomicLong latencyNanos = new AtomicLong();
+    private final List<OrderRequest> orderRequests = syntheticOrders();
+
+    public WarmupRunner(OrderService orderService,
+                        OrderProcessor orderProcessor,
+                        OrderMapper orderMapper,
+                        ObjectMapper objectMapper,
+                        TransactionTemplate transactionTemplate,
+                        WarmupSettings warmupSettings,
+                        MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.orderProcessor = orderProcessor;
+        this.orderMapper = orderMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.warmupSettings = warmupSettings;
+        this.durationTimer = Timer.builder("warmup.duration")
+                .description("Time spent warming up before accepting traffic")
+                .register(meterRegistry);
+        TimeGauge.builder("warmup.latency", latencyNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("Mean latency of a synthetic order in the last warm-up batch")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long started = System.nanoTime();
+        long deadline = started + warmupSettings.getMaxDuration().toNanos();
+        long firstBatchLatency = -1;
+        long previousLatency = -1;
+        int stableBatches = 0;
+        int iterations = 0;
+
+        while (stableBatches < warmupSettings.getStableBatches() && System.nanoTime() < deadline) {
+            long batchStarted = System.nanoTime();
+            for (int i = 0; i < warmupSettings.getBatchSize(); i++) {
+                runOrder(orderRequests.get(iterations++ % orderRequests.size()));
+            }
+            long latency = (System.nanoTime() - batchStarted) / warmupSettings.getBatchSize();
+            latencyNanos.set(latency);
+            if (firstBatchLatency < 0) {
+                firstBatchLatency = latency;
+            }
+            stableBatches = isStable(previousLatency, latency) ? stableBatches + 1 : 0;
+            previousLatency = latency;
+        }
+
+        var duration = Duration.ofNanos(System.nanoTime() - started);
+        durationTimer.record(duration);
+        log.info("Warm-up {} after {} orders in {} ms, order latency {} µs (first batch {} µs)",
+                stableBatches >= warmupSettings.getStableBatches() ? "stabilised" : "timed out",
+                iterations, duration.toMillis(), latencyNanos.get() / 1000, firstBatchLatency / 1000);
+    }
+
+    private boolean isStable(long previousLatency, long latency) {
+        return previousLatency > 0 && Math.abs(latency - previousLatency) <= previousLatency * warmupSettings.getTolerance();
+    }
+
+    private void runOrder(OrderRequest orderRequest) throws IOException {
+        var request = objectMapper.readValue(objectMapper.writeValueAsBytes(orderRequest), OrderRequest.class);
+        OrderDto orderDto;
+        if (warmupSettings.getMode() == WarmupSettings.Mode.ROLLBACK) {
+            orderDto = transactionTemplate.execute(status -> {
+                status.setRollbackOnly();
+                var location = orderService.createOrder(request).getHeaders().getLocation();
+                var orderNumber = location.getPath().substring(location.getPath().lastIndexOf('/') + 1);
+                return orderService.getOrder(orderNumber).getBody();
+            });
+        } else {
+            orderDto = orderMapper.orderToOrderDto(orderProcessor.processOrder(request));
+        }
+        objectMapper.writeValueAsBytes(orderDto);
+    }
+
+    /**
+     * A handful of orders that between them take every pricing branch: no discount, the quarter discount, the
+     * free item after three drinks, toppings, and each currency.
+     */
+    private static List<OrderRequest> syntheticOrders() {
+        var orders = new ArrayList<OrderRequest>();
+        for (var currency : Currency.values()) {
+            orders.add(order(currency, line("Espresso", 300)));
+            orders.add(order(currency, line("Latte", 450, "Milk", "Hazelnut syrup"), line("Mocha", 600, "Chocolate sauce"),
+                    line("Flat white", 500)));
+            orders.add(order(currency, line("Black Coffee", 400), line("Black Coffee", 400), line("Tea", 300),
+                    line("Latte", 450, "Lemon")));
+        }
+        return List.copyOf(orders);
+    }
+
+    private static OrderRequest order(Currency currency, OrderLine... orderLines) {
+        var lines = List.of(orderLines);
+        int total = lines.stream().mapToInt(OrderLine::priceInCents).sum();
+        return new OrderRequest(total, WARMUP_ORDERER, currency, lines);
+    }
+
+    private static OrderLine line(String drinkName, int drinkPriceInCents, String... toppingNames) {
+        var drink = new Drink();
+        drink.setName(drinkName);
+        drink.setPriceInCents(drinkPriceInCents);
+        var toppings = new ArrayList<Topping>();
+        for (var toppingName : toppingNames) {
+            var topping = new Topping();
+            topping.setName(toppingName);
+            topping.setPriceInCents(50);
+            toppings.add(topping);
+        }
+        return new OrderLine(drinkPriceInCents + 50 * toppings.size(), drink, toppings);
+    }
+}
@@ -0,0 +1,198 @@
+package com.coffee.coffeestoreapi;
+
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.MediaType;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Starts the packaged application as a separate process against a fresh database, once per startup mode that is
+ * configured, and checks that it migrates, serves and persists orders. Reports the time from process start until
+ * the first order is created and the resident memory after it, so the modes can be compared on the same machine:
+ * <pre>
+ * mvn test -Dtest=StartupModesIT \
+ *   -Djvm.jar=target/coffeeStoreAPI-0.0.1-SNAPSHOT.jar \
+ *   -Dcds.directory=/path/to/extracted \
+ *   -Dnative.executable=target/coffeeStoreAPI \
+ *   -Dcrac.java=/path/to/crac-jdk/bin/java -Dcrac.checkpoint=/path/to/checkpoint
+ * </pre>
+ * The CDS directory is an extracted jar with its {@code app.jsa} archive, as built by the {@code cds} Dockerfile
+ * target. A restored checkpoint keeps the port it was created with ({@code crac.port}, 8080 by default) and skips
+ * Liquibase, so the CRaC mode runs last, after another mode has migrated the database. The database is only started
+ * by the first mode that is configured, so a run without any of these properties skips the class without Docker.
+ */
+@Slf4j
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StartupModesIT {
+    private static final DockerImageName IMAGE_NAME = DockerImageName
+            .parse("postgres:16-alpine")
+            .asCompatibleSubstituteFor("postgres");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(90);
+
+    private static PostgreSQLContainer<?> postgresContainer;
+
+    private Process application;
+
+    @AfterAll
+    static void stopPostgres() {
+        if (postgresContainer != null) {
+            postgresContainer.stop();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (application != null) {
+            application.destroy();
+            application.waitFor();
+        }
+    }
+
+    @Test
+    @Order(1)
+    @EnabledIfSystemProperty(named = "jvm.jar", matches = ".+")
+    void jvmJar_ShouldMigrateAndServeOrders() throws Exception {
+        runAgainst("jvm", freePort(), List.of(java(), "-jar", absolute("jvm.jar")), null);
+    }
+
+    @Test
+    @Order(2)
+    @EnabledIfSystemProperty(named = "cds.directory", matches = ".+")
+    void cdsArchive_ShouldMigrateAndServeOrders() throws Exception {
+        var directory = Path.of(absolute("cds.directory"));
+        runAgainst("cds", freePort(), List.of(java(), "-XX:SharedArchiveFile=app.jsa", "-Xshare:on", "-jar", "app.jar"), directory);
+    }
+
+    @Test
+    @Order(3)
+    @EnabledIfSystemProperty(named = "native.executable", matches = ".+")
+    void nativeExecutable_ShouldMigrateAndServeOrders() throws Exception {
+        runAgainst("native", freePort(), List.of(absolute("native.executable")), null);
+    }
+
+    @Test
+    @Order(4)
+    @EnabledIfSystemProperty(named = "crac.checkpoint", matches = ".+")
+    void cracRestore_ShouldServeOrders() throws Exception {
+        int port = Integer.parseInt(System.getProperty("crac.port", "8080"));
+        runAgainst("crac", port, List.of(System.getProperty("crac.java"), "-XX:CRaCRestoreFrom=" + absolute("crac.checkpoint")), null);
+    }
+
+    private void runAgainst(String mode, int port, List<String> command, Path directory) throws Exception {
+        var arguments = new ArrayList<>(command);
+        if (!mode.equals("crac")) {
+            arguments.add("--server.port=" + port);
+        }
+
+        var processBuilder = new ProcessBuilder(arguments)
+                .directory(directory != null ? directory.toFile() : Files.createTempDirectory("coffee-store-" + mode).toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(Path.of("target", mode + "-application.log").toAbsolutePath().toFile()));
+        var postgres = postgres();
+        processBuilder.environment().put("SPRING_DATASOURCE_URL", postgres.getJdbcUrl());
+        processBuilder.environment().put("SPRING_DATASOURCE_USERNAME", postgres.getUsername());
+        processBuilder.environment().put("SPRING_DATASOURCE_PASSWORD", postgres.getPassword());
+
+        long started = System.nanoTime();
+        application = processBuilder.start();
+        RestAssured.port = port;
+        awaitHealthy();
+        long readyMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        createOrder()
+                .then()
+                    .statusCode(201)
+                    .body("order_number", notNullValue());
+        long firstOrderMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        // Every changelog ran, including the seeded rates of the later ones
+        RestAssured.get("/api/v1/admin/currency-rates").then().statusCode(200).body("$", hasSize(3));
+        RestAssured.get("/api/v1/admin/orders/list").then().statusCode(200);
+
+        log.info("{}: ready after {} ms, first order after {} ms, {} MB resident",
+                mode, readyMillis, firstOrderMillis, residentMegabytes(application.pid()));
+    }
+
+    private static PostgreSQLContainer<?> postgres() {
+        if (postgresContainer == null) {
+            postgresContainer = new PostgreSQLContainer<>(IMAGE_NAME)
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+            postgresContainer.start();
+        }
+        return postgresContainer;
+    }
+
+    private static Response createOrder() throws IOException {
+        return RestAssured
+                .given()
+                    .contentType(MediaType.APPLICATION_JSON_VALUE)
+                    .body(BaseIT.getFileContents("mockRequests/mockCreateOrderRequest.json"))
+                .when()
+                    .post("/api/v1/orders");
+    }
+
+    private void awaitHealthy() throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!application.isAlive()) {
+                throw new IllegalStateException("Application exited with " + application.exitValue() + ", see target/*-application.log");
+            }
+            try {
+                if (RestAssured.get("/actuator/health").statusCode() == 200) {
+                    return;
+                }
+            } catch (Exception e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application was not healthy within " + STARTUP_TIMEOUT);
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static String absolute(String property) {
+        return Path.of(System.getProperty(property)).toAbsolutePath().toString();
+    }
+
+    private static long residentMegabytes(long pid) throws IOException {
+        var status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")) / 1024)
+                .findFirst()
+                .orElse(-1L);
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
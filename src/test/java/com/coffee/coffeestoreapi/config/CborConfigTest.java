@@ -0,0 +1,99 @@
+package com.coffee.coffeestoreapi.config;
+
+import com.coffee.coffeestoreapi.model.Currency;
+import com.coffee.coffeestoreapi.model.Drink;
+import com.coffee.coffeestoreapi.model.OrderDto;
+import com.coffee.coffeestoreapi.model.OrderLine;
+import com.coffee.coffeestoreapi.model.OrderRequest;
+import com.coffee.coffeestoreapi.model.OrderStatus;
+import com.coffee.coffeestoreapi.model.ProductDto;
+import com.coffee.coffeestoreapi.model.ProductType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CborConfigTest {
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+
+    @BeforeEach
+    void setUp() {
+        // The same settings the application gets from spring.jackson
+        jsonMapper = jackson2ObjectMapperBuilder().build();
+        cborMapper = new CborConfig().cborHttpMessageConverter(jackson2ObjectMapperBuilder()).getObjectMapper();
+    }
+
+    @Test
+    @DisplayName("CBOR should keep the JSON field names and round trip an order")
+    void cbor_ShouldRoundTripOrder() throws Exception {
+        // Given
+        OrderDto order = createOrderDto();
+
+        // When
+        byte[] cbor = cborMapper.writeValueAsBytes(order);
+        OrderDto decoded = cborMapper.readValue(cbor, OrderDto.class);
+
+        // Then
+        assertEquals(order, decoded);
+        assertEquals(jsonMapper.readTree(jsonMapper.writeValueAsBytes(order)), jsonMapper.valueToTree(cborMapper.readTree(cbor)));
+    }
+
+    @Test
+    @DisplayName("CBOR payloads should be smaller than JSON for the high-volume order and product payloads")
+    void cbor_ShouldBeSmallerThanJson() throws Exception {
+        // Given
+        List<Object> payloads = List.of(
+                createOrderDto(),
+                new OrderRequest(950, "John Doe", Currency.EUR, List.of(createOrderLine("Latte", 450), createOrderLine("Mocha", 500))),
+                List.of(new ProductDto(1L, "Latte", 450, ProductType.DRINK, true), new ProductDto(2L, "Mocha", 500, ProductType.DRINK, false))
+        );
+
+        for (Object payload : payloads) {
+            // When
+            int jsonSize = jsonMapper.writeValueAsBytes(payload).length;
+            int cborSize = cborMapper.writeValueAsBytes(payload).length;
+
+            // Then
+            assertTrue(cborSize < jsonSize, payload.getClass().getSimpleName() + ": " + cborSize + " >= " + jsonSize);
+        }
+    }
+
+    private static Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static OrderDto createOrderDto() {
+        OrderDto order = new OrderDto();
+        order.setId(1L);
+        order.setOrderNumber("RCS-20250519120000000");
+        order.setOrderer("John Doe");
+        order.setStatus(OrderStatus.PENDING);
+        order.setSubTotalPriceInCents(950);
+        order.setTotalPriceInCents(950);
+        order.setCurrency(Currency.EUR);
+        order.setOrderLines(List.of(createOrderLine("Latte", 450), createOrderLine("Mocha", 500)));
+        order.setCreatedAt(LocalDateTime.of(2025, 5, 19, 12, 0));
+        order.setVersion(0L);
+        return order;
+    }
+
+    private static OrderLine createOrderLine(String name, int priceInCents) {
+        Drink drink = new Drink();
+        drink.setName(name);
+        drink.setPriceInCents(priceInCents);
+        return new OrderLine(priceInCents, drink, List.of());
+    }
+}
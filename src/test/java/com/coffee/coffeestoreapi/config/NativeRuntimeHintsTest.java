@@ -0,0 +1,66 @@
+package com.coffee.coffeestoreapi.config;
+
+import com.coffee.coffeestoreapi.config.logging.LogRateLimitFilter;
+import com.coffee.coffeestoreapi.model.Discount;
+import com.coffee.coffeestoreapi.model.OrderDto;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import com.coffee.coffeestoreapi.model.OrderLine;
+import com.coffee.coffeestoreapi.model.ReportJobDto;
+import com.coffee.coffeestoreapi.model.ReportLine;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("registerHints should include every Liquibase changelog")
+    void registerHints_ShouldIncludeChangelogs() {
+        // When / Then
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/changelog/db.changelog-master.yaml").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/changelog/changes/011-create-currency-rates-table.yaml").test(hints));
+    }
+
+    @Test
+    @DisplayName("registerHints should allow Jackson to bind the jsonb column types and instantiate the naming strategy")
+    void registerHints_ShouldRegisterJsonTypes() throws NoSuchMethodException {
+        // When / Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Discount.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Discount.class.getMethod("setAmountInCents", Integer.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(OrderLine.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(PropertyNamingStrategies.SnakeCaseStrategy.class.getConstructor()).test(hints));
+    }
+
+    @Test
+    @DisplayName("registerHints should allow Jackson to bind the archive, live feed and report job types")
+    void registerHints_ShouldRegisterArchiveStreamAndReportTypes() throws NoSuchMethodException {
+        // When / Then
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(OrderDto.class.getConstructor()).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(OrderEvent.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ReportJobDto.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ReportLine.class).test(hints));
+    }
+
+    @Test
+    @DisplayName("registerHints should allow Logback to configure the rate limit filter")
+    void registerHints_ShouldRegisterLoggingTypes() throws NoSuchMethodException {
+        // When / Then
+        assertTrue(RuntimeHintsPredicates.resource().forResource("logback-spring.xml").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(LogRateLimitFilter.class.getMethod("setMaxPerInterval", int.class)).test(hints));
+    }
+}
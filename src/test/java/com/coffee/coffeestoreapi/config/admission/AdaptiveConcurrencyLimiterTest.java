@@ -0,0 +1,129 @@
+package com.coffee.coffeestoreapi.config.admission;
+
+import com.coffee.coffeestoreapi.config.settings.AdmissionSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.coffee.coffeestoreapi.config.admission.AdaptiveConcurrencyLimiter.TrafficClass.ADMIN;
+import static com.coffee.coffeestoreapi.config.admission.AdaptiveConcurrencyLimiter.TrafficClass.CUSTOMER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionSettings admissionSettings = new AdmissionSettings();
+        admissionSettings.setInitialLimit(10);
+        admissionSettings.setMinLimit(2);
+        admissionSettings.setMaxLimit(12);
+        admissionSettings.setLatencyThreshold(Duration.ofMillis(500));
+        admissionSettings.setBackoffRatio(0.5);
+        admissionSettings.setAdminShare(0.5);
+        limiter = new AdaptiveConcurrencyLimiter(admissionSettings, nanoTime::get);
+    }
+
+    @Test
+    @DisplayName("tryAcquire should reject customer requests above the limit")
+    void tryAcquire_ShouldRejectCustomerRequests_AboveLimit() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(CUSTOMER));
+        }
+
+        // When / Then
+        assertFalse(limiter.tryAcquire(CUSTOMER));
+        assertEquals(10, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("tryAcquire should shed admin requests before customer requests")
+    void tryAcquire_ShouldShedAdminRequests_BeforeCustomerRequests() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(ADMIN));
+        }
+
+        // When / Then
+        assertFalse(limiter.tryAcquire(ADMIN));
+        assertTrue(limiter.tryAcquire(CUSTOMER));
+    }
+
+    @Test
+    @DisplayName("release should shrink the limit on slow requests down to the minimum")
+    void release_ShouldShrinkLimit_OnSlowRequests() {
+        // Given
+        limiter.tryAcquire(CUSTOMER);
+
+        // When
+        nanoTime.addAndGet(SLOW);
+        limiter.release(SLOW);
+
+        // Then
+        assertEquals(5, limiter.getLimit());
+
+        limiter.tryAcquire(CUSTOMER);
+        nanoTime.addAndGet(SLOW);
+        limiter.release(SLOW);
+        limiter.tryAcquire(CUSTOMER);
+        nanoTime.addAndGet(SLOW);
+        limiter.release(SLOW);
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("release should grow the limit on fast requests only while the limit is in use")
+    void release_ShouldGrowLimit_OnFastRequestsUnderLoad() {
+        // Given
+        limiter.tryAcquire(CUSTOMER);
+        limiter.release(FAST);
+        assertEquals(10, limiter.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(CUSTOMER);
+        }
+
+        // When
+        limiter.release(FAST);
+        limiter.release(FAST);
+        limiter.release(FAST);
+
+        // Then
+        assertEquals(12, limiter.getLimit(), "Limit should grow by one per sample and stop at the maximum");
+    }
+
+    @Test
+    @DisplayName("release should shrink the limit once for a burst of concurrent slow requests")
+    void release_ShouldShrinkOncePerRoundTrip() {
+        // Given
+        for (int i = 0; i < 6; i++) {
+            limiter.tryAcquire(CUSTOMER);
+        }
+        nanoTime.addAndGet(SLOW);
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            limiter.release(SLOW);
+        }
+
+        // Then
+        assertEquals(5, limiter.getLimit(), "Requests that started before the decrease must not shrink the limit again");
+
+        limiter.tryAcquire(CUSTOMER);
+        nanoTime.addAndGet(SLOW);
+        limiter.release(SLOW);
+        assertEquals(2, limiter.getLimit());
+    }
+}
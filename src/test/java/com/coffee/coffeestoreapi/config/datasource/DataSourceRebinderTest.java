@@ -0,0 +1,43 @@
+package com.coffee.coffeestoreapi.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataSourceRebinderTest {
+
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:postgresql://localhost:5432/coffee_store");
+        dataSource.setUsername("user");
+        dataSource.setPassword("password");
+    }
+
+    @Test
+    @DisplayName("start should rebind the pool that has not connected yet to the current environment")
+    void start_ShouldRebindFromEnvironment() {
+        // Given
+        Map<String, String> environment = Map.of(
+                DataSourceRebinder.URL, "jdbc:postgresql://db:5432/coffee_store",
+                DataSourceRebinder.PASSWORD, "secret");
+        DataSourceRebinder rebinder = new DataSourceRebinder(dataSource, environment::get);
+
+        // When
+        rebinder.start();
+
+        // Then
+        assertEquals("jdbc:postgresql://db:5432/coffee_store", dataSource.getJdbcUrl());
+        assertEquals("user", dataSource.getUsername());
+        assertEquals("secret", dataSource.getPassword());
+        assertTrue(rebinder.isRunning());
+    }
+}
@@ -0,0 +1,129 @@
+package com.coffee.coffeestoreapi.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.coffee.coffeestoreapi.config.datasource.ReplicaRoutingDataSource.PRIMARY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.clear;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.setActualTransactionActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.setCurrentTransactionReadOnly;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private ReadYourWritesTracker readYourWritesTracker;
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica0 = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica0);
+        replicas.put("replica-1", replica1);
+        readYourWritesTracker = new ReadYourWritesTracker(Duration.ofSeconds(2), nanoTime::get);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, readYourWritesTracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clear();
+        readYourWritesTracker.unbind();
+    }
+
+    @Test
+    @DisplayName("Read-write transactions should be routed to the primary")
+    void determineCurrentLookupKey_ShouldRouteReadWriteToPrimary() {
+        // Given
+        setActualTransactionActive(true);
+        setCurrentTransactionReadOnly(false);
+
+        // When / Then
+        assertEquals(PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should be routed to the replicas round-robin")
+    void determineCurrentLookupKey_ShouldRouteReadOnlyToReplicasRoundRobin() {
+        // Given
+        setActualTransactionActive(true);
+        setCurrentTransactionReadOnly(true);
+
+        // When / Then
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should skip unhealthy replicas and fall back to the primary")
+    void determineCurrentLookupKey_ShouldFailOverToPrimary_WhenReplicasAreUnhealthy() {
+        // Given
+        setActualTransactionActive(true);
+        setCurrentTransactionReadOnly(true);
+        routingDataSource.markUnhealthy("replica-0");
+
+        // When / Then
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+
+        routingDataSource.markUnhealthy("replica-1");
+        assertEquals(PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should stay on the primary within the read-your-writes window")
+    void determineCurrentLookupKey_ShouldReadYourWrites_WithinWindow() {
+        // Given
+        readYourWritesTracker.bind("kiosk-1");
+        setActualTransactionActive(true);
+        setCurrentTransactionReadOnly(false);
+        routingDataSource.determineCurrentLookupKey();
+
+        // When
+        setCurrentTransactionReadOnly(true);
+
+        // Then
+        assertEquals(PRIMARY, routingDataSource.determineCurrentLookupKey());
+
+        nanoTime.addAndGet(Duration.ofSeconds(3).toNanos());
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("getConnection should fall back to the primary and skip a replica that fails to connect")
+    void getConnection_ShouldFallBackToPrimary_WhenReplicaFails() throws SQLException {
+        // Given
+        setActualTransactionActive(true);
+        setCurrentTransactionReadOnly(true);
+        var primaryConnection = mock(Connection.class);
+        var replicaConnection = mock(Connection.class);
+        when(replica0.getConnection()).thenThrow(new SQLTransientConnectionException("Connection is not available"));
+        when(replica1.getConnection()).thenReturn(replicaConnection);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // When / Then
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        verify(replica0, times(1)).getConnection();
+    }
+}
@@ -0,0 +1,42 @@
+package com.coffee.coffeestoreapi.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RestorablePoolTest {
+
+    @Test
+    @DisplayName("A checkpoint should close the pool and the restore should build it again from the factory")
+    void checkpointAndRestore_ShouldRebuildPool() throws SQLException {
+        // Given
+        List<HikariDataSource> pools = new ArrayList<>();
+        var urls = List.of("jdbc:postgresql://training:5432/coffee_store", "jdbc:postgresql://replica:5432/coffee_store");
+        var restorablePool = new RestorablePool(() -> {
+            var pool = new HikariDataSource();
+            pool.setPoolName("replica-0");
+            pool.setJdbcUrl(urls.get(pools.size()));
+            pools.add(pool);
+            return pool;
+        });
+
+        // When
+        restorablePool.beforeCheckpoint(null);
+        restorablePool.afterRestore(null);
+
+        // Then
+        assertEquals(2, pools.size());
+        assertTrue(pools.getFirst().isClosed());
+        assertSame(pools.getLast(), restorablePool.unwrap(HikariDataSource.class));
+        assertEquals("jdbc:postgresql://replica:5432/coffee_store", restorablePool.unwrap(HikariDataSource.class).getJdbcUrl());
+        restorablePool.close();
+    }
+}
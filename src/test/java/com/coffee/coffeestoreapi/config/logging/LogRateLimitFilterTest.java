@@ -0,0 +1,77 @@
+package com.coffee.coffeestoreapi.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogRateLimitFilterTest {
+    private static final String NOT_FOUND = "Order not found when getting the order";
+
+    private final AtomicLong now = new AtomicLong();
+    private final LoggerContext loggerContext = new LoggerContext();
+    private LogRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new LogRateLimitFilter(now::get);
+        filter.setLoggers("com.coffee.coffeestoreapi.service, com.coffee.coffeestoreapi.config.GlobalExceptionHandler");
+        filter.setLevel("WARN");
+        filter.setMaxPerInterval(2);
+        filter.setIntervalMillis(1000);
+    }
+
+    @Test
+    @DisplayName("decide should drop a message template after the limit and allow it again in the next interval")
+    void decide_ShouldLimitPerTemplateAndInterval() {
+        // Given
+        var logger = loggerContext.getLogger("com.coffee.coffeestoreapi.service.OrderService");
+
+        // When / Then
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.WARN, NOT_FOUND, null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.WARN, NOT_FOUND, null, null));
+        assertEquals(FilterReply.DENY, filter.decide(null, logger, Level.WARN, NOT_FOUND, null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.ERROR, "Another template", null, null),
+                "Every template has a limit of its own");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.WARN, NOT_FOUND, null, null));
+        assertEquals(1, filter.getSuppressed());
+    }
+
+    @Test
+    @DisplayName("decide should not limit other loggers or events below the level")
+    void decide_ShouldIgnoreOtherLoggersAndLevels() {
+        // Given
+        var serviceLogger = loggerContext.getLogger("com.coffee.coffeestoreapi.service.OrderService");
+        var frameworkLogger = loggerContext.getLogger("org.springframework.web.servlet.DispatcherServlet");
+
+        // When / Then
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, serviceLogger, Level.INFO, NOT_FOUND, null, null));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, frameworkLogger, Level.WARN, NOT_FOUND, null, null));
+        }
+        assertEquals(0, filter.getSuppressed());
+    }
+
+    @Test
+    @DisplayName("decide should stop tracking new templates beyond the configured number")
+    void decide_ShouldBoundTrackedTemplates() {
+        // Given
+        filter.setMaxTemplates(1);
+        var logger = loggerContext.getLogger("com.coffee.coffeestoreapi.service.OrderService");
+        filter.decide(null, logger, Level.WARN, NOT_FOUND, null, null);
+
+        // When / Then
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.WARN, "Untracked template", null, null));
+        }
+    }
+}
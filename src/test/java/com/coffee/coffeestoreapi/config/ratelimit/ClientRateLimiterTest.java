@@ -0,0 +1,147 @@
+package com.coffee.coffeestoreapi.config.ratelimit;
+
+import com.coffee.coffeestoreapi.config.settings.RateLimitSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientRateLimiterTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong nanoTime = new AtomicLong(1_000 * SECOND);
+    private ClientRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitSettings.Limit limit = new RateLimitSettings.Limit();
+        limit.setCapacity(3);
+        limit.setRefillPerSecond(1);
+        rateLimiter = new ClientRateLimiter(limit, 2, Duration.ofMinutes(1), nanoTime::get);
+    }
+
+    @Test
+    @DisplayName("tryConsume should allow a burst up to the capacity and then reject")
+    void tryConsume_ShouldAllowBurstUpToCapacity() {
+        // When
+        TokenBucket.Result first = rateLimiter.tryConsume("kiosk-1");
+        rateLimiter.tryConsume("kiosk-1");
+        TokenBucket.Result third = rateLimiter.tryConsume("kiosk-1");
+        TokenBucket.Result fourth = rateLimiter.tryConsume("kiosk-1");
+
+        // Then
+        assertTrue(first.allowed());
+        assertEquals(2, first.remaining());
+        assertTrue(third.allowed());
+        assertEquals(0, third.remaining());
+        assertFalse(fourth.allowed());
+        assertEquals(SECOND, fourth.retryAfterNanos());
+        assertEquals(3 * SECOND, fourth.resetNanos());
+    }
+
+    @Test
+    @DisplayName("tryConsume should refill tokens as time passes")
+    void tryConsume_ShouldRefillOverTime() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryConsume("kiosk-1");
+        }
+        assertFalse(rateLimiter.tryConsume("kiosk-1").allowed());
+
+        // When
+        nanoTime.addAndGet(2 * SECOND);
+
+        // Then
+        assertTrue(rateLimiter.tryConsume("kiosk-1").allowed());
+        assertTrue(rateLimiter.tryConsume("kiosk-1").allowed());
+        assertFalse(rateLimiter.tryConsume("kiosk-1").allowed());
+    }
+
+    @Test
+    @DisplayName("tryConsume should keep separate buckets per client")
+    void tryConsume_ShouldKeepSeparateBucketsPerClient() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryConsume("kiosk-1");
+        }
+
+        // When / Then
+        assertFalse(rateLimiter.tryConsume("kiosk-1").allowed());
+        assertTrue(rateLimiter.tryConsume("kiosk-2").allowed());
+    }
+
+    @Test
+    @DisplayName("tryConsume should put new clients into the shared overflow bucket when full")
+    void tryConsume_ShouldUseOverflowBucket_WhenFull() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryConsume("kiosk-1");
+        }
+        rateLimiter.tryConsume("kiosk-2");
+
+        // When
+        rateLimiter.tryConsume("kiosk-3");
+        rateLimiter.tryConsume("kiosk-4");
+        TokenBucket.Result third = rateLimiter.tryConsume("kiosk-5");
+        TokenBucket.Result fourth = rateLimiter.tryConsume("kiosk-6");
+
+        // Then
+        assertTrue(third.allowed());
+        assertFalse(fourth.allowed());
+        assertEquals(2, rateLimiter.size());
+        assertFalse(rateLimiter.tryConsume("kiosk-1").allowed());
+        assertTrue(rateLimiter.tryConsume("kiosk-2").allowed());
+    }
+
+    @Test
+    @DisplayName("evictIdle should evict the buckets that have been full for the idle timeout")
+    void evictIdle_ShouldEvictIdleBuckets() {
+        // Given
+        rateLimiter.tryConsume("kiosk-1");
+        nanoTime.addAndGet(Duration.ofMinutes(2).toNanos());
+        rateLimiter.tryConsume("kiosk-2");
+
+        // When
+        int evicted = rateLimiter.evictIdle();
+
+        // Then
+        assertEquals(1, evicted);
+        assertEquals(1, rateLimiter.size());
+        assertTrue(rateLimiter.tryConsume("kiosk-3").allowed());
+        assertEquals(2, rateLimiter.size());
+    }
+
+    @Test
+    @DisplayName("tryConsume should never hand out more tokens than the capacity to concurrent requests")
+    void tryConsume_ShouldNotOverspend_WhenConcurrent() throws InterruptedException {
+        // Given
+        var allowed = new AtomicInteger();
+        var threads = new ArrayList<Thread>();
+
+        // When
+        for (int i = 0; i < 16; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int j = 0; j < 10; j++) {
+                    if (rateLimiter.tryConsume("kiosk-1").allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertEquals(3, allowed.get());
+    }
+}
@@ -0,0 +1,88 @@
+package com.coffee.coffeestoreapi.config.ratelimit;
+
+import com.coffee.coffeestoreapi.config.settings.RateLimitSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitSettings.Limit limit = new RateLimitSettings.Limit();
+        limit.setCapacity(2);
+        limit.setRefillPerSecond(1);
+        var publicLimiter = new ClientRateLimiter(limit, 100, Duration.ofMinutes(1));
+        var adminLimiter = new ClientRateLimiter(limit, 100, Duration.ofMinutes(1));
+        filter = new RateLimitFilter(publicLimiter, adminLimiter, Map.of("kiosk-secret", "kiosk"));
+    }
+
+    @Test
+    @DisplayName("A valid API key should be limited per key owner, whatever its address")
+    void doFilter_ShouldLimitPerKeyOwner_WhenApiKeyIsValid() throws Exception {
+        // Given
+        send("10.0.0.1", "kiosk-secret");
+        send("10.0.0.2", "kiosk-secret");
+
+        // When
+        var response = send("10.0.0.3", "kiosk-secret");
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader("Retry-After"));
+        assertEquals(200, send("10.0.0.3", null).getStatus());
+    }
+
+    @Test
+    @DisplayName("Requests without an API key should be limited per remote address")
+    void doFilter_ShouldLimitPerRemoteAddress_WhenNoApiKey() throws Exception {
+        // Given
+        send("10.0.0.1", null);
+        send("10.0.0.1", null);
+
+        // When
+        var response = send("10.0.0.1", null);
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertEquals("0", response.getHeader("X-RateLimit-Remaining"));
+        assertEquals(200, send("10.0.0.2", null).getStatus());
+        assertEquals(200, send("10.0.0.1", "kiosk-secret").getStatus());
+    }
+
+    @Test
+    @DisplayName("An unknown API key should be rejected and charged to the remote address")
+    void doFilter_ShouldRejectUnknownApiKey() throws Exception {
+        // When
+        var first = send("10.0.0.1", "guess-1");
+        var second = send("10.0.0.1", "guess-2");
+        var third = send("10.0.0.1", "guess-3");
+
+        // Then
+        assertEquals(401, first.getStatus());
+        assertEquals(401, second.getStatus());
+        assertEquals(429, third.getStatus());
+    }
+
+    private MockHttpServletResponse send(String remoteAddress, String apiKey) throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/v1/orders");
+        request.setRemoteAddr(remoteAddress);
+        if (apiKey != null) {
+            request.addHeader(RateLimitFilter.API_KEY_HEADER, apiKey);
+        }
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
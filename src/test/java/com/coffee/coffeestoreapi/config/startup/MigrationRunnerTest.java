@@ -0,0 +1,48 @@
+package com.coffee.coffeestoreapi.config.startup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class MigrationRunnerTest {
+
+    @Mock
+    private SchemaVersionCheck schemaVersionCheck;
+
+    private MigrationRunner migrationRunner;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        migrationRunner = new MigrationRunner(schemaVersionCheck);
+    }
+
+    @Test
+    @DisplayName("run should exit with 0 when the migrated schema matches the changelog")
+    void run_ShouldExitWithZero_WhenSchemaIsUpToDate() {
+        // When
+        migrationRunner.run(new DefaultApplicationArguments());
+
+        // Then
+        assertEquals(0, migrationRunner.getExitCode());
+    }
+
+    @Test
+    @DisplayName("run should exit with 1 when the migrated schema is still behind the changelog")
+    void run_ShouldExitWithOne_WhenSchemaIsBehind() {
+        // Given
+        doThrow(new IllegalStateException("Missing changesets")).when(schemaVersionCheck).verify();
+
+        // When
+        migrationRunner.run(new DefaultApplicationArguments());
+
+        // Then
+        assertEquals(1, migrationRunner.getExitCode());
+    }
+}
@@ -0,0 +1,104 @@
+package com.coffee.coffeestoreapi.config.startup;
+
+import liquibase.Liquibase;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.integration.spring.SpringResourceAccessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks a migrated schema against the packaged changelog, as the {@code prod} pods and the {@code migrate} run do.
+ */
+@Testcontainers
+class SchemaVersionCheckIT {
+    private static final DockerImageName IMAGE_NAME = DockerImageName
+            .parse("postgres:16-alpine")
+            .asCompatibleSubstituteFor("postgres");
+    private static final String CHANGE_LOG = "classpath:/db/changelog/db.changelog-master.yaml";
+    private static final String CHANGE_SET_ID = "021-add-priority-to-orders";
+
+    // One database per test, as the tests change the applied changesets
+    @Container
+    final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(IMAGE_NAME)
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private SchemaVersionCheck schemaVersionCheck;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        schemaVersionCheck = new SchemaVersionCheck(dataSource, new DefaultResourceLoader(), CHANGE_LOG);
+    }
+
+    @Test
+    @DisplayName("verify should pass when every packaged changeset has been applied unchanged")
+    void verify_ShouldPass_WhenSchemaIsUpToDate() throws Exception {
+        // Given
+        migrate();
+
+        // When / Then
+        assertDoesNotThrow(() -> schemaVersionCheck.verify());
+    }
+
+    @Test
+    @DisplayName("verify should fail and name the changeset the schema is missing")
+    void verify_ShouldFail_WhenChangeSetIsMissing() throws Exception {
+        // Given
+        migrate();
+        jdbcTemplate.update("DELETE FROM databasechangelog WHERE id = ?", CHANGE_SET_ID);
+
+        // When
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> schemaVersionCheck.verify());
+
+        // Then
+        assertTrue(exception.getMessage().contains(CHANGE_SET_ID), exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("verify should fail when an applied changeset was changed since it ran")
+    void verify_ShouldFail_WhenChecksumDiffers() throws Exception {
+        // Given
+        migrate();
+        jdbcTemplate.update("UPDATE databasechangelog SET md5sum = '9:00000000000000000000000000000000' WHERE id = ?",
+                CHANGE_SET_ID);
+
+        // When
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> schemaVersionCheck.verify());
+
+        // Then
+        assertTrue(exception.getMessage().contains(CHANGE_SET_ID), exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("verify should fail on a database that was never migrated, without creating the tracking tables")
+    void verify_ShouldFail_WhenNeverMigrated() {
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> schemaVersionCheck.verify());
+        assertTrue(jdbcTemplate.queryForList("SELECT tablename FROM pg_tables WHERE tablename LIKE 'databasechangelog%'").isEmpty());
+    }
+
+    private void migrate() throws Exception {
+        try (var connection = dataSource.getConnection()) {
+            var database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            new Liquibase(CHANGE_LOG, new SpringResourceAccessor(new DefaultResourceLoader()), database).update("");
+        }
+    }
+}
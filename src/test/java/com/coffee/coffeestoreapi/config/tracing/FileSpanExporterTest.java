@@ -0,0 +1,54 @@
+package com.coffee.coffeestoreapi.config.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FileSpanExporterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("export should append one JSON line per span with its parent and attributes")
+    void export_ShouldAppendJsonLines() throws IOException {
+        // Given
+        var file = directory.resolve("traces").resolve("spans.jsonl");
+        var tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(file, objectMapper)))
+                .build();
+        var tracer = tracerProvider.get("test");
+
+        // When
+        var parent = tracer.spanBuilder("http post /api/v1/orders").setSpanKind(SpanKind.SERVER).startSpan();
+        try (var ignored = parent.makeCurrent()) {
+            tracer.spanBuilder("query").setAttribute("db.operation", "INSERT").startSpan().end();
+        }
+        parent.end();
+        tracerProvider.close();
+
+        // Then
+        var lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        var child = objectMapper.readTree(lines.get(0));
+        var root = objectMapper.readTree(lines.get(1));
+        assertEquals("query", child.get("name").asText());
+        assertEquals("INSERT", child.get("attributes").get("db.operation").asText());
+        assertEquals(root.get("span_id").asText(), child.get("parent_span_id").asText());
+        assertEquals(root.get("trace_id").asText(), child.get("trace_id").asText());
+        assertEquals("SERVER", root.get("kind").asText());
+        assertNull(root.get("parent_span_id").textValue());
+    }
+}
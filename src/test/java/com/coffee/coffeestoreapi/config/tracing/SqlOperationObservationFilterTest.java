@@ -0,0 +1,43 @@
+package com.coffee.coffeestoreapi.config.tracing;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import net.ttddyy.observation.tracing.QueryContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SqlOperationObservationFilterTest {
+    private final SqlOperationObservationFilter filter = new SqlOperationObservationFilter();
+
+    @Test
+    @DisplayName("operationOf should return the leading keyword, or OTHER for anything unknown")
+    void operationOf_ShouldReturnLeadingKeyword() {
+        assertEquals("SELECT", SqlOperationObservationFilter.operationOf("select o1_0.id from orders o1_0"));
+        assertEquals("UPDATE", SqlOperationObservationFilter.operationOf("\n  UPDATE orders SET status=? WHERE id=?"));
+        assertEquals("INSERT", SqlOperationObservationFilter.operationOf("insert into order_items(id) values (?)"));
+        assertEquals("OTHER", SqlOperationObservationFilter.operationOf("values (1)"));
+        assertEquals("OTHER", SqlOperationObservationFilter.operationOf(""));
+    }
+
+    @Test
+    @DisplayName("map should tag query observations with db.operation and leave others unchanged")
+    void map_ShouldTagQueryObservations() {
+        // Given
+        var queryContext = new QueryContext();
+        queryContext.setQueries(List.of("delete from promotions where id=?"));
+        var otherContext = new Observation.Context();
+
+        // When
+        filter.map(queryContext);
+        filter.map(otherContext);
+
+        // Then
+        assertEquals(KeyValue.of("db.operation", "DELETE"), queryContext.getLowCardinalityKeyValue("db.operation"));
+        assertNull(otherContext.getLowCardinalityKeyValue("db.operation"));
+    }
+}
@@ -125,8 +125,8 @@ class OrderMapperTest extends BaseTest {
         // Set timestamps
         order.setCreatedAt(Timestamp.valueOf(LocalDateTime.now()));
         order.setUpdatedAt(LocalDate.now());
-        order.setProcessedAt(LocalDate.now());
-        order.setCompletedAt(LocalDate.now());
+        order.setProcessedAt(LocalDateTime.now());
+        order.setCompletedAt(LocalDateTime.now());
 
         return order;
     }
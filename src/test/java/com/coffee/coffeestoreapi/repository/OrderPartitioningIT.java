@@ -0,0 +1,157 @@
+package com.coffee.coffeestoreapi.repository;
+
+import liquibase.Liquibase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Migrates a populated, unpartitioned {@code orders} table through the partitioning changesets and checks the
+ * partitions Postgres reads for date-bounded and order number queries.
+ */
+@Testcontainers
+class OrderPartitioningIT {
+    private static final DockerImageName IMAGE_NAME = DockerImageName
+            .parse("postgres:16-alpine")
+            .asCompatibleSubstituteFor("postgres");
+    private static final String CHANGELOG = "db/changelog/db.changelog-master.yaml";
+    private static final int ORDERS = 600;
+
+    // One database per test, as each migrates it from scratch
+    @Container
+    final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(IMAGE_NAME)
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Test
+    @DisplayName("The migration should partition the existing orders by month and date-bounded queries should prune")
+    void migration_ShouldPartitionExistingOrdersAndPrune() throws Exception {
+        // Given an unpartitioned table holding six months of orders
+        try (var connection = connect()) {
+            var liquibase = new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), new JdbcConnection(connection));
+            var changeSets = liquibase.getDatabaseChangeLog().getChangeSets();
+            int beforePartitioning = 0;
+            while (!changeSets.get(beforePartitioning).getId().startsWith("007-")) {
+                beforePartitioning++;
+            }
+            liquibase.update(beforePartitioning, "");
+            execute(connection,
+                    "INSERT INTO orders (id, order_number, status, orderer, total_price_in_cents, sub_total_price_in_cents, " +
+                    "currency, order_lines, discounts, created_at, updated_at) " +
+                    "SELECT i, 'RCS-' || i, 'COMPLETED', 'Orderer ' || (i % 10), 500, 500, 'EUR', '[]', '[]', " +
+                    "TIMESTAMP '2024-01-01' + (i % 6) * INTERVAL '1 month' + i * INTERVAL '1 minute', DATE '2024-01-01' " +
+                    "FROM generate_series(1, " + ORDERS + ") AS i");
+            connection.commit();
+
+            // When
+            liquibase.update("");
+        }
+
+        try (var connection = connect()) {
+            // Then every order is kept, in the partition of its month, with its number reserved
+            assertEquals(ORDERS, count(connection, "SELECT count(*) FROM orders"));
+            assertEquals(ORDERS / 6, count(connection, "SELECT count(*) FROM orders_p202403"));
+            assertEquals(ORDERS, count(connection, "SELECT count(*) FROM order_numbers WHERE created_at IS NOT NULL"));
+            assertEquals(0, count(connection, "SELECT count(*) FROM pg_class WHERE relname = 'orders_default'"));
+
+            var dateBounded = explain(connection,
+                    "EXPLAIN SELECT count(*) FROM orders WHERE created_at >= '2024-03-01' AND created_at < '2024-04-01'");
+            assertTrue(dateBounded.contains("orders_p202403"), dateBounded);
+            assertFalse(dateBounded.contains("orders_p202402"), dateBounded);
+            assertFalse(dateBounded.contains("orders_p202404"), dateBounded);
+
+            // RCS-3 was created in April; the other partitions are pruned once order_numbers gave its creation time
+            var byOrderNumber = explain(connection,
+                    "EXPLAIN (ANALYZE, COSTS OFF) SELECT * FROM orders WHERE order_number = 'RCS-3' " +
+                    "AND created_at = (SELECT created_at FROM order_numbers WHERE order_number = 'RCS-3')");
+            long executedScans = byOrderNumber.lines()
+                    .filter(line -> line.contains(" on orders_p"))
+                    .filter(line -> !line.contains("never executed"))
+                    .count();
+            assertEquals(1, executedScans, byOrderNumber);
+            assertTrue(byOrderNumber.contains("orders_p202404"), byOrderNumber);
+        }
+    }
+
+    @Test
+    @DisplayName("Partitions past the retention window should be listed and detached concurrently")
+    void detachConcurrently_ShouldDetachListedPartitions() throws Exception {
+        try (var connection = connect()) {
+            // Given
+            new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), new JdbcConnection(connection)).update("");
+        }
+
+        try (var connection = connect()) {
+            connection.setAutoCommit(true);
+            execute(connection, "SELECT create_orders_partitions('2023-01-01', 1)");
+            execute(connection,
+                    "INSERT INTO orders (id, order_number, status, orderer, total_price_in_cents, sub_total_price_in_cents, " +
+                    "currency, order_lines, discounts, created_at, updated_at, version) " +
+                    "VALUES (1000001, 'RCS-DETACH', 'COMPLETED', 'Alice', 500, 500, 'EUR', '[]', '[]', " +
+                    "TIMESTAMP '2023-01-15 10:00:00', DATE '2023-01-15', 0)");
+
+            // When
+            var partitions = new ArrayList<String>();
+            try (var statement = connection.createStatement();
+                 var resultSet = statement.executeQuery("SELECT partition_name FROM orders_partitions_to_detach('2023-02-01')")) {
+                while (resultSet.next()) {
+                    partitions.add(resultSet.getString(1));
+                }
+            }
+            for (var partition : partitions) {
+                execute(connection, "ALTER TABLE orders DETACH PARTITION " + partition + " CONCURRENTLY");
+            }
+
+            // Then
+            assertEquals(List.of("orders_p202301"), partitions);
+            assertEquals(0, count(connection, "SELECT count(*) FROM orders WHERE order_number = 'RCS-DETACH'"));
+            assertEquals(1, count(connection, "SELECT count(*) FROM orders_p202301"));
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        var connection = DriverManager.getConnection(postgres.getJdbcUrl(),
+                postgres.getUsername(), postgres.getPassword());
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (var statement = connection.createStatement(); var resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String explain(Connection connection, String sql) throws SQLException {
+        var plan = new StringBuilder();
+        try (var statement = connection.createStatement(); var resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
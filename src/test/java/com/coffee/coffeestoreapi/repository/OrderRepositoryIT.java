@@ -0,0 +1,237 @@
+package com.coffee.coffeestoreapi.repository;
+
+import com.coffee.coffeestoreapi.BaseIT;
+import com.coffee.coffeestoreapi.entity.Order;
+import com.coffee.coffeestoreapi.model.OrderStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the native statements of {@link OrderRepository} against Postgres and the migrated schema, on the orders of
+ * the test data.
+ */
+class OrderRepositoryIT extends BaseIT {
+    private static final DockerImageName IMAGE_NAME = DockerImageName
+            .parse("postgres:16-alpine")
+            .asCompatibleSubstituteFor("postgres");
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES_CONTAINER = new PostgreSQLContainer<>(IMAGE_NAME)
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    static {
+        POSTGRES_CONTAINER.start();
+    }
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES_CONTAINER::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES_CONTAINER::getUsername);
+        registry.add("spring.datasource.password", POSTGRES_CONTAINER::getPassword);
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("cancelPendingOrders should cancel only the pending orders among the given numbers")
+    void cancelPendingOrders_ShouldCancelOnlyPendingOrders() {
+        // When
+        List<Order> cancelled = orderRepository.cancelPendingOrders(List.of("ORD-1001", "ORD-1002", "ORD-1004", "ORD-9999"));
+
+        // Then
+        assertEquals(List.of("ORD-1001", "ORD-1004"), orderNumbers(cancelled));
+        assertTrue(cancelled.stream().allMatch(order -> order.getStatus() == OrderStatus.CANCELLED && order.getCanceledAt() != null));
+        assertEquals("COMPLETED", status("ORD-1002"));
+        assertEquals(1L, version("ORD-1001"));
+    }
+
+    @Test
+    @DisplayName("cancelPendingOrdersMatching should cancel the pending orders of the orderer created before the cutoff")
+    void cancelPendingOrdersMatching_ShouldCancelMatchingOrders() {
+        // When
+        List<Order> cancelled = orderRepository.cancelPendingOrdersMatching(
+                Timestamp.valueOf(LocalDateTime.of(2023, 10, 6, 0, 0)), "Eve", 500);
+
+        // Then
+        assertEquals(List.of("ORD-1005"), orderNumbers(cancelled));
+        assertEquals("PENDING", status("ORD-1001"));
+    }
+
+    @Test
+    @DisplayName("completePendingOrders should complete pending orders and leave claimed ones to their station")
+    void completePendingOrders_ShouldSkipProcessingOrders() {
+        // Given
+        jdbcTemplate.update("UPDATE orders SET status = 'PROCESSING' WHERE order_number = 'ORD-1004'");
+
+        // When
+        List<Order> completed = orderRepository.completePendingOrders(List.of("ORD-1001", "ORD-1004", "ORD-1003"));
+
+        // Then
+        assertEquals(List.of("ORD-1001"), orderNumbers(completed));
+        assertNotNull(completed.getFirst().getProcessedAt());
+        assertNotNull(completed.getFirst().getCompletedAt());
+        assertEquals("PROCESSING", status("ORD-1004"));
+        assertEquals("CANCELLED", status("ORD-1003"));
+    }
+
+    @Test
+    @DisplayName("completePendingOrdersMatching should complete pending orders in chunks of the given limit")
+    void completePendingOrdersMatching_ShouldRespectLimit() {
+        // Given
+        var before = Timestamp.valueOf(LocalDateTime.of(2023, 11, 1, 0, 0));
+
+        // When
+        List<Order> firstChunk = orderRepository.completePendingOrdersMatching(before, null, 3);
+        List<Order> secondChunk = orderRepository.completePendingOrdersMatching(before, null, 3);
+
+        // Then
+        assertEquals(3, firstChunk.size());
+        assertEquals(2, secondChunk.size());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM orders WHERE status = 'PENDING'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("claimPendingOrders should claim by priority, then by age, and the claim should be completed or released")
+    void claimPendingOrders_ShouldClaimByPriorityThenAge() {
+        // Given
+        orderRepository.prioritizePendingOrder("ORD-1010", 5);
+
+        // When
+        List<Order> first = orderRepository.claimPendingOrders(1, 60);
+        List<Order> second = orderRepository.claimPendingOrders(1, 60);
+
+        // Then
+        assertEquals(List.of("ORD-1010"), orderNumbers(first));
+        assertEquals(List.of("ORD-1001"), orderNumbers(second));
+        assertTrue(orderRepository.completeClaimedOrder("ORD-1010").isPresent());
+        assertTrue(orderRepository.completeClaimedOrder("ORD-1004").isEmpty());
+
+        jdbcTemplate.update("UPDATE orders SET claim_expires_at = clock_timestamp() - INTERVAL '1 second' " +
+                            "WHERE order_number = 'ORD-1001'");
+        assertEquals(List.of("ORD-1001"), orderNumbers(orderRepository.releaseExpiredClaims(10)));
+        assertEquals("PENDING", status("ORD-1001"));
+    }
+
+    @Test
+    @DisplayName("cancelPendingOrder should honour the expected version")
+    void cancelPendingOrder_ShouldHonourExpectedVersion() {
+        // When & Then
+        assertTrue(orderRepository.cancelPendingOrder("ORD-1001", 7L).isEmpty());
+        assertTrue(orderRepository.cancelPendingOrder("ORD-1001", 0L).isPresent());
+        assertTrue(orderRepository.cancelPendingOrder("ORD-1002", null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("searchByOrdererPattern should page through the orders with a matching orderer prefix")
+    void searchByOrdererPattern_ShouldPageByKeyset() {
+        // Given
+        jdbcTemplate.update("UPDATE orders SET orderer = 'Alice Smith' WHERE order_number IN ('ORD-1004', 'ORD-1007')");
+
+        // When
+        List<OrderSummaryView> firstPage = orderRepository.searchByOrdererPattern("ali%", null, null, 2);
+        var last = firstPage.getLast();
+        List<OrderSummaryView> secondPage = orderRepository.searchByOrdererPattern("ali%", last.getCreatedAt(), last.getId(), 2);
+
+        // Then
+        assertEquals(List.of("ORD-1007", "ORD-1004"), firstPage.stream().map(OrderSummaryView::getOrderNumber).toList());
+        assertEquals(List.of("ORD-1001"), secondPage.stream().map(OrderSummaryView::getOrderNumber).toList());
+    }
+
+    @Test
+    @DisplayName("searchByOrdererSimilarity should find orderers with a misspelled name, the most similar first")
+    void searchByOrdererSimilarity_ShouldFindMisspelledOrderer() {
+        // Given
+        jdbcTemplate.update("UPDATE orders SET orderer = 'Alisa' WHERE order_number = 'ORD-1004'");
+
+        // When
+        List<OrderSummaryView> result = orderRepository.searchByOrdererSimilarity("Alise", null, null, null, 10);
+
+        // Then
+        assertEquals(List.of("ORD-1004", "ORD-1001"), result.stream().map(OrderSummaryView::getOrderNumber).toList());
+    }
+
+    @Test
+    @DisplayName("findHistoryByOrderer should return the newest orders of the orderer first")
+    void findHistoryByOrderer_ShouldReturnNewestFirst() {
+        // Given
+        jdbcTemplate.update("UPDATE orders SET orderer = 'Bob' WHERE order_number = 'ORD-1009'");
+
+        // When
+        List<OrderHistoryView> history = orderRepository.findHistoryByOrderer("Bob", Limit.of(1));
+
+        // Then
+        assertEquals(List.of("ORD-1009"), history.stream().map(OrderHistoryView::getOrderNumber).toList());
+    }
+
+    @Test
+    @DisplayName("streamReportRows should stream the non-cancelled orders created in the range")
+    void streamReportRows_ShouldSkipCancelledOrders() {
+        // Given
+        var from = Timestamp.valueOf(LocalDateTime.of(2023, 10, 2, 0, 0));
+        var to = Timestamp.valueOf(LocalDateTime.of(2023, 10, 9, 0, 0));
+
+        // When
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        List<String> rows = transactionTemplate.execute(status -> {
+            try (var stream = orderRepository.streamReportRows(from, to)) {
+                return stream.map(OrderReportView::getOrderNumber).sorted().toList();
+            }
+        });
+
+        // Then
+        assertEquals(List.of("ORD-1002", "ORD-1004", "ORD-1005", "ORD-1006", "ORD-1007"), rows);
+    }
+
+    @Test
+    @DisplayName("findPendingAfter should read the pending orders in id order after the keyset")
+    void findPendingAfter_ShouldReadNextChunk() {
+        // Given
+        long firstId = jdbcTemplate.queryForObject("SELECT id FROM orders WHERE order_number = 'ORD-1001'", Long.class);
+
+        // When
+        List<Order> chunk = orderRepository.findPendingAfter(firstId, Limit.of(2));
+
+        // Then
+        assertEquals(List.of("ORD-1004", "ORD-1005"), orderNumbers(chunk));
+    }
+
+    private static List<String> orderNumbers(List<Order> orders) {
+        return orders.stream().map(Order::getOrderNumber).sorted().toList();
+    }
+
+    private String status(String orderNumber) {
+        return jdbcTemplate.queryForObject("SELECT status FROM orders WHERE order_number = ?", String.class, orderNumber);
+    }
+
+    private long version(String orderNumber) {
+        return jdbcTemplate.queryForObject("SELECT version FROM orders WHERE order_number = ?", Long.class, orderNumber);
+    }
+}
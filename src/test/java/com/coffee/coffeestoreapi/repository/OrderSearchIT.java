@@ -0,0 +1,165 @@
+package com.coffee.coffeestoreapi.repository;
+
+import liquibase.Liquibase;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the order search statements of {@link OrderRepository} against thousands of orderers and checks both the
+ * pages they return and the plans Postgres chooses for them.
+ */
+@Testcontainers
+class OrderSearchIT {
+    private static final DockerImageName IMAGE_NAME = DockerImageName
+            .parse("postgres:16-alpine")
+            .asCompatibleSubstituteFor("postgres");
+    private static final String CHANGELOG = "db/changelog/db.changelog-master.yaml";
+    private static final int ORDERERS = 5000;
+    private static final int ORDERS = 50_000;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES_CONTAINER = new PostgreSQLContainer<>(IMAGE_NAME)
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        var dataSource = new DriverManagerDataSource(POSTGRES_CONTAINER.getJdbcUrl(),
+                POSTGRES_CONTAINER.getUsername(), POSTGRES_CONTAINER.getPassword());
+        try (var connection = dataSource.getConnection()) {
+            var database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), database).update("");
+        }
+
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("SELECT create_orders_partitions('2024-01-01', 2)");
+        jdbc.execute("INSERT INTO orders (id, order_number, status, orderer, total_price_in_cents, sub_total_price_in_cents, " +
+                     "currency, order_lines, discounts, created_at, updated_at) " +
+                     "SELECT i, 'SRCH-' || i, 'COMPLETED', 'Orderer ' || (i % " + ORDERERS + "), 500, 500, 'EUR', '[]', '[]', " +
+                     "TIMESTAMP '2024-01-01' + i * INTERVAL '2 minutes', DATE '2024-01-01' " +
+                     "FROM generate_series(1, " + ORDERS + ") AS i");
+        // 'alise' and 'alisa' share four of their six trigrams, 'alise' and 'alice' only three
+        jdbc.execute("INSERT INTO orders (id, order_number, status, orderer, total_price_in_cents, sub_total_price_in_cents, " +
+                     "currency, order_lines, discounts, created_at, updated_at) VALUES " +
+                     "(1000001, 'SIM-1', 'PENDING', 'Alise', 500, 500, 'EUR', '[]', '[]', '2024-02-01 10:00', '2024-02-01'), " +
+                     "(1000002, 'SIM-2', 'PENDING', 'Alise', 500, 500, 'EUR', '[]', '[]', '2024-02-03 10:00', '2024-02-03'), " +
+                     "(1000003, 'SIM-3', 'PENDING', 'Alisa', 500, 500, 'EUR', '[]', '[]', '2024-02-02 10:00', '2024-02-02'), " +
+                     "(1000004, 'SIM-4', 'PENDING', 'Alisa', 500, 500, 'EUR', '[]', '[]', '2024-02-04 10:00', '2024-02-04'), " +
+                     "(1000005, 'SIM-5', 'PENDING', 'Alice', 500, 500, 'EUR', '[]', '[]', '2024-02-05 10:00', '2024-02-05'), " +
+                     "(1000006, 'SIM-6', 'PENDING', 'ALICE', 500, 500, 'EUR', '[]', '[]', '2024-02-06 10:00', '2024-02-06')");
+        jdbc.execute("ANALYZE orders");
+        jdbc.execute("ANALYZE orderer_names");
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @Test
+    @DisplayName("The similarity search should page through the most similar orderer first, then the newest order")
+    void searchByOrdererSimilarity_ShouldOrderBySimilarity() {
+        // When
+        var firstPage = search(OrderRepository.SEARCH_BY_ORDERER_SIMILARITY, similarity(null, null, null, 3));
+        var secondPage = search(OrderRepository.SEARCH_BY_ORDERER_SIMILARITY,
+                similarity("Alisa", createdAt("SIM-4"), id("SIM-4"), 3));
+
+        // Then
+        assertEquals(List.of("SIM-2", "SIM-1", "SIM-4"), firstPage);
+        assertEquals(List.of("SIM-3", "SIM-6", "SIM-5"), secondPage);
+    }
+
+    @Test
+    @DisplayName("The similarity search should find the names by the trigram index and read only the newest orders of each")
+    void searchByOrdererSimilarity_ShouldUseTrigramIndex() {
+        // When
+        var plan = explain(OrderRepository.SEARCH_BY_ORDERER_SIMILARITY, similarity(null, null, null, 20));
+
+        // Then
+        assertTrue(plan.contains("idx_orderer_names_trgm"), plan);
+        assertReadsOrdersByIndex(plan);
+    }
+
+    @Test
+    @DisplayName("The prefix search should page through the orders of the matching orderers, newest first")
+    void searchByOrdererPattern_ShouldOrderByRecency() {
+        // When
+        var firstPage = search(OrderRepository.SEARCH_BY_ORDERER_PATTERN, pattern(null, null, 4));
+        var secondPage = search(OrderRepository.SEARCH_BY_ORDERER_PATTERN, pattern(createdAt("SIM-2"), id("SIM-2"), 4));
+
+        // Then
+        assertEquals(List.of("SIM-6", "SIM-5", "SIM-4", "SIM-2"), firstPage);
+        assertEquals(List.of("SIM-3", "SIM-1"), secondPage);
+    }
+
+    @Test
+    @DisplayName("The prefix search should find the names by a range scan and read only the newest orders of each")
+    void searchByOrdererPattern_ShouldUsePrefixIndex() {
+        // When
+        var plan = explain(OrderRepository.SEARCH_BY_ORDERER_PATTERN, pattern(null, null, 20));
+
+        // Then
+        assertTrue(plan.contains("idx_orderer_names_prefix"), plan);
+        assertReadsOrdersByIndex(plan);
+    }
+
+    private static void assertReadsOrdersByIndex(String plan) {
+        assertFalse(plan.contains("Seq Scan"), plan);
+        assertTrue(plan.contains("Nested Loop"), plan);
+        assertTrue(plan.lines().filter(line -> line.contains(" on orders_p")).allMatch(line -> line.contains("Index Scan")), plan);
+    }
+
+    private static MapSqlParameterSource similarity(String afterOrderer, Timestamp afterCreatedAt, Long afterId, int limit) {
+        return new MapSqlParameterSource()
+                .addValue("term", "Alise")
+                .addValue("afterOrderer", afterOrderer, Types.VARCHAR)
+                .addValue("afterCreatedAt", afterCreatedAt, Types.TIMESTAMP)
+                .addValue("afterId", afterId, Types.BIGINT)
+                .addValue("limit", limit);
+    }
+
+    private static MapSqlParameterSource pattern(Timestamp afterCreatedAt, Long afterId, int limit) {
+        return new MapSqlParameterSource()
+                .addValue("pattern", "ali%")
+                .addValue("afterCreatedAt", afterCreatedAt, Types.TIMESTAMP)
+                .addValue("afterId", afterId, Types.BIGINT)
+                .addValue("limit", limit);
+    }
+
+    private static List<String> search(String sql, MapSqlParameterSource parameters) {
+        return jdbcTemplate.query(sql, parameters, (resultSet, row) -> resultSet.getString("orderNumber"));
+    }
+
+    private static String explain(String sql, MapSqlParameterSource parameters) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN (COSTS OFF) " + sql, parameters, String.class));
+    }
+
+    private static Timestamp createdAt(String orderNumber) {
+        return jdbcTemplate.getJdbcTemplate()
+                .queryForObject("SELECT created_at FROM orders WHERE order_number = ?", Timestamp.class, orderNumber);
+    }
+
+    private static Long id(String orderNumber) {
+        return jdbcTemplate.getJdbcTemplate()
+                .queryForObject("SELECT id FROM orders WHERE order_number = ?", Long.class, orderNumber);
+    }
+}
@@ -1,12 +1,16 @@
 package com.coffee.coffeestoreapi.service;
 
-import com.coffee.coffeestoreapi.config.settings.DiscountSettings;
 import com.coffee.coffeestoreapi.entity.Order;
 import com.coffee.coffeestoreapi.model.AdminOrderChangeRequest;
 import com.coffee.coffeestoreapi.model.Discount;
 import com.coffee.coffeestoreapi.model.OrderLine;
 import com.coffee.coffeestoreapi.model.OrderRequest;
 import com.coffee.coffeestoreapi.model.OrderStatus;
+import com.coffee.coffeestoreapi.service.currency.CurrencyConverter;
+import com.coffee.coffeestoreapi.service.discount.ActivePromotion;
+import com.coffee.coffeestoreapi.service.discount.DiscountRules;
+import com.coffee.coffeestoreapi.service.discount.DiscountRulesProvider;
+import com.coffee.coffeestoreapi.service.discount.PromotionSchedule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,19 +19,34 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import static com.coffee.coffeestoreapi.model.Currency.EUR;
+import static com.coffee.coffeestoreapi.model.Currency.HUF;
+import static com.coffee.coffeestoreapi.model.Currency.USD;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 
 class OrderProcessorTest extends BaseTest {
 
     @Mock
-    private DiscountSettings discountSettings;
+    private DiscountRulesProvider discountRulesProvider;
+
+    @Mock
+    private CurrencyConverter currencyConverter;
+
+    @Mock
+    private PromotionSchedule promotionSchedule;
 
     @InjectMocks
     private OrderProcessor orderProcessor;
@@ -35,6 +54,7 @@ class OrderProcessorTest extends BaseTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
+        when(currencyConverter.convert(anyInt(), eq(EUR), eq(EUR))).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @ParameterizedTest
@@ -63,13 +83,8 @@ class OrderProcessorTest extends BaseTest {
     @MethodSource("discountCalculationTestCases")
     @DisplayName("Should calculate applicable discounts correctly")
     void calculateDiscounts_ShouldCalculateCorrectly(List<OrderLine> orderLines, int subtotalInCents, List<Discount> expectedDiscounts) {
-        // Given
-        when(discountSettings.isEnabled()).thenReturn(true);
-        when(discountSettings.isTwentyFivePercent()).thenReturn(true);
-        when(discountSettings.isFreeItemAfterThree()).thenReturn(true);
-
         // When
-        List<Discount> actualDiscounts = orderProcessor.calculateDiscounts(orderLines, subtotalInCents);
+        List<Discount> actualDiscounts = orderProcessor.calculateDiscounts(orderLines, subtotalInCents, EUR, new DiscountRules(1, true, true, true), List.of());
 
         // Then
         assertEquals(expectedDiscounts.size(), actualDiscounts.size(), "Number of discounts is incorrect");
@@ -88,6 +103,65 @@ class OrderProcessorTest extends BaseTest {
         }
     }
 
+    @Test
+    @DisplayName("Should apply an active promotion when it is the highest discount")
+    void processOrder_ShouldApplyActivePromotion() {
+        // Given
+        when(discountRulesProvider.current()).thenReturn(new DiscountRules(1, true, true, true));
+        when(promotionSchedule.active()).thenReturn(List.of(new ActivePromotion(7, "Happy hour", 40)));
+        OrderRequest orderRequest = createOrderRequest("Customer", List.of(
+            new OrderLine(700, LATTE, List.of()),
+            new OrderLine(600, CAPPUCCINO, List.of())
+        ));
+
+        // When
+        Order order = orderProcessor.processOrder(orderRequest);
+
+        // Then
+        assertEquals(1, order.getDiscounts().size(), "Only the winning discount should be stored");
+        assertEquals("Happy hour", order.getDiscounts().get(0).getName());
+        assertEquals(780, order.getTotalPriceInCents(), "Only the 40% promotion should be applied");
+    }
+
+    @Test
+    @DisplayName("Should not store an active promotion when a higher discount wins")
+    void processOrder_ShouldNotStoreLosingPromotion() {
+        // Given
+        when(discountRulesProvider.current()).thenReturn(new DiscountRules(1, true, true, true));
+        when(promotionSchedule.active()).thenReturn(List.of(new ActivePromotion(7, "Happy hour", 10)));
+        OrderRequest orderRequest = createOrderRequest("Customer", List.of(
+            new OrderLine(700, LATTE, List.of()),
+            new OrderLine(600, CAPPUCCINO, List.of())
+        ));
+
+        // When
+        Order order = orderProcessor.processOrder(orderRequest);
+
+        // Then
+        assertEquals(1, order.getDiscounts().size(), "Only the winning discount should be stored");
+        assertEquals(25, order.getDiscounts().get(0).getPercentage());
+        assertEquals(975, order.getTotalPriceInCents());
+    }
+
+    @Test
+    @DisplayName("Should price a stored order with the promotions of its creation time")
+    void processChangedOrder_ShouldUsePromotionsOfCreationTime() {
+        // Given
+        when(discountRulesProvider.current()).thenReturn(new DiscountRules(1, true, false, false));
+        var createdAt = Instant.parse("2026-10-19T13:30:00Z");
+        when(promotionSchedule.activeAt(createdAt)).thenReturn(List.of(new ActivePromotion(7, "Happy hour", 10)));
+        Order order = new Order();
+        order.setCreatedAt(Timestamp.from(createdAt));
+        var changeRequest = new AdminOrderChangeRequest("Customer", List.of(new OrderLine(500, LATTE, List.of())));
+
+        // When
+        Order changedOrder = orderProcessor.processChangedOrder(changeRequest, order);
+
+        // Then
+        assertEquals(450, changedOrder.getTotalPriceInCents());
+        verify(promotionSchedule, never()).active();
+    }
+
     @Test
     @DisplayName("Should generate order number in correct format")
     void generateOrderNumber_ShouldGenerateInCorrectFormat() {
@@ -107,9 +181,7 @@ class OrderProcessorTest extends BaseTest {
                                             boolean twentyFivePercentEnabled, boolean freeItemAfterThreeEnabled,
                                             int expectedSubtotal, int expectedTotal, int expectedDiscountCount) {
         // Given
-        when(discountSettings.isEnabled()).thenReturn(discountsEnabled);
-        when(discountSettings.isTwentyFivePercent()).thenReturn(twentyFivePercentEnabled);
-        when(discountSettings.isFreeItemAfterThree()).thenReturn(freeItemAfterThreeEnabled);
+        when(discountRulesProvider.current()).thenReturn(new DiscountRules(1, discountsEnabled, twentyFivePercentEnabled, freeItemAfterThreeEnabled));
 
         // When
         Order order = orderProcessor.processOrder(orderRequest);
@@ -124,6 +196,7 @@ class OrderProcessorTest extends BaseTest {
         assertEquals(expectedTotal, order.getTotalPriceInCents(), 0.001, "Total price is incorrect");
         assertEquals(EUR, order.getCurrency(), "Currency should be EUR");
         assertEquals(expectedDiscountCount, order.getDiscounts().size(), "Number of discounts is incorrect");
+        assertEquals(1L, order.getDiscountConfigurationVersion(), "Discount configuration version should be recorded");
     }
 
     @Test
@@ -146,9 +219,7 @@ class OrderProcessorTest extends BaseTest {
             newOrderer, newOrderLines
         );
         
-        when(discountSettings.isEnabled()).thenReturn(true);
-        when(discountSettings.isTwentyFivePercent()).thenReturn(true);
-        when(discountSettings.isFreeItemAfterThree()).thenReturn(false);
+        when(discountRulesProvider.current()).thenReturn(new DiscountRules(1, true, true, false));
 
         // When
         Order changedOrder = orderProcessor.processChangedOrder(changeRequest, originalOrder);
@@ -162,5 +233,65 @@ class OrderProcessorTest extends BaseTest {
         assertEquals(EUR, changedOrder.getCurrency(), "Currency should be EUR");
     }
 
+    @Test
+    @DisplayName("Should convert the 12 euro threshold of the 25% discount to the order currency")
+    void processOrder_ShouldConvertDiscountThreshold_WhenOrderIsNotInEuro() {
+        // Given
+        when(discountRulesProvider.current()).thenReturn(new DiscountRules(1, true, true, false));
+        when(currencyConverter.convert(1200, EUR, HUF)).thenReturn(474000);
+
+        OrderRequest belowThreshold = new OrderRequest(300000, "Customer", HUF, List.of(new OrderLine(300000, LATTE, List.of())));
+        OrderRequest aboveThreshold = new OrderRequest(500000, "Customer", HUF, List.of(new OrderLine(500000, LATTE, List.of())));
 
-}
\ No newline at end of file
+        // When
+        Order cheapOrder = orderProcessor.processOrder(belowThreshold);
+        Order expensiveOrder = orderProcessor.processOrder(aboveThreshold);
+
+        // Then
+        assertEquals(HUF, cheapOrder.getCurrency());
+        assertTrue(cheapOrder.getDiscounts().isEmpty(), "3000 HUF is below 12 euros");
+        assertEquals(HUF, expensiveOrder.getCurrency());
+        assertEquals(1, expensiveOrder.getDiscounts().size());
+        assertEquals(375000, expensiveOrder.getTotalPriceInCents());
+    }
+
+    @Test
+    @DisplayName("Should keep the currency of a changed order")
+    void processChangedOrder_ShouldKeepCurrency() {
+        // Given
+        Order originalOrder = new Order();
+        originalOrder.setCurrency(USD);
+        when(discountRulesProvider.current()).thenReturn(new DiscountRules(1, false, true, true));
+
+        // When
+        Order changedOrder = orderProcessor.processChangedOrder(
+                new AdminOrderChangeRequest("Customer", List.of(new OrderLine(350, LATTE, List.of()))), originalOrder);
+
+        // Then
+        assertEquals(USD, changedOrder.getCurrency());
+    }
+
+    @Test
+    @DisplayName("Should move line prices by the catalog price changes and recalculate the totals of a re-priced order")
+    void processRepricedOrder_ShouldApplyCatalogPrices() {
+        // Given
+        Order order = new Order();
+        order.setCurrency(EUR);
+        order.setOrderLines(List.of(
+                new OrderLine(400, LATTE, List.of(MILK)),
+                new OrderLine(250, ESPRESSO, List.of())));
+        when(discountRulesProvider.current()).thenReturn(new DiscountRules(1, false, true, true));
+
+        // When
+        Order repricedOrder = orderProcessor.processRepricedOrder(order, Map.of("Latte", 400, "Milk", 70));
+
+        // Then
+        assertEquals(470, repricedOrder.getOrderLines().getFirst().priceInCents());
+        assertEquals(400, repricedOrder.getOrderLines().getFirst().drink().getPriceInCents());
+        assertEquals(70, repricedOrder.getOrderLines().getFirst().toppings().getFirst().getPriceInCents());
+        assertEquals(250, repricedOrder.getOrderLines().get(1).priceInCents());
+        assertEquals(720, repricedOrder.getSubTotalPriceInCents());
+        assertEquals(720, repricedOrder.getTotalPriceInCents());
+        assertEquals(350, LATTE.getPriceInCents());
+    }
+}
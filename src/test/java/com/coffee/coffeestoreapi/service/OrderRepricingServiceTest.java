@@ -0,0 +1,150 @@
+package com.coffee.coffeestoreapi.service;
+
+import com.coffee.coffeestoreapi.config.settings.RepricingSettings;
+import com.coffee.coffeestoreapi.entity.Order;
+import com.coffee.coffeestoreapi.entity.Product;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import com.coffee.coffeestoreapi.model.OrderEventType;
+import com.coffee.coffeestoreapi.model.OrderLine;
+import com.coffee.coffeestoreapi.model.RepricingSummaryDto;
+import com.coffee.coffeestoreapi.repository.OrderRepository;
+import com.coffee.coffeestoreapi.repository.ProductRepository;
+import com.coffee.coffeestoreapi.service.currency.CurrencyConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.coffee.coffeestoreapi.model.Currency.EUR;
+import static com.coffee.coffeestoreapi.model.OrderStatus.PENDING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class OrderRepricingServiceTest extends BaseTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderProcessor orderProcessor;
+
+    @Mock
+    private CurrencyConverter currencyConverter;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private OrderRepricingService orderRepricingService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(currencyConverter.convert(anyInt(), any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RepricingSettings repricingSettings = new RepricingSettings();
+        repricingSettings.setParallelism(2);
+        repricingSettings.setChunkSize(2);
+        repricingSettings.setBatchSize(10);
+        orderRepricingService = new OrderRepricingService(orderRepository, productRepository, orderProcessor, currencyConverter,
+                jdbcTemplate, transactionTemplate, eventPublisher, repricingSettings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepricingService.shutdown();
+    }
+
+    @Test
+    @DisplayName("reprice should scan the pending orders in chunks and write back only the changed ones, guarded by version")
+    @SuppressWarnings("unchecked")
+    void reprice_ShouldWriteBackChangedOrders_AndCountConflicts() {
+        // Given
+        Product latte = new Product();
+        latte.setProductName("Latte");
+        latte.setPriceInCents(400);
+        when(productRepository.findAll()).thenReturn(List.of(latte));
+
+        Order unchanged = createPendingOrder(1L, 250);
+        Order repriced = createPendingOrder(2L, 350);
+        Order conflicted = createPendingOrder(3L, 350);
+        when(orderRepository.findPendingAfter(0L, Limit.of(2))).thenReturn(List.of(unchanged, repriced));
+        when(orderRepository.findPendingAfter(2L, Limit.of(2))).thenReturn(List.of(conflicted));
+        when(orderProcessor.processRepricedOrder(any(), eq(Map.of("Latte", 400)))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            if (order.getTotalPriceInCents() == 350) {
+                order.setSubTotalPriceInCents(400);
+                order.setTotalPriceInCents(400);
+            }
+            return order;
+        });
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1}})
+                .thenReturn(new int[][]{{0}});
+
+        // When
+        RepricingSummaryDto summary = orderRepricingService.reprice();
+
+        // Then
+        assertEquals(3, summary.getScannedOrders());
+        assertEquals(1, summary.getRepricedOrders());
+        assertEquals(1, summary.getConflictedOrders());
+        assertEquals(Map.of(EUR, 50L), summary.getTotalDeltaInCents());
+
+        ArgumentCaptor<OrderEvent> event = ArgumentCaptor.forClass(OrderEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(OrderEventType.UPDATED, event.getValue().type());
+        assertEquals("RCS-2", event.getValue().order().getOrderNumber());
+        assertEquals(400, event.getValue().order().getTotalPriceInCents());
+    }
+
+    private Order createPendingOrder(Long id, int totalPriceInCents) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderNumber("RCS-" + id);
+        order.setStatus(PENDING);
+        order.setCurrency(EUR);
+        order.setVersion(0L);
+        order.setOrderLines(List.of(new OrderLine(totalPriceInCents, LATTE, List.of())));
+        order.setSubTotalPriceInCents(totalPriceInCents);
+        order.setTotalPriceInCents(totalPriceInCents);
+        order.setCreatedAt(Timestamp.valueOf(LocalDateTime.now()));
+        return order;
+    }
+}
@@ -1,43 +1,72 @@
 package com.coffee.coffeestoreapi.service;
 
-import com.coffee.coffeestoreapi.config.settings.DiscountSettings;
 import com.coffee.coffeestoreapi.entity.Order;
+import com.coffee.coffeestoreapi.exception.InvalidOrderSearchException;
+import com.coffee.coffeestoreapi.exception.InvalidPreconditionException;
+import com.coffee.coffeestoreapi.exception.OrderConflictException;
 import com.coffee.coffeestoreapi.exception.OrderNotFoundException;
 import com.coffee.coffeestoreapi.mapper.OrderMapper;
 import com.coffee.coffeestoreapi.model.AdminOrderChangeRequest;
+import com.coffee.coffeestoreapi.model.BulkOrderRequest;
+import com.coffee.coffeestoreapi.model.BulkOrderResultDto;
 import com.coffee.coffeestoreapi.model.Discount;
 import com.coffee.coffeestoreapi.model.OrderDto;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import com.coffee.coffeestoreapi.model.OrderEventType;
 import com.coffee.coffeestoreapi.model.OrderLine;
 import com.coffee.coffeestoreapi.model.OrderRequest;
+import com.coffee.coffeestoreapi.model.OrderSearchResultDto;
 import com.coffee.coffeestoreapi.model.PopularItemsDto;
 import com.coffee.coffeestoreapi.model.SimpleOrderDto;
+import com.coffee.coffeestoreapi.repository.OrderHistoryView;
 import com.coffee.coffeestoreapi.repository.OrderRepository;
+import com.coffee.coffeestoreapi.repository.OrderStatusView;
+import com.coffee.coffeestoreapi.repository.OrderSummaryView;
+import com.coffee.coffeestoreapi.service.archive.OrderArchive;
+import com.coffee.coffeestoreapi.service.history.OrderHistoryCache;
+import com.coffee.coffeestoreapi.service.stream.OrderEventBroadcaster;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.net.URI;
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static com.coffee.coffeestoreapi.model.Currency.EUR;
 import static com.coffee.coffeestoreapi.model.OrderStatus.CANCELLED;
+import static com.coffee.coffeestoreapi.model.OrderStatus.COMPLETED;
 import static com.coffee.coffeestoreapi.model.OrderStatus.PENDING;
+import static com.coffee.coffeestoreapi.model.OrderStatus.PROCESSING;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
@@ -54,7 +83,19 @@ class OrderServiceTest extends BaseTest {
     private OrderProcessor orderProcessor;
 
     @Mock
-    private DiscountSettings discountSettings;
+    private OrderArchive orderArchive;
+
+    @Mock
+    private OrderEventBroadcaster orderEventBroadcaster;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OrderHistoryCache orderHistoryCache;
 
     @InjectMocks
     private OrderService orderService;
@@ -62,6 +103,8 @@ class OrderServiceTest extends BaseTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
@@ -101,6 +144,25 @@ class OrderServiceTest extends BaseTest {
         verify(orderMapper, never()).orderToOrderDto(any());
     }
 
+    @Test
+    @DisplayName("getOrder should read through to the archive when the order is not in the table")
+    void getOrder_ShouldReturnArchivedOrder_WhenOrderIsArchived() {
+        // Given
+        String orderNumber = "RCS-20230101000000000";
+        OrderDto orderDto = createTestOrderDto(orderNumber);
+        when(orderRepository.findByOrderNumber(orderNumber)).thenReturn(Optional.empty());
+        when(orderArchive.find(orderNumber)).thenReturn(Optional.of(orderDto));
+
+        // When
+        ResponseEntity<OrderDto> response = orderService.getOrder(orderNumber);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(orderDto, response.getBody());
+        verify(orderArchive).find(orderNumber);
+        verify(orderMapper, never()).orderToOrderDto(any());
+    }
+
     @Test
     @DisplayName("getAllOrders should return all orders with PENDING status")
     void getAllOrders_ShouldReturnAllPendingOrders() {
@@ -140,6 +202,68 @@ class OrderServiceTest extends BaseTest {
         verify(orderRepository).findAllDescendingCreationOrder();
     }
 
+    @Test
+    @DisplayName("getAllOrders should query the date-bounded range when bounds are given")
+    void getAllOrders_ShouldQueryCreationRange_WhenBoundsAreGiven() {
+        // Given
+        LocalDate from = LocalDate.of(2023, 10, 1);
+        LocalDate to = LocalDate.of(2023, 10, 31);
+        Timestamp lower = Timestamp.valueOf(from.atStartOfDay());
+        Timestamp upper = Timestamp.valueOf(LocalDate.of(2023, 11, 1).atStartOfDay());
+        when(orderRepository.findAllCreatedBetween(lower, upper))
+                .thenReturn(List.of(createTestOrder("RCS-20231001000000001")));
+
+        // When
+        ResponseEntity<List<SimpleOrderDto>> response = orderService.getAllOrders(from, to);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(1, response.getBody().size());
+        verify(orderRepository).findAllCreatedBetween(lower, upper);
+        verify(orderRepository, never()).findAllDescendingCreationOrder();
+    }
+
+    @Test
+    @DisplayName("getAllOrders should fall back to the full list when no bounds are given")
+    void getAllOrders_ShouldReturnFullList_WhenNoBoundsAreGiven() {
+        // Given
+        when(orderRepository.findAllDescendingCreationOrder()).thenReturn(Collections.emptyList());
+
+        // When
+        ResponseEntity<List<SimpleOrderDto>> response = orderService.getAllOrders(null, null);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(orderRepository).findAllDescendingCreationOrder();
+        verify(orderRepository, never()).findAllCreatedBetween(any(), any());
+    }
+
+    @Test
+    @DisplayName("getAllOrders should add the archived orders of the range once, oldest first")
+    void getAllOrders_ShouldIncludeArchivedOrders() {
+        // Given
+        LocalDate from = LocalDate.of(2023, 10, 1);
+        LocalDate to = LocalDate.of(2023, 10, 31);
+        Order tableOrder = createTestOrder("RCS-20231020000000000");
+        tableOrder.setCreatedAt(Timestamp.valueOf(LocalDateTime.of(2023, 10, 20, 0, 0)));
+        OrderDto archivedOrder = createTestOrderDto("RCS-20231002000000000");
+        archivedOrder.setCreatedAt(LocalDateTime.of(2023, 10, 2, 0, 0));
+        OrderDto archivedAndStillInTable = createTestOrderDto("RCS-20231020000000000");
+        archivedAndStillInTable.setCreatedAt(LocalDateTime.of(2023, 10, 20, 0, 0));
+        when(orderRepository.findAllCreatedBetween(any(), any())).thenReturn(List.of(tableOrder));
+        when(orderArchive.findCreatedBetween(LocalDateTime.of(2023, 10, 1, 0, 0), LocalDateTime.of(2023, 11, 1, 0, 0)))
+                .thenReturn(List.of(archivedOrder, archivedAndStillInTable));
+
+        // When
+        ResponseEntity<List<SimpleOrderDto>> response = orderService.getAllOrders(from, to);
+
+        // Then
+        assertNotNull(response.getBody());
+        assertEquals(List.of("RCS-20231002000000000", "RCS-20231020000000000"),
+                response.getBody().stream().map(SimpleOrderDto::getOrderNumber).toList());
+    }
+
     @Test
     @DisplayName("createOrder should process and save order")
     void createOrder_ShouldProcessAndSaveOrder() {
@@ -185,7 +309,7 @@ class OrderServiceTest extends BaseTest {
         when(orderMapper.orderToOrderDto(updatedOrder)).thenReturn(updatedOrderDto);
 
         // When
-        ResponseEntity<OrderDto> response = orderService.updateOrder(orderNumber, changeRequest);
+        ResponseEntity<OrderDto> response = orderService.updateOrder(orderNumber, null, changeRequest);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -194,6 +318,10 @@ class OrderServiceTest extends BaseTest {
         verify(orderProcessor).processChangedOrder(changeRequest, existingOrder);
         verify(orderRepository).save(updatedOrder);
         verify(orderMapper).orderToOrderDto(updatedOrder);
+        ArgumentCaptor<OrderEvent> event = ArgumentCaptor.forClass(OrderEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals("Updated Customer", event.getValue().order().getOrderer());
+        assertEquals(existingOrder.getOrderer(), event.getValue().previousOrderer());
     }
 
     @Test
@@ -209,35 +337,54 @@ class OrderServiceTest extends BaseTest {
         when(orderRepository.findByOrderNumberAndStatus(orderNumber, PENDING)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThrows(OrderNotFoundException.class, () -> orderService.updateOrder(orderNumber, changeRequest));
+        assertThrows(OrderNotFoundException.class, () -> orderService.updateOrder(orderNumber, null, changeRequest));
         verify(orderRepository).findByOrderNumberAndStatus(orderNumber, PENDING);
         verify(orderProcessor, never()).processChangedOrder(any(), any());
         verify(orderRepository, never()).save(any());
         verify(orderMapper, never()).orderToOrderDto(any());
     }
 
+    @Test
+    @DisplayName("updateOrder should throw conflict when If-Match does not match the order version")
+    void updateOrder_ShouldThrowConflict_WhenVersionDoesNotMatch() {
+        // Given
+        String orderNumber = "RCS-20230101000000000";
+        Order existingOrder = createTestOrder(orderNumber);
+        existingOrder.setVersion(3L);
+        AdminOrderChangeRequest changeRequest = new AdminOrderChangeRequest(
+            "Updated Customer",
+            List.of(new OrderLine(350, LATTE, Collections.emptyList()))
+        );
+
+        when(orderRepository.findByOrderNumberAndStatus(orderNumber, PENDING)).thenReturn(Optional.of(existingOrder));
+
+        // When & Then
+        assertThrows(OrderConflictException.class, () -> orderService.updateOrder(orderNumber, "\"2\"", changeRequest));
+        verify(orderProcessor, never()).processChangedOrder(any(), any());
+        verify(orderRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("deleteOrder should cancel existing order")
     void deleteOrder_ShouldCancelExistingOrder() {
         // Given
         String orderNumber = "RCS-20230101000000000";
-        Order existingOrder = createTestOrder(orderNumber);
+        Order cancelledOrder = createTestOrder(orderNumber);
+        cancelledOrder.setStatus(CANCELLED);
 
-        when(orderRepository.findByOrderNumber(orderNumber)).thenReturn(Optional.of(existingOrder));
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
-            Order savedOrder = invocation.getArgument(0);
-            assertEquals(CANCELLED, savedOrder.getStatus());
-            assertNotNull(savedOrder.getCanceledAt());
-            return savedOrder;
-        });
+        when(orderRepository.cancelPendingOrder(orderNumber, 4L)).thenReturn(Optional.of(cancelledOrder));
 
         // When
-        ResponseEntity<Void> response = orderService.deleteOrder(orderNumber);
+        ResponseEntity<Void> response = orderService.deleteOrder(orderNumber, "W/\"4\"");
 
         // Then
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-        verify(orderRepository).findByOrderNumber(orderNumber);
-        verify(orderRepository).save(any(Order.class));
+        verify(orderRepository).cancelPendingOrder(orderNumber, 4L);
+        verify(orderRepository, never()).save(any());
+        ArgumentCaptor<OrderEvent> event = ArgumentCaptor.forClass(OrderEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(OrderEventType.CANCELLED, event.getValue().type());
+        assertEquals(orderNumber, event.getValue().order().getOrderNumber());
     }
 
     @Test
@@ -245,10 +392,11 @@ class OrderServiceTest extends BaseTest {
     void deleteOrder_ShouldReturnNotFound_WhenOrderDoesNotExist() {
         // Given
         String orderNumber = "RCS-20230101000000000";
+        when(orderRepository.cancelPendingOrder(orderNumber, null)).thenReturn(Optional.empty());
         when(orderRepository.findByOrderNumber(orderNumber)).thenReturn(Optional.empty());
 
         // When
-        ResponseEntity<Void> response = orderService.deleteOrder(orderNumber);
+        ResponseEntity<Void> response = orderService.deleteOrder(orderNumber, null);
 
         // Then
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -256,6 +404,108 @@ class OrderServiceTest extends BaseTest {
         verify(orderRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("deleteOrder should throw conflict when the order is no longer pending")
+    void deleteOrder_ShouldThrowConflict_WhenOrderIsNotPending() {
+        // Given
+        String orderNumber = "RCS-20230101000000000";
+        Order processingOrder = createTestOrder(orderNumber);
+        processingOrder.setStatus(PROCESSING);
+        when(orderRepository.cancelPendingOrder(orderNumber, null)).thenReturn(Optional.empty());
+        when(orderRepository.findByOrderNumber(orderNumber)).thenReturn(Optional.of(processingOrder));
+
+        // When & Then
+        assertThrows(OrderConflictException.class, () -> orderService.deleteOrder(orderNumber, null));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("deleteOrder should throw conflict without a version when the order changed and no If-Match was sent")
+    void deleteOrder_ShouldThrowConflictWithoutVersion_WhenNoIfMatch() {
+        // Given
+        String orderNumber = "RCS-20230101000000000";
+        when(orderRepository.cancelPendingOrder(orderNumber, null)).thenReturn(Optional.empty());
+        when(orderRepository.findByOrderNumber(orderNumber)).thenReturn(Optional.of(createTestOrder(orderNumber)));
+
+        // When
+        OrderConflictException exception = assertThrows(OrderConflictException.class, () -> orderService.deleteOrder(orderNumber, null));
+
+        // Then
+        assertEquals("Order %s changed while it was being cancelled".formatted(orderNumber), exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("deleteOrder should reject a malformed If-Match before touching the order")
+    void deleteOrder_ShouldThrowInvalidPrecondition_WhenIfMatchIsMalformed() {
+        // When & Then
+        assertThrows(InvalidPreconditionException.class, () -> orderService.deleteOrder("RCS-20230101000000000", "\"abc\""));
+        verify(orderRepository, never()).cancelPendingOrder(any(), any());
+    }
+
+    @Test
+    @DisplayName("updateOrder should reject a malformed If-Match before touching the order")
+    void updateOrder_ShouldThrowInvalidPrecondition_WhenIfMatchIsMalformed() {
+        // Given
+        AdminOrderChangeRequest changeRequest = new AdminOrderChangeRequest(
+            "Updated Customer",
+            List.of(new OrderLine(350, LATTE, Collections.emptyList()))
+        );
+
+        // When & Then
+        assertThrows(InvalidPreconditionException.class,
+                () -> orderService.updateOrder("RCS-20230101000000000", "W/\"v1\"", changeRequest));
+        verify(orderRepository, never()).findByOrderNumberAndStatus(any(), any());
+    }
+
+    @Test
+    @DisplayName("cancelOrders should report updated, conflicting and missing orders")
+    void cancelOrders_ShouldReportOutcomePerOrder() {
+        // Given
+        Order cancelledOrder = createTestOrder("ORD-1");
+        cancelledOrder.setStatus(CANCELLED);
+        OrderStatusView completedOrder = mock(OrderStatusView.class);
+        when(completedOrder.getOrderNumber()).thenReturn("ORD-2");
+        when(completedOrder.getStatus()).thenReturn(COMPLETED);
+
+        when(orderRepository.cancelPendingOrders(List.of("ORD-1", "ORD-2", "ORD-3"))).thenReturn(List.of(cancelledOrder));
+        when(orderRepository.findStatusesByOrderNumberIn(List.of("ORD-2", "ORD-3"))).thenReturn(List.of(completedOrder));
+
+        // When
+        ResponseEntity<BulkOrderResultDto> response = orderService.cancelOrders(
+                new BulkOrderRequest(List.of("ORD-1", "ORD-2", "ORD-3", "ORD-1"), null, null));
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getUpdatedCount());
+        assertEquals(List.of(
+                new BulkOrderResultDto.Result("ORD-1", BulkOrderResultDto.Outcome.UPDATED, CANCELLED),
+                new BulkOrderResultDto.Result("ORD-2", BulkOrderResultDto.Outcome.CONFLICT, COMPLETED),
+                new BulkOrderResultDto.Result("ORD-3", BulkOrderResultDto.Outcome.NOT_FOUND, null)
+        ), response.getBody().getResults());
+        verify(eventPublisher).publishEvent(any(OrderEvent.class));
+    }
+
+    @Test
+    @DisplayName("completeOrders should update matching orders until a chunk comes back short")
+    void completeOrders_ShouldUpdateMatchingOrdersInChunks() {
+        // Given
+        LocalDateTime createdBefore = LocalDateTime.of(2023, 10, 2, 0, 0);
+        List<Order> fullChunk = IntStream.range(0, 500)
+                .mapToObj(i -> createTestOrder("ORD-" + i))
+                .toList();
+        when(orderRepository.completePendingOrdersMatching(Timestamp.valueOf(createdBefore), "Alice", 500))
+                .thenReturn(fullChunk)
+                .thenReturn(List.of(createTestOrder("ORD-500")));
+
+        // When
+        ResponseEntity<BulkOrderResultDto> response = orderService.completeOrders(new BulkOrderRequest(null, createdBefore, "Alice"));
+
+        // Then
+        assertEquals(501, response.getBody().getUpdatedCount());
+        verify(orderRepository, times(2)).completePendingOrdersMatching(Timestamp.valueOf(createdBefore), "Alice", 500);
+        verify(orderRepository, never()).findStatusesByOrderNumberIn(any());
+    }
+
     @Test
     @DisplayName("getMostPopularItems should return popular items")
     void getMostPopularItems_ShouldReturnPopularItems() {
@@ -479,7 +729,7 @@ class OrderServiceTest extends BaseTest {
         when(orderMapper.orderToOrderDto(updatedOrder)).thenReturn(updatedOrderDto);
 
         // When
-        ResponseEntity<OrderDto> response = orderService.updateOrder(orderNumber, changeRequest);
+        ResponseEntity<OrderDto> response = orderService.updateOrder(orderNumber, null, changeRequest);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -500,6 +750,131 @@ class OrderServiceTest extends BaseTest {
     }
 
     // Helper methods
+    @Test
+    @DisplayName("searchOrders should escape the prefix and return a cursor that continues after the last order of the page")
+    void searchOrders_ShouldPageByKeyset() {
+        // Given
+        LocalDateTime newest = LocalDateTime.of(2025, 5, 19, 12, 0, 0, 123_456_000);
+        List<OrderSummaryView> firstPage = List.of(
+                createOrderSummaryView(3L, "Ali_Baba", newest),
+                createOrderSummaryView(2L, "Alice", newest.minusMinutes(1)),
+                createOrderSummaryView(1L, "Ali", newest.minusMinutes(2)));
+        when(orderRepository.searchByOrdererPattern(eq("Ali!_%"), isNull(), isNull(), eq(3))).thenReturn(firstPage);
+
+        // When
+        ResponseEntity<OrderSearchResultDto> response = orderService.searchOrders(" Ali_ ", false, 2, null);
+
+        // Then
+        assertEquals(2, response.getBody().orders().size());
+        assertEquals("Ali_Baba", response.getBody().orders().getFirst().getOrderer());
+        assertNotNull(response.getBody().nextCursor());
+
+        // Given
+        when(orderRepository.searchByOrdererPattern(eq("Ali!_%"), eq(Timestamp.valueOf(newest.minusMinutes(1))), eq(2L), eq(3)))
+                .thenReturn(List.of(createOrderSummaryView(1L, "Ali", newest.minusMinutes(2))));
+
+        // When
+        ResponseEntity<OrderSearchResultDto> nextResponse = orderService.searchOrders("Ali_", false, 2, response.getBody().nextCursor());
+
+        // Then
+        assertEquals(1, nextResponse.getBody().orders().size());
+        assertNull(nextResponse.getBody().nextCursor());
+    }
+
+    @Test
+    @DisplayName("searchOrders should use the similarity search when fuzzy, continue after the orderer of the cursor and reject malformed cursors")
+    void searchOrders_ShouldSearchFuzzy_AndRejectInvalidCursor() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2025, 5, 19, 12, 0);
+        when(orderRepository.searchByOrdererSimilarity(eq("Alise"), isNull(), isNull(), isNull(), eq(2)))
+                .thenReturn(List.of(
+                        createOrderSummaryView(2L, "Alice, Jr.", createdAt),
+                        createOrderSummaryView(1L, "Alicia", createdAt.minusDays(1))));
+
+        // When
+        ResponseEntity<OrderSearchResultDto> response = orderService.searchOrders("Alise", true, 1, null);
+
+        // Then
+        assertEquals("Alice, Jr.", response.getBody().orders().getFirst().getOrderer());
+        verify(orderRepository, never()).searchByOrdererPattern(any(), any(), any(), anyInt());
+
+        // When
+        orderService.searchOrders("Alise", true, 1, response.getBody().nextCursor());
+
+        // Then
+        verify(orderRepository).searchByOrdererSimilarity("Alise", "Alice, Jr.", Timestamp.valueOf(createdAt), 2L, 2);
+        assertThrows(InvalidOrderSearchException.class, () -> orderService.searchOrders("Alise", true, 20, "not-a-cursor"));
+        assertThrows(InvalidOrderSearchException.class, () -> orderService.searchOrders(" ", false, 20, null));
+        assertThrows(InvalidOrderSearchException.class, () -> orderService.searchOrders(" Al ", true, 20, null));
+    }
+
+    @Test
+    @DisplayName("getOrderHistory should serve short histories from the cache and load and cache them on a miss")
+    void getOrderHistory_ShouldUseCache_AndLoadOnMiss() {
+        // Given
+        SimpleOrderDto cachedOrder = SimpleOrderDto.builder().orderNumber("RCS-2").orderer("Alice").build();
+        when(orderHistoryCache.getOrdersPerCustomer()).thenReturn(10);
+        when(orderHistoryCache.get("Alice")).thenReturn(Optional.of(List.of(cachedOrder)));
+        when(orderHistoryCache.get("Bob")).thenReturn(Optional.empty());
+        when(orderHistoryCache.changeCount("Bob")).thenReturn(7L);
+        when(orderRepository.findHistoryByOrderer("Bob", Limit.of(10))).thenReturn(List.of(
+                createOrderHistoryView("RCS-4", "Bob", LocalDateTime.now()),
+                createOrderHistoryView("RCS-3", "Bob", LocalDateTime.now().minusMinutes(1))));
+
+        // When
+        ResponseEntity<List<SimpleOrderDto>> cached = orderService.getOrderHistory("Alice", 5);
+        ResponseEntity<List<SimpleOrderDto>> loaded = orderService.getOrderHistory("Bob", 1);
+
+        // Then
+        assertEquals(List.of(cachedOrder), cached.getBody());
+        verify(orderRepository, never()).findHistoryByOrderer(eq("Alice"), any());
+        assertEquals(1, loaded.getBody().size());
+        assertEquals("RCS-4", loaded.getBody().getFirst().getOrderNumber());
+        ArgumentCaptor<List<SimpleOrderDto>> cachedOrders = ArgumentCaptor.captor();
+        verify(orderHistoryCache).put(eq("Bob"), eq(7L), cachedOrders.capture());
+        assertEquals(2, cachedOrders.getValue().size());
+        assertThrows(InvalidOrderSearchException.class, () -> orderService.getOrderHistory(" ", 5));
+    }
+
+    @Test
+    @DisplayName("getOrderHistory should read histories longer than the cached ones from the database")
+    void getOrderHistory_ShouldBypassCache_WhenLimitExceedsCachedOrders() {
+        // Given
+        when(orderHistoryCache.getOrdersPerCustomer()).thenReturn(10);
+        when(orderRepository.findHistoryByOrderer("Alice", Limit.of(50))).thenReturn(List.of());
+
+        // When
+        ResponseEntity<List<SimpleOrderDto>> response = orderService.getOrderHistory("Alice", 50);
+
+        // Then
+        assertTrue(response.getBody().isEmpty());
+        verify(orderHistoryCache, never()).get(any());
+    }
+
+    private OrderHistoryView createOrderHistoryView(String orderNumber, String orderer, LocalDateTime createdAt) {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("orderNumber", orderNumber);
+        columns.put("orderer", orderer);
+        columns.put("status", PENDING);
+        columns.put("totalPriceInCents", 300);
+        columns.put("currency", EUR);
+        columns.put("discounts", List.of());
+        columns.put("createdAt", Timestamp.valueOf(createdAt));
+        return new SpelAwareProxyProjectionFactory().createProjection(OrderHistoryView.class, columns);
+    }
+
+    private OrderSummaryView createOrderSummaryView(Long id, String orderer, LocalDateTime createdAt) {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("id", id);
+        columns.put("orderNumber", "RCS-" + id);
+        columns.put("orderer", orderer);
+        columns.put("status", PENDING);
+        columns.put("totalPriceInCents", 300);
+        columns.put("currency", EUR);
+        columns.put("createdAt", Timestamp.valueOf(createdAt));
+        return new SpelAwareProxyProjectionFactory().createProjection(OrderSummaryView.class, columns);
+    }
+
     private Order createTestOrder(String orderNumber) {
         Order order = new Order();
         order.setId(1L);
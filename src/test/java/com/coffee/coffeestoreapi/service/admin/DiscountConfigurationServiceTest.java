@@ -0,0 +1,67 @@
+package com.coffee.coffeestoreapi.service.admin;
+
+import com.coffee.coffeestoreapi.entity.DiscountConfiguration;
+import com.coffee.coffeestoreapi.exception.DiscountConfigurationConflictException;
+import com.coffee.coffeestoreapi.model.DiscountConfigurationChangeRequest;
+import com.coffee.coffeestoreapi.repository.DiscountConfigurationRepository;
+import com.coffee.coffeestoreapi.service.BaseTest;
+import com.coffee.coffeestoreapi.service.discount.DiscountRulesProvider;
+import com.coffee.coffeestoreapi.service.invalidation.CacheInvalidationPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class DiscountConfigurationServiceTest extends BaseTest {
+
+    @Mock
+    private DiscountConfigurationRepository discountConfigurationRepository;
+
+    @Mock
+    private DiscountRulesProvider discountRulesProvider;
+
+    @Mock
+    private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private DiscountConfigurationService discountConfigurationService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+    }
+
+    @Test
+    @DisplayName("updateDiscountConfiguration should throw a conflict when the configuration was changed concurrently")
+    void updateDiscountConfiguration_ShouldThrowConflict_WhenChangedConcurrently() {
+        // Given
+        var configuration = new DiscountConfiguration();
+        configuration.setId(DiscountConfiguration.ID);
+        configuration.setVersion(3L);
+        when(discountConfigurationRepository.findById(DiscountConfiguration.ID)).thenReturn(Optional.of(configuration));
+        when(discountConfigurationRepository.save(any(DiscountConfiguration.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(DiscountConfiguration.class, DiscountConfiguration.ID));
+
+        // When / Then
+        assertThrows(DiscountConfigurationConflictException.class,
+                () -> discountConfigurationService.updateDiscountConfiguration(new DiscountConfigurationChangeRequest(false, null, null)));
+        verify(discountRulesProvider, never()).refresh();
+        verifyNoInteractions(cacheInvalidationPublisher, eventPublisher);
+    }
+}
@@ -6,6 +6,7 @@ import com.coffee.coffeestoreapi.mapper.ProductMapper;
 import com.coffee.coffeestoreapi.model.ProductChangeRequest;
 import com.coffee.coffeestoreapi.model.ProductCreateRequest;
 import com.coffee.coffeestoreapi.model.ProductDto;
+import com.coffee.coffeestoreapi.model.ProductPriceChangedEvent;
 import com.coffee.coffeestoreapi.model.ProductType;
 import com.coffee.coffeestoreapi.repository.ProductRepository;
 import com.coffee.coffeestoreapi.service.BaseTest;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -41,6 +43,9 @@ class ProductServiceTest extends BaseTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductService productService;
 
@@ -218,6 +223,7 @@ class ProductServiceTest extends BaseTest {
         verify(productRepository).findById(productId);
         verify(productRepository).save(any(Product.class));
         verify(productMapper).productToProductDto(updatedProduct);
+        verify(eventPublisher).publishEvent(new ProductPriceChangedEvent("Updated Product", 500, 600));
     }
 
     @Test
@@ -0,0 +1,195 @@
+package com.coffee.coffeestoreapi.service.archive;
+
+import com.coffee.coffeestoreapi.config.settings.ArchiveSettings;
+import com.coffee.coffeestoreapi.model.OrderDto;
+import com.coffee.coffeestoreapi.model.OrderLine;
+import com.coffee.coffeestoreapi.service.BaseTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static com.coffee.coffeestoreapi.model.Currency.EUR;
+import static com.coffee.coffeestoreapi.model.OrderStatus.COMPLETED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderArchiveTest extends BaseTest {
+
+    @TempDir
+    private Path archiveDirectory;
+
+    private OrderArchive orderArchive;
+
+    @BeforeEach
+    void setUp() {
+        ArchiveSettings archiveSettings = new ArchiveSettings();
+        archiveSettings.setEnabled(true);
+        archiveSettings.setDirectory(archiveDirectory.toString());
+        archiveSettings.setBlockSize(4);
+        orderArchive = new OrderArchive(archiveSettings, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    @DisplayName("find should return an archived order from any block of any segment")
+    void find_ShouldReturnArchivedOrder() {
+        // Given
+        orderArchive.append(YearMonth.of(2023, 10), createOrders("RCS-202310", 10));
+        orderArchive.append(YearMonth.of(2023, 11), createOrders("RCS-202311", 10));
+
+        // When
+        Optional<OrderDto> first = orderArchive.find("RCS-202310-0");
+        Optional<OrderDto> last = orderArchive.find("RCS-202311-9");
+
+        // Then
+        assertTrue(first.isPresent());
+        assertEquals("RCS-202310-0", first.get().getOrderNumber());
+        assertEquals(COMPLETED, first.get().getStatus());
+        assertEquals(1, first.get().getOrderLines().size());
+        assertTrue(last.isPresent());
+        assertEquals("RCS-202311-9", last.get().getOrderNumber());
+    }
+
+    @Test
+    @DisplayName("find should see orders appended after the index was mapped")
+    void find_ShouldSeeOrdersAppendedLater() {
+        // Given
+        orderArchive.append(YearMonth.of(2023, 10), createOrders("RCS-A", 3));
+        assertTrue(orderArchive.find("RCS-A-1").isPresent());
+
+        // When
+        orderArchive.append(YearMonth.of(2023, 10), createOrders("RCS-B", 3));
+
+        // Then
+        assertTrue(orderArchive.find("RCS-B-2").isPresent());
+        assertTrue(orderArchive.find("RCS-A-2").isPresent());
+    }
+
+    @Test
+    @DisplayName("find should return empty when the order is not archived")
+    void find_ShouldReturnEmpty_WhenOrderIsNotArchived() {
+        // Given
+        orderArchive.append(YearMonth.of(2023, 10), createOrders("RCS-202310", 5));
+
+        // When
+        Optional<OrderDto> result = orderArchive.find("RCS-202310-7");
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    @DisplayName("find should find orders of appends with overlapping order number ranges")
+    void find_ShouldSearchOverlappingBlocks() {
+        // Given
+        orderArchive.append(YearMonth.of(2023, 10), createOrders("RCS-A", 10));
+        orderArchive.append(YearMonth.of(2023, 10), createOrders("RCS-A-1", 10));
+        orderArchive.append(YearMonth.of(2023, 10), createOrders("RCS-", 3));
+
+        // When / Then
+        for (var orderNumber : List.of("RCS-A-0", "RCS-A-5", "RCS-A-9", "RCS-A-1-0", "RCS-A-1-9", "RCS--2")) {
+            assertEquals(orderNumber, orderArchive.find(orderNumber).map(OrderDto::getOrderNumber).orElse(null));
+        }
+        assertTrue(orderArchive.find("RCS-A-10").isEmpty());
+        assertTrue(orderArchive.find("RCS-0").isEmpty());
+    }
+
+    @Test
+    @DisplayName("find should look for a timestamped order number in the segments of its month and the next")
+    void find_ShouldSearchSegmentsOfOrderMonth() {
+        // Given
+        orderArchive.append(YearMonth.of(2023, 10), List.of(createOrder("RCS-20231015120000000")));
+        orderArchive.append(YearMonth.of(2023, 11), List.of(createOrder("RCS-20231031235959999")));
+
+        // When / Then
+        assertTrue(orderArchive.find("RCS-20231015120000000").isPresent());
+        assertTrue(orderArchive.find("RCS-20231031235959999").isPresent());
+        assertTrue(orderArchive.find("RCS-20231215120000000").isEmpty());
+    }
+
+    @Test
+    @DisplayName("findCreatedBetween should read the archived orders of the range once each, oldest first")
+    void findCreatedBetween_ShouldReadOrdersOfRange() {
+        // Given
+        var october = createOrder("RCS-20231015120000000");
+        october.setCreatedAt(LocalDateTime.of(2023, 10, 15, 12, 0));
+        var lateOctober = createOrder("RCS-20231031235959999");
+        lateOctober.setCreatedAt(LocalDateTime.of(2023, 10, 31, 23, 59));
+        var november = createOrder("RCS-20231105080000000");
+        november.setCreatedAt(LocalDateTime.of(2023, 11, 5, 8, 0));
+        orderArchive.append(YearMonth.of(2023, 10), List.of(lateOctober, october));
+        orderArchive.append(YearMonth.of(2023, 11), List.of(november));
+        // Archived again after a run that failed before deleting the rows
+        orderArchive.append(YearMonth.of(2023, 10), List.of(october));
+
+        // When
+        List<OrderDto> result = orderArchive.findCreatedBetween(LocalDateTime.of(2023, 10, 1, 0, 0), LocalDateTime.of(2023, 11, 1, 0, 0));
+
+        // Then
+        assertEquals(List.of("RCS-20231015120000000", "RCS-20231031235959999"), result.stream().map(OrderDto::getOrderNumber).toList());
+    }
+
+    @Test
+    @DisplayName("find should never read an index that an append is still writing")
+    void find_ShouldNotReadPartiallyWrittenIndex() throws Exception {
+        // Given
+        orderArchive.append(YearMonth.of(2023, 10), createOrders("RCS-A", 10));
+        var failure = new AtomicReference<Throwable>();
+        var reader = Thread.ofVirtual().start(() -> {
+            try {
+                for (int i = 0; i < 2000; i++) {
+                    if (orderArchive.find("RCS-A-5").isEmpty()) {
+                        throw new AssertionError("Archived order not found");
+                    }
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            orderArchive.append(YearMonth.of(2023, 10), createOrders("RCS-B" + i, 10));
+        }
+        reader.join();
+
+        // Then
+        assertNull(failure.get());
+    }
+
+    private static OrderDto createOrder(String orderNumber) {
+        var orderDto = createOrders("unused", 1).getFirst();
+        orderDto.setOrderNumber(orderNumber);
+        return orderDto;
+    }
+
+    private static List<OrderDto> createOrders(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    OrderDto orderDto = new OrderDto();
+                    orderDto.setId((long) i);
+                    orderDto.setOrderNumber(prefix + "-" + i);
+                    orderDto.setOrderer("Test Customer");
+                    orderDto.setStatus(COMPLETED);
+                    orderDto.setDiscounts(Collections.emptyList());
+                    orderDto.setSubTotalPriceInCents(300);
+                    orderDto.setTotalPriceInCents(300);
+                    orderDto.setCurrency(EUR);
+                    orderDto.setOrderLines(List.of(new OrderLine(300, ESPRESSO, Collections.emptyList())));
+                    orderDto.setCreatedAt(LocalDateTime.of(2023, 10, 1, 10, 0));
+                    return orderDto;
+                })
+                .toList();
+    }
+}
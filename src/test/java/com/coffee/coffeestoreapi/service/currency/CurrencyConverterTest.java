@@ -0,0 +1,97 @@
+package com.coffee.coffeestoreapi.service.currency;
+
+import com.coffee.coffeestoreapi.entity.CurrencyRate;
+import com.coffee.coffeestoreapi.model.Currency;
+import com.coffee.coffeestoreapi.repository.CurrencyRateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.coffee.coffeestoreapi.model.Currency.EUR;
+import static com.coffee.coffeestoreapi.model.Currency.HUF;
+import static com.coffee.coffeestoreapi.model.Currency.USD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class CurrencyConverterTest {
+
+    @Mock
+    private CurrencyRateRepository currencyRateRepository;
+
+    @InjectMocks
+    private CurrencyConverter currencyConverter;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        when(currencyRateRepository.findAll()).thenReturn(List.of(
+                createRate(EUR, 1_000_000L),
+                createRate(USD, 1_080_000L),
+                createRate(HUF, 395_000_000L)
+        ));
+    }
+
+    @Test
+    @DisplayName("convert should convert between any two currencies and round half away from zero")
+    void convert_ShouldConvertAndRound() {
+        // When / Then
+        assertEquals(1200, currencyConverter.convert(1200, EUR, EUR));
+        assertEquals(474000, currencyConverter.convert(1200, EUR, HUF));
+        assertEquals(1296, currencyConverter.convert(1200, EUR, USD));
+        assertEquals(1111, currencyConverter.convert(1200, USD, EUR)); // 1111.11
+        assertEquals(3, currencyConverter.convert(1000, HUF, EUR)); // 2.53
+        assertEquals(1, currencyConverter.convert(198, HUF, EUR)); // 0.501
+        assertEquals(0, currencyConverter.convert(197, HUF, EUR)); // 0.498
+        assertEquals(-3, currencyConverter.convert(-1000, HUF, EUR));
+    }
+
+    @Test
+    @DisplayName("convert should load the rates once and serve conversions from memory")
+    void convert_ShouldLoadRatesOnce() {
+        // When
+        currencyConverter.convert(100, EUR, HUF);
+        currencyConverter.convert(100, HUF, USD);
+
+        // Then
+        verify(currencyRateRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("RateTable should stay exact when the intermediate product overflows a long")
+    void rateTable_ShouldHandleOverflow() {
+        // Given
+        RateTable rateTable = new RateTable(Map.of(EUR, 1_000_000L, HUF, 395_123_457L));
+
+        // When
+        long converted = rateTable.convert(Long.MAX_VALUE / 1_000_000, EUR, HUF);
+
+        // Then
+        assertEquals(3_644_370_644_398_884L, converted);
+    }
+
+    @Test
+    @DisplayName("convert should fail when a currency has no rate")
+    void convert_ShouldThrow_WhenRateIsMissing() {
+        // Given
+        RateTable rateTable = new RateTable(Map.of(EUR, 1_000_000L));
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> rateTable.convert(100, EUR, USD));
+    }
+
+    private static CurrencyRate createRate(Currency currency, long rateMicros) {
+        CurrencyRate rate = new CurrencyRate();
+        rate.setCurrency(currency);
+        rate.setRateMicros(rateMicros);
+        return rate;
+    }
+}
@@ -0,0 +1,97 @@
+package com.coffee.coffeestoreapi.service.discount;
+
+import com.coffee.coffeestoreapi.entity.DiscountConfiguration;
+import com.coffee.coffeestoreapi.repository.DiscountConfigurationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class DiscountRulesProviderTest {
+
+    @Mock
+    private DiscountConfigurationRepository discountConfigurationRepository;
+
+    @InjectMocks
+    private DiscountRulesProvider discountRulesProvider;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+    }
+
+    @Test
+    @DisplayName("current should load the configuration once and serve the same snapshot afterwards")
+    void current_ShouldLoadOnce() {
+        // Given
+        when(discountConfigurationRepository.findById(DiscountConfiguration.ID))
+                .thenReturn(Optional.of(createConfiguration(3L, true, false)));
+
+        // When
+        var first = discountRulesProvider.current();
+        var second = discountRulesProvider.current();
+
+        // Then
+        assertSame(first, second);
+        assertEquals(new DiscountRules(3L, true, true, false), first);
+        verify(discountConfigurationRepository, times(1)).findById(DiscountConfiguration.ID);
+    }
+
+    @Test
+    @DisplayName("refresh should swap in a newer version and never go back to an older one")
+    void refresh_ShouldOnlyMoveForward() {
+        // Given
+        when(discountConfigurationRepository.findById(DiscountConfiguration.ID))
+                .thenReturn(Optional.of(createConfiguration(5L, true, true)))
+                .thenReturn(Optional.of(createConfiguration(4L, false, false)))
+                .thenReturn(Optional.of(createConfiguration(6L, false, false)));
+
+        // When / Then
+        discountRulesProvider.refresh();
+        assertEquals(5L, discountRulesProvider.current().version());
+
+        discountRulesProvider.refresh();
+        assertEquals(5L, discountRulesProvider.current().version(), "A stale read must not replace a newer snapshot");
+        assertTrue(discountRulesProvider.current().twentyFivePercent());
+
+        discountRulesProvider.refresh();
+        assertEquals(6L, discountRulesProvider.current().version());
+        assertFalse(discountRulesProvider.current().twentyFivePercent());
+    }
+
+    @Test
+    @DisplayName("current should apply no discounts when the configuration is missing")
+    void current_ShouldFallBackToNoDiscounts_WhenConfigurationIsMissing() {
+        // Given
+        when(discountConfigurationRepository.findById(DiscountConfiguration.ID)).thenReturn(Optional.empty());
+
+        // When
+        var rules = discountRulesProvider.current();
+
+        // Then
+        assertFalse(rules.enabled());
+        assertEquals(0L, rules.version());
+    }
+
+    private static DiscountConfiguration createConfiguration(long version, boolean twentyFivePercent, boolean freeItemAfterThree) {
+        var configuration = new DiscountConfiguration();
+        configuration.setId(DiscountConfiguration.ID);
+        configuration.setEnabled(true);
+        configuration.setTwentyFivePercent(twentyFivePercent);
+        configuration.setFreeItemAfterThree(freeItemAfterThree);
+        configuration.setVersion(version);
+        return configuration;
+    }
+}
@@ -0,0 +1,176 @@
+package com.coffee.coffeestoreapi.service.discount;
+
+import com.coffee.coffeestoreapi.config.settings.PromotionSettings;
+import com.coffee.coffeestoreapi.entity.Promotion;
+import com.coffee.coffeestoreapi.repository.PromotionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class PromotionScheduleTest {
+    private static final ZoneId ZONE = ZoneId.of("Europe/Budapest");
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 19);
+
+    @Mock
+    private PromotionRepository promotionRepository;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private final AtomicReference<Instant> now = new AtomicReference<>();
+    private PromotionSchedule promotionSchedule;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        var promotionSettings = new PromotionSettings();
+        promotionSettings.setTimeZone(ZONE);
+        promotionSettings.setIndexHorizon(Duration.ofDays(2));
+        promotionSchedule = new PromotionSchedule(promotionRepository, promotionSettings, taskScheduler, new MutableClock());
+        when(promotionRepository.findAll()).thenReturn(List.of(
+                createPromotion(1L, "Weekday happy hour", Set.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                        DayOfWeek.THURSDAY, DayOfWeek.FRIDAY), LocalTime.of(15, 0), LocalTime.of(17, 0), null),
+                createPromotion(2L, "Late night", null, LocalTime.of(22, 0), LocalTime.of(2, 0), null),
+                createPromotion(3L, "Christmas Eve", null, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT, LocalDate.of(2026, 12, 24))
+        ));
+    }
+
+    @Test
+    @DisplayName("active should return the promotions whose window is open and load them only once")
+    void active_ShouldReturnOpenPromotions() {
+        // Given
+        setTime(MONDAY, 16, 0);
+
+        // When
+        var active = names(promotionSchedule.active());
+        var again = names(promotionSchedule.active());
+
+        // Then
+        assertEquals(List.of("Weekday happy hour"), active);
+        assertEquals(active, again);
+        verify(promotionRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("active should flip to the next set at a boundary, including windows running past midnight")
+    void active_ShouldFlipAtBoundaries() {
+        // Given
+        setTime(MONDAY, 14, 59);
+        assertTrue(promotionSchedule.active().isEmpty());
+
+        // When / Then
+        setTime(MONDAY, 15, 0);
+        assertEquals(List.of("Weekday happy hour"), names(promotionSchedule.active()));
+
+        setTime(MONDAY, 17, 0);
+        assertTrue(promotionSchedule.active().isEmpty(), "The end time is exclusive");
+
+        setTime(MONDAY.plusDays(1), 1, 30);
+        assertEquals(List.of("Late night"), names(promotionSchedule.active()));
+
+        setTime(MONDAY.minusDays(1), 16, 0);
+        promotionSchedule.refresh();
+        assertTrue(promotionSchedule.active().isEmpty(), "The happy hour does not run on Sundays");
+    }
+
+    @Test
+    @DisplayName("refresh should schedule a swap at the end of the current window")
+    void refresh_ShouldScheduleFlipAtWindowEnd() {
+        // Given
+        setTime(MONDAY, 16, 0);
+
+        // When
+        promotionSchedule.refresh();
+
+        // Then
+        var flipAt = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler, atLeastOnce()).schedule(any(Runnable.class), flipAt.capture());
+        assertEquals(at(MONDAY, 17, 0), flipAt.getValue());
+    }
+
+    @Test
+    @DisplayName("activeAt should evaluate instants outside the index from the schedules")
+    void activeAt_ShouldEvaluateOutsideIndex() {
+        // Given
+        setTime(MONDAY, 10, 0);
+        promotionSchedule.refresh();
+
+        // When
+        var christmasEve = names(promotionSchedule.activeAt(at(LocalDate.of(2026, 12, 24), 12, 0)));
+        var christmasEveNight = names(promotionSchedule.activeAt(at(LocalDate.of(2026, 12, 24), 23, 0)));
+        var christmasDay = names(promotionSchedule.activeAt(at(LocalDate.of(2026, 12, 25), 12, 0)));
+
+        // Then
+        assertEquals(List.of("Christmas Eve"), christmasEve);
+        assertEquals(Set.of("Late night", "Christmas Eve"), Set.copyOf(christmasEveNight));
+        assertTrue(christmasDay.isEmpty());
+    }
+
+    private void setTime(LocalDate date, int hour, int minute) {
+        now.set(at(date, hour, minute));
+    }
+
+    private static Instant at(LocalDate date, int hour, int minute) {
+        return ZonedDateTime.of(date, LocalTime.of(hour, minute), ZONE).toInstant();
+    }
+
+    private static List<String> names(List<ActivePromotion> promotions) {
+        return promotions.stream().map(ActivePromotion::name).toList();
+    }
+
+    private static Promotion createPromotion(Long id, String name, Set<DayOfWeek> daysOfWeek, LocalTime startTime,
+                                             LocalTime endTime, LocalDate onlyOn) {
+        var promotion = new Promotion();
+        promotion.setId(id);
+        promotion.setName(name);
+        promotion.setPercentage(10);
+        promotion.setDaysOfWeek(daysOfWeek);
+        promotion.setStartTime(startTime);
+        promotion.setEndTime(endTime);
+        promotion.setValidFrom(onlyOn);
+        promotion.setValidUntil(onlyOn);
+        return promotion;
+    }
+
+    private class MutableClock extends Clock {
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.coffee.coffeestoreapi.service.history;
+
+import com.coffee.coffeestoreapi.config.settings.OrderHistorySettings;
+import com.coffee.coffeestoreapi.model.CacheInvalidatedEvent;
+import com.coffee.coffeestoreapi.model.CacheTopic;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import com.coffee.coffeestoreapi.model.OrderEventType;
+import com.coffee.coffeestoreapi.model.OrderStatus;
+import com.coffee.coffeestoreapi.model.SimpleOrderDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.coffee.coffeestoreapi.model.OrderStatus.CANCELLED;
+import static com.coffee.coffeestoreapi.model.OrderStatus.PENDING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderHistoryCacheTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private OrderHistoryCache orderHistoryCache;
+
+    @BeforeEach
+    void setUp() {
+        OrderHistorySettings orderHistorySettings = new OrderHistorySettings();
+        orderHistorySettings.setMaxCustomers(2);
+        orderHistorySettings.setOrdersPerCustomer(2);
+        orderHistorySettings.setTtl(Duration.ofMinutes(5));
+        orderHistoryCache = new OrderHistoryCache(orderHistorySettings, nanoTime::get);
+    }
+
+    @Test
+    @DisplayName("onOrderEvent should put created orders in front and replace changed ones of cached orderers only")
+    void onOrderEvent_ShouldUpdateCachedHistories() {
+        // Given
+        orderHistoryCache.put("Alice", 0, List.of(createOrder("RCS-2", "Alice", PENDING), createOrder("RCS-1", "Alice", PENDING)));
+
+        // When
+        orderHistoryCache.onOrderEvent(new OrderEvent(OrderEventType.CREATED, createOrder("RCS-3", "Alice", PENDING)));
+        orderHistoryCache.onOrderEvent(new OrderEvent(OrderEventType.CANCELLED, createOrder("RCS-2", "Alice", CANCELLED)));
+        orderHistoryCache.onOrderEvent(new OrderEvent(OrderEventType.CREATED, createOrder("RCS-4", "Bob", PENDING)));
+
+        // Then
+        List<SimpleOrderDto> history = orderHistoryCache.get("Alice").orElseThrow();
+        assertEquals(List.of("RCS-3", "RCS-2"), history.stream().map(SimpleOrderDto::getOrderNumber).toList());
+        assertEquals(CANCELLED, history.get(1).getStatus());
+        assertEquals(Optional.empty(), orderHistoryCache.get("Bob"));
+    }
+
+    @Test
+    @DisplayName("get should drop expired histories and the least recently used orderer beyond the maximum")
+    void get_ShouldExpireAndEvictHistories() {
+        // Given
+        orderHistoryCache.put("Alice", 0, List.of(createOrder("RCS-1", "Alice", PENDING)));
+        orderHistoryCache.put("Bob", 0, List.of(createOrder("RCS-2", "Bob", PENDING)));
+        orderHistoryCache.get("Alice");
+
+        // When
+        orderHistoryCache.put("Carol", 0, List.of(createOrder("RCS-3", "Carol", PENDING)));
+
+        // Then
+        assertTrue(orderHistoryCache.get("Alice").isPresent());
+        assertTrue(orderHistoryCache.get("Bob").isEmpty());
+
+        // When
+        nanoTime.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        // Then
+        assertTrue(orderHistoryCache.get("Carol").isEmpty());
+    }
+
+    @Test
+    @DisplayName("onCacheInvalidated should drop the notified orderer, and every orderer on a resync")
+    void onCacheInvalidated_ShouldEvictHistories() {
+        // Given
+        orderHistoryCache.put("Alice", 0, List.of(createOrder("RCS-1", "Alice", PENDING)));
+        orderHistoryCache.put("Bob", 0, List.of(createOrder("RCS-2", "Bob", PENDING)));
+
+        // When
+        orderHistoryCache.onCacheInvalidated(new CacheInvalidatedEvent(CacheTopic.ORDER_HISTORY, "Alice"));
+        orderHistoryCache.onCacheInvalidated(new CacheInvalidatedEvent(CacheTopic.PROMOTIONS, null));
+
+        // Then
+        assertTrue(orderHistoryCache.get("Alice").isEmpty());
+        assertTrue(orderHistoryCache.get("Bob").isPresent());
+
+        // When
+        orderHistoryCache.onCacheInvalidated(new CacheInvalidatedEvent(CacheTopic.ORDER_HISTORY, null));
+
+        // Then
+        assertTrue(orderHistoryCache.get("Bob").isEmpty());
+    }
+
+    @Test
+    @DisplayName("put should not cache a history loaded while an order of the orderer changed")
+    void put_ShouldSkipHistory_WhenOrdererChangedDuringLoad() {
+        // Given
+        long aliceChangeCount = orderHistoryCache.changeCount("Alice");
+        long bobChangeCount = orderHistoryCache.changeCount("Bob");
+        orderHistoryCache.onOrderEvent(new OrderEvent(OrderEventType.CREATED, createOrder("RCS-2", "Alice", PENDING)));
+
+        // When
+        boolean aliceCached = orderHistoryCache.put("Alice", aliceChangeCount, List.of(createOrder("RCS-1", "Alice", PENDING)));
+        boolean bobCached = orderHistoryCache.put("Bob", bobChangeCount, List.of(createOrder("RCS-3", "Bob", PENDING)));
+
+        // Then
+        assertFalse(aliceCached);
+        assertTrue(orderHistoryCache.get("Alice").isEmpty());
+        assertTrue(bobCached);
+        assertTrue(orderHistoryCache.get("Bob").isPresent());
+    }
+
+    @Test
+    @DisplayName("onOrderEvent should evict both the previous and the new orderer when an order changes orderer")
+    void onOrderEvent_ShouldEvictBothOrderers_WhenOrdererChanged() {
+        // Given
+        orderHistoryCache.put("Alice", 0, List.of(createOrder("RCS-1", "Alice", PENDING)));
+        orderHistoryCache.put("Bob", 0, List.of(createOrder("RCS-2", "Bob", PENDING)));
+        long aliceChangeCount = orderHistoryCache.changeCount("Alice");
+
+        // When
+        orderHistoryCache.onOrderEvent(new OrderEvent(OrderEventType.UPDATED, createOrder("RCS-1", "Bob", PENDING), "Alice"));
+
+        // Then
+        assertTrue(orderHistoryCache.get("Alice").isEmpty());
+        assertTrue(orderHistoryCache.get("Bob").isEmpty());
+        assertFalse(orderHistoryCache.put("Alice", aliceChangeCount, List.of(createOrder("RCS-1", "Alice", PENDING))));
+    }
+
+    private static SimpleOrderDto createOrder(String orderNumber, String orderer, OrderStatus status) {
+        return SimpleOrderDto.builder().orderNumber(orderNumber).orderer(orderer).status(status).build();
+    }
+}
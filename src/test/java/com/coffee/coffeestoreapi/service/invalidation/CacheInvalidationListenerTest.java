@@ -0,0 +1,133 @@
+package com.coffee.coffeestoreapi.service.invalidation;
+
+import com.coffee.coffeestoreapi.config.settings.CacheInvalidationSettings;
+import com.coffee.coffeestoreapi.model.CacheInvalidatedEvent;
+import com.coffee.coffeestoreapi.model.CacheTopic;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class CacheInvalidationListenerTest {
+    private static final String INSTANCE_ID = "this-instance";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CacheInvalidationSettings cacheInvalidationSettings = new CacheInvalidationSettings();
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        cacheInvalidationSettings.setChannel("cache_invalidation");
+        cacheInvalidationSettings.setPollTimeout(Duration.ofMillis(10));
+        cacheInvalidationSettings.setValidationInterval(Duration.ofMinutes(1));
+        cacheInvalidationSettings.setReconnectDelay(Duration.ofMillis(10));
+        listener = new CacheInvalidationListener(() -> dataSource, INSTANCE_ID, eventPublisher, cacheInvalidationSettings, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        listener.stop();
+    }
+
+    @Test
+    @DisplayName("handle should publish the changes of other instances and ignore its own and unknown ones")
+    void handle_ShouldPublishChangesOfOtherInstances() {
+        // When
+        listener.handle("other-instance:ORDER_HISTORY:Alice");
+        listener.handle(INSTANCE_ID + ":ORDER_HISTORY:Bob");
+        listener.handle("other-instance:PRODUCT_IMAGES:1");
+        listener.handle("malformed");
+
+        // Then
+        verify(eventPublisher).publishEvent(new CacheInvalidatedEvent(CacheTopic.ORDER_HISTORY, "Alice"));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+        assertEquals(1.0, meterRegistry.get("cache.invalidation.received").counter().count());
+    }
+
+    @Test
+    @DisplayName("start should listen on a dedicated connection, reconnect after a failure and reload every cache")
+    void start_ShouldReconnectAndResync() throws SQLException {
+        // Given
+        var connection = mock(Connection.class);
+        var pgConnection = mock(PGConnection.class);
+        var notification = mock(PGNotification.class);
+        when(notification.getParameter()).thenReturn("other-instance:DISCOUNT_RULES:7");
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getNotifications(anyInt()))
+                .thenReturn(new PGNotification[] {notification})
+                .thenReturn(new PGNotification[0]);
+        when(dataSource.getConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenReturn(connection);
+
+        // When
+        listener.start();
+
+        // Then
+        verify(eventPublisher, timeout(1000)).publishEvent(new CacheInvalidatedEvent(CacheTopic.DISCOUNT_RULES, "7"));
+        for (var topic : CacheTopic.values()) {
+            verify(eventPublisher).publishEvent(new CacheInvalidatedEvent(topic, null));
+        }
+        verify(dataSource, times(2)).getConnection();
+        verify(connection, never()).isValid(anyInt());
+        assertEquals(1.0, meterRegistry.get("cache.invalidation.resyncs").counter().count());
+    }
+
+    @Test
+    @DisplayName("afterRestore should listen again through a data source built after the restore")
+    void afterRestore_ShouldReconnectWithRestoredSettings() throws Exception {
+        // Given
+        var restoredDataSource = mock(DataSource.class);
+        var connection = mock(Connection.class);
+        var pgConnection = mock(PGConnection.class);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getNotifications(anyInt())).thenReturn(new PGNotification[0]);
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(restoredDataSource.getConnection()).thenReturn(connection);
+        var dataSources = new ArrayDeque<>(List.of(dataSource, restoredDataSource));
+        listener = new CacheInvalidationListener(dataSources::poll, INSTANCE_ID, eventPublisher, cacheInvalidationSettings, meterRegistry);
+        listener.start();
+        verify(dataSource, timeout(1000).atLeastOnce()).getConnection();
+
+        // When
+        listener.beforeCheckpoint(null);
+        listener.afterRestore(null);
+
+        // Then
+        verify(restoredDataSource, timeout(1000)).getConnection();
+        verify(eventPublisher, timeout(1000)).publishEvent(new CacheInvalidatedEvent(CacheTopic.ORDER_HISTORY, null));
+    }
+}
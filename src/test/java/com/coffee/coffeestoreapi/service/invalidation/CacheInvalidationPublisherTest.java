@@ -0,0 +1,138 @@
+package com.coffee.coffeestoreapi.service.invalidation;
+
+import com.coffee.coffeestoreapi.config.settings.CacheInvalidationSettings;
+import com.coffee.coffeestoreapi.model.CacheTopic;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import com.coffee.coffeestoreapi.model.OrderEventType;
+import com.coffee.coffeestoreapi.model.SimpleOrderDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class CacheInvalidationPublisherTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final CacheInvalidationSettings cacheInvalidationSettings = new CacheInvalidationSettings();
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        cacheInvalidationSettings.setEnabled(true);
+        cacheInvalidationSettings.setChannel("cache_invalidation");
+    }
+
+    @Test
+    @DisplayName("publish should notify the channel with this instance, the topic and the key")
+    void publish_ShouldNotifyChannel() {
+        // Given
+        var publisher = new CacheInvalidationPublisher(jdbcTemplate, cacheInvalidationSettings);
+
+        // When
+        publisher.publish(CacheTopic.ORDER_HISTORY, "Alice:Smith");
+
+        // Then
+        var payload = publisher.getInstanceId() + ":ORDER_HISTORY:Alice:Smith";
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class), eq("cache_invalidation"), eq(payload));
+        assertEquals(Optional.of(new CacheInvalidation(publisher.getInstanceId(), CacheTopic.ORDER_HISTORY, "Alice:Smith")),
+                CacheInvalidation.parse(payload));
+    }
+
+    @Test
+    @DisplayName("onOrderEvent should notify the orderer, and nothing when invalidation is disabled")
+    void onOrderEvent_ShouldNotifyOrderer() {
+        // Given
+        var order = SimpleOrderDto.builder().orderNumber("RCS-1").orderer("Alice").build();
+        cacheInvalidationSettings.setEnabled(false);
+        var disabledPublisher = new CacheInvalidationPublisher(jdbcTemplate, cacheInvalidationSettings);
+
+        // When
+        disabledPublisher.onOrderEvent(new OrderEvent(OrderEventType.CREATED, order));
+
+        // Then
+        verify(jdbcTemplate, never()).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        // When
+        cacheInvalidationSettings.setEnabled(true);
+        var publisher = new CacheInvalidationPublisher(jdbcTemplate, cacheInvalidationSettings);
+        publisher.onOrderEvent(new OrderEvent(OrderEventType.CREATED, order));
+
+        // Then
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class), eq("cache_invalidation"),
+                eq(publisher.getInstanceId() + ":ORDER_HISTORY:Alice"));
+    }
+
+    @Test
+    @DisplayName("onOrderEvent should notify the previous orderer too when an order changed orderer")
+    void onOrderEvent_ShouldNotifyPreviousOrderer() {
+        // Given
+        var order = SimpleOrderDto.builder().orderNumber("RCS-1").orderer("Bob").build();
+        var publisher = new CacheInvalidationPublisher(jdbcTemplate, cacheInvalidationSettings);
+
+        // When
+        publisher.onOrderEvent(new OrderEvent(OrderEventType.UPDATED, order, "Alice"));
+
+        // Then
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class), eq("cache_invalidation"),
+                eq(publisher.getInstanceId() + ":ORDER_HISTORY:Alice"));
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class), eq("cache_invalidation"),
+                eq(publisher.getInstanceId() + ":ORDER_HISTORY:Bob"));
+    }
+
+    @Test
+    @DisplayName("onOrderEvent should send one notification per transaction, for the whole cache when several orderers changed")
+    void onOrderEvent_ShouldNotifyOncePerTransaction() {
+        // Given
+        var publisher = new CacheInvalidationPublisher(jdbcTemplate, cacheInvalidationSettings);
+        var alice = SimpleOrderDto.builder().orderNumber("RCS-1").orderer("Alice").build();
+        var bob = SimpleOrderDto.builder().orderNumber("RCS-2").orderer("Bob").build();
+
+        // When
+        commit(() -> {
+            publisher.onOrderEvent(new OrderEvent(OrderEventType.CREATED, alice));
+            publisher.onOrderEvent(new OrderEvent(OrderEventType.UPDATED, alice));
+        });
+        commit(() -> {
+            publisher.onOrderEvent(new OrderEvent(OrderEventType.UPDATED, alice));
+            publisher.onOrderEvent(new OrderEvent(OrderEventType.UPDATED, bob));
+        });
+
+        // Then
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class), eq("cache_invalidation"),
+                eq(publisher.getInstanceId() + ":ORDER_HISTORY:Alice"));
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class), eq("cache_invalidation"),
+                eq(publisher.getInstanceId() + ":ORDER_HISTORY:"));
+        assertEquals(Optional.of(new CacheInvalidation(publisher.getInstanceId(), CacheTopic.ORDER_HISTORY, null)),
+                CacheInvalidation.parse(publisher.getInstanceId() + ":ORDER_HISTORY:"));
+    }
+
+    private static void commit(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
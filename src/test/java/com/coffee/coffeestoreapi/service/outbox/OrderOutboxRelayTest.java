@@ -0,0 +1,121 @@
+package com.coffee.coffeestoreapi.service.outbox;
+
+import com.coffee.coffeestoreapi.config.settings.OutboxSettings;
+import com.coffee.coffeestoreapi.entity.OrderOutboxEvent;
+import com.coffee.coffeestoreapi.model.OrderEventType;
+import com.coffee.coffeestoreapi.repository.OrderOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class OrderOutboxRelayTest {
+
+    @TempDir
+    private Path outboxDirectory;
+
+    @Mock
+    private OrderOutboxRepository orderOutboxRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxSettings outboxSettings;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        outboxSettings = new OutboxSettings();
+        outboxSettings.setBatchSize(2);
+        outboxSettings.setClaimTimeout(Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("relay should publish and delete batches until the outbox is empty")
+    void relay_ShouldPublishAndDeleteBatches() throws IOException {
+        // Given
+        Path file = outboxDirectory.resolve("order-events.jsonl");
+        var relay = new OrderOutboxRelay(orderOutboxRepository, new FileOrderOutboxSink(file, new ObjectMapper().findAndRegisterModules()),
+                outboxSettings, meterRegistry);
+        when(orderOutboxRepository.claimOldest(2, 60))
+                .thenReturn(List.of(createEvent(2L, "RCS-2"), createEvent(1L, "RCS-1")))
+                .thenReturn(List.of(createEvent(3L, "RCS-3")));
+
+        // When
+        int relayed = relay.relay();
+
+        // Then
+        assertEquals(3, relayed);
+        verify(orderOutboxRepository).deleteAllByIdIn(List.of(1L, 2L));
+        verify(orderOutboxRepository).deleteAllByIdIn(List.of(3L));
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertTrue(lines.getFirst().contains("\"order_number\":\"RCS-1\""));
+        assertTrue(lines.getFirst().contains("\"payload\":{\"order_number\":\"RCS-1\"}"));
+        assertEquals(3.0, meterRegistry.get("outbox.relayed").counter().count());
+        assertEquals(3, meterRegistry.get("outbox.lag").timer().count());
+    }
+
+    @Test
+    @DisplayName("relay should give the batch back to the outbox when the sink fails")
+    void relay_ShouldKeepBatch_WhenSinkFails() throws IOException {
+        // Given
+        OrderOutboxSink sink = mock(OrderOutboxSink.class);
+        doThrow(new IOException("disk full")).when(sink).publish(anyList());
+        var relay = new OrderOutboxRelay(orderOutboxRepository, sink, outboxSettings, meterRegistry);
+        when(orderOutboxRepository.claimOldest(2, 60)).thenReturn(List.of(createEvent(1L, "RCS-1")));
+
+        // When
+        int relayed = relay.relay();
+
+        // Then
+        assertEquals(0, relayed);
+        verify(orderOutboxRepository, never()).deleteAllByIdIn(any());
+        verify(orderOutboxRepository).releaseAllByIdIn(List.of(1L));
+        assertEquals(1.0, meterRegistry.get("outbox.failures").counter().count());
+    }
+
+    @Test
+    @DisplayName("relay should do nothing when the outbox is empty")
+    void relay_ShouldReturnZero_WhenOutboxIsEmpty() {
+        // Given
+        OrderOutboxSink sink = mock(OrderOutboxSink.class);
+        var relay = new OrderOutboxRelay(orderOutboxRepository, sink, outboxSettings, meterRegistry);
+        when(orderOutboxRepository.claimOldest(2, 60)).thenReturn(Collections.emptyList());
+
+        // When / Then
+        assertEquals(0, relay.relay());
+        verify(orderOutboxRepository, never()).deleteAllByIdIn(any());
+    }
+
+    private static OrderOutboxEvent createEvent(Long id, String orderNumber) {
+        OrderOutboxEvent event = new OrderOutboxEvent();
+        event.setId(id);
+        event.setOrderNumber(orderNumber);
+        event.setEventType(OrderEventType.CREATED);
+        event.setPayload("{\"order_number\":\"%s\"}".formatted(orderNumber));
+        event.setCreatedAt(LocalDateTime.now().minusSeconds(1));
+        return event;
+    }
+}
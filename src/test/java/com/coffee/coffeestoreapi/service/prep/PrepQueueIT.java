@@ -0,0 +1,123 @@
+package com.coffee.coffeestoreapi.service.prep;
+
+import com.coffee.coffeestoreapi.BaseIT;
+import com.coffee.coffeestoreapi.model.SimpleOrderDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestPropertySource(properties = "prep-queue.enabled=true")
+class PrepQueueIT extends BaseIT {
+    private static final DockerImageName IMAGE_NAME = DockerImageName
+            .parse("postgres:16-alpine")
+            .asCompatibleSubstituteFor("postgres");
+    private static final int STATIONS = 8;
+    private static final int ADDED_ORDERS = 200;
+    // ORD-1001, ORD-1004, ORD-1005, ORD-1007 and ORD-1010 of the test data
+    private static final int TEST_DATA_PENDING_ORDERS = 5;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES_CONTAINER = new PostgreSQLContainer<>(IMAGE_NAME)
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    static {
+        POSTGRES_CONTAINER.start();
+    }
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES_CONTAINER::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES_CONTAINER::getUsername);
+        registry.add("spring.datasource.password", POSTGRES_CONTAINER::getPassword);
+    }
+
+    @Autowired
+    private PrepQueueService prepQueueService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Concurrent stations should claim every pending order exactly once")
+    void claimOrders_ShouldNeverOverlap_WhenStationsClaimConcurrently() throws InterruptedException {
+        // Given
+        jdbcTemplate.update(
+                "INSERT INTO orders (id, order_number, status, orderer, sub_total_price_in_cents, total_price_in_cents, " +
+                "currency, order_lines, discounts, created_at, updated_at) " +
+                "SELECT 20000000 + i, 'PQ-' || i, 'PENDING', 'Station test', 500, 500, 'EUR', '[]', '[]', " +
+                "TIMESTAMP '2023-10-15 10:00:00' + i * INTERVAL '1 second', DATE '2023-10-15' " +
+                "FROM generate_series(1, ?) AS i", ADDED_ORDERS);
+        Queue<String> claimed = new ConcurrentLinkedQueue<>();
+        var stations = new ArrayList<Thread>();
+
+        // When
+        for (int i = 0; i < STATIONS; i++) {
+            stations.add(Thread.ofVirtual().start(() -> {
+                List<SimpleOrderDto> batch;
+                do {
+                    batch = prepQueueService.claimOrders(5).getBody();
+                    batch.forEach(order -> claimed.add(order.getOrderNumber()));
+                } while (!batch.isEmpty());
+            }));
+        }
+        for (var station : stations) {
+            station.join();
+        }
+
+        // Then
+        int pendingOrders = TEST_DATA_PENDING_ORDERS + ADDED_ORDERS;
+        assertEquals(pendingOrders, claimed.size());
+        assertEquals(pendingOrders, new HashSet<>(claimed).size());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM orders WHERE status = 'PENDING'", Integer.class));
+        assertEquals(pendingOrders, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM orders WHERE status = 'PROCESSING' AND claim_expires_at IS NOT NULL", Integer.class));
+    }
+
+    @Test
+    @DisplayName("claimOrders should claim the highest priority first, and among equal priorities the oldest")
+    void claimOrders_ShouldClaimByPriorityThenAge() {
+        // Given
+        prepQueueService.prioritizeOrder("ORD-1010", 5);
+
+        // When
+        var first = prepQueueService.claimOrders(1).getBody();
+        var second = prepQueueService.claimOrders(1).getBody();
+
+        // Then
+        assertEquals("ORD-1010", first.getFirst().getOrderNumber());
+        assertEquals("ORD-1001", second.getFirst().getOrderNumber());
+    }
+
+    @Test
+    @DisplayName("completeOrder should complete a claimed order through the conditional update")
+    void completeOrder_ShouldCompleteClaimedOrder() {
+        // Given
+        var claimed = prepQueueService.claimOrders(1).getBody().getFirst();
+
+        // When
+        var completed = prepQueueService.completeOrder(claimed.getOrderNumber()).getBody();
+
+        // Then
+        assertEquals("COMPLETED", completed.getStatus().name());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM orders WHERE order_number = ? AND completed_at IS NOT NULL " +
+                "AND claim_expires_at IS NULL", Integer.class, claimed.getOrderNumber()));
+    }
+}
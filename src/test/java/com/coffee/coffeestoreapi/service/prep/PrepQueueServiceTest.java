@@ -0,0 +1,158 @@
+package com.coffee.coffeestoreapi.service.prep;
+
+import com.coffee.coffeestoreapi.config.settings.PrepQueueSettings;
+import com.coffee.coffeestoreapi.entity.Order;
+import com.coffee.coffeestoreapi.exception.OrderConflictException;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import com.coffee.coffeestoreapi.model.OrderEventType;
+import com.coffee.coffeestoreapi.model.OrderStatus;
+import com.coffee.coffeestoreapi.model.SimpleOrderDto;
+import com.coffee.coffeestoreapi.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PrepQueueServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PrepQueueService prepQueueService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        PrepQueueSettings prepQueueSettings = new PrepQueueSettings();
+        prepQueueSettings.setBatchSize(2);
+        prepQueueSettings.setClaimTimeout(Duration.ofMinutes(10));
+        prepQueueSettings.setReclaimInterval(Duration.ofSeconds(30));
+        prepQueueService = new PrepQueueService(orderRepository, prepQueueSettings, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("claimOrders should claim at most the batch size and publish an update per claimed order")
+    void claimOrders_ShouldCapLimit_AndPublishEvents() {
+        // Given
+        when(orderRepository.claimPendingOrders(2, 600))
+                .thenReturn(List.of(order("RCS-1", OrderStatus.PROCESSING), order("RCS-2", OrderStatus.PROCESSING)));
+
+        // When
+        ResponseEntity<List<SimpleOrderDto>> response = prepQueueService.claimOrders(10);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("RCS-1", "RCS-2"), response.getBody().stream().map(SimpleOrderDto::getOrderNumber).toList());
+        ArgumentCaptor<OrderEvent> captor = ArgumentCaptor.forClass(OrderEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertEquals(OrderEventType.UPDATED, captor.getValue().type());
+        assertEquals(OrderStatus.PROCESSING, captor.getValue().order().getStatus());
+    }
+
+    @Test
+    @DisplayName("claimOrders should return an empty list when no order is pending")
+    void claimOrders_ShouldReturnEmptyList_WhenQueueIsEmpty() {
+        // Given
+        when(orderRepository.claimPendingOrders(1, 600)).thenReturn(Collections.emptyList());
+
+        // When
+        ResponseEntity<List<SimpleOrderDto>> response = prepQueueService.claimOrders(1);
+
+        // Then
+        assertEquals(List.of(), response.getBody());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("completeOrder should complete a claimed order and publish an update")
+    void completeOrder_ShouldCompleteClaimedOrder() {
+        // Given
+        when(orderRepository.completeClaimedOrder("RCS-1")).thenReturn(Optional.of(order("RCS-1", OrderStatus.COMPLETED)));
+
+        // When
+        ResponseEntity<SimpleOrderDto> response = prepQueueService.completeOrder("RCS-1");
+
+        // Then
+        assertEquals(OrderStatus.COMPLETED, response.getBody().getStatus());
+        verify(eventPublisher).publishEvent(any(OrderEvent.class));
+    }
+
+    @Test
+    @DisplayName("completeOrder should throw OrderConflictException when the order is not being prepared")
+    void completeOrder_ShouldThrowConflict_WhenOrderIsNotProcessing() {
+        // Given
+        when(orderRepository.completeClaimedOrder("RCS-1")).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(OrderConflictException.class, () -> prepQueueService.completeOrder("RCS-1"));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("prioritizeOrder should set the priority of a pending order and publish an update")
+    void prioritizeOrder_ShouldPrioritizePendingOrder() {
+        // Given
+        when(orderRepository.prioritizePendingOrder("RCS-1", 5)).thenReturn(Optional.of(order("RCS-1", OrderStatus.PENDING)));
+
+        // When
+        ResponseEntity<SimpleOrderDto> response = prepQueueService.prioritizeOrder("RCS-1", 5);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(eventPublisher).publishEvent(any(OrderEvent.class));
+    }
+
+    @Test
+    @DisplayName("prioritizeOrder should throw OrderConflictException when the order is not pending")
+    void prioritizeOrder_ShouldThrowConflict_WhenOrderIsNotPending() {
+        // Given
+        when(orderRepository.prioritizePendingOrder("RCS-1", 5)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(OrderConflictException.class, () -> prepQueueService.prioritizeOrder("RCS-1", 5));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("releaseExpiredClaims should return expired claims to the queue and publish an update per order")
+    void releaseExpiredClaims_ShouldPublishEventPerReleasedOrder() {
+        // Given
+        when(orderRepository.releaseExpiredClaims(500)).thenReturn(List.of(order("RCS-1", OrderStatus.PENDING)));
+
+        // When
+        int released = prepQueueService.releaseExpiredClaims();
+
+        // Then
+        assertEquals(1, released);
+        verify(orderRepository, times(1)).releaseExpiredClaims(500);
+        verify(eventPublisher).publishEvent(any(OrderEvent.class));
+    }
+
+    private static Order order(String orderNumber, OrderStatus status) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setStatus(status);
+        return order;
+    }
+}
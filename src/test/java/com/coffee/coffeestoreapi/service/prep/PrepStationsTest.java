@@ -0,0 +1,88 @@
+package com.coffee.coffeestoreapi.service.prep;
+
+import com.coffee.coffeestoreapi.config.settings.PrepQueueSettings;
+import com.coffee.coffeestoreapi.exception.OrderConflictException;
+import com.coffee.coffeestoreapi.model.OrderStatus;
+import com.coffee.coffeestoreapi.model.SimpleOrderDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PrepStationsTest {
+
+    @Mock
+    private PrepQueueService prepQueueService;
+
+    private PrepStations prepStations;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        PrepQueueSettings prepQueueSettings = new PrepQueueSettings();
+        prepQueueSettings.setStations(1);
+        prepQueueSettings.setBatchSize(2);
+        prepQueueSettings.setPollInterval(Duration.ofMillis(10));
+        prepQueueSettings.setPreparationTime(Duration.ZERO);
+        prepStations = new PrepStations(prepQueueService, prepQueueSettings);
+    }
+
+    @Test
+    @DisplayName("processBatch should complete every claimed order")
+    void processBatch_ShouldCompleteClaimedOrders() throws InterruptedException {
+        // Given
+        when(prepQueueService.claimOrders(2)).thenReturn(ResponseEntity.ok(List.of(order("RCS-1"), order("RCS-2"))));
+
+        // When
+        int processed = prepStations.processBatch();
+
+        // Then
+        assertEquals(2, processed);
+        verify(prepQueueService).completeOrder("RCS-1");
+        verify(prepQueueService).completeOrder("RCS-2");
+    }
+
+    @Test
+    @DisplayName("processBatch should carry on with the batch when a claim lapsed")
+    void processBatch_ShouldSkipOrder_WhenClaimLapsed() throws InterruptedException {
+        // Given
+        when(prepQueueService.claimOrders(2)).thenReturn(ResponseEntity.ok(List.of(order("RCS-1"), order("RCS-2"))));
+        when(prepQueueService.completeOrder("RCS-1")).thenThrow(new OrderConflictException("Order RCS-1 is not being prepared"));
+
+        // When
+        int processed = prepStations.processBatch();
+
+        // Then
+        assertEquals(2, processed);
+        verify(prepQueueService).completeOrder("RCS-2");
+    }
+
+    @Test
+    @DisplayName("processBatch should complete nothing when the queue is empty")
+    void processBatch_ShouldReturnZero_WhenQueueIsEmpty() throws InterruptedException {
+        // Given
+        when(prepQueueService.claimOrders(2)).thenReturn(ResponseEntity.ok(List.of()));
+
+        // When
+        int processed = prepStations.processBatch();
+
+        // Then
+        assertEquals(0, processed);
+        verify(prepQueueService, never()).completeOrder(anyString());
+    }
+
+    private static SimpleOrderDto order(String orderNumber) {
+        return SimpleOrderDto.builder().orderNumber(orderNumber).status(OrderStatus.PROCESSING).build();
+    }
+}
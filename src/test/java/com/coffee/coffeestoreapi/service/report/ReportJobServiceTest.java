@@ -0,0 +1,223 @@
+package com.coffee.coffeestoreapi.service.report;
+
+import com.coffee.coffeestoreapi.config.settings.ReportJobSettings;
+import com.coffee.coffeestoreapi.exception.InvalidReportRequestException;
+import com.coffee.coffeestoreapi.exception.ReportJobNotReadyException;
+import com.coffee.coffeestoreapi.model.Currency;
+import com.coffee.coffeestoreapi.model.Discount;
+import com.coffee.coffeestoreapi.model.OrderDto;
+import com.coffee.coffeestoreapi.model.OrderStatus;
+import com.coffee.coffeestoreapi.model.ReportJobDto;
+import com.coffee.coffeestoreapi.model.ReportJobRequest;
+import com.coffee.coffeestoreapi.model.ReportJobStatus;
+import com.coffee.coffeestoreapi.model.ReportLine;
+import com.coffee.coffeestoreapi.model.ReportType;
+import com.coffee.coffeestoreapi.repository.OrderReportView;
+import com.coffee.coffeestoreapi.repository.OrderRepository;
+import com.coffee.coffeestoreapi.service.archive.OrderArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.coffee.coffeestoreapi.model.Currency.EUR;
+import static com.coffee.coffeestoreapi.model.Currency.USD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class ReportJobServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderArchive orderArchive;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReportJobService reportJobService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        ReportJobSettings reportJobSettings = new ReportJobSettings();
+        reportJobSettings.setMaxConcurrentJobs(1);
+        reportJobSettings.setMaxQueuedJobs(2);
+        reportJobSettings.setParallelism(2);
+        reportJobSettings.setChunkDays(7);
+        reportJobSettings.setMaxRangeDays(31);
+        reportJobSettings.setRetention(Duration.ofHours(1));
+        reportJobService = new ReportJobService(orderRepository, reportJobSettings, orderArchive, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportJobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("submit should aggregate the chunks of the range in parallel and merge them into one report")
+    void submit_ShouldAggregateChunksAndMergeResults() throws InterruptedException {
+        // Given
+        when(orderRepository.streamReportRows(any(), any())).thenAnswer(invocation -> {
+            LocalDate chunkStart = invocation.<Timestamp>getArgument(0).toLocalDateTime().toLocalDate();
+            return Stream.of(
+                    createOrder(chunkStart, 1000, 1000, EUR),
+                    createOrder(LocalDate.of(2025, 5, 1), 1200, 900, EUR),
+                    createOrder(chunkStart, 500, 500, USD));
+        });
+
+        // When
+        ResponseEntity<ReportJobDto> submitted = reportJobService.submit(
+                new ReportJobRequest(ReportType.MONTHLY_SALES, LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 15)));
+        List<ReportLine> lines = awaitResult(submitted.getBody().getId());
+
+        // Then
+        assertEquals(HttpStatus.ACCEPTED, submitted.getStatusCode());
+        assertEquals("/api/v1/admin/reports/" + submitted.getBody().getId(), submitted.getHeaders().getLocation().toString());
+        // 15 days in chunks of 7 days
+        verify(orderRepository, times(3)).streamReportRows(any(), any());
+        assertEquals(List.of(
+                new ReportLine("2025-05", null, EUR, 6, 6600, 900, 5700),
+                new ReportLine("2025-05", null, USD, 3, 1500, 0, 1500)), lines);
+
+        String csv = reportJobService.getResultAsCsv(submitted.getBody().getId()).getBody();
+        assertTrue(csv.startsWith("period,discount,currency,order_count"));
+        assertTrue(csv.contains("2025-05,,EUR,6,6600,900,5700\n"));
+    }
+
+    @Test
+    @DisplayName("submit should reject too long ranges and a queued job should have no result yet")
+    void submit_ShouldRejectTooLongRange_AndQueuedJobShouldHaveNoResult() {
+        // Given
+        ReportJobRequest tooLong = new ReportJobRequest(ReportType.DAILY_RECEIPTS, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 1));
+        ReportJob pending = new ReportJob(new ReportJobRequest(ReportType.DAILY_RECEIPTS, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 1)));
+
+        // When / Then
+        assertThrows(InvalidReportRequestException.class, () -> reportJobService.submit(tooLong));
+        assertEquals(ReportJobStatus.QUEUED, pending.toDto().getStatus());
+        assertNull(pending.getLines());
+    }
+
+    @Test
+    @DisplayName("submit should add the archived orders of the range, once, and without the cancelled ones")
+    void submit_ShouldIncludeArchivedOrders() throws InterruptedException {
+        // Given
+        when(orderRepository.streamReportRows(any(), any()))
+                .thenReturn(Stream.of(createOrder("RCS-2", LocalDate.of(2024, 1, 3), 500, 500, EUR)));
+        when(orderArchive.findCreatedBetween(any(), any())).thenReturn(List.of(
+                createArchivedOrder("RCS-1", OrderStatus.COMPLETED, 1000, 800),
+                createArchivedOrder("RCS-2", OrderStatus.COMPLETED, 500, 500),
+                createArchivedOrder("RCS-3", OrderStatus.CANCELLED, 700, 700)));
+
+        // When
+        ResponseEntity<ReportJobDto> submitted = reportJobService.submit(
+                new ReportJobRequest(ReportType.MONTHLY_SALES, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 7)));
+        List<ReportLine> lines = awaitResult(submitted.getBody().getId());
+
+        // Then
+        assertEquals(List.of(new ReportLine("2024-01", null, EUR, 2, 1500, 200, 1300)), lines);
+    }
+
+    @Test
+    @DisplayName("run should fail the job when the chunks can't be scheduled")
+    void run_ShouldFailJob_WhenChunksCannotBeScheduled() {
+        // Given
+        ReportJob job = new ReportJob(new ReportJobRequest(ReportType.DAILY_RECEIPTS, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 1)));
+        reportJobService.shutdown();
+
+        // When
+        reportJobService.run(job);
+
+        // Then
+        assertEquals(ReportJobStatus.FAILED, job.toDto().getStatus());
+    }
+
+    @Test
+    @DisplayName("ReportAggregation should total every discount of the orders per month")
+    void reportAggregation_ShouldTotalDiscountUsage() {
+        // Given
+        ReportAggregation first = new ReportAggregation(ReportType.DISCOUNT_USAGE);
+        ReportAggregation second = new ReportAggregation(ReportType.DISCOUNT_USAGE);
+        first.add(createOrder(LocalDate.of(2025, 5, 2), 1600, 1200, EUR, createDiscount("25% off", 25, null)));
+        second.add(createOrder(LocalDate.of(2025, 5, 9), 900, 600, EUR, createDiscount("Free drink", null, 300)));
+        second.add(createOrder(LocalDate.of(2025, 5, 9), 1000, 1000, EUR));
+
+        // When
+        List<ReportLine> lines = first.merge(second).lines();
+
+        // Then
+        assertEquals(List.of(
+                new ReportLine("2025-05", "25% off", EUR, 1, 1600, 400, 1200),
+                new ReportLine("2025-05", "Free drink", EUR, 1, 900, 300, 600)), lines);
+    }
+
+    private List<ReportLine> awaitResult(UUID id) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            try {
+                return reportJobService.getResult(id).getBody();
+            } catch (ReportJobNotReadyException e) {
+                Thread.sleep(10);
+            }
+        }
+        throw new AssertionError("Report job " + id + " did not complete: " + reportJobService.getJob(id).getBody());
+    }
+
+    private static OrderReportView createOrder(LocalDate created, int subTotal, int total, Currency currency,
+                                               Discount... discounts) {
+        return createOrder("RCS-" + UUID.randomUUID(), created, subTotal, total, currency, discounts);
+    }
+
+    private static OrderReportView createOrder(String orderNumber, LocalDate created, int subTotal, int total,
+                                               Currency currency, Discount... discounts) {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("orderNumber", orderNumber);
+        columns.put("createdAt", Timestamp.valueOf(created.atTime(9, 30)));
+        columns.put("currency", currency);
+        columns.put("discounts", List.of(discounts));
+        columns.put("subTotalPriceInCents", subTotal);
+        columns.put("totalPriceInCents", total);
+        return new SpelAwareProxyProjectionFactory().createProjection(OrderReportView.class, columns);
+    }
+
+    private static OrderDto createArchivedOrder(String orderNumber, OrderStatus status, int subTotal, int total) {
+        OrderDto order = new OrderDto();
+        order.setOrderNumber(orderNumber);
+        order.setStatus(status);
+        order.setCreatedAt(LocalDate.of(2024, 1, 2).atTime(8, 0));
+        order.setCurrency(EUR);
+        order.setSubTotalPriceInCents(subTotal);
+        order.setTotalPriceInCents(total);
+        return order;
+    }
+
+    private static Discount createDiscount(String name, Integer percentage, Integer amountInCents) {
+        Discount discount = new Discount();
+        discount.setName(name);
+        discount.setPercentage(percentage);
+        discount.setAmountInCents(amountInCents);
+        return discount;
+    }
+}
@@ -0,0 +1,181 @@
+package com.coffee.coffeestoreapi.service.stream;
+
+import com.coffee.coffeestoreapi.config.settings.OrderStreamSettings;
+import com.coffee.coffeestoreapi.model.OrderEvent;
+import com.coffee.coffeestoreapi.model.OrderEventType;
+import com.coffee.coffeestoreapi.model.SimpleOrderDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderEventBroadcasterTest {
+
+    private OrderEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        OrderStreamSettings orderStreamSettings = new OrderStreamSettings();
+        orderStreamSettings.setBufferSize(8);
+        orderStreamSettings.setReplaySize(3);
+        orderStreamSettings.setTimeout(Duration.ofMinutes(1));
+        orderStreamSettings.setSendTimeout(Duration.ofMillis(50));
+        orderStreamSettings.setWriterThreads(2);
+        broadcaster = new OrderEventBroadcaster(new ObjectMapper().findAndRegisterModules(), orderStreamSettings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    @DisplayName("eventsAfter should replay the events after the last event id from the ring")
+    void eventsAfter_ShouldReplayEventsAfterLastEventId() {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            broadcaster.onOrderEvent(createEvent("RCS-" + i));
+        }
+
+        // When
+        Optional<List<OrderEventBroadcaster.BufferedEvent>> events = broadcaster.eventsAfter(3);
+
+        // Then
+        assertTrue(events.isPresent());
+        assertEquals(List.of(4L, 5L), events.get().stream().map(OrderEventBroadcaster.BufferedEvent::id).toList());
+        assertEquals("updated", events.get().getFirst().name());
+        assertTrue(events.get().getFirst().data().contains("RCS-4"));
+        assertEquals(Optional.of(List.of()), broadcaster.eventsAfter(5));
+    }
+
+    @Test
+    @DisplayName("eventsAfter should ask for a reset when the events left the ring or the id is unknown")
+    void eventsAfter_ShouldReturnEmpty_WhenEventsAreNoLongerBuffered() {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            broadcaster.onOrderEvent(createEvent("RCS-" + i));
+        }
+
+        // When / Then
+        assertTrue(broadcaster.eventsAfter(1).isEmpty());
+        assertTrue(broadcaster.eventsAfter(42).isEmpty());
+        assertTrue(broadcaster.eventsAfter(2).isPresent());
+    }
+
+    @Test
+    @DisplayName("sequenceOf should only accept event ids issued since this instance started")
+    void sequenceOf_ShouldRejectIdsOfAnotherEpoch() {
+        // Given
+        broadcaster.onOrderEvent(createEvent("RCS-1"));
+        String eventId = broadcaster.eventIdOf(broadcaster.eventsAfter(0).orElseThrow().getFirst());
+
+        // When / Then
+        assertEquals(Optional.of(1L), broadcaster.sequenceOf(eventId));
+        assertTrue(broadcaster.sequenceOf("1-1").isEmpty());
+        assertTrue(broadcaster.sequenceOf("1").isEmpty());
+        assertTrue(broadcaster.sequenceOf("abc-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("subscribe should register the subscriber for future events")
+    void subscribe_ShouldRegisterSubscriber() {
+        // When
+        broadcaster.subscribe(null);
+        broadcaster.subscribe(null);
+
+        // Then
+        assertEquals(2, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("A subscriber with a blocked write should hold one writer and not delay the others")
+    void onOrderEvent_ShouldSkipSubscriberWithWriteInFlight() throws Exception {
+        // Given
+        var blocked = new RecordingEmitter(true);
+        var reading = new RecordingEmitter(false);
+        broadcaster.subscribe(blocked, null);
+        broadcaster.subscribe(reading, null);
+
+        // When
+        for (int i = 1; i <= 3; i++) {
+            broadcaster.onOrderEvent(createEvent("RCS-" + i));
+        }
+
+        // Then
+        assertTrue(reading.sent.await(5, TimeUnit.SECONDS));
+        assertTrue(blocked.sendStarted.await(5, TimeUnit.SECONDS));
+        assertEquals(1, blocked.sendAttempts.get());
+        blocked.release.countDown();
+    }
+
+    @Test
+    @DisplayName("sendHeartbeats should drop a subscriber whose write is blocked and complete its emitter")
+    void sendHeartbeats_ShouldCompleteEmitter_WhenWriteIsBlocked() throws Exception {
+        // Given
+        var blocked = new RecordingEmitter(true);
+        broadcaster.subscribe(blocked, null);
+        broadcaster.onOrderEvent(createEvent("RCS-1"));
+        assertTrue(blocked.sendStarted.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        // When
+        broadcaster.sendHeartbeats();
+
+        // Then
+        assertEquals(0, broadcaster.getSubscriberCount());
+        assertInstanceOf(TimeoutException.class, blocked.completionError);
+        blocked.release.countDown();
+    }
+
+    private static OrderEvent createEvent(String orderNumber) {
+        return new OrderEvent(OrderEventType.UPDATED, SimpleOrderDto.builder().orderNumber(orderNumber).build());
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final boolean blocking;
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch sent = new CountDownLatch(3);
+        private final AtomicInteger sendAttempts = new AtomicInteger();
+        private volatile Throwable completionError;
+
+        private RecordingEmitter(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sendAttempts.incrementAndGet();
+            sendStarted.countDown();
+            if (blocking) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.countDown();
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completionError = ex;
+        }
+    }
+}
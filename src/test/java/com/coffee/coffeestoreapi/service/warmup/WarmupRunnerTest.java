@@ -0,0 +1,106 @@
+package com.coffee.coffeestoreapi.service.warmup;
+
+import com.coffee.coffeestoreapi.config.settings.WarmupSettings;
+import com.coffee.coffeestoreapi.entity.Order;
+import com.coffee.coffeestoreapi.mapper.OrderMapper;
+import com.coffee.coffeestoreapi.model.OrderDto;
+import com.coffee.coffeestoreapi.service.OrderProcessor;
+import com.coffee.coffeestoreapi.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class WarmupRunnerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderProcessor orderProcessor;
+
+    @Mock
+    private OrderMapper orderMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private WarmupSettings warmupSettings;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        warmupSettings = new WarmupSettings();
+        warmupSettings.setBatchSize(10);
+        warmupSettings.setTolerance(100.0);
+        warmupSettings.setStableBatches(2);
+        warmupSettings.setMaxDuration(Duration.ofSeconds(30));
+        meterRegistry = new SimpleMeterRegistry();
+        when(orderProcessor.processOrder(any())).thenReturn(new Order());
+        when(orderMapper.orderToOrderDto(any())).thenReturn(new OrderDto());
+    }
+
+    @Test
+    @DisplayName("run should stop once consecutive batches are stable and record the warm-up metrics")
+    void run_ShouldStopWhenStable() throws Exception {
+        // Given
+        warmupSettings.setMode(WarmupSettings.Mode.NO_PERSIST);
+
+        // When
+        createWarmupRunner().run(null);
+
+        // Then
+        // The first batch has no predecessor, the next two are stable
+        verify(orderProcessor, times(30)).processOrder(any());
+        verify(orderService, never()).createOrder(any());
+        assertEquals(1, meterRegistry.get("warmup.duration").timer().count());
+        assertTrue(meterRegistry.get("warmup.latency").timeGauge().value() > 0);
+    }
+
+    @Test
+    @DisplayName("run should create and read back every order in a rolled back transaction in rollback mode")
+    void run_ShouldRollBack_InRollbackMode() throws Exception {
+        // Given
+        warmupSettings.setMode(WarmupSettings.Mode.ROLLBACK);
+        TransactionStatus transactionStatus = mock(TransactionStatus.class);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(transactionStatus));
+        when(orderService.createOrder(any())).thenReturn(ResponseEntity.created(URI.create("/api/v1/orders/RCS-1")).build());
+        when(orderService.getOrder("RCS-1")).thenReturn(ResponseEntity.ok(new OrderDto()));
+
+        // When
+        createWarmupRunner().run(null);
+
+        // Then
+        verify(transactionStatus, atLeast(30)).setRollbackOnly();
+        verify(orderService, atLeast(30)).getOrder("RCS-1");
+        verify(orderProcessor, never()).processOrder(any());
+    }
+
+    private WarmupRunner createWarmupRunner() {
+        return new WarmupRunner(orderService, orderProcessor, orderMapper, new ObjectMapper().registerModule(new JavaTimeModule()),
+                transactionTemplate, warmupSettings, meterRegistry);
+    }
+}
@@ -19,6 +19,10 @@ CREATE TABLE IF NOT EXISTS orders (
 ALTER SEQUENCE order_id_seq RESTART WITH 10000000;
 ALTER SEQUENCE product_id_seq RESTART WITH 10000000;
 TRUNCATE TABLE "orders" CASCADE;
+TRUNCATE TABLE order_numbers;
+TRUNCATE TABLE orderer_names;
+-- There is no default partition, so the month of the test orders needs its own
+SELECT create_orders_partitions('2023-10-01', 0);
 
 
 INSERT INTO orders (